@@ -0,0 +1,66 @@
+package com.myapp.chart.dsp;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 长 FIR 核的卷积基准：直接形式（{@link FirFilter}）与重叠保留 FFT（{@link FftConvolver}）
+ * 在 2²⁰ 个样本上按 8192 样本块流式处理，对比不同核长下的耗时。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FftConvolverBenchmark {
+
+    private static final int SAMPLES = 1 << 20;
+    private static final int CHUNK = 8192;
+
+    @Param({"31", "127", "511", "2047"})
+    public int taps;
+
+    private double[] input;
+    private double[] work;
+    private double[] out;
+    private FirFilter fir;
+    private FftConvolver fft;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(1);
+        input = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            input[i] = rnd.nextGaussian();
+        }
+        work = new double[SAMPLES];
+        double[] h = FirFilter.designLowpass(taps, 256, 30);
+        fir = new FirFilter(h);
+        fft = new FftConvolver(h);
+        out = new double[SAMPLES + fft.latency()];
+    }
+
+    @Benchmark
+    public double[] direct() {
+        fir.reset();
+        System.arraycopy(input, 0, work, 0, SAMPLES);
+        for (int pos = 0; pos < SAMPLES; pos += CHUNK) {
+            fir.process(work, pos, Math.min(CHUNK, SAMPLES - pos));
+        }
+        return work;
+    }
+
+    @Benchmark
+    public double[] overlapSave() {
+        fft.reset();
+        int produced = 0;
+        for (int pos = 0; pos < SAMPLES; pos += CHUNK) {
+            produced += fft.process(input, pos, Math.min(CHUNK, SAMPLES - pos), out, produced);
+        }
+        fft.flush(out, produced);
+        return out;
+    }
+}
@@ -0,0 +1,96 @@
+package com.myapp.chart.dsp;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 数组内核基准：标量实现与 SIMD 实现在同一数据上对比。长度取处理流水线的块长 8192（数据在缓存内）
+ * 与 1000 万（受内存带宽限制）；起点偏移 offset 非零时数组不按向量宽度对齐，并带出尾部处理。
+ * 乘积和的分块数据最多取 {@link #MAX_TILE} 样本一行，避免大长度下占用过多内存。
+ * 运行时缺少 jdk.incubator.vector 时 impl=vector 会回退为标量实现（{@link Kernels#isVectorized()}）。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class KernelsBenchmark {
+
+    // 常量配置
+    private static final int MAX_TILE = 1 << 20;   // 乘积和每行最大样本数
+
+    @Param({"scalar", "vector"})
+    public String impl;
+
+    @Param({"8192", "10000000"})
+    public int size;
+
+    @Param({"0", "3"})
+    public int offset;
+
+    private ArrayKernels kernels;
+    private double[] src;
+    private double[] dst;
+    private double[] tiles;
+    private int tileLen;
+    private final double[] out = new double[16];
+
+    @Setup
+    public void setup() {
+        kernels = "scalar".equals(impl) ? Kernels.scalar() : Kernels.get();
+        Random rnd = new Random(1);
+        src = new double[size + offset];
+        for (int i = 0; i < src.length; i++) {
+            src[i] = 100 + rnd.nextGaussian();
+        }
+        dst = new double[size + offset];
+        tileLen = Math.min(size, MAX_TILE);
+        tiles = new double[8 * tileLen + offset];
+        for (int i = 0; i < tiles.length; i++) {
+            tiles[i] = rnd.nextGaussian();
+        }
+    }
+
+    @Benchmark
+    public double[] scale() {
+        kernels.scale(src, offset, dst, offset, size, 0.5);
+        return dst;
+    }
+
+    @Benchmark
+    public double[] diff() {
+        kernels.diff(src, offset, dst, offset, size, 0);
+        return dst;
+    }
+
+    @Benchmark
+    public void minMax(Blackhole bh) {
+        kernels.minMax(src, offset, size, out);
+        bh.consume(out[0] + out[1]);
+    }
+
+    @Benchmark
+    public void sums(Blackhole bh) {
+        kernels.sums(src, offset, size, 100, out);
+        bh.consume(out[1] + out[2]);
+    }
+
+    @Benchmark
+    public void compensatedSum(Blackhole bh) {
+        kernels.compensatedSum(src, offset, size, 1.0 / 256, out);
+        bh.consume(out[0] + out[1]);
+    }
+
+    /** 8 个通道分两组，一次 4×4 分块乘积和 */
+    @Benchmark
+    public void crossProducts4x4(Blackhole bh) {
+        Arrays.fill(out, 0);
+        kernels.crossProducts4x4(tiles, offset, offset + 4 * tileLen, tileLen, tileLen, out);
+        bh.consume(out[0] + out[15]);
+    }
+}
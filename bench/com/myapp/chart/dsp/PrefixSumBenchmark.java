@@ -0,0 +1,65 @@
+package com.myapp.chart.dsp;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 积分（前缀和）基准：8 小时 256 Hz 的一个通道。对照朴素串行累加、串行 Neumaier 补偿
+ * 与 {@link PrefixSum#inclusiveScan} 的分块并行两遍扫描。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class PrefixSumBenchmark {
+
+    @Param({"7372800"})
+    public int size;
+
+    private double[] in;
+    private double[] out;
+    private final double scale = 1.0 / 256;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(1);
+        in = new double[size];
+        for (int i = 0; i < size; i++) {
+            in[i] = 5000 + rnd.nextGaussian() * 50;
+        }
+        out = new double[size];
+    }
+
+    @Benchmark
+    public double[] naive() {
+        double s = 0;
+        for (int i = 0; i < size; i++) {
+            s += in[i] * scale;
+            out[i] = s;
+        }
+        return out;
+    }
+
+    @Benchmark
+    public double[] serialCompensated() {
+        double s = 0, c = 0;
+        for (int i = 0; i < size; i++) {
+            double x = in[i] * scale;
+            double t = s + x;
+            c += Math.abs(s) >= Math.abs(x) ? (s - t) + x : (x - t) + s;
+            s = t;
+            out[i] = s + c;
+        }
+        return out;
+    }
+
+    @Benchmark
+    public double[] blockedParallel() {
+        PrefixSum.inclusiveScan(in, out, scale);
+        return out;
+    }
+}
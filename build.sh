@@ -0,0 +1,79 @@
+#!/bin/sh
+# 命令行构建脚本（JDK 17+）。与 IDEA 的模块划分一致：
+#   src/     主程序，不依赖孵化模块，直接用 javac 编译
+#   vector/  SIMD 内核，需 --add-modules jdk.incubator.vector，在主程序之后编译，运行时反射加载
+#   test/    JUnit 5 单元测试
+#   bench/   JMH 基准
+#
+# 用法：
+#   ./build.sh            编译主程序与 SIMD 内核
+#   ./build.sh run        编译并启动程序
+#   ./build.sh test       编译并运行单元测试
+#   ./build.sh bench [JMH 参数]   编译并运行基准，如 ./build.sh bench KernelsBenchmark -f 1
+#
+# 第三方依赖（仅测试与基准需要）从 Maven 中央仓库下载到 ~/.m2/repository，不放入仓库。
+set -e
+
+cd "$(dirname "$0")"
+
+VECTOR_FLAG="--add-modules jdk.incubator.vector"
+OUT=out/production
+REPO="${M2_REPO:-$HOME/.m2/repository}"
+CENTRAL=https://repo1.maven.org/maven2
+
+# dep <group 路径> <artifact> <version>：输出 jar 路径，本地没有时下载
+dep() {
+    jar="$REPO/$1/$2/$3/$2-$3.jar"
+    if [ ! -f "$jar" ]; then
+        mkdir -p "$(dirname "$jar")"
+        echo "下载 $2-$3.jar" >&2
+        curl -sSfL -o "$jar" "$CENTRAL/$1/$2/$3/$2-$3.jar"
+    fi
+    printf '%s' "$jar"
+}
+
+compile_main() {
+    rm -rf "$OUT"
+    mkdir -p "$OUT/main" "$OUT/vector"
+    javac -encoding UTF-8 -nowarn -d "$OUT/main" $(find src -name '*.java')
+    # SIMD 内核单独编译；JDK 缺少孵化模块时跳过，运行时自动回退到标量实现
+    if javac $VECTOR_FLAG -encoding UTF-8 -nowarn -cp "$OUT/main" -d "$OUT/vector" \
+            $(find vector -name '*.java'); then
+        :
+    else
+        echo "SIMD 内核未编译，将使用标量实现" >&2
+    fi
+}
+
+case "${1:-compile}" in
+    compile)
+        compile_main
+        ;;
+    run)
+        compile_main
+        java $VECTOR_FLAG -cp "$OUT/main:$OUT/vector" com.myapp.chart.ChartApp
+        ;;
+    test)
+        compile_main
+        JUNIT="$(dep org/junit/platform junit-platform-console-standalone 1.10.2)"
+        rm -rf out/test
+        mkdir -p out/test
+        javac -encoding UTF-8 -nowarn -cp "$OUT/main:$JUNIT" -d out/test $(find test -name '*.java')
+        java $VECTOR_FLAG -jar "$JUNIT" execute --disable-banner -cp "out/test:$OUT/main:$OUT/vector" --scan-classpath out/test
+        ;;
+    bench)
+        shift
+        compile_main
+        JMH="$(dep org/openjdk/jmh jmh-core 1.37):$(dep net/sf/jopt-simple jopt-simple 5.0.4):$(dep org/apache/commons commons-math3 3.6.1)"
+        APT="$(dep org/openjdk/jmh jmh-generator-annprocess 1.37)"
+        rm -rf out/bench
+        mkdir -p out/bench
+        javac -encoding UTF-8 -nowarn -cp "$OUT/main:$JMH" -processorpath "$APT:$JMH" \
+            -d out/bench $(find bench -name '*.java')
+        java $VECTOR_FLAG -cp "out/bench:$OUT/main:$OUT/vector:$JMH" org.openjdk.jmh.Main "$@"
+        ;;
+    *)
+        echo "用法: $0 [compile|run|test|bench [JMH 参数]]" >&2
+        exit 1
+        ;;
+esac
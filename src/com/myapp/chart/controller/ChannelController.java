@@ -3,10 +3,15 @@ package com.myapp.chart.controller;
 import com.myapp.chart.file.FileWriter;
 import com.myapp.chart.model.ChannelData;
 import com.myapp.chart.model.DataModel;
+import com.myapp.chart.model.LazyChannelData;
 import com.myapp.chart.view.ChartFrame;
+import com.myapp.chart.view.channel.SpectrogramTileCache;
+import com.myapp.chart.view.processing.operation.ResultCache;
 
 import javax.swing.*;
 import java.io.File;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * 通道控制器：负责单通道的导出与关闭操作
@@ -53,11 +58,26 @@ public class ChannelController {
      * 关闭指定通道，并刷新主界面
      */
     public void closeChannel(ChannelData channel) {
+        closeChannels(List.of(channel));
+    }
+
+    /**
+     * 关闭多个通道：移出模型，清除其缓存结果并放弃共享存储，最后刷新一次主界面
+     */
+    public void closeChannels(Collection<? extends ChannelData> channels) {
         DataModel model = parentController.getModel();
-        if (model == null) {
+        if (model == null || channels.isEmpty()) {
             return;
         }
-        model.getChannels().remove(channel);
+        for (ChannelData channel : channels) {
+            model.getChannels().remove(channel);
+            if (channel instanceof LazyChannelData) {
+                ((LazyChannelData) channel).invalidate();
+            }
+            SpectrogramTileCache.shared().invalidate(channel);
+            ResultCache.shared().invalidate(channel);
+            channel.release();
+        }
         refreshChart(model);
     }
 
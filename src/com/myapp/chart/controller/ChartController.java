@@ -3,9 +3,11 @@ package com.myapp.chart.controller;
 import com.myapp.chart.model.ChannelData;
 import com.myapp.chart.model.DataModel;
 import com.myapp.chart.view.ChartFrame;
+import com.myapp.chart.view.processing.job.ProcessingJobManager;
 
 import javax.swing.*;
 import java.awt.event.ActionListener;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
@@ -24,7 +26,11 @@ public class ChartController {
     private static final String ITEM_EXIT      = "退出";
     private static final String ITEM_MONITOR   = "启动监护仪模拟";
     private static final String ITEM_STATS     = "统计";
+    private static final String ITEM_EPOCHS    = "分帧统计...";
     private static final String ITEM_PROCESS   = "处理";
+    private static final String ITEM_DETECT    = "多通道事件检测";
+    private static final String ITEM_TEMPLATE  = "模板匹配 / 时延...";
+    private static final String ITEM_MONTAGE   = "导联...";
 
     // 子控制器
     private final FileController    fileController;
@@ -32,6 +38,9 @@ public class ChartController {
     private final ToolsController   toolsController;
     private final ChannelController channelController;
 
+    // 后台处理任务
+    private final ProcessingJobManager jobManager = new ProcessingJobManager();
+
     private ChartFrame frame;
     private DataModel  model;
 
@@ -83,7 +92,11 @@ public class ChartController {
     private JMenu createToolMenu() {
         JMenu menu = new JMenu(MENU_TOOL);
         menu.add(createMenuItem(ITEM_STATS,   e -> toolsController.showStatistics()));
+        menu.add(createMenuItem(ITEM_EPOCHS,  e -> toolsController.showEpochStatistics()));
         menu.add(createMenuItem(ITEM_PROCESS, e -> toolsController.showProcessing()));
+        menu.add(createMenuItem(ITEM_DETECT,  e -> toolsController.showEventDetection()));
+        menu.add(createMenuItem(ITEM_TEMPLATE, e -> toolsController.showTemplateSearch()));
+        menu.add(createMenuItem(ITEM_MONTAGE, e -> toolsController.showMontage()));
         return menu;
     }
 
@@ -105,6 +118,7 @@ public class ChartController {
     /*======== 通道操作 ========*/
     public void exportChannel(ChannelData ch)      { channelController.exportChannel(ch); }
     public void closeChannel(ChannelData ch)       { channelController.closeChannel(ch); }
+    public void closeChannels(Collection<? extends ChannelData> chs) { channelController.closeChannels(chs); }
 
     /**
      * 在模型中移动通道顺序：direction = -1 上移，+1 下移
@@ -133,4 +147,5 @@ public class ChartController {
     public DataModel  getModel()            { return model; }
     public void       setModel(DataModel m) { this.model = m; }
     public DataModel  getDataModel()        { return model; }
+    public ProcessingJobManager getJobManager() { return jobManager; }
 }
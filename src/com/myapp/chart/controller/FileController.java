@@ -10,6 +10,9 @@ import com.myapp.chart.view.ChartFrame;
 import javax.swing.*;
 import java.awt.Component;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 文件控制器：负责打开二进制和 EDF 文件，并将数据加载到模型中
@@ -60,11 +63,20 @@ public class FileController {
             DataModel newModel = reader.read(file);
             mergeModel(newModel);
             frame.loadData(chartController.getModel());
+            prebuildSummaries(newModel.getChannels());
         } catch (Exception ex) {
             showError(frame, ex.getMessage());
         }
     }
 
+    /**
+     * 后台为新加载的通道构建分块摘要索引，之后的范围统计可即时完成
+     */
+    private static void prebuildSummaries(List<ChannelData> channels) {
+        List<ChannelData> snapshot = new ArrayList<>(channels);
+        CompletableFuture.runAsync(() -> snapshot.parallelStream().forEach(ChannelData::getBlockSummary));
+    }
+
     /**
      * 将新模型合并到主控制器的数据模型中
      */
@@ -2,7 +2,11 @@ package com.myapp.chart.controller;
 
 import com.myapp.chart.model.DataModel;
 import com.myapp.chart.view.ChartFrame;
+import com.myapp.chart.view.processing.EventDetectionDialog;
+import com.myapp.chart.view.processing.MontageDialog;
 import com.myapp.chart.view.processing.ProcessingDialog;
+import com.myapp.chart.view.processing.TemplateSearchDialog;
+import com.myapp.chart.view.statistic.EpochStatisticsDialog;
 import com.myapp.chart.view.statistic.StatisticsDialog;
 
 import javax.swing.*;
@@ -17,6 +21,10 @@ public class ToolsController {
     private static final String MESSAGE_NO_CHANNELS  = "无可%s的通道";
     private static final String OPERATION_STATS      = "统计";
     private static final String OPERATION_PROCESS    = "处理";
+    private static final String OPERATION_DETECT     = "检测";
+    private static final String OPERATION_MONTAGE    = "设置导联";
+    private static final String OPERATION_EPOCHS     = "分帧统计";
+    private static final String OPERATION_TEMPLATE   = "模板匹配";
     private static final int    MESSAGE_TYPE_WARNING = JOptionPane.WARNING_MESSAGE;
 
     private final ChartController chartController;
@@ -39,7 +47,7 @@ public class ToolsController {
             JOptionPane.showMessageDialog(frame, message, TITLE_WARNING, MESSAGE_TYPE_WARNING);
             return;
         }
-        new StatisticsDialog(frame, model.getChannels()).setVisible(true);
+        new StatisticsDialog(frame, model, chartController.getJobManager()).setVisible(true);
     }
 
     /**
@@ -53,6 +61,62 @@ public class ToolsController {
             JOptionPane.showMessageDialog(frame, message, TITLE_WARNING, MESSAGE_TYPE_WARNING);
             return;
         }
-        new ProcessingDialog(frame, model).setVisible(true);
+        new ProcessingDialog(frame, model, chartController.getJobManager()).setVisible(true);
+    }
+
+    /**
+     * 显示多通道事件检测对话框；若无通道则弹警告
+     */
+    public void showEventDetection() {
+        ChartFrame frame = chartController.getFrame();
+        DataModel model = chartController.getModel();
+        if (model == null || model.getChannels().isEmpty()) {
+            String message = String.format(MESSAGE_NO_CHANNELS, OPERATION_DETECT);
+            JOptionPane.showMessageDialog(frame, message, TITLE_WARNING, MESSAGE_TYPE_WARNING);
+            return;
+        }
+        new EventDetectionDialog(frame, model, chartController.getJobManager()).setVisible(true);
+    }
+
+    /**
+     * 显示导联对话框；若无通道则弹警告
+     */
+    public void showMontage() {
+        ChartFrame frame = chartController.getFrame();
+        DataModel model = chartController.getModel();
+        if (model == null || model.getChannels().isEmpty()) {
+            String message = String.format(MESSAGE_NO_CHANNELS, OPERATION_MONTAGE);
+            JOptionPane.showMessageDialog(frame, message, TITLE_WARNING, MESSAGE_TYPE_WARNING);
+            return;
+        }
+        new MontageDialog(frame, model, chartController).setVisible(true);
+    }
+
+    /**
+     * 显示分帧统计窗口（非模态）；若无通道则弹警告
+     */
+    public void showEpochStatistics() {
+        ChartFrame frame = chartController.getFrame();
+        DataModel model = chartController.getModel();
+        if (model == null || model.getChannels().isEmpty()) {
+            String message = String.format(MESSAGE_NO_CHANNELS, OPERATION_EPOCHS);
+            JOptionPane.showMessageDialog(frame, message, TITLE_WARNING, MESSAGE_TYPE_WARNING);
+            return;
+        }
+        new EpochStatisticsDialog(frame, model, chartController.getJobManager()).setVisible(true);
+    }
+
+    /**
+     * 显示模板匹配与时延估计对话框；若无通道则弹警告
+     */
+    public void showTemplateSearch() {
+        ChartFrame frame = chartController.getFrame();
+        DataModel model = chartController.getModel();
+        if (model == null || model.getChannels().isEmpty()) {
+            String message = String.format(MESSAGE_NO_CHANNELS, OPERATION_TEMPLATE);
+            JOptionPane.showMessageDialog(frame, message, TITLE_WARNING, MESSAGE_TYPE_WARNING);
+            return;
+        }
+        new TemplateSearchDialog(frame, model, chartController.getJobManager()).setVisible(true);
     }
 }
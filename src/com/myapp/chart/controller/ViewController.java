@@ -1,5 +1,6 @@
 package com.myapp.chart.controller;
 
+import com.myapp.chart.model.ChannelData;
 import com.myapp.chart.model.DataModel;
 import com.myapp.chart.view.ChartFrame;
 import com.myapp.chart.view.simulation.MonitorFrame;
@@ -39,7 +40,7 @@ public class ViewController {
 
         // 找最长
         int maxSamples = model.getChannels().stream()
-                .mapToInt(ch -> ch.getData().length)
+                .mapToInt(ChannelData::length)
                 .max().orElse(0);
 
         model.setWindowLength(maxSamples);
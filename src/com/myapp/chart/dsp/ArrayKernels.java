@@ -0,0 +1,45 @@
+package com.myapp.chart.dsp;
+
+/**
+ * 逐元素数组运算内核：缩放、平移、差分、最值、求和与乘积和归约。
+ * <p>
+ * 由 {@link Kernels#get()} 取得实例：运行时存在 jdk.incubator.vector 模块时使用 SIMD 实现，
+ * 否则回退到标量实现，两者结果一致（求和类归约的舍入顺序不同，误差在同一量级）。
+ * src 与 dst 可以是同一数组的同一区间，但不得部分重叠。
+ */
+public interface ArrayKernels {
+
+    /** dst[i] = src[i] · k */
+    void scale(double[] src, int srcOff, double[] dst, int dstOff, int len, double k);
+
+    /** dst[i] = src[i] + c */
+    void offset(double[] src, int srcOff, double[] dst, int dstOff, int len, double c);
+
+    /** dst[i] = src[i] − src[i−1]，首个元素减 prev（可原地） */
+    void diff(double[] src, int srcOff, double[] dst, int dstOff, int len, double prev);
+
+    /**
+     * 跳过 NaN 的最小/最大值，写入 out[0]、out[1]；
+     * 无有效样本时为 +∞ / −∞。
+     */
+    void minMax(double[] src, int off, int len, double[] out);
+
+    /**
+     * 跳过 NaN 的计数与平移和：out[0] = 有效样本数，
+     * out[1] = Σ(x − shift)，out[2] = Σ(x − shift)²。
+     * shift 取接近均值的数（如首个样本）可避免大偏置下的相消误差。
+     */
+    void sums(double[] src, int off, int len, double shift, double[] out);
+
+    /**
+     * Neumaier 补偿求和 Σ(x·scale)：out[0] = 和，out[1] = 补偿量（真值 ≈ 和 + 补偿）。
+     * 不跳过 NaN。
+     */
+    void compensatedSum(double[] src, int off, int len, double scale, double[] out);
+
+    /**
+     * 4×4 乘积和：对 p, q ∈ [0, 4)，out[4p + q] += Σₜ x[a + p·stride + t] · x[b + q·stride + t]，t ∈ [0, len)。
+     * 供多通道协方差按 4 个通道一组累加（各通道按行存放，行距 stride）。不跳过 NaN。
+     */
+    void crossProducts4x4(double[] x, int a, int b, int stride, int len, double[] out);
+}
@@ -0,0 +1,61 @@
+package com.myapp.chart.dsp;
+
+/**
+ * 二阶节（biquad）系数，已按 a0 归一化：
+ * y[n] = b0·x[n] + b1·x[n-1] + b2·x[n-2] − a1·y[n-1] − a2·y[n-2]。
+ * 设计公式取自 RBJ Audio EQ Cookbook（双线性变换 + 频率预畸变）。
+ * 一阶节以 b2 = a2 = 0 表示。
+ */
+public final class Biquad {
+
+    final double b0, b1, b2, a1, a2;
+
+    public Biquad(double b0, double b1, double b2, double a1, double a2) {
+        this.b0 = b0;
+        this.b1 = b1;
+        this.b2 = b2;
+        this.a1 = a1;
+        this.a2 = a2;
+    }
+
+    /** 二阶低通 */
+    public static Biquad lowpass(double fs, double f0, double q) {
+        double w = 2 * Math.PI * f0 / fs;
+        double cos = Math.cos(w), alpha = Math.sin(w) / (2 * q);
+        double a0 = 1 + alpha;
+        return new Biquad((1 - cos) / 2 / a0, (1 - cos) / a0, (1 - cos) / 2 / a0,
+                -2 * cos / a0, (1 - alpha) / a0);
+    }
+
+    /** 二阶高通 */
+    public static Biquad highpass(double fs, double f0, double q) {
+        double w = 2 * Math.PI * f0 / fs;
+        double cos = Math.cos(w), alpha = Math.sin(w) / (2 * q);
+        double a0 = 1 + alpha;
+        return new Biquad((1 + cos) / 2 / a0, -(1 + cos) / a0, (1 + cos) / 2 / a0,
+                -2 * cos / a0, (1 - alpha) / a0);
+    }
+
+    /** 陷波：在 f0 处衰减为 0，Q 越大陷波越窄 */
+    public static Biquad notch(double fs, double f0, double q) {
+        double w = 2 * Math.PI * f0 / fs;
+        double cos = Math.cos(w), alpha = Math.sin(w) / (2 * q);
+        double a0 = 1 + alpha;
+        return new Biquad(1 / a0, -2 * cos / a0, 1 / a0,
+                -2 * cos / a0, (1 - alpha) / a0);
+    }
+
+    /** 一阶低通（双线性变换） */
+    public static Biquad firstOrderLowpass(double fs, double f0) {
+        double k = Math.tan(Math.PI * f0 / fs);
+        double b = k / (1 + k);
+        return new Biquad(b, b, 0, (k - 1) / (k + 1), 0);
+    }
+
+    /** 一阶高通（双线性变换） */
+    public static Biquad firstOrderHighpass(double fs, double f0) {
+        double k = Math.tan(Math.PI * f0 / fs);
+        double b = 1 / (1 + k);
+        return new Biquad(b, -b, 0, (k - 1) / (k + 1), 0);
+    }
+}
@@ -0,0 +1,162 @@
+package com.myapp.chart.dsp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+/**
+ * 级联二阶节 IIR 滤波器（转置直接 II 型）。
+ * <p>
+ * 滤波状态保存在实例中，连续多次调用 {@link #process} 与一次处理整段结果相同，
+ * 因此同一实例既可用于已加载通道的分块处理，也可用于实时数据。
+ * 非有限输入（NaN、±∞，如信号脱落）原样输出并清零状态，之后的样本从零状态重新开始，
+ * 不会使整个后续输出都变成 NaN。
+ * 离线零相位滤波见 {@link #filtfilt}。
+ */
+public final class BiquadCascade {
+
+    // 常量配置
+    private static final int BLOCK = 1 << 16;   // 零相位滤波每次处理的样本数（回报进度的粒度）
+
+    private final Biquad[] sections;
+    private final double[] z1;   // 每节状态
+    private final double[] z2;
+
+    public BiquadCascade(Biquad... sections) {
+        this.sections = sections.clone();
+        this.z1 = new double[sections.length];
+        this.z2 = new double[sections.length];
+    }
+
+    // —— 常用设计 —— //
+
+    /** N 阶巴特沃斯低通 */
+    public static BiquadCascade butterworthLowpass(int order, double fs, double fc) {
+        return butterworth(order, fs, fc, true);
+    }
+
+    /** N 阶巴特沃斯高通 */
+    public static BiquadCascade butterworthHighpass(int order, double fs, double fc) {
+        return butterworth(order, fs, fc, false);
+    }
+
+    /** 带通：N 阶高通(low) 级联 N 阶低通(high) */
+    public static BiquadCascade butterworthBandpass(int order, double fs, double low, double high) {
+        return butterworthHighpass(order, fs, low).then(butterworthLowpass(order, fs, high));
+    }
+
+    /** 陷波（如 50/60 Hz 工频） */
+    public static BiquadCascade notch(double fs, double f0, double q) {
+        return new BiquadCascade(Biquad.notch(fs, f0, q));
+    }
+
+    private static BiquadCascade butterworth(int order, double fs, double fc, boolean low) {
+        int n = Math.max(1, order);
+        List<Biquad> list = new ArrayList<>();
+        // 共轭极点对的 Q：1 / (2·sin(π(2k+1)/(2N)))
+        for (int k = 0; k < n / 2; k++) {
+            double q = 1 / (2 * Math.sin(Math.PI * (2 * k + 1) / (2.0 * n)));
+            list.add(low ? Biquad.lowpass(fs, fc, q) : Biquad.highpass(fs, fc, q));
+        }
+        if (n % 2 == 1) {
+            list.add(low ? Biquad.firstOrderLowpass(fs, fc) : Biquad.firstOrderHighpass(fs, fc));
+        }
+        return new BiquadCascade(list.toArray(new Biquad[0]));
+    }
+
+    /** 串接另一个级联（状态清零） */
+    public BiquadCascade then(BiquadCascade next) {
+        Biquad[] all = Arrays.copyOf(sections, sections.length + next.sections.length);
+        System.arraycopy(next.sections, 0, all, sections.length, next.sections.length);
+        return new BiquadCascade(all);
+    }
+
+    /** 相同系数、状态清零的新实例 */
+    public BiquadCascade copy() {
+        return new BiquadCascade(sections);
+    }
+
+    /** 节数 */
+    public int sectionCount() {
+        return sections.length;
+    }
+
+    /** 清零状态 */
+    public void reset() {
+        Arrays.fill(z1, 0);
+        Arrays.fill(z2, 0);
+    }
+
+    /** 原地因果滤波 buf[off, off+len)，状态延续到下次调用；非有限样本原样输出并清零状态 */
+    public void process(double[] buf, int off, int len) {
+        int end = off + len;
+        for (int s = 0; s < sections.length; s++) {
+            Biquad q = sections[s];
+            double b0 = q.b0, b1 = q.b1, b2 = q.b2, a1 = q.a1, a2 = q.a2;
+            double s1 = z1[s], s2 = z2[s];
+            for (int i = off; i < end; i++) {
+                double x = buf[i];
+                if (!Double.isFinite(x)) {
+                    s1 = 0;
+                    s2 = 0;
+                    continue;
+                }
+                double y = b0 * x + s1;
+                s1 = b1 * x - a1 * y + s2;
+                s2 = b2 * x - a2 * y;
+                buf[i] = y;
+            }
+            z1[s] = s1;
+            z2[s] = s2;
+        }
+    }
+
+    /**
+     * 离线零相位滤波（正向 + 反向各一次），两端做奇对称延拓以减小边缘瞬态。
+     *
+     * @param data   原地滤波的数据
+     * @param padLen 每端延拓样本数（会被限制在 data.length - 1 以内）
+     */
+    public void filtfilt(double[] data, int padLen) {
+        filtfilt(data, padLen, fraction -> { });
+    }
+
+    /**
+     * 同 {@link #filtfilt(double[], int)}，两遍各按块执行，每块后以完成比例（0 ~ 1）回调 progress；
+     * 回调抛出的异常（如取消）会中止滤波。
+     */
+    public void filtfilt(double[] data, int padLen, DoubleConsumer progress) {
+        int n = data.length;
+        if (n == 0) {
+            return;
+        }
+        int pad = Math.max(0, Math.min(padLen, n - 1));
+        double[] ext = new double[n + 2 * pad];
+        for (int i = 0; i < pad; i++) {
+            ext[i] = 2 * data[0] - data[pad - i];
+            ext[pad + n + i] = 2 * data[n - 1] - data[n - 2 - i];
+        }
+        System.arraycopy(data, 0, ext, pad, n);
+
+        BiquadCascade f = copy();
+        for (int pass = 0; pass < 2; pass++) {
+            f.reset();
+            for (int pos = 0; pos < ext.length; pos += BLOCK) {
+                int len = Math.min(BLOCK, ext.length - pos);
+                f.process(ext, pos, len);
+                progress.accept((pass * (double) ext.length + pos + len) / (2.0 * ext.length));
+            }
+            reverse(ext);
+        }
+        System.arraycopy(ext, pad, data, 0, n);
+    }
+
+    private static void reverse(double[] a) {
+        for (int i = 0, j = a.length - 1; i < j; i++, j--) {
+            double t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+}
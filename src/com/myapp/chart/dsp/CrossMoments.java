@@ -0,0 +1,159 @@
+package com.myapp.chart.dsp;
+
+import java.util.Arrays;
+
+/**
+ * 可合并的多通道二阶统计：各通道平移和与两两乘积和，给出协方差矩阵与相关系数矩阵。
+ * <p>
+ * 每次送入一个时间块（各通道同一区间），一遍扫描得到全部 N(N+1)/2 个乘积和，
+ * 不需要对每一对通道各扫描一次。块先减去平移量（取接近均值的数，如分块摘要给出的均值）
+ * 并转为紧凑的临时数组；通道按 {@link #TILE} 个一组，每对组在块内用 4×4 个累加器
+ * 同时累加（{@link ArrayKernels#crossProducts4x4}）：每读入 8 个值做 16 次乘加，
+ * 块驻留在 L2 内，对内存的读取量约为逐对计算的 1/4。
+ * <p>
+ * NaN 样本平移后按 0 处理（即以平移量代替），计数不变。
+ * 各时间段、各线程的部分结果可任意顺序 {@link #combine}。实例不是线程安全的。
+ */
+public final class CrossMoments {
+
+    // 常量配置
+    private static final int TILE = 4;
+
+    private final int channels;
+    private final int padded;          // 通道数补齐到 TILE 的倍数
+    private final double[] shift;
+    private long count;
+    private final double[] sums;       // Σ(x − shift)
+    private final double[] products;   // Σ(xᵢ − shiftᵢ)(xⱼ − shiftⱼ)，只填 i 组 ≤ j 组的部分，按 padded×padded 存放
+    private double[] scratch = new double[0];
+    private final double[] tileSums = new double[TILE * TILE];
+    private final ArrayKernels kernels = Kernels.get();
+
+    /**
+     * @param shift 各通道的平移量（长度即通道数）
+     */
+    public CrossMoments(double[] shift) {
+        this.channels = shift.length;
+        this.padded = (channels + TILE - 1) / TILE * TILE;
+        this.shift = Arrays.copyOf(shift, padded);
+        this.sums = new double[padded];
+        this.products = new double[padded * padded];
+    }
+
+    /**
+     * 累加一个时间块：block[c][off, off+len) 为第 c 个通道。
+     */
+    public void add(double[][] block, int off, int len) {
+        if (len <= 0) {
+            return;
+        }
+        if (scratch.length < padded * len) {
+            scratch = new double[padded * len];
+        }
+        double[] x = scratch;
+        for (int c = 0; c < padded; c++) {
+            int base = c * len;
+            if (c >= channels) {
+                Arrays.fill(x, base, base + len, 0);
+                continue;
+            }
+            double[] src = block[c];
+            double s = shift[c];
+            double sum = 0;
+            for (int t = 0; t < len; t++) {
+                double v = src[off + t] - s;
+                v = v != v ? 0 : v;
+                x[base + t] = v;
+                sum += v;
+            }
+            sums[c] += sum;
+        }
+        for (int i = 0; i < padded; i += TILE) {
+            for (int j = i; j < padded; j += TILE) {
+                tile(x, len, i, j);
+            }
+        }
+        count += len;
+    }
+
+    /** 通道 i..i+3 与 j..j+3 在块内的 16 个乘积和 */
+    private void tile(double[] x, int len, int i, int j) {
+        Arrays.fill(tileSums, 0);
+        kernels.crossProducts4x4(x, i * len, j * len, len, len, tileSums);
+        for (int p = 0; p < TILE; p++) {
+            int r = (i + p) * padded + j;
+            for (int q = 0; q < TILE; q++) {
+                products[r + q] += tileSums[p * TILE + q];
+            }
+        }
+    }
+
+    /** 并入另一部分结果（须同一通道数与平移量） */
+    public void combine(CrossMoments o) {
+        if (o.channels != channels || !Arrays.equals(o.shift, shift)) {
+            throw new IllegalArgumentException("通道数或平移量不一致");
+        }
+        count += o.count;
+        for (int c = 0; c < padded; c++) {
+            sums[c] += o.sums[c];
+        }
+        for (int k = 0; k < products.length; k++) {
+            products[k] += o.products[k];
+        }
+    }
+
+    public int channels() {
+        return channels;
+    }
+
+    /** 已累加的时间点数 */
+    public long count() {
+        return count;
+    }
+
+    /** 通道 i 的均值 */
+    public double mean(int i) {
+        return count > 0 ? shift[i] + sums[i] / count : Double.NaN;
+    }
+
+    /** 协方差（总体，除以 n） */
+    public double covariance(int i, int j) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        double p = i / TILE <= j / TILE ? products[i * padded + j] : products[j * padded + i];
+        return (p - sums[i] * sums[j] / count) / count;
+    }
+
+    /** 相关系数；任一通道方差为 0 时为 NaN */
+    public double correlation(int i, int j) {
+        double vi = covariance(i, i), vj = covariance(j, j);
+        if (!(vi > 0) || !(vj > 0)) {
+            return Double.NaN;
+        }
+        double r = covariance(i, j) / Math.sqrt(vi * vj);
+        return Math.max(-1, Math.min(1, r));
+    }
+
+    /** 协方差矩阵 */
+    public double[][] covarianceMatrix() {
+        double[][] m = new double[channels][channels];
+        for (int i = 0; i < channels; i++) {
+            for (int j = i; j < channels; j++) {
+                m[i][j] = m[j][i] = covariance(i, j);
+            }
+        }
+        return m;
+    }
+
+    /** 相关系数矩阵，对角线为 1（方差为 0 的通道为 NaN） */
+    public double[][] correlationMatrix() {
+        double[][] m = new double[channels][channels];
+        for (int i = 0; i < channels; i++) {
+            for (int j = i; j < channels; j++) {
+                m[i][j] = m[j][i] = correlation(i, j);
+            }
+        }
+        return m;
+    }
+}
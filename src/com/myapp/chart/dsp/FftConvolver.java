@@ -0,0 +1,116 @@
+package com.myapp.chart.dsp;
+
+/**
+ * 重叠保留（overlap-save）FFT 卷积：因果 FIR 滤波的快速实现。
+ * <p>
+ * 核长 K 时取 FFT 长度 N ≥ 4K，每块输入 L = N − K + 1 个新样本，
+ * 与前 K−1 个历史样本一起变换、与核的频谱相乘、逆变换后取后 L 个输出。
+ * 输出攒满一块才产出，因此相对输入最多滞后 L−1 个样本（{@link #latency()}），
+ * 输入结束时由 {@link #flush} 补零冲出。结果与 {@link FirFilter} 的因果输出一致（浮点误差内）。
+ */
+public final class FftConvolver {
+
+    // 常量配置
+    private static final int MIN_FFT_SIZE = 256;
+
+    private final int taps;
+    private final int step;           // L：每块新样本数
+    private final RealFft fft;
+    private final double[] kernelRe;
+    private final double[] kernelIm;
+
+    private final double[] block;     // [0, K−1) 历史 + [K−1, N) 新样本
+    private final double[] re;
+    private final double[] im;
+    private final double[] result;
+    private int fill;                 // 当前块已收到的新样本数
+
+    public FftConvolver(double[] kernel) {
+        this.taps = kernel.length;
+        int n = Math.max(MIN_FFT_SIZE, RealFft.nextPowerOfTwo(4 * taps));
+        this.fft = RealFft.of(n);
+        this.step = n - taps + 1;
+
+        int bins = n / 2 + 1;
+        this.kernelRe = new double[bins];
+        this.kernelIm = new double[bins];
+        double[] padded = new double[n];
+        System.arraycopy(kernel, 0, padded, 0, taps);
+        fft.forward(padded, 0, kernelRe, kernelIm);
+
+        this.block = new double[n];
+        this.re = new double[bins];
+        this.im = new double[bins];
+        this.result = new double[n];
+    }
+
+    /** 核长度 */
+    public int length() {
+        return taps;
+    }
+
+    /** 输出相对输入的最大滞后（样本数） */
+    public int latency() {
+        return step - 1;
+    }
+
+    /**
+     * 送入 in[inOff, inOff+len)，已就绪的因果输出按顺序写入 out[outOff…]。
+     *
+     * @return 本次产出的样本数（不超过 len + {@link #latency()}）
+     */
+    public int process(double[] in, int inOff, int len, double[] out, int outOff) {
+        int produced = 0;
+        int i = 0;
+        while (i < len) {
+            int n = Math.min(len - i, step - fill);
+            System.arraycopy(in, inOff + i, block, taps - 1 + fill, n);
+            fill += n;
+            i += n;
+            if (fill == step) {
+                convolveBlock();
+                System.arraycopy(result, taps - 1, out, outOff + produced, step);
+                produced += step;
+                // 本块末尾 K−1 个输入成为下一块的历史
+                System.arraycopy(block, step, block, 0, taps - 1);
+                fill = 0;
+            }
+        }
+        return produced;
+    }
+
+    /**
+     * 输入结束：补零计算未满的最后一块，输出其余因果样本。
+     *
+     * @return 产出的样本数（不超过 {@link #latency()}）
+     */
+    public int flush(double[] out, int outOff) {
+        if (fill == 0) {
+            return 0;
+        }
+        java.util.Arrays.fill(block, taps - 1 + fill, block.length, 0);
+        convolveBlock();
+        System.arraycopy(result, taps - 1, out, outOff, fill);
+        int produced = fill;
+        reset();
+        return produced;
+    }
+
+    /** 清零状态 */
+    public void reset() {
+        java.util.Arrays.fill(block, 0);
+        fill = 0;
+    }
+
+    /** 整块：正变换、逐频点乘核频谱、逆变换到 result */
+    private void convolveBlock() {
+        fft.forward(block, 0, re, im);
+        for (int k = 0; k < re.length; k++) {
+            double r = re[k] * kernelRe[k] - im[k] * kernelIm[k];
+            double m = re[k] * kernelIm[k] + im[k] * kernelRe[k];
+            re[k] = r;
+            im[k] = m;
+        }
+        fft.inverse(re, im, result, 0);
+    }
+}
@@ -0,0 +1,115 @@
+package com.myapp.chart.dsp;
+
+/**
+ * 直接型 FIR 滤波器，内部保存最近 N-1 个输入作为跨块状态。
+ * 历史缓冲采用双倍长度写入，避免内层循环取模。
+ * 设计方法为加 Hamming 窗的 sinc（线性相位，群延迟 (N-1)/2）。
+ */
+public final class FirFilter {
+
+    private final double[] taps;
+    private final double[] history;   // 长度 2N，位置 p 与 p+N 同时写入
+    private int pos;
+
+    public FirFilter(double[] taps) {
+        this.taps = taps.clone();
+        this.history = new double[2 * taps.length];
+    }
+
+    // —— 窗函数法设计 —— //
+
+    /** 低通，fc 为截止频率（Hz） */
+    public static double[] designLowpass(int numTaps, double fs, double fc) {
+        double[] h = new double[numTaps];
+        double m = (numTaps - 1) / 2.0;
+        double wc = 2 * fc / fs;
+        for (int i = 0; i < numTaps; i++) {
+            h[i] = wc * sinc(wc * (i - m)) * hamming(i, numTaps);
+        }
+        normalize(h, 0, fs);
+        return h;
+    }
+
+    /** 高通（谱反转，要求奇数阶数） */
+    public static double[] designHighpass(int numTaps, double fs, double fc) {
+        int n = numTaps | 1;
+        double[] h = designLowpass(n, fs, fc);
+        for (int i = 0; i < n; i++) {
+            h[i] = -h[i];
+        }
+        h[(n - 1) / 2] += 1;
+        return h;
+    }
+
+    /** 带通 [low, high]，通带中心增益归一为 1 */
+    public static double[] designBandpass(int numTaps, double fs, double low, double high) {
+        double[] h = new double[numTaps];
+        double m = (numTaps - 1) / 2.0;
+        double w1 = 2 * low / fs, w2 = 2 * high / fs;
+        for (int i = 0; i < numTaps; i++) {
+            double t = i - m;
+            h[i] = (w2 * sinc(w2 * t) - w1 * sinc(w1 * t)) * hamming(i, numTaps);
+        }
+        normalize(h, (low + high) / 2, fs);
+        return h;
+    }
+
+    /** 系数个数 */
+    public int length() {
+        return taps.length;
+    }
+
+    /** 系数副本 */
+    public double[] getTaps() {
+        return taps.clone();
+    }
+
+    /** 清零状态 */
+    public void reset() {
+        java.util.Arrays.fill(history, 0);
+        pos = 0;
+    }
+
+    /** 原地因果滤波 buf[off, off+len)，状态延续到下次调用 */
+    public void process(double[] buf, int off, int len) {
+        int n = taps.length;
+        double[] h = taps, hist = history;
+        int p = pos;
+        for (int i = off; i < off + len; i++) {
+            // 最新样本写在 p 与 p+n，hist[p … p+n) 由新到旧
+            p = (p == 0 ? n : p) - 1;
+            hist[p] = hist[p + n] = buf[i];
+            double acc = 0;
+            for (int k = 0; k < n; k++) {
+                acc += h[k] * hist[p + k];
+            }
+            buf[i] = acc;
+        }
+        pos = p;
+    }
+
+    private static double sinc(double x) {
+        if (x == 0) return 1;
+        double px = Math.PI * x;
+        return Math.sin(px) / px;
+    }
+
+    private static double hamming(int i, int n) {
+        return n == 1 ? 1 : 0.54 - 0.46 * Math.cos(2 * Math.PI * i / (n - 1));
+    }
+
+    /** 使频率 f 处的增益为 1 */
+    private static void normalize(double[] h, double f, double fs) {
+        double re = 0, im = 0, w = 2 * Math.PI * f / fs;
+        for (int i = 0; i < h.length; i++) {
+            re += h[i] * Math.cos(w * i);
+            im -= h[i] * Math.sin(w * i);
+        }
+        double g = Math.hypot(re, im);
+        if (g > 0) {
+            for (int i = 0; i < h.length; i++) {
+                h[i] /= g;
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.myapp.chart.dsp;
+
+/**
+ * 等宽直方图累加器：区间 [lo, hi] 均分为若干箱，落在区间外的计入下溢/上溢，NaN 单独计数。
+ * 箱边界相同的直方图可以合并，因此可分块并行累加。实例不是线程安全的。
+ */
+public final class Histogram {
+
+    private final double lo;
+    private final double hi;
+    private final double scale;
+    private final long[] counts;
+    private long underflow;
+    private long overflow;
+    private long nanCount;
+
+    /** hi ≤ lo（如常数通道）时取以 lo 为中心、宽度为 1 的区间；无有效值（NaN）时取 [0, 1] */
+    public Histogram(double lo, double hi, int bins) {
+        if (Double.isNaN(lo) || Double.isNaN(hi)) {
+            lo = 0;
+            hi = 1;
+        } else if (!(hi > lo)) {
+            lo -= 0.5;
+            hi = lo + 1;
+        }
+        this.lo = lo;
+        this.hi = hi;
+        this.counts = new long[Math.max(1, bins)];
+        this.scale = counts.length / (hi - lo);
+    }
+
+    /** 累加一块样本 */
+    public void add(double[] src, int off, int len) {
+        int last = counts.length - 1;
+        for (int i = off; i < off + len; i++) {
+            double v = src[i];
+            if (v != v) {
+                nanCount++;
+            } else if (v < lo) {
+                underflow++;
+            } else if (v > hi) {
+                overflow++;
+            } else {
+                counts[Math.min(last, (int) ((v - lo) * scale))]++;
+            }
+        }
+    }
+
+    /** 并入箱边界相同的直方图 */
+    public void merge(Histogram o) {
+        if (o.lo != lo || o.hi != hi || o.counts.length != counts.length) {
+            throw new IllegalArgumentException("直方图箱边界不一致");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += o.counts[i];
+        }
+        underflow += o.underflow;
+        overflow += o.overflow;
+        nanCount += o.nanCount;
+    }
+
+    public int bins()              { return counts.length; }
+    public long count(int bin)     { return counts[bin]; }
+    public double lo()             { return lo; }
+    public double hi()             { return hi; }
+    public double binWidth()       { return (hi - lo) / counts.length; }
+    public double binStart(int bin) { return lo + bin * binWidth(); }
+    public long underflow()        { return underflow; }
+    public long overflow()         { return overflow; }
+    public long nanCount()         { return nanCount; }
+
+    /** 落在 [lo, hi] 内的样本数 */
+    public long inRange() {
+        long s = 0;
+        for (long c : counts) s += c;
+        return s;
+    }
+}
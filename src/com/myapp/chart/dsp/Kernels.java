@@ -0,0 +1,48 @@
+package com.myapp.chart.dsp;
+
+/**
+ * 数组内核的选择：运行时存在 jdk.incubator.vector 模块
+ * （启动参数 {@code --add-modules jdk.incubator.vector}）且类路径上有 SIMD 实现时反射加载它，
+ * 否则使用标量实现。SIMD 实现在单独的源码目录 vector/ 中编译（见 build.sh），
+ * 本目录不引用孵化模块，不带额外参数即可编译。系统属性 {@code chart.kernels=scalar} 可强制使用标量实现。
+ */
+public final class Kernels {
+
+    // 常量配置
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_IMPL   = "com.myapp.chart.dsp.VectorKernels";
+    private static final String PROPERTY      = "chart.kernels";
+    private static final String FORCE_SCALAR  = "scalar";
+
+    private static final ArrayKernels INSTANCE = load();
+
+    private Kernels() {}   // 工具类不允许实例化
+
+    /** 当前使用的内核 */
+    public static ArrayKernels get() {
+        return INSTANCE;
+    }
+
+    /** 是否为 SIMD 实现 */
+    public static boolean isVectorized() {
+        return !(INSTANCE instanceof ScalarKernels);
+    }
+
+    /** 标量实现（对照与测量用） */
+    public static ArrayKernels scalar() {
+        return ScalarKernels.INSTANCE;
+    }
+
+    private static ArrayKernels load() {
+        if (!FORCE_SCALAR.equals(System.getProperty(PROPERTY))
+                && ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                // 仅在模块存在时才解析 SIMD 类，避免缺少模块时链接失败
+                return (ArrayKernels) Class.forName(VECTOR_IMPL).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // 回退到标量实现
+            }
+        }
+        return ScalarKernels.INSTANCE;
+    }
+}
@@ -0,0 +1,173 @@
+package com.myapp.chart.dsp;
+
+import java.util.Arrays;
+
+/**
+ * 两路信号的时延估计：分段互相关取平均，峰值位置即时延。
+ * <p>
+ * 两路按长度 M（2 的幂，≥ 4·最大时延）不重叠分段，每段去均值后补零到 2M 做 FFT，
+ * 累加 conj(X)·Y 与两路能量；结束时逆变换得到 |τ| ≤ 最大时延范围内的线性互相关，
+ * 按段内重叠长度做无偏修正后归一化为相关系数。含 NaN 的段跳过。
+ * 时延 τ > 0 表示 y 落后于 x（y[n] ≈ x[n − τ]）；峰值用抛物线插值到亚样本。
+ * 各部分可 {@link #combine}，便于分块并行。实例不是线程安全的。
+ */
+public final class LagEstimator {
+
+    // 常量配置
+    private static final int MIN_SEGMENT = 256;
+
+    private final int maxLag;
+    private final int segment;
+    private final RealFft fft;
+    private final double[] sumRe;     // Σ conj(X)·Y
+    private final double[] sumIm;
+    private double energyX;
+    private double energyY;
+    private int segments;
+
+    private final double[] pendingX;
+    private final double[] pendingY;
+    private int fill;
+    private final double[] frame;
+    private final double[] xr, xi, yr, yi;
+
+    public LagEstimator(int maxLag) {
+        this.maxLag = Math.max(1, maxLag);
+        this.segment = Math.max(MIN_SEGMENT, RealFft.nextPowerOfTwo(4 * this.maxLag));
+        this.fft = RealFft.of(2 * segment);
+        int bins = segment + 1;
+        this.sumRe = new double[bins];
+        this.sumIm = new double[bins];
+        this.pendingX = new double[segment];
+        this.pendingY = new double[segment];
+        this.frame = new double[2 * segment];
+        this.xr = new double[bins];
+        this.xi = new double[bins];
+        this.yr = new double[bins];
+        this.yi = new double[bins];
+    }
+
+    /** 段长（样本） */
+    public int segmentLength() {
+        return segment;
+    }
+
+    /** 已累加的段数 */
+    public int segments() {
+        return segments;
+    }
+
+    /** 送入两路的同一区间 x[off, off+len)、y[off, off+len) */
+    public void add(double[] x, double[] y, int off, int len) {
+        int i = 0;
+        while (i < len) {
+            int n = Math.min(len - i, segment - fill);
+            System.arraycopy(x, off + i, pendingX, fill, n);
+            System.arraycopy(y, off + i, pendingY, fill, n);
+            fill += n;
+            i += n;
+            if (fill == segment) {
+                accumulate();
+                fill = 0;
+            }
+        }
+    }
+
+    /** 并入另一部分（须同一最大时延；对方未满一段的输入丢弃） */
+    public void combine(LagEstimator o) {
+        if (o.segment != segment) {
+            throw new IllegalArgumentException("段长不一致");
+        }
+        for (int k = 0; k < sumRe.length; k++) {
+            sumRe[k] += o.sumRe[k];
+            sumIm[k] += o.sumIm[k];
+        }
+        energyX += o.energyX;
+        energyY += o.energyY;
+        segments += o.segments;
+    }
+
+    /**
+     * 时延 −maxLag … maxLag 上的互相关系数，下标 maxLag + τ；尚无完整段时全为 NaN。
+     */
+    public double[] correlation() {
+        double[] r = new double[2 * maxLag + 1];
+        if (segments == 0 || !(energyX > 0) || !(energyY > 0)) {
+            Arrays.fill(r, Double.NaN);
+            return r;
+        }
+        double[] re = sumRe.clone();
+        double[] im = sumIm.clone();
+        double[] c = new double[2 * segment];
+        fft.inverse(re, im, c, 0);
+        double norm = Math.sqrt(energyX * energyY);
+        for (int tau = -maxLag; tau <= maxLag; tau++) {
+            double v = c[tau >= 0 ? tau : 2 * segment + tau];
+            double unbiased = segment / (double) (segment - Math.abs(tau));
+            r[maxLag + tau] = Math.max(-1, Math.min(1, v * unbiased / norm));
+        }
+        return r;
+    }
+
+    /**
+     * 互相关绝对值最大处的时延（样本，含亚样本插值）；反相相关同样可检出，符号见 {@link #correlation()}。
+     * 尚无完整段时为 NaN。
+     */
+    public double peakLag() {
+        double[] r = correlation();
+        int best = -1;
+        for (int k = 0; k < r.length; k++) {
+            if (!Double.isNaN(r[k]) && (best < 0 || Math.abs(r[k]) > Math.abs(r[best]))) {
+                best = k;
+            }
+        }
+        if (best < 0) {
+            return Double.NaN;
+        }
+        double offset = 0;
+        if (best > 0 && best < r.length - 1) {
+            double a = Math.abs(r[best - 1]), b = Math.abs(r[best]), c = Math.abs(r[best + 1]);
+            double d = a - 2 * b + c;
+            if (d < 0) {
+                offset = 0.5 * (a - c) / d;
+            }
+        }
+        return best - maxLag + offset;
+    }
+
+    /** 处理一整段：去均值、补零、累加互谱与能量 */
+    private void accumulate() {
+        double mx = 0, my = 0;
+        for (int i = 0; i < segment; i++) {
+            mx += pendingX[i];
+            my += pendingY[i];
+        }
+        if (Double.isNaN(mx) || Double.isNaN(my)) {
+            return;
+        }
+        mx /= segment;
+        my /= segment;
+        double ex = 0, ey = 0;
+        Arrays.fill(frame, segment, frame.length, 0);
+        for (int i = 0; i < segment; i++) {
+            double v = pendingX[i] - mx;
+            frame[i] = v;
+            ex += v * v;
+        }
+        fft.forward(frame, 0, xr, xi);
+        for (int i = 0; i < segment; i++) {
+            double v = pendingY[i] - my;
+            frame[i] = v;
+            ey += v * v;
+        }
+        fft.forward(frame, 0, yr, yi);
+        for (int k = 0; k < sumRe.length; k++) {
+            // conj(X)·Y
+            sumRe[k] += xr[k] * yr[k] + xi[k] * yi[k];
+            sumIm[k] += xr[k] * yi[k] - xi[k] * yr[k];
+        }
+        energyX += ex;
+        energyY += ey;
+        segments++;
+    }
+}
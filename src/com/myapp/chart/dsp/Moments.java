@@ -0,0 +1,131 @@
+package com.myapp.chart.dsp;
+
+/**
+ * 可合并的单遍统计量：计数、NaN 计数、最值、均值与二阶中心矩 M2。
+ * <p>
+ * 逐块累加时先用数组内核求块内最值与以块中点平移的和（块在 L1 内，两次扫描只读一次内存），
+ * 再按 Chan 等人的并行公式与已有结果合并；逐点累加用 Welford 更新。
+ * 各块、各线程的部分结果可以任意顺序 {@link #combine}，不需要临时数组保存样本。
+ * 实例不是线程安全的，并行时每个任务各用一个实例。
+ */
+public final class Moments {
+
+    private long count;
+    private long nanCount;
+    private double mean;
+    private double m2;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    // 内核输出，复用以免每块分配
+    private final double[] mm = new double[2];
+    private final double[] part = new double[3];
+
+    /** 逐点累加（Welford） */
+    public void add(double v) {
+        if (v != v) {
+            nanCount++;
+            return;
+        }
+        count++;
+        double d = v - mean;
+        mean += d / count;
+        m2 += d * (v - mean);
+        if (v < min) min = v;
+        if (v > max) max = v;
+    }
+
+    /** 累加一块样本，NaN 计入 {@link #nanCount()} */
+    public void add(double[] src, int off, int len) {
+        if (len <= 0) {
+            return;
+        }
+        ArrayKernels kernels = Kernels.get();
+        kernels.minMax(src, off, len, mm);
+        if (mm[0] > mm[1]) {
+            nanCount += len;   // 全为 NaN
+            return;
+        }
+        double shift = (mm[0] + mm[1]) / 2;
+        kernels.sums(src, off, len, shift, part);
+        long n = (long) part[0];
+        double blockMean = part[1] / n;
+        double blockM2 = Math.max(0, part[2] - part[1] * blockMean);
+        nanCount += len - n;
+        merge(n, shift + blockMean, blockM2, mm[0], mm[1]);
+    }
+
+    /** 并入另一部分结果（Chan 合并公式） */
+    public void combine(Moments o) {
+        combine(o.count, o.nanCount, o.mean, o.m2, o.min, o.max);
+    }
+
+    /** 并入以各分量给出的部分结果（如分块摘要中的一块） */
+    public void combine(long n, long nans, double mean2, double m22, double min2, double max2) {
+        nanCount += nans;
+        if (n > 0) {
+            merge(n, mean2, m22, min2, max2);
+        }
+    }
+
+    /** 清空，便于逐块复用同一实例 */
+    public void reset() {
+        count = 0;
+        nanCount = 0;
+        mean = 0;
+        m2 = 0;
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+    }
+
+    private void merge(long n, double mean2, double m22, double min2, double max2) {
+        long total = count + n;
+        double d = mean2 - mean;
+        mean += d * n / total;
+        m2 += m22 + d * d * ((double) count * n / total);
+        count = total;
+        if (min2 < min) min = min2;
+        if (max2 > max) max = max2;
+    }
+
+    /** 有效（非 NaN）样本数 */
+    public long count() {
+        return count;
+    }
+
+    public long nanCount() {
+        return nanCount;
+    }
+
+    /** 无有效样本时为 NaN */
+    public double min() {
+        return count > 0 ? min : Double.NaN;
+    }
+
+    public double max() {
+        return count > 0 ? max : Double.NaN;
+    }
+
+    public double mean() {
+        return count > 0 ? mean : Double.NaN;
+    }
+
+    /** 中心二阶矩 Σ(x − 均值)² */
+    public double m2() {
+        return m2;
+    }
+
+    /** 总体方差 M2 / n */
+    public double variance() {
+        return count > 0 ? m2 / count : Double.NaN;
+    }
+
+    /** 样本方差 M2 / (n − 1) */
+    public double sampleVariance() {
+        return count > 1 ? m2 / (count - 1) : Double.NaN;
+    }
+
+    public double std() {
+        return Math.sqrt(variance());
+    }
+}
@@ -0,0 +1,180 @@
+package com.myapp.chart.dsp;
+
+/**
+ * 有理倍率 L/M 的多相重采样器（零相位）。
+ * <p>
+ * 原理：插 L−1 个零 → 低通抗混叠/抗镜像 → 每 M 个取 1 个。
+ * 多相分解后每个输出样本只需计算一相的 2H+1 个乘加，无需真正插零。
+ * 原型低通为 Kaiser 窗 sinc：阻带从新旧奈奎斯特频率中较低者开始，
+ * 衰减约 80 dB，过渡带宽为该奈奎斯特频率的 20%。
+ * 群延迟已补偿，输出第 m 个样本与输入时刻 m·M/L 对齐；两端按零延拓。
+ * <p>
+ * 任一段输出只依赖一段有限的输入（见 {@link #firstInput}、{@link #lastInput}），
+ * 因此可分块、并行计算。实例不可变，可在线程间共享。
+ */
+public final class PolyphaseResampler {
+
+    // 常量配置
+    private static final double STOPBAND_DB    = 80;    // 阻带衰减
+    private static final double TRANSITION     = 0.2;   // 过渡带宽（相对较低奈奎斯特频率）
+    private static final int    MAX_FACTOR     = 1024;  // 有理逼近时 L、M 的上限
+
+    private final int up;
+    private final int down;
+    private final int half;          // 每相单侧抽头数 H
+    private final int width;         // 每相抽头数 2H+1
+    private final double[] phases;   // 按相存放：phases[p·width + j] = h[p + j·L]
+
+    public PolyphaseResampler(int up, int down) {
+        if (up <= 0 || down <= 0) {
+            throw new IllegalArgumentException("重采样倍率须为正整数");
+        }
+        int g = gcd(up, down);
+        this.up = up / g;
+        this.down = down / g;
+
+        int ratio = Math.max(this.up, this.down);
+        double dw = TRANSITION * Math.PI / ratio;                       // 过渡带（插值域弧度）
+        int taps = (int) Math.ceil((STOPBAND_DB - 8) / (2.285 * dw)) + 1;
+        this.half = Math.max(1, (taps - 1 + 2 * this.up - 1) / (2 * this.up));
+        this.width = 2 * half + 1;
+        this.phases = design();
+    }
+
+    /** 按采样率构造：倍率为 to/from 的最佳有理逼近（L、M 不超过 1024） */
+    public static PolyphaseResampler forRates(double from, double to) {
+        if (!(from > 0 && to > 0)) {
+            throw new IllegalArgumentException("采样率须为正数");
+        }
+        int[] lm = rational(to / from, MAX_FACTOR);
+        return new PolyphaseResampler(lm[0], lm[1]);
+    }
+
+    /** 插值倍数 L（已约分） */
+    public int up() {
+        return up;
+    }
+
+    /** 抽取倍数 M（已约分） */
+    public int down() {
+        return down;
+    }
+
+    /** 每个输出样本的乘加次数 */
+    public int tapsPerOutput() {
+        return width;
+    }
+
+    /** 输入 n 个样本对应的输出样本数 ⌈n·L/M⌉ */
+    public long outputLength(long n) {
+        return (n * up + down - 1) / down;
+    }
+
+    /** 计算第 m 个输出样本用到的最早输入下标（可能为负，视为 0 值） */
+    public long firstInput(long m) {
+        return lastInput(m) - (width - 1);
+    }
+
+    /** 计算第 m 个输出样本用到的最晚输入下标 */
+    public long lastInput(long m) {
+        return (m * down + (long) half * up) / up;
+    }
+
+    /**
+     * 计算输出 [m0, m0+count)，写入 out[outOff…]。
+     * in[0…inLen) 为输入下标 [inBase, inBase+inLen) 的样本，范围外视为 0；
+     * 要得到完整结果，该范围应覆盖 [firstInput(m0), lastInput(m0+count-1)] 与 [0, n) 的交集。
+     */
+    public void resample(double[] in, long inBase, int inLen,
+                         long m0, double[] out, int outOff, int count) {
+        long inEnd = inBase + inLen - 1;
+        long delay = (long) half * up;
+        for (int k = 0; k < count; k++) {
+            long t = (m0 + k) * down + delay;        // 插值域下标
+            long i0 = t / up;                        // 该相对应的最新输入
+            int base = (int) (t - i0 * up) * width;
+            int jFrom = (int) Math.max(0, i0 - inEnd);
+            int jTo = (int) Math.min(width - 1, i0 - inBase);
+            int idx = (int) (i0 - inBase);
+            double acc = 0;
+            for (int j = jFrom; j <= jTo; j++) {
+                acc += phases[base + j] * in[idx - j];
+            }
+            out[outOff + k] = acc;
+        }
+    }
+
+    /** Kaiser 窗 sinc 原型，按相重排，每相直流增益归一为 1 */
+    private double[] design() {
+        double beta = 0.1102 * (STOPBAND_DB - 8.7);
+        double fc = (1 - TRANSITION / 2) / Math.max(up, down);   // 截止（相对插值域奈奎斯特）
+        int n = width * up;                                      // 原型长度（末尾补零对齐）
+        double center = (double) half * up;
+        double span = half * up;
+        double i0Beta = besselI0(beta);
+
+        double[] out = new double[n];
+        for (int p = 0; p < up; p++) {
+            double sum = 0;
+            for (int j = 0; j < width; j++) {
+                int k = p + j * up;
+                double x = k - center;
+                double r = x / span;
+                double h = r * r > 1 ? 0 : fc * sinc(fc * x) * besselI0(beta * Math.sqrt(1 - r * r)) / i0Beta;
+                out[p * width + j] = h;
+                sum += h;
+            }
+            if (sum != 0) {
+                for (int j = 0; j < width; j++) {
+                    out[p * width + j] /= sum;
+                }
+            }
+        }
+        return out;
+    }
+
+    private static double sinc(double x) {
+        if (x == 0) return 1;
+        double px = Math.PI * x;
+        return Math.sin(px) / px;
+    }
+
+    /** 零阶第一类修正贝塞尔函数（级数展开） */
+    private static double besselI0(double x) {
+        double sum = 1, term = 1, q = x * x / 4;
+        for (int k = 1; k < 64; k++) {
+            term *= q / ((double) k * k);
+            sum += term;
+            if (term < sum * 1e-17) break;
+        }
+        return sum;
+    }
+
+    /** 连分数求 x 的最佳有理逼近 p/q，p、q ≤ max */
+    static int[] rational(double x, int max) {
+        long p0 = 0, q0 = 1, p1 = 1, q1 = 0;
+        double v = x;
+        for (int iter = 0; iter < 64; iter++) {
+            long a = (long) Math.floor(v);
+            long p2 = a * p1 + p0, q2 = a * q1 + q0;
+            if (p2 > max || q2 > max) break;
+            p0 = p1; q0 = q1; p1 = p2; q1 = q2;
+            double frac = v - a;
+            if (frac < 1e-12 || Math.abs((double) p1 / q1 - x) <= 1e-12 * x) break;
+            v = 1 / frac;
+        }
+        if (p1 == 0 || q1 == 0) {   // 倍率超出范围时退化为最接近的整数倍
+            return x >= 1 ? new int[]{max, 1} : new int[]{1, max};
+        }
+        return new int[]{(int) p1, (int) q1};
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,81 @@
+package com.myapp.chart.dsp;
+
+import java.util.stream.IntStream;
+
+/**
+ * 分块并行前缀和（扫描）工具：两遍扫描 + 块内 Neumaier 补偿求和。
+ * <p>
+ * 第一遍并行求各块的补偿和；串行累加得到各块起点；第二遍并行写出块内前缀。
+ * 长序列累加时误差不随样本数线性增长。
+ */
+public final class PrefixSum {
+
+    // 常量配置
+    private static final int BLOCK_SIZE     = 1 << 16;   // 每块样本数
+    private static final int PARALLEL_MIN   = 1 << 18;   // 低于此长度直接串行
+
+    private PrefixSum() {}   // 工具类不允许实例化
+
+    /**
+     * 包含式前缀和：out[i] = scale · (in[0] + … + in[i])。
+     * in 与 out 可以是同一数组。
+     */
+    public static void inclusiveScan(double[] in, double[] out, double scale) {
+        int n = in.length;
+        if (n == 0) {
+            return;
+        }
+        if (n < PARALLEL_MIN) {
+            scanBlock(in, out, 0, n, scale, 0, 0);
+            return;
+        }
+
+        int blocks = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        double[] blockSum  = new double[blocks];
+        double[] blockComp = new double[blocks];
+
+        // 第一遍：各块补偿和（无依赖链，可用 SIMD 内核）
+        ArrayKernels kernels = Kernels.get();
+        IntStream.range(0, blocks).parallel().forEach(b -> {
+            int from = b * BLOCK_SIZE;
+            int to   = Math.min(n, from + BLOCK_SIZE);
+            double[] r = new double[2];
+            kernels.compensatedSum(in, from, to - from, scale, r);
+            blockSum[b]  = r[0];
+            blockComp[b] = r[1];
+        });
+
+        // 串行：块起点（排他前缀），同样带补偿
+        double[] startSum  = new double[blocks];
+        double[] startComp = new double[blocks];
+        double s = 0, c = 0;
+        for (int b = 0; b < blocks; b++) {
+            startSum[b]  = s;
+            startComp[b] = c;
+            double x = blockSum[b];
+            double t = s + x;
+            c += (Math.abs(s) >= Math.abs(x) ? (s - t) + x : (x - t) + s) + blockComp[b];
+            s = t;
+        }
+
+        // 第二遍：块内前缀
+        IntStream.range(0, blocks).parallel().forEach(b -> {
+            int from = b * BLOCK_SIZE;
+            int to   = Math.min(n, from + BLOCK_SIZE);
+            scanBlock(in, out, from, to, scale, startSum[b], startComp[b]);
+        });
+    }
+
+    /** 串行补偿扫描 [from, to)，起点为 (sum, comp) */
+    private static void scanBlock(double[] in, double[] out, int from, int to,
+                                  double scale, double sum, double comp) {
+        double s = sum, c = comp;
+        for (int i = from; i < to; i++) {
+            double x = in[i] * scale;
+            double t = s + x;
+            c += Math.abs(s) >= Math.abs(x) ? (s - t) + x : (x - t) + s;
+            s = t;
+            out[i] = s + c;
+        }
+    }
+}
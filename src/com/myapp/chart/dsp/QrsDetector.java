@@ -0,0 +1,349 @@
+package com.myapp.chart.dsp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Pan-Tompkins QRS 检测（流式）。
+ * <p>
+ * 带通 5–15 Hz → 五点导数 → 平方 → 150 ms 滑动积分；积分波形上相距不足 200 ms 的峰只取最大者，
+ * 再按自适应阈值（信号峰/噪声峰的滑动估计）区分 QRS 与噪声。超过 1.66 倍平均 RR 仍无心搏时，
+ * 以半阈值回溯期间最大的噪声峰；距上一心搏不足 360 ms 且斜率不到其一半的峰视为 T 波。
+ * 前 2 秒用于初始化阈值，期间的峰在初始化后补判。
+ * <p>
+ * R 峰先在带通信号上定位，再在原始信号上细化。状态保存在实例中，
+ * 分块调用与一次处理整段结果相同；心搏在积分峰之后约 200 ms 确认，
+ * 输入结束时调用 {@link #flush()} 确认仍在待定中的最后一个峰。
+ */
+public final class QrsDetector {
+
+    // 常量配置
+    private static final double BAND_LOW        = 5;       // Hz
+    private static final double BAND_HIGH       = 15;      // Hz
+    private static final int    BAND_ORDER      = 2;
+    private static final double INTEGRATION_SEC = 0.150;
+    private static final double REFRACTORY_SEC  = 0.200;
+    private static final double T_WAVE_SEC      = 0.360;
+    private static final double REFINE_SEC      = 0.100;   // 原始信号上细化 R 峰的回看范围
+    private static final double LEARN_SEC       = 2.0;
+    private static final double SEARCHBACK_RR   = 1.66;
+    private static final double RR_LOW_LIMIT    = 0.92;
+    private static final double RR_HIGH_LIMIT   = 1.16;
+    private static final int    RR_HISTORY      = 8;
+    private static final int    BLOCK           = 1024;
+
+    private final double fs;
+    private final int window;          // 积分窗长（样本）
+    private final int refractory;
+    private final int tWave;
+    private final int refine;
+    private final int learn;
+    private final BiquadCascade band;
+    private final double[] rawBlock = new double[BLOCK];
+    private final double[] bandBlock = new double[BLOCK];
+
+    // 最近约 1 秒的原始、带通与斜率，用于定位 R 峰
+    private final int mask;
+    private final double[] rawRing;
+    private final double[] bandRing;
+    private final double[] slopeRing;
+
+    // 导数与滑动积分
+    private double b1, b2, b3, b4;
+    private final double[] squares;
+    private int squarePos;
+    private double squareSum;
+    private double m1, m2;             // 前两个积分值
+
+    private int n;                     // 当前样本序号
+    private int pendingIdx = -1;       // 不应期内待定的积分峰
+    private double pendingVal;
+
+    // 初始化阶段
+    private boolean learned;
+    private double learnMax;
+    private double learnSum;
+    private final List<Peak> learnPeaks = new ArrayList<>();
+
+    // 自适应阈值
+    private double spki;
+    private double npki;
+    private double threshold1;
+    private double threshold2;
+
+    private int lastR = -1;
+    private double lastSlope;
+    private Peak searchback;           // 上一心搏以来超过半阈值的最大噪声峰
+
+    private final double[] rr1 = new double[RR_HISTORY];
+    private final double[] rr2 = new double[RR_HISTORY];
+    private int rr1Count;
+    private int rr2Count;
+    private boolean regular = true;
+
+    private int[] beats = new int[64];
+    private int beatCount;
+    private double heartRate = Double.NaN;
+
+    public QrsDetector(double fs) {
+        this.fs = fs;
+        this.window = Math.max(1, (int) Math.round(INTEGRATION_SEC * fs));
+        this.refractory = Math.max(1, (int) Math.round(REFRACTORY_SEC * fs));
+        this.tWave = (int) Math.round(T_WAVE_SEC * fs);
+        this.refine = Math.max(1, (int) Math.round(REFINE_SEC * fs));
+        this.learn = (int) Math.round(LEARN_SEC * fs);
+        this.band = BiquadCascade.butterworthBandpass(BAND_ORDER, fs, BAND_LOW, Math.min(BAND_HIGH, 0.45 * fs));
+        int ring = Integer.highestOneBit(Math.max(64, refractory + window + refine + 8)) * 4;
+        this.mask = ring - 1;
+        this.rawRing = new double[ring];
+        this.bandRing = new double[ring];
+        this.slopeRing = new double[ring];
+        this.squares = new double[window];
+    }
+
+    /**
+     * 处理一块样本（NaN 按 0 处理）。
+     *
+     * @param hrOut 若非 null，写入每个样本处理后的瞬时心率（次/分，尚无两次心搏时为 NaN）
+     */
+    public void process(double[] in, int inOff, int len, double[] hrOut, int hrOff) {
+        for (int pos = 0; pos < len; pos += BLOCK) {
+            int m = Math.min(BLOCK, len - pos);
+            for (int i = 0; i < m; i++) {
+                double v = in[inOff + pos + i];
+                rawBlock[i] = Double.isNaN(v) ? 0 : v;
+            }
+            System.arraycopy(rawBlock, 0, bandBlock, 0, m);
+            band.process(bandBlock, 0, m);
+            for (int i = 0; i < m; i++) {
+                step(rawBlock[i], bandBlock[i]);
+                if (hrOut != null) {
+                    hrOut[hrOff + pos + i] = heartRate;
+                }
+            }
+        }
+    }
+
+    /**
+     * 输入结束：确认不应期内待定的积分峰；不足初始化时长的短记录在此结束初始化，补判已有的峰。
+     * 之后不应再调用 {@link #process}。
+     */
+    public void flush() {
+        if (pendingIdx >= 0) {
+            finish(pendingIdx, pendingVal);
+            pendingIdx = -1;
+        }
+        if (!learned) {
+            endLearning();
+        }
+    }
+
+    /** 已确认的心搏数 */
+    public int beatCount() {
+        return beatCount;
+    }
+
+    /** 第 k 个心搏的 R 峰样本序号（递增） */
+    public int beat(int k) {
+        return beats[k];
+    }
+
+    /** 最近两次心搏的瞬时心率（次/分），不足两次时为 NaN */
+    public double heartRate() {
+        return heartRate;
+    }
+
+    private void step(double x, double b) {
+        int idx = n;
+        rawRing[idx & mask] = x;
+        bandRing[idx & mask] = b;
+        double d = (2 * b + b1 - b3 - 2 * b4) * 0.125;
+        b4 = b3;
+        b3 = b2;
+        b2 = b1;
+        b1 = b;
+        slopeRing[idx & mask] = Math.abs(d);
+
+        double s = d * d;
+        squareSum += s - squares[squarePos];
+        squares[squarePos] = s;
+        if (++squarePos == window) {
+            // 每窗重算一次，消除累加误差
+            squarePos = 0;
+            squareSum = 0;
+            for (double v : squares) squareSum += v;
+        }
+        double m = squareSum / window;
+
+        if (!learned) {
+            learnMax = Math.max(learnMax, m);
+            learnSum += m;
+        }
+        if (m1 > m2 && m1 >= m) {
+            onLocalMax(idx - 1, m1);
+        }
+        m2 = m1;
+        m1 = m;
+        if (pendingIdx >= 0 && idx - pendingIdx >= refractory) {
+            finish(pendingIdx, pendingVal);
+            pendingIdx = -1;
+        }
+        if (!learned && idx + 1 >= learn) {
+            endLearning();
+        }
+        if (learned && searchback != null && lastR >= 0) {
+            double rr = rrAverage();
+            if (rr > 0 && idx - lastR > SEARCHBACK_RR * rr) {
+                acceptBeat(searchback, true);
+            }
+        }
+        n++;
+    }
+
+    /** 不应期内的积分峰只保留最大者 */
+    private void onLocalMax(int i, double v) {
+        if (pendingIdx >= 0 && i - pendingIdx < refractory) {
+            if (v > pendingVal) {
+                pendingIdx = i;
+                pendingVal = v;
+            }
+            return;
+        }
+        if (pendingIdx >= 0) {
+            finish(pendingIdx, pendingVal);
+        }
+        pendingIdx = i;
+        pendingVal = v;
+    }
+
+    /** 积分峰已确定：定位 R 峰并判别 */
+    private void finish(int i, double v) {
+        Peak p = new Peak(v, locate(i), maxSlope(i));
+        if (learned) {
+            classify(p);
+        } else {
+            learnPeaks.add(p);
+        }
+    }
+
+    private void endLearning() {
+        learned = true;
+        spki = 0.25 * learnMax;
+        npki = 0.5 * learnSum / Math.max(1, n + 1);
+        updateThresholds();
+        for (Peak p : learnPeaks) {
+            classify(p);
+        }
+        learnPeaks.clear();
+    }
+
+    private void classify(Peak p) {
+        boolean outsideRefractory = lastR < 0 || p.r - lastR >= refractory;
+        if (p.value > threshold1 && outsideRefractory) {
+            boolean tWaveLike = lastR >= 0 && p.r - lastR < tWave && p.slope < 0.5 * lastSlope;
+            if (!tWaveLike) {
+                acceptBeat(p, false);
+                return;
+            }
+        }
+        npki = 0.125 * p.value + 0.875 * npki;
+        if (p.value > threshold2 && outsideRefractory && (searchback == null || p.value > searchback.value)) {
+            searchback = p;
+        }
+        updateThresholds();
+    }
+
+    private void acceptBeat(Peak p, boolean fromSearchback) {
+        spki = fromSearchback ? 0.25 * p.value + 0.75 * spki : 0.125 * p.value + 0.875 * spki;
+        if (lastR >= 0) {
+            updateRr(p.r - lastR);
+            heartRate = 60 * fs / (p.r - lastR);
+        }
+        if (beatCount == beats.length) {
+            beats = Arrays.copyOf(beats, beatCount * 2);
+        }
+        beats[beatCount++] = p.r;
+        lastR = p.r;
+        lastSlope = p.slope;
+        searchback = null;
+        updateThresholds();
+    }
+
+    private void updateThresholds() {
+        threshold1 = npki + 0.25 * (spki - npki);
+        threshold2 = 0.5 * threshold1;
+    }
+
+    /** RR 平均：全部最近 8 个，以及落在正常范围内的最近 8 个 */
+    private void updateRr(int rr) {
+        rr1[rr1Count++ % RR_HISTORY] = rr;
+        double avg2 = average(rr2, rr2Count);
+        regular = avg2 == 0 || (rr >= RR_LOW_LIMIT * avg2 && rr <= RR_HIGH_LIMIT * avg2);
+        if (regular) {
+            rr2[rr2Count++ % RR_HISTORY] = rr;
+        }
+    }
+
+    /** 回溯用的 RR 平均：节律规则时取正常范围内的平均，否则取全部 */
+    private double rrAverage() {
+        return regular && rr2Count > 0 ? average(rr2, rr2Count) : average(rr1, rr1Count);
+    }
+
+    private static double average(double[] ring, int count) {
+        int k = Math.min(count, RR_HISTORY);
+        if (k == 0) return 0;
+        double s = 0;
+        for (int i = 0; i < k; i++) s += ring[i];
+        return s / k;
+    }
+
+    /** 积分峰之前一窗内带通幅度最大处，再在原始信号上向前细化到偏离最大处 */
+    private int locate(int i) {
+        int oldest = Math.max(0, n - mask);
+        int from = Math.max(oldest + refine, i - window - 1);
+        int q = i;
+        double best = -1;
+        for (int k = Math.max(from, 0); k <= i; k++) {
+            double a = Math.abs(bandRing[k & mask]);
+            if (a > best) {
+                best = a;
+                q = k;
+            }
+        }
+        int r0 = Math.max(oldest, q - refine);
+        double mean = 0;
+        for (int k = r0; k <= q; k++) mean += rawRing[k & mask];
+        mean /= q - r0 + 1;
+        int r = q;
+        best = -1;
+        for (int k = r0; k <= q; k++) {
+            double a = Math.abs(rawRing[k & mask] - mean);
+            if (a > best) {
+                best = a;
+                r = k;
+            }
+        }
+        return r;
+    }
+
+    private double maxSlope(int i) {
+        int from = Math.max(Math.max(0, n - mask), i - window);
+        double s = 0;
+        for (int k = from; k <= i; k++) s = Math.max(s, slopeRing[k & mask]);
+        return s;
+    }
+
+    /** 积分峰：峰值、R 峰位置、QRS 最大斜率 */
+    private static final class Peak {
+        final double value;
+        final int r;
+        final double slope;
+
+        Peak(double value, int r, double slope) {
+            this.value = value;
+            this.r = r;
+            this.slope = slope;
+        }
+    }
+}
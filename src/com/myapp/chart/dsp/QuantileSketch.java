@@ -0,0 +1,255 @@
+package com.myapp.chart.dsp;
+
+import java.util.Arrays;
+
+/**
+ * 可合并的分位数草图（KLL，Karnin–Lang–Liberty）。
+ * <p>
+ * 样本先进入第 0 层；某层超出容量时（第 0 层先排序，其余层始终有序）随机取奇数位或偶数位的一半升入上一层，
+ * 每升一层权重翻倍（总权重守恒，恒等于样本数）。
+ * 第 h 层容量约为 k·(2/3)^(层数−1−h)（第 0 层另有 2k 的批量缓冲），总保存量约 5k 个值，与样本数无关。
+ * 两个草图可按层拼接后再压缩合并，因此可分块并行累加。
+ * <p>
+ * 误差：分位数的秩误差不超过 {@link #rankError()}·n，约 99% 置信
+ * （k = 400 时约 0.68%，即给出的“中位数”的真实秩在 49.3%～50.7% 之间）。
+ * 最小值与最大值精确。实例不是线程安全的。
+ */
+public final class QuantileSketch {
+
+    // 常量配置
+    public static final int DEFAULT_K = 400;
+    private static final double LEVEL_RATIO = 2.0 / 3;
+    private static final int MIN_LEVEL_CAPACITY = 8;
+    private static final int LEVEL0_FACTOR = 2;        // 第 0 层攒够 2k 个再压缩，摊薄排序开销
+
+    private final int k;
+    private double[][] levels = new double[1][];
+    private int[] sizes = new int[1];
+    private int[] capacities = new int[1];
+    private int numLevels = 1;
+    private int retained;
+    private int capacity;
+    private long n;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private long seed;
+
+    // 排序视图缓存（值升序，累计权重）
+    private double[] sortedValues;
+    private long[] cumWeights;
+
+    public QuantileSketch() {
+        this(DEFAULT_K);
+    }
+
+    public QuantileSketch(int k) {
+        this.k = Math.max(MIN_LEVEL_CAPACITY, k);
+        this.levels[0] = new double[this.k];
+        this.capacity = updateCapacities();
+        this.seed = 0x9E3779B97F4A7C15L;
+    }
+
+    /** 归一化秩误差（约 99% 置信），取 DataSketches 对 KLL 的经验拟合 2.296 / k^0.9723 */
+    public double rankError() {
+        return 2.296 / Math.pow(k, 0.9723);
+    }
+
+    /** 累加一个样本，NaN 忽略 */
+    public void add(double v) {
+        if (v != v) {
+            return;
+        }
+        n++;
+        if (v < min) min = v;
+        if (v > max) max = v;
+        append(0, v);
+        if (++retained >= capacity) {
+            compress();
+        }
+        sortedValues = null;
+    }
+
+    /** 累加一块样本，NaN 忽略 */
+    public void add(double[] src, int off, int len) {
+        for (int i = off; i < off + len; i++) {
+            add(src[i]);
+        }
+    }
+
+    /** 并入另一个草图（须同一 k） */
+    public void merge(QuantileSketch o) {
+        if (o.k != k) {
+            throw new IllegalArgumentException("草图参数 k 不一致：" + k + " / " + o.k);
+        }
+        if (o.n == 0) {
+            return;
+        }
+        while (numLevels < o.numLevels) {
+            addLevel();
+        }
+        for (int i = 0; i < o.sizes[0]; i++) {
+            append(0, o.levels[0][i]);
+        }
+        for (int h = 1; h < o.numLevels; h++) {
+            mergeSorted(h, o.levels[h], 0, 1, o.sizes[h]);
+        }
+        for (int h = 0; h < o.numLevels; h++) {
+            retained += o.sizes[h];
+        }
+        n += o.n;
+        min = Math.min(min, o.min);
+        max = Math.max(max, o.max);
+        while (retained >= capacity) {
+            compress();
+        }
+        sortedValues = null;
+    }
+
+    /** 有效样本数 */
+    public long count() {
+        return n;
+    }
+
+    /** 保存的值个数 */
+    public int retained() {
+        return retained;
+    }
+
+    /**
+     * 近似分位数，q ∈ [0, 1]；q = 0、1 时为精确的最小、最大值。无样本时为 NaN。
+     */
+    public double quantile(double q) {
+        if (n == 0) {
+            return Double.NaN;
+        }
+        if (q <= 0) return min;
+        if (q >= 1) return max;
+        ensureSorted();
+        long target = (long) Math.ceil(q * n);
+        int lo = 0, hi = cumWeights.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cumWeights[mid] < target) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return sortedValues[lo];
+    }
+
+    private void append(int h, double v) {
+        if (sizes[h] == levels[h].length) {
+            levels[h] = Arrays.copyOf(levels[h], levels[h].length * 2);
+        }
+        levels[h][sizes[h]++] = v;
+    }
+
+    /**
+     * 压缩最低的超容量层：随机取一半升层，奇数个时留下最小的一个。
+     * 第 1 层起各层始终有序，升层的有序序列线性归并进去，只有第 0 层需要排序。
+     */
+    private void compress() {
+        for (int h = 0; h < numLevels; h++) {
+            if (sizes[h] < capacities[h]) {
+                continue;
+            }
+            if (h + 1 == numLevels) {
+                addLevel();
+            }
+            double[] level = levels[h];
+            int size = sizes[h];
+            if (h == 0) {
+                Arrays.sort(level, 0, size);
+            }
+            int even = size & ~1;
+            int start = size - even;
+            mergeSorted(h + 1, level, start + nextBit(), 2, even / 2);
+            sizes[h] = start;
+            retained -= even / 2;
+            return;
+        }
+    }
+
+    /** 把有序序列 src[from + i·step]（i < count）归并进有序的第 h 层（从尾部向前，原地） */
+    private void mergeSorted(int h, double[] src, int from, int step, int count) {
+        int size = sizes[h];
+        if (size + count > levels[h].length) {
+            levels[h] = Arrays.copyOf(levels[h], Math.max(size + count, levels[h].length * 2));
+        }
+        double[] dst = levels[h];
+        int i = size - 1, j = count - 1, w = size + count - 1;
+        while (j >= 0) {
+            double v = src[from + j * step];
+            if (i >= 0 && dst[i] > v) {
+                dst[w--] = dst[i--];
+            } else {
+                dst[w--] = v;
+                j--;
+            }
+        }
+        sizes[h] = size + count;
+    }
+
+    private void addLevel() {
+        levels = Arrays.copyOf(levels, numLevels + 1);
+        sizes = Arrays.copyOf(sizes, numLevels + 1);
+        levels[numLevels] = new double[MIN_LEVEL_CAPACITY];
+        numLevels++;
+        capacity = updateCapacities();
+    }
+
+    /**
+     * 各层容量 k·(2/3)^(层数−1−h)，不低于 {@link #MIN_LEVEL_CAPACITY}；
+     * 第 0 层放宽到 {@link #LEVEL0_FACTOR}·k（低层容量越大误差越小，只多占少量内存）。
+     *
+     * @return 总容量
+     */
+    private int updateCapacities() {
+        capacities = new int[numLevels];
+        int c = 0;
+        for (int h = 0; h < numLevels; h++) {
+            capacities[h] = Math.max(MIN_LEVEL_CAPACITY, (int) Math.ceil(k * Math.pow(LEVEL_RATIO, numLevels - 1 - h)));
+            if (h == 0) {
+                capacities[h] = Math.max(capacities[h], LEVEL0_FACTOR * k);
+            }
+            c += capacities[h];
+        }
+        return c;
+    }
+
+    /** xorshift 随机位；固定种子使结果可复现 */
+    private int nextBit() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 7;
+        seed ^= seed << 17;
+        return (int) (seed >>> 63);
+    }
+
+    /** 各层按权重 2^h 合成升序值与累计权重 */
+    private void ensureSorted() {
+        if (sortedValues != null) {
+            return;
+        }
+        double[] values = new double[retained];
+        long[] weights = new long[retained];
+        int m = 0;
+        for (int h = 0; h < numLevels; h++) {
+            for (int i = 0; i < sizes[h]; i++) {
+                values[m] = levels[h][i];
+                weights[m++] = 1L << h;
+            }
+        }
+        Integer[] order = new Integer[m];
+        for (int i = 0; i < m; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+        sortedValues = new double[m];
+        cumWeights = new long[m];
+        long cum = 0;
+        for (int i = 0; i < m; i++) {
+            sortedValues[i] = values[order[i]];
+            cum += weights[order[i]];
+            cumWeights[i] = cum;
+        }
+    }
+}
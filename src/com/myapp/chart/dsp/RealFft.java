@@ -0,0 +1,163 @@
+package com.myapp.chart.dsp;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 纯 Java 实数 FFT（长度为 2 的幂）。
+ * <p>
+ * 把 n 个实数打包成 n/2 个复数做基 2 迭代 FFT，再拆分得到 0 … n/2 的频谱。
+ * 每个长度的“计划”（旋转因子表、位反转表）只计算一次并缓存；
+ * 计划本身不可变，可被多个线程同时使用，工作区由调用方提供。
+ */
+public final class RealFft {
+
+    private static final Map<Integer, RealFft> PLANS = new ConcurrentHashMap<>();
+
+    private final int n;          // 实数长度
+    private final int m;          // 复数 FFT 长度 n/2
+    private final int[] bitRev;   // m 点位反转
+    private final double[] cos;   // m 点复数 FFT 旋转因子 cos(2πk/m)
+    private final double[] sin;
+    private final double[] wr;    // 拆分用旋转因子 cos(2πk/n)，k < m
+    private final double[] wi;    //               −sin(2πk/n)
+
+    private RealFft(int n) {
+        if (n < 2 || Integer.bitCount(n) != 1) {
+            throw new IllegalArgumentException("FFT 长度须为 2 的幂: " + n);
+        }
+        this.n = n;
+        this.m = n / 2;
+        this.bitRev = new int[m];
+        int bits = Integer.numberOfTrailingZeros(m);
+        for (int i = 0; i < m; i++) {
+            bitRev[i] = bits == 0 ? 0 : Integer.reverse(i) >>> (32 - bits);
+        }
+        this.cos = new double[Math.max(1, m / 2)];
+        this.sin = new double[Math.max(1, m / 2)];
+        for (int k = 0; k < m / 2; k++) {
+            cos[k] = Math.cos(2 * Math.PI * k / m);
+            sin[k] = Math.sin(2 * Math.PI * k / m);
+        }
+        this.wr = new double[m];
+        this.wi = new double[m];
+        for (int k = 0; k < m; k++) {
+            wr[k] = Math.cos(2 * Math.PI * k / n);
+            wi[k] = -Math.sin(2 * Math.PI * k / n);
+        }
+    }
+
+    /** 取得（或创建并缓存）长度为 n 的计划 */
+    public static RealFft of(int n) {
+        return PLANS.computeIfAbsent(n, RealFft::new);
+    }
+
+    /** 不小于 x 的最小 2 的幂 */
+    public static int nextPowerOfTwo(int x) {
+        return x <= 1 ? 1 : Integer.highestOneBit(x - 1) << 1;
+    }
+
+    /** 实数长度 */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * 正变换：x[off, off+n) → 频谱 re/im[0 … n/2]（未归一化）。
+     * re、im 长度至少 n/2+1。
+     */
+    public void forward(double[] x, int off, double[] re, double[] im) {
+        for (int j = 0; j < m; j++) {
+            re[j] = x[off + 2 * j];
+            im[j] = x[off + 2 * j + 1];
+        }
+        complexFft(re, im, false);
+
+        // 拆分：X[k] = E + W^k·O，X[m−k] = conj(E − W^k·O)
+        double z0r = re[0], z0i = im[0];
+        re[0] = z0r + z0i;
+        im[0] = 0;
+        re[m] = z0r - z0i;
+        im[m] = 0;
+        for (int k = 1; k <= m / 2; k++) {
+            int j = m - k;
+            double ar = re[k], ai = im[k];
+            double br = re[j], bi = -im[j];            // conj(Z[m−k])
+            double er = (ar + br) / 2, ei = (ai + bi) / 2;
+            double or = (ai - bi) / 2, oi = -(ar - br) / 2;   // −i·(A−B)/2
+            double tr = wr[k] * or - wi[k] * oi;
+            double ti = wr[k] * oi + wi[k] * or;
+            re[k] = er + tr;
+            im[k] = ei + ti;
+            if (j != k) {
+                re[j] = er - tr;
+                im[j] = -(ei - ti);
+            }
+        }
+    }
+
+    /**
+     * 逆变换：频谱 re/im[0 … n/2] → x[off, off+n)，含 1/n 归一化。
+     * 会覆盖 re、im。
+     */
+    public void inverse(double[] re, double[] im, double[] x, int off) {
+        // 合并：E = (X[k] + conj X[m−k]) / 2，O = (X[k] − conj X[m−k]) / (2W^k)，Z = E + iO
+        double x0 = re[0], xm = re[m];
+        double z0r = (x0 + xm) / 2, z0i = (x0 - xm) / 2;
+        for (int k = 1; k <= m / 2; k++) {
+            int j = m - k;
+            double ar = re[k], ai = im[k];
+            double br = re[j], bi = -im[j];            // conj(X[m−k])
+            double er = (ar + br) / 2, ei = (ai + bi) / 2;
+            double dr = (ar - br) / 2, di = (ai - bi) / 2;
+            // 除以 W^k 即乘 conj(W^k)
+            double or = dr * wr[k] + di * wi[k];
+            double oi = di * wr[k] - dr * wi[k];
+            re[k] = er - oi;
+            im[k] = ei + or;
+            if (j != k) {
+                // Z[m−k] = conj(E) + i·conj(O)
+                re[j] = er + oi;
+                im[j] = -ei + or;
+            }
+        }
+        re[0] = z0r;
+        im[0] = z0i;
+
+        complexFft(re, im, true);
+        double scale = 1.0 / m;
+        for (int j = 0; j < m; j++) {
+            x[off + 2 * j]     = re[j] * scale;
+            x[off + 2 * j + 1] = im[j] * scale;
+        }
+    }
+
+    /** m 点原地基 2 复数 FFT；inverse 时使用共轭旋转因子（不归一化） */
+    private void complexFft(double[] re, double[] im, boolean inverse) {
+        for (int i = 0; i < m; i++) {
+            int j = bitRev[i];
+            if (j > i) {
+                double t = re[i]; re[i] = re[j]; re[j] = t;
+                t = im[i]; im[i] = im[j]; im[j] = t;
+            }
+        }
+        double sign = inverse ? 1 : -1;
+        for (int len = 2; len <= m; len <<= 1) {
+            int half = len >> 1;
+            int step = m / len;
+            for (int i = 0; i < m; i += len) {
+                for (int k = 0; k < half; k++) {
+                    double c = cos[k * step];
+                    double s = sign * sin[k * step];
+                    int a = i + k, b = a + half;
+                    double tr = re[b] * c - im[b] * s;
+                    double ti = re[b] * s + im[b] * c;
+                    re[b] = re[a] - tr;
+                    im[b] = im[a] - ti;
+                    re[a] += tr;
+                    im[a] += ti;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.myapp.chart.dsp;
+
+/**
+ * 标量内核：未加载 jdk.incubator.vector 时的回退实现
+ */
+final class ScalarKernels implements ArrayKernels {
+
+    static final ScalarKernels INSTANCE = new ScalarKernels();
+
+    private ScalarKernels() {}
+
+    @Override
+    public void scale(double[] src, int srcOff, double[] dst, int dstOff, int len, double k) {
+        for (int i = 0; i < len; i++) {
+            dst[dstOff + i] = src[srcOff + i] * k;
+        }
+    }
+
+    @Override
+    public void offset(double[] src, int srcOff, double[] dst, int dstOff, int len, double c) {
+        for (int i = 0; i < len; i++) {
+            dst[dstOff + i] = src[srcOff + i] + c;
+        }
+    }
+
+    @Override
+    public void diff(double[] src, int srcOff, double[] dst, int dstOff, int len, double prev) {
+        // 自后向前，原地执行时不会覆盖尚未读取的前驱
+        for (int i = len - 1; i >= 1; i--) {
+            dst[dstOff + i] = src[srcOff + i] - src[srcOff + i - 1];
+        }
+        if (len > 0) {
+            dst[dstOff] = src[srcOff] - prev;
+        }
+    }
+
+    @Override
+    public void minMax(double[] src, int off, int len, double[] out) {
+        double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+        for (int i = off; i < off + len; i++) {
+            double v = src[i];
+            if (v < min) min = v;
+            if (v > max) max = v;
+        }
+        out[0] = min;
+        out[1] = max;
+    }
+
+    @Override
+    public void sums(double[] src, int off, int len, double shift, double[] out) {
+        long n = 0;
+        double s = 0, q = 0;
+        for (int i = off; i < off + len; i++) {
+            double v = src[i];
+            if (v == v) {   // 非 NaN
+                double d = v - shift;
+                n++;
+                s += d;
+                q += d * d;
+            }
+        }
+        out[0] = n;
+        out[1] = s;
+        out[2] = q;
+    }
+
+    @Override
+    public void compensatedSum(double[] src, int off, int len, double scale, double[] out) {
+        double s = 0, c = 0;
+        for (int i = off; i < off + len; i++) {
+            double x = src[i] * scale;
+            double t = s + x;
+            c += Math.abs(s) >= Math.abs(x) ? (s - t) + x : (x - t) + s;
+            s = t;
+        }
+        out[0] = s;
+        out[1] = c;
+    }
+
+    @Override
+    public void crossProducts4x4(double[] x, int a, int b, int stride, int len, double[] out) {
+        int a0 = a, a1 = a0 + stride, a2 = a1 + stride, a3 = a2 + stride;
+        int b0 = b, b1 = b0 + stride, b2 = b1 + stride, b3 = b2 + stride;
+        double s00 = 0, s01 = 0, s02 = 0, s03 = 0;
+        double s10 = 0, s11 = 0, s12 = 0, s13 = 0;
+        double s20 = 0, s21 = 0, s22 = 0, s23 = 0;
+        double s30 = 0, s31 = 0, s32 = 0, s33 = 0;
+        for (int t = 0; t < len; t++) {
+            double x0 = x[a0 + t], x1 = x[a1 + t], x2 = x[a2 + t], x3 = x[a3 + t];
+            double y0 = x[b0 + t], y1 = x[b1 + t], y2 = x[b2 + t], y3 = x[b3 + t];
+            s00 += x0 * y0; s01 += x0 * y1; s02 += x0 * y2; s03 += x0 * y3;
+            s10 += x1 * y0; s11 += x1 * y1; s12 += x1 * y2; s13 += x1 * y3;
+            s20 += x2 * y0; s21 += x2 * y1; s22 += x2 * y2; s23 += x2 * y3;
+            s30 += x3 * y0; s31 += x3 * y1; s32 += x3 * y2; s33 += x3 * y3;
+        }
+        out[0] += s00;  out[1] += s01;  out[2] += s02;  out[3] += s03;
+        out[4] += s10;  out[5] += s11;  out[6] += s12;  out[7] += s13;
+        out[8] += s20;  out[9] += s21;  out[10] += s22; out[11] += s23;
+        out[12] += s30; out[13] += s31; out[14] += s32; out[15] += s33;
+    }
+}
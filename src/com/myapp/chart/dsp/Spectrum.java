@@ -0,0 +1,39 @@
+package com.myapp.chart.dsp;
+
+/**
+ * 频谱分析的公共部分：窗函数与单帧功率谱。
+ */
+public final class Spectrum {
+
+    private Spectrum() {}   // 工具类不允许实例化
+
+    /** 周期 Hann 窗（适合频谱分析，重叠 50% 时各点权重和恒定） */
+    public static double[] hann(int n) {
+        double[] w = new double[n];
+        for (int i = 0; i < n; i++) {
+            w[i] = 0.5 - 0.5 * Math.cos(2 * Math.PI * i / n);
+        }
+        return w;
+    }
+
+    /** 窗函数能量 Σw²，用于功率谱密度归一化 */
+    public static double energy(double[] w) {
+        double s = 0;
+        for (double v : w) {
+            s += v * v;
+        }
+        return s;
+    }
+
+    /**
+     * 一帧的功率谱 |X[k]|²，k = 0 … n/2。
+     * frame 长度为 fft.size()，应已加窗；re、im、out 长度至少 n/2+1。
+     */
+    public static void power(RealFft fft, double[] frame, double[] re, double[] im, double[] out) {
+        fft.forward(frame, 0, re, im);
+        int bins = fft.size() / 2 + 1;
+        for (int k = 0; k < bins; k++) {
+            out[k] = re[k] * re[k] + im[k] * im[k];
+        }
+    }
+}
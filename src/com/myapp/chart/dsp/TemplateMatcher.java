@@ -0,0 +1,138 @@
+package com.myapp.chart.dsp;
+
+/**
+ * 归一化互相关（NCC）模板匹配：对每个起点 p 计算
+ * r(p) = Σ (x[p+k] − x̄ₚ)(t[k] − t̄) / (‖x[p, p+K) − x̄ₚ‖ · ‖t − t̄‖)，取值 [−1, 1]。
+ * <p>
+ * 分子用重叠保留 FFT 一次算出一整块起点（与 {@link FftConvolver} 相同的分块方式，FFT 长度 ≥ 4K），
+ * 分母的窗口和与平方和用块内前缀和得到，因此每个起点的代价与模板长度 K 无关，
+ * 相对逐点滑动点积的 O(K) 快约 K / (2·log₂N) 倍。块内先减去块均值，避免大直流偏置下的相消误差。
+ * <p>
+ * 窗口含 NaN 或窗口内为常数时结果为 NaN。计划与缓冲在构造时分配；实例不是线程安全的，
+ * 并行时每个任务各用一个实例。
+ */
+public final class TemplateMatcher {
+
+    // 常量配置
+    private static final int MIN_FFT_SIZE = 256;
+
+    private final int taps;
+    private final int step;           // 每块产出的起点数 N − K + 1
+    private final RealFft fft;
+    private final double[] kernelRe;  // 倒序零均值模板的频谱
+    private final double[] kernelIm;
+    private final double templateNorm;
+
+    private final double[] block;
+    private final double[] re;
+    private final double[] im;
+    private final double[] result;
+    private final double[] sum1;      // 块内前缀和
+    private final double[] sum2;
+    private final int[] nans;
+
+    /**
+     * @throws IllegalArgumentException 模板为空、含 NaN 或为常数
+     */
+    public TemplateMatcher(double[] template) {
+        this.taps = template.length;
+        double mean = 0;
+        for (double v : template) mean += v;
+        mean /= Math.max(1, taps);
+        double[] reversed = new double[taps];
+        double norm = 0;
+        for (int k = 0; k < taps; k++) {
+            double v = template[k] - mean;
+            reversed[taps - 1 - k] = v;
+            norm += v * v;
+        }
+        if (taps == 0 || !(norm > 0)) {
+            throw new IllegalArgumentException("模板为空、含 NaN 或为常数");
+        }
+        this.templateNorm = Math.sqrt(norm);
+
+        int n = Math.max(MIN_FFT_SIZE, RealFft.nextPowerOfTwo(4 * taps));
+        this.fft = RealFft.of(n);
+        this.step = n - taps + 1;
+        int bins = n / 2 + 1;
+        this.kernelRe = new double[bins];
+        this.kernelIm = new double[bins];
+        double[] padded = new double[n];
+        System.arraycopy(reversed, 0, padded, 0, taps);
+        fft.forward(padded, 0, kernelRe, kernelIm);
+
+        this.block = new double[n];
+        this.re = new double[bins];
+        this.im = new double[bins];
+        this.result = new double[n];
+        this.sum1 = new double[n + 1];
+        this.sum2 = new double[n + 1];
+        this.nans = new int[n + 1];
+    }
+
+    /** 模板长度 */
+    public int length() {
+        return taps;
+    }
+
+    /**
+     * 计算 x[off, off+len) 内所有完整窗口的 NCC：起点 p ∈ [0, len − K] 的结果写入 out[outOff + p]。
+     *
+     * @return 写入的个数 max(0, len − K + 1)
+     */
+    public int correlate(double[] x, int off, int len, double[] out, int outOff) {
+        int positions = len - taps + 1;
+        for (int p0 = 0; p0 < positions; p0 += step) {
+            int count = Math.min(step, positions - p0);
+            correlateBlock(x, off + p0, Math.min(block.length, len - p0), out, outOff + p0, count);
+        }
+        return Math.max(0, positions);
+    }
+
+    /** 一块：x[from, from+avail) 补零到 N，产出 count 个起点 */
+    private void correlateBlock(double[] x, int from, int avail, double[] out, int outOff, int count) {
+        double c = 0;
+        int finite = 0;
+        for (int i = 0; i < avail; i++) {
+            double v = x[from + i];
+            if (v == v) {
+                c += v;
+                finite++;
+            }
+        }
+        c = finite > 0 ? c / finite : 0;
+        for (int i = 0; i < block.length; i++) {
+            double v = i < avail ? x[from + i] - c : 0;
+            boolean nan = v != v;
+            block[i] = nan ? 0 : v;
+            sum1[i + 1] = sum1[i] + block[i];
+            sum2[i + 1] = sum2[i] + block[i] * block[i];
+            nans[i + 1] = nans[i] + (nan ? 1 : 0);
+        }
+
+        fft.forward(block, 0, re, im);
+        for (int k = 0; k < re.length; k++) {
+            double r = re[k] * kernelRe[k] - im[k] * kernelIm[k];
+            double m = re[k] * kernelIm[k] + im[k] * kernelRe[k];
+            re[k] = r;
+            im[k] = m;
+        }
+        fft.inverse(re, im, result, 0);
+
+        for (int j = 0; j < count; j++) {
+            int end = j + taps;
+            if (nans[end] != nans[j]) {
+                out[outOff + j] = Double.NaN;
+                continue;
+            }
+            double s1 = sum1[end] - sum1[j];
+            double energy = sum2[end] - sum2[j] - s1 * s1 / taps;
+            if (!(energy > 1e-12 * (sum2[end] - sum2[j]))) {
+                out[outOff + j] = Double.NaN;
+                continue;
+            }
+            double r = result[taps - 1 + j] / (templateNorm * Math.sqrt(energy));
+            out[outOff + j] = Math.max(-1, Math.min(1, r));
+        }
+    }
+}
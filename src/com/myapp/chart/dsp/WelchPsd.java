@@ -0,0 +1,142 @@
+package com.myapp.chart.dsp;
+
+import java.util.Arrays;
+
+/**
+ * Welch 功率谱密度估计：Hann 窗、50% 重叠、逐段去均值，各段功率谱取平均。
+ * <p>
+ * 数据可分多次送入（{@link #add}），段间重叠部分自动衔接；
+ * 帧、频谱与累加缓冲在构造时分配一次，之后逐段复用。含 NaN 的段被跳过。
+ */
+public final class WelchPsd {
+
+    private final int segment;
+    private final int hop;
+    private final double fs;
+    private final RealFft fft;
+    private final double[] window;
+    private final double scale;       // 单边密度归一化 1 / (fs·Σw²)
+
+    private final double[] pending;   // 尚未凑满一段的输入
+    private int fill;
+    private final double[] frame;
+    private final double[] re;
+    private final double[] im;
+    private final double[] power;
+    private final double[] sum;
+    private int segments;
+
+    /**
+     * @param segment 段长（2 的幂）
+     * @param fs      采样率（Hz）
+     */
+    public WelchPsd(int segment, double fs) {
+        this.segment = segment;
+        this.hop = segment / 2;
+        this.fs = fs;
+        this.fft = RealFft.of(segment);
+        this.window = Spectrum.hann(segment);
+        this.scale = 1.0 / (fs * Spectrum.energy(window));
+
+        int bins = segment / 2 + 1;
+        this.pending = new double[segment];
+        this.frame = new double[segment];
+        this.re = new double[bins];
+        this.im = new double[bins];
+        this.power = new double[bins];
+        this.sum = new double[bins];
+    }
+
+    /** 送入 data[off, off+len) */
+    public void add(double[] data, int off, int len) {
+        int i = 0;
+        while (i < len) {
+            int n = Math.min(len - i, segment - fill);
+            System.arraycopy(data, off + i, pending, fill, n);
+            fill += n;
+            i += n;
+            if (fill == segment) {
+                accumulate();
+                // 后半段作为下一段的前半段
+                System.arraycopy(pending, hop, pending, 0, segment - hop);
+                fill = segment - hop;
+            }
+        }
+    }
+
+    /**
+     * 数据在此处间断（如只分析若干不相连的区间）：丢弃未凑满一段的输入，已平均的段保留，
+     * 之后的段不会跨越间断
+     */
+    public void restart() {
+        fill = 0;
+    }
+
+    /** 清空已累加的段与未满的输入，供下一段数据复用缓冲 */
+    public void reset() {
+        fill = 0;
+        segments = 0;
+        Arrays.fill(sum, 0);
+    }
+
+    /** 已平均的段数 */
+    public int segments() {
+        return segments;
+    }
+
+    /** 频率分辨率（Hz） */
+    public double resolution() {
+        return fs / segment;
+    }
+
+    /** 第 k 个频点的频率（Hz） */
+    public double frequency(int k) {
+        return k * fs / segment;
+    }
+
+    /** 单边功率谱密度（单位²/Hz），k = 0 … segment/2；尚无完整段时全为 0 */
+    public double[] psd() {
+        int bins = sum.length;
+        double[] out = new double[bins];
+        if (segments == 0) {
+            return out;
+        }
+        for (int k = 0; k < bins; k++) {
+            // 除直流与奈奎斯特外，负频率功率折叠到正频率
+            double fold = (k == 0 || k == bins - 1) ? 1 : 2;
+            out[k] = sum[k] * scale * fold / segments;
+        }
+        return out;
+    }
+
+    /** 频带 [lo, hi) 内的功率（对 PSD 做矩形积分） */
+    public static double bandPower(double[] psd, double resolution, double lo, double hi) {
+        int from = (int) Math.ceil(lo / resolution);
+        int to = Math.min(psd.length, (int) Math.ceil(hi / resolution));
+        double s = 0;
+        for (int k = Math.max(0, from); k < to; k++) {
+            s += psd[k];
+        }
+        return s * resolution;
+    }
+
+    /** 处理一整段：去均值、加窗、求功率谱并累加 */
+    private void accumulate() {
+        double mean = 0;
+        for (int j = 0; j < segment; j++) {
+            mean += pending[j];
+        }
+        if (Double.isNaN(mean)) {
+            return;
+        }
+        mean /= segment;
+        for (int j = 0; j < segment; j++) {
+            frame[j] = (pending[j] - mean) * window[j];
+        }
+        Spectrum.power(fft, frame, re, im, power);
+        for (int k = 0; k < sum.length; k++) {
+            sum[k] += power[k];
+        }
+        segments++;
+    }
+}
@@ -116,6 +116,11 @@ public class BinaryReader implements FileReader {
                                  List<ChannelData> channels) throws Exception {
 
         byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
+        // 写入目标数组逐通道取一次，解码循环中不再经过写时复制检查
+        double[][] dst = new double[channelCount][];
+        for (int i = 0; i < channelCount; i++) {
+            dst[i] = channels.get(i).getWritableData();
+        }
         ByteBuffer bb = ByteBuffer.allocate(BYTES_PER_SAMPLE)
                 .order(ByteOrder.LITTLE_ENDIAN);
 
@@ -140,10 +145,10 @@ public class BinaryReader implements FileReader {
                     int chIndex = (off / BYTES_PER_SAMPLE) % channelCount;
                     if (globalFrame % decimate == 0) {
                         int idx = (int) (globalFrame / decimate);
-                        if (idx < channels.get(chIndex).getData().length) {
+                        if (idx < dst[chIndex].length) {
                             bb.clear();
                             bb.put(buffer, off, BYTES_PER_SAMPLE).flip();
-                            channels.get(chIndex).getData()[idx] = bb.getFloat();
+                            dst[chIndex][idx] = bb.getFloat();
                         }
                     }
                     // 当最后一个通道读取完，才增加全局帧计数
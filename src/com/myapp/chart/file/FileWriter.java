@@ -17,6 +17,9 @@ public class FileWriter {
     private static final String TXT_SUCCESS_PREFIX    = "文本导出成功：";
     private static final String TXT_ERROR_PREFIX      = "文本导出失败：";
 
+    // —— 分块读取配置（派生通道按块计算，避免一次性展开） ——
+    private static final int    READ_CHUNK            = 8192;
+
     // —— 二进制导出配置 ——
     private static final int    FLOAT_BYTE_SIZE       = Float.BYTES;                  // 4 字节
     private static final String BIN_SUCCESS_PREFIX    = "二进制导出成功：";
@@ -36,9 +39,15 @@ public class FileWriter {
     public static void exportTxt(ChannelData ch, File file) {
         try (BufferedWriter writer = new BufferedWriter(
                 new OutputStreamWriter(new FileOutputStream(file), TXT_ENCODING))) {
-            for (double v : ch.getData()) {
-                writer.write(Double.toString(v));
-                writer.newLine();
+            double[] chunk = new double[READ_CHUNK];
+            int total = ch.length();
+            for (int pos = 0; pos < total; pos += READ_CHUNK) {
+                int n = Math.min(READ_CHUNK, total - pos);
+                ch.read(pos, chunk, 0, n);
+                for (int i = 0; i < n; i++) {
+                    writer.write(Double.toString(chunk[i]));
+                    writer.newLine();
+                }
             }
             JOptionPane.showMessageDialog(
                     null,
@@ -64,9 +73,15 @@ public class FileWriter {
         try (FileOutputStream fos = new FileOutputStream(file)) {
             ByteBuffer buffer = ByteBuffer.allocate(FLOAT_BYTE_SIZE)
                     .order(ByteOrder.LITTLE_ENDIAN);
-            for (double v : ch.getData()) {
-                buffer.putFloat(0, (float) v);
-                fos.write(buffer.array());
+            double[] chunk = new double[READ_CHUNK];
+            int total = ch.length();
+            for (int pos = 0; pos < total; pos += READ_CHUNK) {
+                int n = Math.min(READ_CHUNK, total - pos);
+                ch.read(pos, chunk, 0, n);
+                for (int i = 0; i < n; i++) {
+                    buffer.putFloat(0, (float) chunk[i]);
+                    fos.write(buffer.array());
+                }
             }
             JOptionPane.showMessageDialog(
                     null,
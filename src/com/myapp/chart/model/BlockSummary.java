@@ -0,0 +1,116 @@
+package com.myapp.chart.model;
+
+import com.myapp.chart.dsp.Moments;
+
+import java.util.stream.IntStream;
+
+/**
+ * 通道的分块摘要索引：每 {@link #BLOCK} 个样本记录有效数、均值、中心二阶矩、最小与最大值
+ * （均值与中心二阶矩等价于和与平方和，但大偏置下不损失精度）。
+ * <p>
+ * 任意区间的统计由整块摘要合并，加上首尾两个不完整块的原始样本，
+ * 代价为 O(块数) 次合并加至多 2·BLOCK 个样本的读取。索引对应构建时的样本版本，
+ * 通道修改后由 {@link ChannelData#getBlockSummary()} 重建。
+ */
+public final class BlockSummary {
+
+    // 常量配置
+    public static final int BLOCK = 1024;               // 每块样本数
+    private static final int TASK_BLOCKS = 1024;        // 每个并行构建任务的块数
+    private static final int READ_BLOCKS = 8;           // 每次读取的块数（64 KB）
+
+    private final int length;
+    private final int version;
+    private final int[] count;
+    private final double[] mean;
+    private final double[] m2;
+    private final double[] min;
+    private final double[] max;
+
+    private BlockSummary(int length, int version) {
+        int blocks = (length + BLOCK - 1) / BLOCK;
+        this.length = length;
+        this.version = version;
+        this.count = new int[blocks];
+        this.mean = new double[blocks];
+        this.m2 = new double[blocks];
+        this.min = new double[blocks];
+        this.max = new double[blocks];
+    }
+
+    /** 一次并行遍历通道构建索引 */
+    static BlockSummary build(ChannelData ch) {
+        BlockSummary s = new BlockSummary(ch.length(), ch.getVersion());
+        int blocks = s.count.length;
+        int tasks = (blocks + TASK_BLOCKS - 1) / TASK_BLOCKS;
+        IntStream.range(0, tasks).parallel().forEach(t -> {
+            double[] buf = new double[READ_BLOCKS * BLOCK];
+            Moments m = new Moments();
+            int end = Math.min(blocks, (t + 1) * TASK_BLOCKS);
+            for (int b0 = t * TASK_BLOCKS; b0 < end; b0 += READ_BLOCKS) {
+                int from = b0 * BLOCK;
+                int len = Math.min(Math.min(end, b0 + READ_BLOCKS) * BLOCK, s.length) - from;
+                ch.read(from, buf, 0, len);
+                for (int off = 0, b = b0; off < len; off += BLOCK, b++) {
+                    m.reset();
+                    m.add(buf, off, Math.min(BLOCK, len - off));
+                    s.count[b] = (int) m.count();
+                    s.mean[b] = m.mean();
+                    s.m2[b] = m.m2();
+                    s.min[b] = m.min();
+                    s.max[b] = m.max();
+                }
+            }
+        });
+        return s;
+    }
+
+    /** 是否仍对应通道当前的样本 */
+    boolean isCurrent(ChannelData ch) {
+        return version == ch.getVersion() && length == ch.length();
+    }
+
+    /** 构建时的样本数 */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * [from, to) 区间的统计（自动截到有效范围）。
+     * 首尾不完整块从 ch 读取原始样本，ch 须是构建本索引的通道。
+     */
+    public Moments stats(ChannelData ch, int from, int to) {
+        Moments m = new Moments();
+        accumulate(ch, from, to, m);
+        return m;
+    }
+
+    /** 把 [from, to) 区间的统计并入 m */
+    public void accumulate(ChannelData ch, int from, int to, Moments m) {
+        from = Math.max(0, from);
+        to = Math.min(length, to);
+        if (from >= to) {
+            return;
+        }
+        int b0 = (from + BLOCK - 1) / BLOCK;   // 首个完整块
+        int b1 = to / BLOCK;                   // 末个完整块之后
+        if (b0 >= b1) {
+            addRaw(ch, from, to, m);
+            return;
+        }
+        addRaw(ch, from, b0 * BLOCK, m);
+        for (int b = b0; b < b1; b++) {
+            m.combine(count[b], BLOCK - count[b], mean[b], m2[b], min[b], max[b]);
+        }
+        addRaw(ch, b1 * BLOCK, to, m);
+    }
+
+    private static void addRaw(ChannelData ch, int from, int to, Moments m) {
+        if (from >= to) {
+            return;
+        }
+        double[] buf = new double[to - from];
+        ch.read(from, buf, 0, buf.length);
+        m.add(buf, 0, buf.length);
+    }
+}
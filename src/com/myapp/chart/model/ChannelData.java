@@ -1,11 +1,16 @@
 package com.myapp.chart.model;
 
 import java.awt.*;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * 单通道数据及其元信息。高亮区段基于时间（秒）。
+ * <p>
+ * 样本存放在可共享的 {@link SampleBuffer} 中：{@link #share}、{@link #slice}
+ * 得到的通道与本通道共享存储，直到某一方通过 {@link #getWritableData()} 写入时才复制。
+ * 存储引用（数组、起点、长度）整体保存在一个不可变对象中并以 volatile 发布，
+ * 改变它的操作互斥执行，因此写入线程换用或复制存储时，其他线程读到的总是一致的一组。
  */
 public class ChannelData {
 
@@ -21,45 +26,259 @@ public class ChannelData {
 
     // —— 成员变量 —— //
     private final String name;
-    private final double[] data;
+    private volatile Storage storage;      // 存储引用，整体替换
+    private final Object storageLock = new Object();
     private final float sampleRate;
     private double yScale = DEFAULT_Y_SCALE;
     private boolean visible = true;
+    private boolean spectrogram = false;   // 以频谱图而非波形显示
     private final Color color;
+    private volatile int version;          // 样本被原地修改的次数
+    private volatile BlockSummary summary; // 分块摘要，按需构建
+    private final Object summaryLock = new Object();
 
-    /** 高亮区段列表：每个元素为 [startTimeSec, endTimeSec] */
-    private final List<double[]> highlightTimeRanges = new ArrayList<>();
+    /** 高亮区段索引：按起点有序，支持按时间窗二分查找 */
+    private final HighlightIndex highlights = new HighlightIndex();
 
     public ChannelData(String name, double[] data, float sampleRate) {
+        this(name, data == null ? Storage.NONE : new Storage(new SampleBuffer(data), 0, data.length, false),
+                sampleRate);
+    }
+
+    /** 引用已有存储，调用方负责 retain */
+    private ChannelData(String name, Storage storage, float sampleRate) {
         this.name       = name;
-        this.data       = data;
+        this.storage    = storage;
         this.sampleRate = sampleRate;
         this.color      = genColor(name.hashCode());
     }
 
+    /** 存储引用：buffer 中的 [offset, offset+length) 段；不可变 */
+    private static final class Storage {
+        static final Storage NONE = new Storage(null, 0, 0, false);   // 子类按需计算
+
+        final SampleBuffer buffer;
+        final int offset;
+        final int length;
+        final boolean released;            // 已放弃共享，写入前须复制
+
+        Storage(SampleBuffer buffer, int offset, int length, boolean released) {
+            this.buffer   = buffer;
+            this.offset   = offset;
+            this.length   = length;
+            this.released = released;
+        }
+
+        /** 恰好是整个数组 */
+        boolean isWhole() {
+            return offset == 0 && length == buffer.array.length;
+        }
+    }
+
     // —— Getter / Setter —— //
     public String getName()              { return name; }
-    public double[] getData()            { return data; }
     public float getSampleRate()         { return sampleRate; }
     public double getyScale()            { return yScale; }
     public void   setyScale(double ys)   { this.yScale = ys; }
     public boolean isVisible()           { return visible; }
     public void    setVisible(boolean v) { this.visible = v; }
+    public boolean isSpectrogram()           { return spectrogram; }
+    public void    setSpectrogram(boolean s) { this.spectrogram = s; }
     public Color   getColor()            { return color; }
 
-    /** 返回所有高亮区段（时间秒为单位） */
+    /**
+     * 恰好 length() 个样本的数组，只读。
+     * 本通道是一段截取时会先复制出私有数组。写入请用 {@link #getWritableData()}。
+     */
+    public double[] getData() {
+        Storage s = storage;
+        if (s.buffer == null) {
+            return null;
+        }
+        if (!s.isWhole()) {
+            synchronized (storageLock) {
+                s = storage;
+                if (!s.isWhole()) {
+                    s = detach(s);
+                }
+            }
+        }
+        return s.buffer.array;
+    }
+
+    /**
+     * 可原地写入的样本数组：存储被共享（或本通道是截取段）时先复制一份私有数组。
+     * 写入后应调用 {@link #markModified()}。
+     */
+    public double[] getWritableData() {
+        synchronized (storageLock) {
+            Storage s = storage;
+            if (s.buffer != null && (s.released || s.buffer.isShared() || !s.isWhole())) {
+                detach(s);
+            }
+        }
+        return getData();
+    }
+
+    /** 换用新的样本数组（如扩容），原存储交还共享者 */
+    public void setData(double[] data) {
+        synchronized (storageLock) {
+            releaseBuffer(storage);
+            storage = new Storage(new SampleBuffer(data), 0, data.length, false);
+        }
+        markModified();
+    }
+
+    /** 与本通道共享存储的新通道（不含高亮），O(1) */
+    public ChannelData share(String newName) {
+        return slice(newName, 0, length());
+    }
+
+    /**
+     * 与本通道共享 [from, to) 段存储的新通道（不含高亮），O(1)。
+     * 按需计算的通道没有存储可共享，此时读取该段得到独立数组。
+     */
+    public ChannelData slice(String newName, int from, int to) {
+        if (from < 0 || to > length() || from > to) {
+            throw new IndexOutOfBoundsException("[" + from + ", " + to + ") / " + length());
+        }
+        Storage s;
+        synchronized (storageLock) {
+            s = storage;
+            if (s.buffer != null) {
+                s.buffer.retain();         // 与 detach 互斥：不会引用已交还的存储
+            }
+        }
+        if (s.buffer == null) {
+            double[] copy = new double[to - from];
+            read(from, copy, 0, copy.length);
+            return new ChannelData(newName, copy, sampleRate);
+        }
+        return new ChannelData(newName, new Storage(s.buffer, s.offset + from, to - from, false), sampleRate);
+    }
+
+    /**
+     * 不与任何通道共享存储的副本（不含高亮），与本通道此后的写入、释放都无关。
+     * 无论当前引用计数如何都会复制，供视图在首次写入时转为私有副本。
+     */
+    ChannelData copy(String newName) {
+        Storage s = storage;
+        double[] data;
+        if (s.buffer == null) {
+            data = new double[length()];
+            read(0, data, 0, data.length);
+        } else {
+            data = Arrays.copyOfRange(s.buffer.array, s.offset, s.offset + s.length);
+        }
+        return new ChannelData(newName, data, sampleRate);
+    }
+
+    /** 不再使用本通道（如已关闭）：放弃对共享存储的引用，其他共享者写入时不必再复制 */
+    public void release() {
+        synchronized (storageLock) {
+            Storage s = storage;
+            releaseBuffer(s);
+            storage = new Storage(s.buffer, s.offset, s.length, true);
+        }
+    }
+
+    /** 样本存储，共享存储的通道返回同一对象；按需计算的通道为 null */
+    public SampleBuffer getStorage() {
+        return storage.buffer;
+    }
+
+    /** 是否与其他通道共享存储 */
+    public boolean sharesStorage() {
+        Storage s = storage;
+        return s.buffer != null && !s.released && s.buffer.isShared();
+    }
+
+    /** 复制出私有数组并发布，须持有 storageLock */
+    private Storage detach(Storage s) {
+        double[] copy = Arrays.copyOfRange(s.buffer.array, s.offset, s.offset + s.length);
+        releaseBuffer(s);
+        Storage detached = new Storage(new SampleBuffer(copy), 0, s.length, false);
+        storage = detached;
+        return detached;
+    }
+
+    private static void releaseBuffer(Storage s) {
+        if (s.buffer != null && !s.released) {
+            s.buffer.release();
+        }
+    }
+
+    // —— 区间访问（派生通道可覆盖为按需计算） —— //
+
+    /** 样本总数 */
+    public int length() {
+        return storage.length;
+    }
+
+    /** 读取单个样本 */
+    public double sampleAt(int index) {
+        Storage s = storage;
+        return s.buffer.array[s.offset + index];
+    }
+
+    /** 将 [from, from+len) 的样本复制到 dst[dstOff…] */
+    public void read(int from, double[] dst, int dstOff, int len) {
+        Storage s = storage;
+        System.arraycopy(s.buffer.array, s.offset + from, dst, dstOff, len);
+    }
+
+    /** 样本版本：每次原地修改样本后递增，供结果缓存判断是否过期 */
+    public int getVersion() {
+        return version;
+    }
+
+    /** 原地修改样本后调用 */
+    public void markModified() {
+        version++;
+    }
+
+    /** 接续另一通道的版本（视图换用私有副本时），保证版本单调递增 */
+    void continueVersion(ChannelData previous) {
+        version = previous.getVersion() + 1;
+    }
+
+    /**
+     * 分块摘要索引：首次调用或样本修改后构建（一次并行遍历），否则直接返回。
+     * 并发调用只构建一次。
+     */
+    public BlockSummary getBlockSummary() {
+        BlockSummary s = summary;
+        if (s != null && s.isCurrent(this)) {
+            return s;
+        }
+        synchronized (summaryLock) {
+            s = summary;
+            if (s == null || !s.isCurrent(this)) {
+                s = BlockSummary.build(this);
+                summary = s;
+            }
+            return s;
+        }
+    }
+
+    /** 返回所有高亮区段（时间秒为单位，按起点有序，只读快照） */
     public List<double[]> getHighlightTimeRanges() {
-        return highlightTimeRanges;
+        return highlights.asList();
+    }
+
+    /** 高亮区段索引，供按时间窗查询 */
+    public HighlightIndex getHighlights() {
+        return highlights;
     }
 
     /** 添加一个高亮区段，参数为开始/结束时间（秒） */
     public void addHighlightTimeRange(double startSec, double endSec) {
-        highlightTimeRanges.add(new double[]{startSec, endSec});
+        highlights.add(startSec, endSec);
     }
 
     /** 清空所有高亮区段 */
     public void clearHighlightTimeRanges() {
-        highlightTimeRanges.clear();
+        highlights.clear();
     }
 
     /**
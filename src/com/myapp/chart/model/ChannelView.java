@@ -0,0 +1,123 @@
+package com.myapp.chart.model;
+
+/**
+ * 与源通道共享样本的视图通道：自身只持有名称与高亮区段，
+ * 所有样本读取都转交给源通道，不复制数据。
+ * 适用于只产生标注、不改变样本的运算（如阈值标记）。
+ * <p>
+ * 通过 {@link #getWritableData()} 写入或 {@link #setData} 换数组时，视图先转为持有私有副本
+ * （写时复制），之后读取转交副本，源通道与同一源的其他视图不受影响。
+ */
+public class ChannelView extends ChannelData {
+
+    private final ChannelData source;
+    private volatile ChannelData target;   // 读取转交的通道：源通道，或写入后的私有副本
+    private final Object targetLock = new Object();
+
+    public ChannelView(String name, ChannelData source) {
+        super(name, null, source.getSampleRate());
+        this.source = source;
+        this.target = source;
+    }
+
+    /** 被共享样本的源通道 */
+    public ChannelData getSource() {
+        return source;
+    }
+
+    /** 样本来自源通道，版本随源通道（已转为私有副本时随副本） */
+    @Override
+    public int getVersion() {
+        return target.getVersion();
+    }
+
+    @Override
+    public void markModified() {
+        target.markModified();
+    }
+
+    /** 样本与源通道相同，摘要索引也共用 */
+    @Override
+    public BlockSummary getBlockSummary() {
+        return target.getBlockSummary();
+    }
+
+    /** 共享源通道的存储 */
+    @Override
+    public SampleBuffer getStorage() {
+        return target.getStorage();
+    }
+
+    @Override
+    public ChannelData slice(String newName, int from, int to) {
+        return target.slice(newName, from, to);
+    }
+
+    @Override
+    public double[] getData() {
+        return target.getData();
+    }
+
+    /**
+     * 首次写入时先复制出私有副本再转交给它。
+     * 直接复制而不借助源通道存储的引用计数：源通道已释放（计数回到 0 或 1）时，
+     * 共享后的写入会被判为无需复制，从而原地改写源通道与其他视图。
+     */
+    @Override
+    public double[] getWritableData() {
+        ChannelData t;
+        synchronized (targetLock) {
+            t = target;
+            if (t == source) {
+                t = source.copy(getName());
+                t.continueVersion(source);
+                target = t;
+            }
+        }
+        return t.getWritableData();
+    }
+
+    @Override
+    public void setData(double[] data) {
+        ChannelData old;
+        synchronized (targetLock) {
+            old = target;
+            ChannelData t = new ChannelData(getName(), data, getSampleRate());
+            t.continueVersion(old);
+            target = t;
+        }
+        if (old != source) {
+            old.release();
+        }
+    }
+
+    /** 放弃私有副本；未写入过时与源通道无存储可放弃 */
+    @Override
+    public void release() {
+        ChannelData t = target;
+        if (t != source) {
+            t.release();
+        }
+    }
+
+    @Override
+    public boolean sharesStorage() {
+        ChannelData t = target;
+        return t == source || t.sharesStorage();
+    }
+
+    @Override
+    public int length() {
+        return target.length();
+    }
+
+    @Override
+    public double sampleAt(int index) {
+        return target.sampleAt(index);
+    }
+
+    @Override
+    public void read(int from, double[] dst, int dstOff, int len) {
+        target.read(from, dst, dstOff, len);
+    }
+}
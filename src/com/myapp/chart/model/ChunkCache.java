@@ -0,0 +1,82 @@
+package com.myapp.chart.model;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 派生通道共享的有界分块缓存（LRU）。
+ * 键为 (所属通道, 数据版本, 块序号)，值为该块计算结果；超出容量时淘汰最久未使用的块。
+ * 版本取自通道的 {@link ChannelData#getVersion()}：源数据修改后旧块不会再命中。
+ */
+public final class ChunkCache {
+
+    // 常量配置
+    public  static final int CHUNK_SIZE = 8192;   // 每块样本数
+    private static final int MAX_CHUNKS = 512;    // 缓存块上限（≈ 32 MiB）
+
+    private static final ChunkCache SHARED = new ChunkCache(MAX_CHUNKS);
+
+    private final Map<Key, double[]> chunks;
+
+    private ChunkCache(int capacity) {
+        this.chunks = new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, double[]> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /** 全局共享实例 */
+    public static ChunkCache shared() {
+        return SHARED;
+    }
+
+    /** 查找缓存块，未命中返回 null */
+    public synchronized double[] get(Object owner, int version, int chunk) {
+        return chunks.get(new Key(owner, version, chunk));
+    }
+
+    /** 放入缓存块 */
+    public synchronized void put(Object owner, int version, int chunk, double[] values) {
+        chunks.put(new Key(owner, version, chunk), values);
+    }
+
+    /** 丢弃某通道的所有缓存块（通道关闭或源数据变化时调用） */
+    public synchronized void invalidate(Object owner) {
+        Iterator<Key> it = chunks.keySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().owner == owner) {
+                it.remove();
+            }
+        }
+    }
+
+    /** 缓存键：按通道身份 + 版本 + 块序号 */
+    private static final class Key {
+        private final Object owner;
+        private final int version;
+        private final int chunk;
+
+        Key(Object owner, int version, int chunk) {
+            this.owner = owner;
+            this.version = version;
+            this.chunk = chunk;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key k = (Key) o;
+            return owner == k.owner && version == k.version && chunk == k.chunk;
+        }
+
+        @Override
+        public int hashCode() {
+            return (System.identityHashCode(owner) * 31 + version) * 31 + chunk;
+        }
+    }
+}
@@ -108,6 +108,6 @@ public class DataModel {
      * 以第一个通道的长度为准，全局样本总数。
      */
     public int totalSamples() {
-        return channels.isEmpty() ? 0 : channels.get(0).getData().length;
+        return channels.isEmpty() ? 0 : channels.get(0).length();
     }
 }
@@ -0,0 +1,168 @@
+package com.myapp.chart.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 高亮区段索引：区段按起点有序存放，并维护“截至第 i 个区段的最大终点”，
+ * 从而可用二分查找定位与某时间窗相交的区段，绘制时不必遍历全部区段。
+ * <p>
+ * 按时间顺序追加（检测结果通常如此）为均摊 O(1)，乱序插入为 O(n)。
+ * <p>
+ * 可由一个线程写入（如监护仪模拟线程追加实时标记）、多个线程同时读取（如 EDT 绘制）：
+ * 内容以不可变的 {@link Snapshot} 经 volatile 发布，追加只写入已发布长度之外的位置，
+ * 乱序插入、扩容与清空都换用新数组，已发布的快照不会被改动。
+ * 需要多次查询保持一致时（先定位下标再逐个读取），先取 {@link #snapshot()} 再在其上查询。
+ */
+public final class HighlightIndex {
+
+    // 常量配置
+    private static final int INITIAL_CAPACITY = 16;
+
+    private volatile Snapshot current = Snapshot.EMPTY;
+
+    /** 当前内容的不可变快照 */
+    public Snapshot snapshot() {
+        return current;
+    }
+
+    /** 区段数 */
+    public int size() {
+        return current.size;
+    }
+
+    public boolean isEmpty() {
+        return current.size == 0;
+    }
+
+    public double start(int i) {
+        return current.start(i);
+    }
+
+    public double end(int i) {
+        return current.end(i);
+    }
+
+    /** 添加区段 [startSec, endSec] */
+    public synchronized void add(double startSec, double endSec) {
+        Snapshot s = current;
+        int size = s.size;
+        double[] starts = s.starts, ends = s.ends, maxEnd = s.maxEnd;
+        int pos = size;
+        if (size > 0 && startSec < starts[size - 1]) {
+            // 乱序插入要移动已发布的元素：复制到新数组
+            pos = upperBound(starts, size, startSec);
+            int cap = Math.max(size + 1, starts.length);
+            double[] ns = new double[cap], ne = new double[cap], nm = new double[cap];
+            System.arraycopy(starts, 0, ns, 0, pos);
+            System.arraycopy(ends, 0, ne, 0, pos);
+            System.arraycopy(maxEnd, 0, nm, 0, pos);
+            System.arraycopy(starts, pos, ns, pos + 1, size - pos);
+            System.arraycopy(ends, pos, ne, pos + 1, size - pos);
+            starts = ns;
+            ends = ne;
+            maxEnd = nm;
+        } else if (size == starts.length) {
+            int cap = Math.max(INITIAL_CAPACITY, starts.length * 2);
+            starts = Arrays.copyOf(starts, cap);
+            ends   = Arrays.copyOf(ends, cap);
+            maxEnd = Arrays.copyOf(maxEnd, cap);
+        }
+        starts[pos] = startSec;
+        ends[pos] = endSec;
+        for (int i = pos; i <= size; i++) {
+            maxEnd[i] = i == 0 ? ends[0] : Math.max(maxEnd[i - 1], ends[i]);
+        }
+        current = new Snapshot(starts, ends, maxEnd, size + 1);
+    }
+
+    /** 清空 */
+    public synchronized void clear() {
+        current = Snapshot.EMPTY;
+    }
+
+    /** 第一个可能与 [fromSec, …) 相交的区段下标（其前的区段都在 fromSec 之前结束） */
+    public int firstEndingAtOrAfter(double fromSec) {
+        return current.firstEndingAtOrAfter(fromSec);
+    }
+
+    /** 起点 ≤ toSec 的区段个数（其后的区段都在 toSec 之后开始） */
+    public int countStartingAtOrBefore(double toSec) {
+        return current.countStartingAtOrBefore(toSec);
+    }
+
+    /** 当前内容的只读列表，每个元素为 [startSec, endSec]；之后的修改不反映在其中 */
+    public List<double[]> asList() {
+        return current.asList();
+    }
+
+    /** 第一个大于 key 的元素位置 */
+    private static int upperBound(double[] a, int n, double key) {
+        int lo = 0, hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] <= key) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    /** 某一时刻的全部区段；数组的 [0, size) 部分发布后不再改动 */
+    public static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(new double[0], new double[0], new double[0], 0);
+
+        private final double[] starts;
+        private final double[] ends;
+        private final double[] maxEnd;   // maxEnd[i] = max(ends[0..i])，单调不减
+        private final int size;
+
+        private Snapshot(double[] starts, double[] ends, double[] maxEnd, int size) {
+            this.starts = starts;
+            this.ends = ends;
+            this.maxEnd = maxEnd;
+            this.size = size;
+        }
+
+        /** 区段数 */
+        public int size() {
+            return size;
+        }
+
+        public double start(int i) {
+            if (i >= size) throw new IndexOutOfBoundsException(i);
+            return starts[i];
+        }
+
+        public double end(int i) {
+            if (i >= size) throw new IndexOutOfBoundsException(i);
+            return ends[i];
+        }
+
+        /** 同 {@link HighlightIndex#firstEndingAtOrAfter} */
+        public int firstEndingAtOrAfter(double fromSec) {
+            int lo = 0, hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (maxEnd[mid] < fromSec) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+
+        /** 同 {@link HighlightIndex#countStartingAtOrBefore} */
+        public int countStartingAtOrBefore(double toSec) {
+            return upperBound(starts, size, toSec);
+        }
+
+        /** 只读列表视图，每个元素为 [startSec, endSec] */
+        public List<double[]> asList() {
+            return new AbstractList<>() {
+                @Override public double[] get(int i) {
+                    return new double[]{start(i), end(i)};
+                }
+                @Override public int size() {
+                    return size;
+                }
+            };
+        }
+    }
+}
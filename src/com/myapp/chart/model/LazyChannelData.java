@@ -0,0 +1,131 @@
+package com.myapp.chart.model;
+
+import java.lang.ref.SoftReference;
+
+/**
+ * 按需计算的通道：不持有完整样本数组，只在读取某区间时计算对应块，
+ * 结果放入全局有界分块缓存 {@link ChunkCache}。缓存按 {@link #getVersion()} 区分：
+ * 源数据修改后（派生通道的版本随源通道）旧块不再命中，并在下次读取时整体丢弃。
+ * <p>
+ * {@link #getData()} 仅为兼容旧代码保留：会计算一份完整数组，以软引用按版本保留，
+ * 版本不变时重复调用直接返回同一数组。新代码应使用 {@link #read}。
+ * 通道只读：{@link #getWritableData()} 抛出 {@link UnsupportedOperationException}。
+ */
+public abstract class LazyChannelData extends ChannelData {
+
+    private final int length;
+    private final ChunkCache cache = ChunkCache.shared();
+
+    /** 最近访问的块，加速逐点读取 */
+    private volatile CachedChunk last;
+    /** 缓存中块所属的版本；版本变化时丢弃旧块 */
+    private volatile int cachedVersion;
+    /** getData() 计算的完整数组，内存紧张时可被回收 */
+    private volatile Materialized full;
+
+    protected LazyChannelData(String name, int length, float sampleRate) {
+        super(name, null, sampleRate);
+        this.length = length;
+    }
+
+    /** 计算 [from, from+len) 的样本写入 dst[dstOff…]，由子类实现 */
+    protected abstract void computeRange(int from, double[] dst, int dstOff, int len);
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public double sampleAt(int index) {
+        int chunk = index / ChunkCache.CHUNK_SIZE;
+        int version = getVersion();
+        CachedChunk c = last;
+        if (c == null || c.index != chunk || c.version != version) {
+            c = new CachedChunk(chunk, version, chunk(chunk, version));
+            last = c;
+        }
+        return c.values[index - chunk * ChunkCache.CHUNK_SIZE];
+    }
+
+    @Override
+    public void read(int from, double[] dst, int dstOff, int len) {
+        int version = getVersion();
+        int pos = from;
+        int end = from + len;
+        while (pos < end) {
+            int chunk = pos / ChunkCache.CHUNK_SIZE;
+            int base  = chunk * ChunkCache.CHUNK_SIZE;
+            int n     = Math.min(end, base + ChunkCache.CHUNK_SIZE) - pos;
+            System.arraycopy(chunk(chunk, version), pos - base, dst, dstOff + (pos - from), n);
+            pos += n;
+        }
+    }
+
+    /** 兼容接口：完整数组，同一版本只计算一次（只读，勿写入） */
+    @Override
+    public double[] getData() {
+        int version = getVersion();
+        Materialized m = full;
+        double[] out = m != null && m.version == version ? m.get() : null;
+        if (out == null) {
+            out = new double[length];
+            computeRange(0, out, 0, length);
+            full = new Materialized(out, version);
+        }
+        return out;
+    }
+
+    /** 只读：写入只会改动缓存中的完整数组 */
+    @Override
+    public double[] getWritableData() {
+        throw new UnsupportedOperationException("按需计算的通道只读：" + getName());
+    }
+
+    /** 丢弃本通道已缓存的块 */
+    public void invalidate() {
+        last = null;
+        full = null;
+        cache.invalidate(this);
+    }
+
+    /** 取得某版本的某块：先查缓存，未命中时计算并放入缓存 */
+    private double[] chunk(int chunk, int version) {
+        if (version != cachedVersion) {
+            cachedVersion = version;
+            cache.invalidate(this);
+        }
+        double[] values = cache.get(this, version, chunk);
+        if (values == null) {
+            int from = chunk * ChunkCache.CHUNK_SIZE;
+            int len  = Math.min(ChunkCache.CHUNK_SIZE, length - from);
+            values = new double[len];
+            computeRange(from, values, 0, len);
+            cache.put(this, version, chunk, values);
+        }
+        return values;
+    }
+
+    /** 完整数组的软引用及其版本 */
+    private static final class Materialized extends SoftReference<double[]> {
+        final int version;
+
+        Materialized(double[] values, int version) {
+            super(values);
+            this.version = version;
+        }
+    }
+
+    /** 块序号、版本与数据的不可变组合，保证并发读取时三者一致 */
+    private static final class CachedChunk {
+        final int index;
+        final int version;
+        final double[] values;
+
+        CachedChunk(int index, int version, double[] values) {
+            this.index = index;
+            this.version = version;
+            this.values = values;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.myapp.chart.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 常用导联的构造：双极导联与平均参考。结果均为 {@link MontageChannel}，不复制样本。
+ */
+public final class Montage {
+
+    /** 纵向双极（“双香蕉”）导联，10-20 系统 */
+    public static final String[][] DOUBLE_BANANA = {
+            {"Fp1", "F7"}, {"F7", "T3"}, {"T3", "T5"}, {"T5", "O1"},
+            {"Fp2", "F8"}, {"F8", "T4"}, {"T4", "T6"}, {"T6", "O2"},
+            {"Fp1", "F3"}, {"F3", "C3"}, {"C3", "P3"}, {"P3", "O1"},
+            {"Fp2", "F4"}, {"F4", "C4"}, {"C4", "P4"}, {"P4", "O2"},
+            {"Fz", "Cz"}, {"Cz", "Pz"}
+    };
+
+    // 常量配置
+    private static final String AVG_SUFFIX = "-Avg";
+
+    private Montage() {}
+
+    /**
+     * 按电极名找通道：先精确匹配，再忽略大小写，最后按通道名中的独立记号匹配
+     * （如 “EEG Fp1-REF” 可由 “Fp1” 找到）。找不到返回 null。
+     */
+    public static ChannelData resolve(String electrode, List<ChannelData> channels) {
+        String e = electrode.trim();
+        for (ChannelData ch : channels) {
+            if (ch.getName().equals(e)) return ch;
+        }
+        for (ChannelData ch : channels) {
+            if (ch.getName().equalsIgnoreCase(e)) return ch;
+        }
+        for (ChannelData ch : channels) {
+            if (!(ch instanceof MontageChannel) && containsToken(ch.getName(), e)) return ch;
+        }
+        return null;
+    }
+
+    /** name 中是否有以非字母数字为界、与 token 忽略大小写相同的一段（不分配） */
+    private static boolean containsToken(String name, String token) {
+        int n = token.length();
+        if (n == 0) return false;
+        for (int i = 0; i + n <= name.length(); i++) {
+            if ((i == 0 || !Character.isLetterOrDigit(name.charAt(i - 1)))
+                    && (i + n == name.length() || !Character.isLetterOrDigit(name.charAt(i + n)))
+                    && name.regionMatches(true, i, token, 0, n)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** 双香蕉导联中两端都能找到通道的导联，每行一个 “A-B” */
+    public static String defaultBipolarSpec(List<ChannelData> channels) {
+        StringBuilder sb = new StringBuilder();
+        for (String[] pair : DOUBLE_BANANA) {
+            if (resolve(pair[0], channels) != null && resolve(pair[1], channels) != null) {
+                sb.append(pair[0]).append('-').append(pair[1]).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 按描述构造双极导联：每行（或逗号分隔）一个 “A-B”。
+     * 通道名本身含 “-” 时，取两侧都能找到通道的那个分割位置。
+     *
+     * @throws IllegalArgumentException 某项无法解析，消息可直接展示给用户
+     */
+    public static List<ChannelData> bipolar(String spec, List<ChannelData> channels) {
+        List<ChannelData> out = new ArrayList<>();
+        for (String item : spec.split("[,\\n]")) {
+            String entry = item.trim();
+            if (entry.isEmpty()) continue;
+            ChannelData a = null, b = null;
+            for (int i = entry.indexOf('-'); i > 0 && a == null; i = entry.indexOf('-', i + 1)) {
+                ChannelData left = resolve(entry.substring(0, i), channels);
+                ChannelData right = resolve(entry.substring(i + 1), channels);
+                if (left != null && right != null) {
+                    a = left;
+                    b = right;
+                }
+            }
+            if (a == null) {
+                throw new IllegalArgumentException("无法解析导联 “" + entry + "”");
+            }
+            out.add(MontageChannel.difference(entry.replace(" ", ""), a, b));
+        }
+        return out;
+    }
+
+    /**
+     * 平均参考：每个通道减去所选通道的均值。
+     * 展开后每个结果是 N 项线性组合，仍不复制样本。
+     */
+    public static List<ChannelData> averageReference(List<ChannelData> channels) {
+        int n = channels.size();
+        double[] w = new double[n];
+        Arrays.fill(w, 1.0 / n);
+        MontageChannel avg = new MontageChannel("Avg", channels, w);
+        List<ChannelData> out = new ArrayList<>(n);
+        for (ChannelData ch : channels) {
+            out.add(new MontageChannel(ch.getName() + AVG_SUFFIX, List.of(ch, avg), new double[]{1, -1}));
+        }
+        return out;
+    }
+}
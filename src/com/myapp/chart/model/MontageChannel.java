@@ -0,0 +1,204 @@
+package com.myapp.chart.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 虚拟导联通道：若干源通道的线性组合 Σ wₖ·xₖ（如双极导联 Fp1−F3、平均参考），
+ * 不持有样本，只在读取某区间时按块计算。
+ * <p>
+ * 按块计算：每块先把各源通道的一段读入小缓冲，再累加到目标，
+ * 读写都在一两个 L1 大小的数组内完成；逐点读取时缓存最近一块，连同计算时各源通道的版本，
+ * 任一源通道修改后该块作废。
+ * 源通道本身是虚拟导联时展开为其源通道的组合（同一源的权重合并），
+ * 因此读取时不会嵌套。各源通道须采样率相同，长度取最短者。
+ * 通道只读：{@link #getWritableData()} 抛出 {@link UnsupportedOperationException}，
+ * 需要可写样本时用 {@link ChannelView} 包装（首次写入时复制）。
+ */
+public class MontageChannel extends ChannelData {
+
+    // 常量配置
+    private static final int BLOCK = 2048;   // 每块样本数（16 KB）
+
+    private static final ThreadLocal<double[]> SCRATCH = ThreadLocal.withInitial(() -> new double[BLOCK]);
+
+    private final ChannelData[] sources;
+    private final double[] weights;
+    private final int length;
+
+    /** 最近计算的块，加速逐点读取 */
+    private volatile Block last;
+
+    public MontageChannel(String name, List<ChannelData> sources, double[] weights) {
+        super(name, null, checkRates(sources));
+        if (sources.size() != weights.length) {
+            throw new IllegalArgumentException("源通道与权重个数不一致");
+        }
+        List<ChannelData> flatSources = new ArrayList<>();
+        List<Double> flatWeights = new ArrayList<>();
+        for (int k = 0; k < weights.length; k++) {
+            ChannelData s = sources.get(k);
+            if (s instanceof MontageChannel) {
+                MontageChannel m = (MontageChannel) s;
+                for (int j = 0; j < m.sources.length; j++) {
+                    addTerm(flatSources, flatWeights, m.sources[j], weights[k] * m.weights[j]);
+                }
+            } else {
+                addTerm(flatSources, flatWeights, s, weights[k]);
+            }
+        }
+        this.sources = flatSources.toArray(new ChannelData[0]);
+        this.weights = flatWeights.stream().mapToDouble(Double::doubleValue).toArray();
+        int n = Integer.MAX_VALUE;
+        for (ChannelData s : this.sources) {
+            n = Math.min(n, s.length());
+        }
+        this.length = n;
+    }
+
+    /** 双极导联 a − b */
+    public static MontageChannel difference(String name, ChannelData a, ChannelData b) {
+        return new MontageChannel(name, List.of(a, b), new double[]{1, -1});
+    }
+
+    public List<ChannelData> getSources() {
+        return List.of(sources);
+    }
+
+    public double[] getWeights() {
+        return weights.clone();
+    }
+
+    /** 版本随各源通道变化 */
+    @Override
+    public int getVersion() {
+        int v = 0;
+        for (ChannelData s : sources) {
+            v = v * 31 + s.getVersion();
+        }
+        return v;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public double sampleAt(int index) {
+        int block = index / BLOCK;
+        Block b = last;
+        if (b == null || b.index != block || !b.isCurrent(sources)) {
+            int[] versions = new int[sources.length];
+            for (int k = 0; k < versions.length; k++) {
+                versions[k] = sources[k].getVersion();
+            }
+            int from = block * BLOCK;
+            double[] values = new double[Math.min(BLOCK, length - from)];
+            read(from, values, 0, values.length);
+            b = new Block(block, versions, values);
+            last = b;
+        }
+        return b.values[index - block * BLOCK];
+    }
+
+    @Override
+    public void read(int from, double[] dst, int dstOff, int len) {
+        // 借出线程内缓冲；源通道的计算中再次读取导联（重入）时另行分配
+        double[] tmp = SCRATCH.get();
+        boolean borrowed = tmp != null;
+        if (borrowed) {
+            SCRATCH.set(null);
+        } else {
+            tmp = new double[BLOCK];
+        }
+        try {
+            accumulate(from, dst, dstOff, len, tmp);
+        } finally {
+            if (borrowed) {
+                SCRATCH.set(tmp);
+            }
+        }
+    }
+
+    /** 按块累加 Σ wₖ·xₖ */
+    private void accumulate(int from, double[] dst, int dstOff, int len, double[] tmp) {
+        for (int pos = 0; pos < len; pos += BLOCK) {
+            int n = Math.min(BLOCK, len - pos);
+            int o = dstOff + pos;
+            sources[0].read(from + pos, dst, o, n);
+            double w0 = weights[0];
+            if (w0 != 1) {
+                for (int i = 0; i < n; i++) dst[o + i] *= w0;
+            }
+            for (int k = 1; k < sources.length; k++) {
+                sources[k].read(from + pos, tmp, 0, n);
+                double w = weights[k];
+                for (int i = 0; i < n; i++) dst[o + i] += w * tmp[i];
+            }
+        }
+    }
+
+    /** 兼容接口：临时计算完整数组（不缓存） */
+    @Override
+    public double[] getData() {
+        double[] out = new double[length];
+        read(0, out, 0, length);
+        return out;
+    }
+
+    /** 只读：写入临时数组不会改变任何源通道 */
+    @Override
+    public double[] getWritableData() {
+        throw new UnsupportedOperationException("虚拟导联通道只读：" + getName());
+    }
+
+    /** 追加一项；同一源通道（按身份）的权重合并 */
+    private static void addTerm(List<ChannelData> sources, List<Double> weights, ChannelData s, double w) {
+        for (int i = 0; i < sources.size(); i++) {
+            if (sources.get(i) == s) {
+                weights.set(i, weights.get(i) + w);
+                return;
+            }
+        }
+        sources.add(s);
+        weights.add(w);
+    }
+
+    private static float checkRates(List<ChannelData> sources) {
+        if (sources.isEmpty()) {
+            throw new IllegalArgumentException("导联至少需要一个源通道");
+        }
+        float fs = sources.get(0).getSampleRate();
+        for (ChannelData s : sources) {
+            if (s.getSampleRate() != fs) {
+                throw new IllegalArgumentException("导联的源通道采样率须一致：" + Arrays.toString(
+                        sources.stream().map(c -> c.getName() + "@" + c.getSampleRate()).toArray()));
+            }
+        }
+        return fs;
+    }
+
+    /** 块序号、计算时各源通道版本与数据的不可变组合 */
+    private static final class Block {
+        final int index;
+        final int[] versions;
+        final double[] values;
+
+        Block(int index, int[] versions, double[] values) {
+            this.index = index;
+            this.versions = versions;
+            this.values = values;
+        }
+
+        boolean isCurrent(ChannelData[] sources) {
+            for (int k = 0; k < sources.length; k++) {
+                if (sources[k].getVersion() != versions[k]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
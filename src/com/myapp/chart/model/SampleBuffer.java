@@ -0,0 +1,44 @@
+package com.myapp.chart.model;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 可共享的样本存储：多个 {@link ChannelData} 可引用同一数组（或其中一段），
+ * 以引用计数记录共享者数目。任一共享者写入前先复制出私有数组（写时复制），
+ * 因此复制、截取通道只需 O(1) 时间与内存。
+ */
+public final class SampleBuffer {
+
+    final double[] array;
+    private final AtomicInteger refs = new AtomicInteger(1);
+
+    SampleBuffer(double[] array) {
+        this.array = array;
+    }
+
+    /** 增加一个共享者 */
+    SampleBuffer retain() {
+        refs.incrementAndGet();
+        return this;
+    }
+
+    /** 减少一个共享者 */
+    void release() {
+        refs.decrementAndGet();
+    }
+
+    /** 是否有多个共享者（写入前须复制） */
+    boolean isShared() {
+        return refs.get() > 1;
+    }
+
+    /** 当前共享者数目 */
+    public int refCount() {
+        return refs.get();
+    }
+
+    /** 数组总长度 */
+    public int capacity() {
+        return array.length;
+    }
+}
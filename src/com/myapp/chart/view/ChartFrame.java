@@ -4,6 +4,8 @@ import com.myapp.chart.controller.ChartController;
 import com.myapp.chart.model.ChannelData;
 import com.myapp.chart.model.DataModel;
 import com.myapp.chart.view.channel.ChannelPanel;
+import com.myapp.chart.view.channel.SpectrogramPanel;
+import com.myapp.chart.view.processing.job.JobPanel;
 
 import javax.swing.*;
 import java.awt.*;
@@ -37,6 +39,7 @@ public class ChartFrame extends JFrame {
     private final InfoPanel infoPanel;
     private final JScrollBar hScroll;
     private final List<ChannelPanel> channelPanels = new ArrayList<>();
+    private final List<SpectrogramPanel> spectrogramPanels = new ArrayList<>();
 
     public ChartFrame(ChartController controller) {
         super("Chart System");
@@ -134,10 +137,11 @@ public class ChartFrame extends JFrame {
     }
 
     /**
-     * 创建状态栏并添加滚动条
+     * 创建状态栏：后台任务面板 + 滚动条
      */
     private JPanel createStatusBar(JScrollBar scrollBar) {
         JPanel statusBar = new JPanel(new BorderLayout());
+        statusBar.add(new JobPanel(controller.getJobManager()), BorderLayout.CENTER);
         statusBar.add(scrollBar, BorderLayout.SOUTH);
         return statusBar;
     }
@@ -154,6 +158,7 @@ public class ChartFrame extends JFrame {
 
         channelContainer.removeAll();
         channelPanels.clear();
+        spectrogramPanels.clear();
 
         if (model == null || model.getChannels().isEmpty()) {
             // 无数据时，显示空状态
@@ -161,8 +166,14 @@ public class ChartFrame extends JFrame {
             infoPanel.clearContent();
             hScroll.setEnabled(false);
         } else {
-            // 有数据时，创建并添加各通道面板
+            // 有数据时，创建并添加各通道面板（波形或频谱图）
             for (ChannelData ch : model.getChannels()) {
+                if (ch.isSpectrogram()) {
+                    SpectrogramPanel panel = new SpectrogramPanel(ch, model);
+                    spectrogramPanels.add(panel);
+                    channelContainer.add(panel);
+                    continue;
+                }
                 ChannelPanel panel = new ChannelPanel(controller, ch, model);
                 channelPanels.add(panel);
                 channelContainer.add(panel);
@@ -190,6 +201,7 @@ public class ChartFrame extends JFrame {
      */
     public void updateView() {
         channelPanels.forEach(JComponent::repaint);
+        spectrogramPanels.forEach(JComponent::repaint);
         DataModel model = controller.getDataModel();
         if (model != null && !model.getChannels().isEmpty()) {
             hScroll.setEnabled(true);
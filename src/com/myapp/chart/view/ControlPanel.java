@@ -125,13 +125,19 @@ public class ControlPanel extends JPanel {
             btnCol.setLayout(new BoxLayout(btnCol, BoxLayout.Y_AXIS));
             JButton expBtn = new JButton("导出");
             JButton closeBtn = new JButton("关闭");
+            JButton specBtn = new JButton(ch.isSpectrogram() ? "波形" : "频谱");
             JButton upBtn = new JButton("↑");
             JButton downBtn = new JButton("↓");
-            for (JButton btn : new JButton[]{expBtn, closeBtn, upBtn, downBtn}) {
+            for (JButton btn : new JButton[]{expBtn, closeBtn, specBtn, upBtn, downBtn}) {
                 btn.setAlignmentX(Component.LEFT_ALIGNMENT);
             }
             expBtn.addActionListener(e -> controller.exportChannel(ch));
             closeBtn.addActionListener(e -> controller.closeChannel(ch));
+            specBtn.setToolTipText("切换波形 / 频谱图显示");
+            specBtn.addActionListener(e -> {
+                ch.setSpectrogram(!ch.isSpectrogram());
+                controller.reloadData();
+            });
             upBtn.setToolTipText("上移通道");
             upBtn.addActionListener(e -> moveChannel(ch, -1));
             downBtn.setToolTipText("下移通道");
@@ -141,6 +147,8 @@ public class ControlPanel extends JPanel {
             btnCol.add(Box.createVerticalStrut(BUTTON_SPACING));
             btnCol.add(closeBtn);
             btnCol.add(Box.createVerticalStrut(BUTTON_SPACING));
+            btnCol.add(specBtn);
+            btnCol.add(Box.createVerticalStrut(BUTTON_SPACING));
             btnCol.add(Box.createVerticalGlue());
             btnCol.add(upBtn);
             btnCol.add(Box.createVerticalStrut(BUTTON_SPACING));
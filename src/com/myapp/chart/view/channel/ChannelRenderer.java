@@ -1,6 +1,9 @@
 package com.myapp.chart.view.channel;
 
+import com.myapp.chart.dsp.ArrayKernels;
+import com.myapp.chart.dsp.Kernels;
 import com.myapp.chart.model.ChannelData;
+import com.myapp.chart.model.HighlightIndex;
 import javax.swing.*;
 import java.awt.*;
 import java.text.DecimalFormat;
@@ -22,6 +25,11 @@ final class ChannelRenderer {
     private static final DecimalFormat Y_LABEL_FORMAT = new DecimalFormat("0.00");
     private static final DecimalFormat X_LABEL_FORMAT = new DecimalFormat("0.##");
     private static final double HIGHLIGHT_ALPHA = 0.32;    // 高亮透明度 (80/255 ≈ 0.32)
+    private static final int SCAN_CHUNK = 8192;            // 求最值时每次读取的样本数
+
+    // 绘制只在 EDT 上进行，扫描缓冲可复用
+    private static final double[] SCAN_BUF = new double[SCAN_CHUNK];
+    private static final double[] SCAN_RESULT = new double[2];
 
     private ChannelRenderer() {}
 
@@ -52,11 +60,13 @@ final class ChannelRenderer {
         g2.setColor(Color.WHITE);
         g2.fillRect(plotX, 0, plotWidth, plotHeight);
 
-        // 高亮区域
+        // 高亮区域：二分定位与可见窗相交的区段（取快照，模拟线程可能同时追加）
         g2.setColor(HIGHLIGHT_COLOR);
-        for (double[] range : ch.getHighlightTimeRanges()) {
-            double start = range[0], end = range[1];
-            if (end < t0 || start > t0 + tSpan) {
+        HighlightIndex.Snapshot highlights = ch.getHighlights().snapshot();
+        int hEnd = highlights.countStartingAtOrBefore(t0 + tSpan);
+        for (int h = highlights.firstEndingAtOrAfter(t0); h < hEnd; h++) {
+            double start = highlights.start(h), end = highlights.end(h);
+            if (end < t0) {
                 continue;
             }
             double sRel = Math.max(0, start - t0);
@@ -67,17 +77,10 @@ final class ChannelRenderer {
         }
 
         // 数据范围
-        double[] data = ch.getData();
-        double dMin = Double.POSITIVE_INFINITY;
-        double dMax = Double.NEGATIVE_INFINITY;
-        for (int i = 0; i < window; i++) {
-            int idx = (int) ((offset + i) * ch.getSampleRate() / fsGlobal);
-            if (idx >= data.length) break;
-            double v = data[idx];
-            if (Double.isNaN(v)) continue;
-            dMin = Math.min(dMin, v);
-            dMax = Math.max(dMax, v);
-        }
+        int length = ch.length();
+        visibleMinMax(ch, offset, window, fsGlobal, SCAN_RESULT);
+        double dMin = SCAN_RESULT[0];
+        double dMax = SCAN_RESULT[1];
         if (!Double.isFinite(dMin)) {
             return;
         }
@@ -113,11 +116,11 @@ final class ChannelRenderer {
         g2.setColor(ch.getColor());
         int liPrev = (int) (offset * ch.getSampleRate() / fsGlobal);
         int xPrev = plotX;
-        int yPrev = AxisUtil.mapY(data[liPrev], yBase, yRange, plotHeight);
+        int yPrev = AxisUtil.mapY(ch.sampleAt(liPrev), yBase, yRange, plotHeight);
         for (int i = 1; i < window; i++) {
             int li = (int) ((offset + i) * ch.getSampleRate() / fsGlobal);
-            if (li >= data.length) break;
-            double v = data[li];
+            if (li >= length) break;
+            double v = ch.sampleAt(li);
             if (Double.isNaN(v)) continue;
             int x = plotX + (int) (i / (double) window * plotWidth);
             int y = AxisUtil.mapY(v, yBase, yRange, plotHeight);
@@ -161,4 +164,36 @@ final class ChannelRenderer {
         // 通道名称
         g2.drawString(ch.getName(), plotX + plotWidth/2 - g2.getFontMetrics().stringWidth(ch.getName())/2, 14);
     }
+
+    /**
+     * 可见窗口内的最小/最大值（跳过 NaN），写入 out[0]、out[1]。
+     * 采样率与全局一致时样本连续，分块读取后用数组内核归约；否则逐点取样。
+     */
+    private static void visibleMinMax(ChannelData ch, int offset, int window, double fsGlobal, double[] out) {
+        int length = ch.length();
+        double dMin = Double.POSITIVE_INFINITY;
+        double dMax = Double.NEGATIVE_INFINITY;
+        if (ch.getSampleRate() == fsGlobal) {
+            ArrayKernels kernels = Kernels.get();
+            int end = (int) Math.min(length, (long) offset + window);
+            for (int pos = Math.max(0, offset); pos < end; pos += SCAN_CHUNK) {
+                int n = Math.min(SCAN_CHUNK, end - pos);
+                ch.read(pos, SCAN_BUF, 0, n);
+                kernels.minMax(SCAN_BUF, 0, n, out);
+                dMin = Math.min(dMin, out[0]);
+                dMax = Math.max(dMax, out[1]);
+            }
+        } else {
+            for (int i = 0; i < window; i++) {
+                int idx = (int) ((offset + i) * ch.getSampleRate() / fsGlobal);
+                if (idx >= length) break;
+                double v = ch.sampleAt(idx);
+                if (Double.isNaN(v)) continue;
+                dMin = Math.min(dMin, v);
+                dMax = Math.max(dMax, v);
+            }
+        }
+        out[0] = dMin;
+        out[1] = dMax;
+    }
 }
@@ -0,0 +1,58 @@
+package com.myapp.chart.view.channel;
+
+import com.myapp.chart.model.ChannelData;
+import com.myapp.chart.model.DataModel;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * 单通道频谱图面板：与 ChannelPanel 同尺寸、同时间轴，
+ * 绘图与 STFT 分片计算由 SpectrogramRenderer 处理
+ */
+public class SpectrogramPanel extends JPanel implements ChannelConstants {
+
+    // 常量配置
+    private static final Dimension PREF_SIZE = new Dimension(400, PREF_H);
+
+    private final ChannelData channelData;
+    private final DataModel dataModel;
+
+    public SpectrogramPanel(ChannelData channelData, DataModel dataModel) {
+        this.channelData = channelData;
+        this.dataModel = dataModel;
+
+        setPreferredSize(PREF_SIZE);
+        setMaximumSize(new Dimension(Integer.MAX_VALUE, PREF_H));
+        setLayout(new BorderLayout());
+    }
+
+    /** 获取通道数据，用于渲染 */
+    public ChannelData getChannelData() {
+        return channelData;
+    }
+
+    /** 获取当前偏移（样本索引） */
+    int curOffset() {
+        return dataModel.getCurrentOffset();
+    }
+
+    /** 获取窗口长度（样本数） */
+    int winLen() {
+        return dataModel.getWindowLength();
+    }
+
+    /** 获取首个通道采样率或默认值 */
+    double firstSampleRateOr(double defaultRate) {
+        return !dataModel.getChannels().isEmpty()
+                ? dataModel.getChannels().get(0).getSampleRate()
+                : defaultRate;
+    }
+
+    /** 绘制入口：委托给 SpectrogramRenderer */
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        SpectrogramRenderer.paint((Graphics2D) g.create(), this);
+    }
+}
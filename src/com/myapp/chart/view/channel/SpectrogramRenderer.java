@@ -0,0 +1,281 @@
+package com.myapp.chart.view.channel;
+
+import com.myapp.chart.dsp.RealFft;
+import com.myapp.chart.dsp.Spectrum;
+import com.myapp.chart.model.ChannelData;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.text.DecimalFormat;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+/**
+ * 负责频谱图绘制：按当前缩放选择帧移，逐分片取 STFT 结果，再按像素行汇总为图像。
+ * 缓存未命中的分片提交到后台线程计算（分片内并行），绘制时先显示为背景色，算完后重绘面板。
+ * SpectrogramPanel 提供上下文
+ */
+final class SpectrogramRenderer {
+
+    // 常量配置
+    private static final int AXIS_OFFSET = 60;            // 左侧 Y 轴宽度
+    private static final int CONTROL_WIDTH = 24;          // 右侧控件宽度
+    private static final int GRID_X_COUNT = 10;           // X 轴网格数
+    private static final int GRID_Y_COUNT = 4;            // Y 轴（频率）网格数
+    private static final double DEFAULT_FS = 250.0;       // 默认采样率
+    private static final int TOP_PADDING = 20;            // 顶部留白
+    private static final double FRAME_SECONDS = 2.0;      // 每帧时长（决定频率分辨率）
+    private static final int MIN_FFT = 64;
+    private static final int MAX_FFT = 4096;
+    private static final int MIN_HOP_DIVISOR = 8;         // 帧移不小于 FFT 长度的 1/8
+    private static final int TILE_FRAMES = 128;           // 每个缓存分片的帧数
+    private static final double DYNAMIC_RANGE_DB = 60;    // 色标动态范围
+    private static final double POWER_FLOOR = 1e-20;
+    private static final Color BACKGROUND = Color.BLACK;
+    private static final String THREAD_NAME = "spectrogram-tiles";
+    private static final DecimalFormat F_LABEL_FORMAT = new DecimalFormat("0.#");
+    private static final DecimalFormat X_LABEL_FORMAT = new DecimalFormat("0.##");
+    private static final int[] COLOR_LUT = buildColorLut();
+
+    /** 每个并行线程复用的帧缓冲 */
+    private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(Workspace::new);
+
+    /** 分片计算线程：单线程排队，避免多个面板同时占满公共线程池 */
+    private static final ExecutorService TILE_POOL = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, THREAD_NAME);
+        t.setDaemon(true);
+        return t;
+    });
+
+    private SpectrogramRenderer() {}
+
+    static void paint(Graphics2D g2, SpectrogramPanel ctx) {
+        ChannelData ch = ctx.getChannelData();
+        if (!ch.isVisible()) {
+            return;
+        }
+
+        int width = ctx.getWidth();
+        int height = ctx.getHeight() - 1;
+        int plotX = AXIS_OFFSET;
+        int plotWidth = width - AXIS_OFFSET - CONTROL_WIDTH;
+        int plotHeight = height - TOP_PADDING;
+        if (plotWidth <= 0 || plotHeight <= 0) {
+            return;
+        }
+
+        // 时间窗口参数（全局样本 → 本通道样本）
+        int offset = ctx.curOffset();
+        int window = ctx.winLen();
+        double fsGlobal = ctx.firstSampleRateOr(DEFAULT_FS);
+        double t0 = offset / fsGlobal;
+        double tSpan = window / fsGlobal;
+        float fs = ch.getSampleRate();
+        double chFrom = t0 * fs;
+        double chSpan = tSpan * fs;
+
+        g2.setClip(plotX, 0, plotWidth, plotHeight);
+        g2.setColor(BACKGROUND);
+        g2.fillRect(plotX, 0, plotWidth, plotHeight);
+
+        int fft = fftSize(fs);
+        int hop = hopFor(chSpan / plotWidth, fft);
+        int length = ch.length();
+        long kStart = (long) Math.floor(chFrom / hop);
+        long kEnd = Math.min((long) Math.ceil((chFrom + chSpan) / hop) + 1, (length - 1L) / hop + 1);
+        if (length > 0 && kEnd > kStart) {
+            BufferedImage img = buildImage(ctx, ch, fft, hop, (int) kStart, (int) kEnd,
+                    Math.min(fft / 2 + 1, plotHeight));
+            // 第 k 帧以样本 k·hop 为中心
+            int x1 = plotX + (int) ((kStart * hop - hop / 2.0 - chFrom) / chSpan * plotWidth);
+            int x2 = plotX + (int) ((kEnd * hop - hop / 2.0 - chFrom) / chSpan * plotWidth);
+            g2.drawImage(img, x1, 0, Math.max(1, x2 - x1), plotHeight, null);
+        }
+
+        // 坐标轴与刻度
+        g2.setClip(null);
+        g2.setColor(Color.BLACK);
+        // Y 轴：频率 0 … fs/2
+        g2.drawLine(plotX, 0, plotX, plotHeight);
+        double nyquist = fs / 2.0;
+        double fStep = AxisUtil.niceStep(nyquist, GRID_Y_COUNT);
+        for (double f = 0; f <= nyquist + 1e-9; f += fStep) {
+            int y = AxisUtil.mapY(f, 0, nyquist, plotHeight);
+            g2.drawLine(plotX - 3, y, plotX, y);
+            String label = F_LABEL_FORMAT.format(f);
+            int textWidth = g2.getFontMetrics().stringWidth(label);
+            g2.drawString(label, plotX - 5 - textWidth, y + 4);
+        }
+        g2.drawString("Hz", plotX + 2, 10);
+        // X 轴
+        g2.drawLine(plotX, plotHeight, plotX + plotWidth, plotHeight);
+        boolean useHMS = tSpan > 60;
+        double xStep = AxisUtil.niceStep(tSpan, GRID_X_COUNT);
+        double xStart = Math.floor(t0 / xStep) * xStep;
+        for (double t = xStart; t <= t0 + tSpan + 1e-9; t += xStep) {
+            int x = plotX + (int) ((t - t0) / tSpan * plotWidth);
+            if (x >= plotX && x <= plotX + plotWidth) {
+                g2.drawLine(x, plotHeight, x, plotHeight + 3);
+                String txt = useHMS ? String.format("%02d:%02d:%02d",
+                        (int) t / 3600, ((int) t % 3600) / 60, (int) t % 60)
+                        : X_LABEL_FORMAT.format(t);
+                int tw = g2.getFontMetrics().stringWidth(txt);
+                g2.drawString(txt, x - tw/2, plotHeight + 15);
+            }
+        }
+
+        // 通道名称（深色背景上用白色）
+        g2.setColor(Color.WHITE);
+        String title = ch.getName() + "（频谱图）";
+        g2.drawString(title, plotX + plotWidth/2 - g2.getFontMetrics().stringWidth(title)/2, 14);
+    }
+
+    /** 帧 [kStart, kEnd) 汇总为 rows 行的图像：每行取所辖频点的最大值，低频在下；未算完的分片为背景色 */
+    private static BufferedImage buildImage(SpectrogramPanel ctx, ChannelData ch, int fft, int hop,
+                                            int kStart, int kEnd, int rows) {
+        int bins = fft / 2 + 1;
+        int version = ch.getVersion();
+        int cols = kEnd - kStart;
+        float[] pooled = new float[cols * rows];
+        float maxDb = Float.NEGATIVE_INFINITY;
+        float[] tile = null;
+        int tileIndex = -1;
+        for (int c = 0; c < cols; c++) {
+            int k = kStart + c;
+            if (k / TILE_FRAMES != tileIndex) {
+                tileIndex = k / TILE_FRAMES;
+                tile = tile(ctx, ch, version, fft, hop, tileIndex);
+            }
+            if (tile == null) {
+                Arrays.fill(pooled, c * rows, (c + 1) * rows, Float.NEGATIVE_INFINITY);
+                continue;
+            }
+            int base = (k - tileIndex * TILE_FRAMES) * bins;
+            for (int r = 0; r < rows; r++) {
+                int b0 = r * bins / rows;
+                int b1 = Math.max(b0 + 1, (r + 1) * bins / rows);
+                float m = Float.NEGATIVE_INFINITY;
+                for (int b = b0; b < b1; b++) {
+                    m = Math.max(m, tile[base + b]);
+                }
+                pooled[c * rows + r] = m;
+                maxDb = Math.max(maxDb, m);
+            }
+        }
+
+        BufferedImage img = new BufferedImage(cols, rows, BufferedImage.TYPE_INT_RGB);
+        double floor = maxDb - DYNAMIC_RANGE_DB;
+        for (int c = 0; c < cols; c++) {
+            for (int r = 0; r < rows; r++) {
+                float v = pooled[c * rows + r];
+                int rgb = BACKGROUND.getRGB();
+                if (!Float.isNaN(v) && v > Float.NEGATIVE_INFINITY) {
+                    int idx = (int) ((v - floor) / DYNAMIC_RANGE_DB * (COLOR_LUT.length - 1));
+                    rgb = COLOR_LUT[Math.max(0, Math.min(COLOR_LUT.length - 1, idx))];
+                }
+                img.setRGB(c, rows - 1 - r, rgb);
+            }
+        }
+        return img;
+    }
+
+    /** 取一个分片：命中缓存直接返回；否则提交后台计算（已在计算中则不重复提交），返回 null */
+    private static float[] tile(SpectrogramPanel ctx, ChannelData ch, int version, int fft, int hop, int tile) {
+        SpectrogramTileCache cache = SpectrogramTileCache.shared();
+        float[] values = cache.get(ch, version, fft, hop, tile);
+        if (values == null && cache.claim(ch, version, fft, hop, tile)) {
+            TILE_POOL.execute(() -> {
+                try {
+                    cache.put(ch, version, fft, hop, tile, computeTile(ch, fft, hop, tile));
+                } catch (RuntimeException e) {
+                    cache.release(ch, version, fft, hop, tile);
+                    throw e;
+                }
+                ctx.repaint();
+            });
+        }
+        return values;
+    }
+
+    /** 计算分片内各帧的功率谱（dB）；超出数据末尾的帧记为 -∞（背景色） */
+    private static float[] computeTile(ChannelData ch, int fft, int hop, int tile) {
+        int bins = fft / 2 + 1;
+        int length = ch.length();
+        RealFft plan = RealFft.of(fft);
+        double[] window = Spectrum.hann(fft);
+        float[] out = new float[TILE_FRAMES * bins];
+
+        IntStream.range(0, TILE_FRAMES).parallel().forEach(i -> {
+            long center = (long) (tile * TILE_FRAMES + i) * hop;
+            if (center >= length) {
+                Arrays.fill(out, i * bins, (i + 1) * bins, Float.NEGATIVE_INFINITY);
+                return;
+            }
+            Workspace w = WORKSPACE.get().ensure(fft);
+            // 帧以 center 为中心，越界部分补零，缺失值按 0 处理
+            int from = (int) center - fft / 2;
+            int lo = Math.max(0, from);
+            int hi = Math.min(length, from + fft);
+            Arrays.fill(w.frame, 0);
+            ch.read(lo, w.frame, lo - from, hi - lo);
+            for (int j = 0; j < fft; j++) {
+                double v = w.frame[j];
+                w.frame[j] = Double.isNaN(v) ? 0 : v * window[j];
+            }
+            Spectrum.power(plan, w.frame, w.re, w.im, w.power);
+            for (int k = 0; k < bins; k++) {
+                out[i * bins + k] = (float) (10 * Math.log10(w.power[k] + POWER_FLOOR));
+            }
+        });
+        return out;
+    }
+
+    /** FFT 长度：约 FRAME_SECONDS 秒，取 2 的幂 */
+    private static int fftSize(float fs) {
+        int n = RealFft.nextPowerOfTwo((int) Math.round(fs * FRAME_SECONDS));
+        return Math.max(MIN_FFT, Math.min(MAX_FFT, n));
+    }
+
+    /** 帧移：约每像素一帧，取 2 的幂使缩放级别离散、缓存可复用 */
+    private static int hopFor(double samplesPerPixel, int fft) {
+        int min = Math.max(1, fft / MIN_HOP_DIVISOR);
+        double h = Math.max(min, samplesPerPixel);
+        return RealFft.nextPowerOfTwo((int) Math.min(Integer.MAX_VALUE / 2, Math.ceil(h)));
+    }
+
+    /** 暗—紫—橙—浅黄 渐变色表 */
+    private static int[] buildColorLut() {
+        int[][] anchors = {
+                {0, 0, 4}, {87, 16, 110}, {188, 55, 84}, {249, 142, 9}, {252, 255, 164}
+        };
+        int[] lut = new int[256];
+        for (int i = 0; i < lut.length; i++) {
+            double pos = i / 255.0 * (anchors.length - 1);
+            int a = Math.min(anchors.length - 2, (int) pos);
+            double f = pos - a;
+            int r = (int) Math.round(anchors[a][0] + f * (anchors[a + 1][0] - anchors[a][0]));
+            int g = (int) Math.round(anchors[a][1] + f * (anchors[a + 1][1] - anchors[a][1]));
+            int b = (int) Math.round(anchors[a][2] + f * (anchors[a + 1][2] - anchors[a][2]));
+            lut[i] = (r << 16) | (g << 8) | b;
+        }
+        return lut;
+    }
+
+    /** 单帧计算缓冲 */
+    private static final class Workspace {
+        double[] frame = new double[0];
+        double[] re, im, power;
+
+        Workspace ensure(int fft) {
+            if (frame.length != fft) {
+                frame = new double[fft];
+                re = new double[fft / 2 + 1];
+                im = new double[fft / 2 + 1];
+                power = new double[fft / 2 + 1];
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.myapp.chart.view.channel;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 频谱图的有界分片缓存（LRU，按字节预算淘汰）。
+ * 键为 (通道, 数据版本, FFT 长度, 帧移, 时间分片号)，值为该分片内各帧的功率谱（dB）；
+ * 通道样本修改后版本改变，旧分片不再命中，随 LRU 淘汰。
+ * 滚动与缩放回到已算过的位置时直接复用，不重新做 FFT。
+ * 另记录已提交后台计算、尚未放入的分片，避免重复提交。
+ */
+public final class SpectrogramTileCache {
+
+    // 常量配置
+    private static final long MAX_BYTES = 64L << 20;   // 缓存上限 64 MiB
+
+    private static final SpectrogramTileCache SHARED = new SpectrogramTileCache(MAX_BYTES);
+
+    private final long budget;
+    private final Map<Key, float[]> tiles = new LinkedHashMap<>(64, 0.75f, true);
+    private final Set<Key> pending = new HashSet<>();
+    private long bytes;
+
+    private SpectrogramTileCache(long budget) {
+        this.budget = budget;
+    }
+
+    /** 全局共享实例 */
+    public static SpectrogramTileCache shared() {
+        return SHARED;
+    }
+
+    /** 查找分片，未命中返回 null */
+    synchronized float[] get(Object channel, int version, int fftSize, int hop, int tile) {
+        return tiles.get(new Key(channel, version, fftSize, hop, tile));
+    }
+
+    /** 登记一次后台计算：分片已缓存或已在计算中时返回 false */
+    synchronized boolean claim(Object channel, int version, int fftSize, int hop, int tile) {
+        Key key = new Key(channel, version, fftSize, hop, tile);
+        return !tiles.containsKey(key) && pending.add(key);
+    }
+
+    /** 取消登记（计算失败时），之后可再次提交 */
+    synchronized void release(Object channel, int version, int fftSize, int hop, int tile) {
+        pending.remove(new Key(channel, version, fftSize, hop, tile));
+    }
+
+    /** 放入分片并取消登记，超出预算时淘汰最久未使用的分片 */
+    synchronized void put(Object channel, int version, int fftSize, int hop, int tile, float[] values) {
+        Key key = new Key(channel, version, fftSize, hop, tile);
+        pending.remove(key);
+        float[] old = tiles.put(key, values);
+        if (old != null) {
+            bytes -= 4L * old.length;
+        }
+        bytes += 4L * values.length;
+        Iterator<float[]> it = tiles.values().iterator();
+        while (bytes > budget && it.hasNext()) {
+            float[] eldest = it.next();
+            if (eldest == values) {
+                break;
+            }
+            bytes -= 4L * eldest.length;
+            it.remove();
+        }
+    }
+
+    /** 丢弃某通道的所有分片（通道关闭时调用） */
+    public synchronized void invalidate(Object channel) {
+        pending.removeIf(k -> k.channel == channel);
+        Iterator<Map.Entry<Key, float[]>> it = tiles.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, float[]> e = it.next();
+            if (e.getKey().channel == channel) {
+                bytes -= 4L * e.getValue().length;
+                it.remove();
+            }
+        }
+    }
+
+    /** 缓存键：按通道身份 + 版本 + 分析参数 + 分片号 */
+    private static final class Key {
+        private final Object channel;
+        private final int version;
+        private final int fftSize;
+        private final int hop;
+        private final int tile;
+
+        Key(Object channel, int version, int fftSize, int hop, int tile) {
+            this.channel = channel;
+            this.version = version;
+            this.fftSize = fftSize;
+            this.hop = hop;
+            this.tile = tile;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key k = (Key) o;
+            return channel == k.channel && version == k.version
+                    && fftSize == k.fftSize && hop == k.hop && tile == k.tile;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(channel), version, fftSize, hop, tile);
+        }
+    }
+}
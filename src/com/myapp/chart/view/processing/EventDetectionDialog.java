@@ -0,0 +1,136 @@
+package com.myapp.chart.view.processing;
+
+import com.myapp.chart.model.ChannelData;
+import com.myapp.chart.model.DataModel;
+import com.myapp.chart.view.ChartFrame;
+import com.myapp.chart.view.processing.job.ProcessingJobManager;
+import com.myapp.chart.view.processing.operation.EventDetector;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+
+/**
+ * 多通道事件检测对话框：输入由通道阈值组成的布尔表达式，
+ * 后台单次遍历所有相关通道，结果以带事件高亮的视图通道加入模型
+ */
+public class EventDetectionDialog extends JDialog {
+
+    // 常量配置
+    private static final String DIALOG_TITLE = "多通道事件检测";
+    private static final int DIALOG_WIDTH = 460;
+    private static final int DIALOG_HEIGHT = 360;
+    private static final int CHANNEL_VISIBLE_ROWS = 6;
+    private static final int GRID_GAP = 5;
+    private static final int FIELD_COLUMNS = 28;
+    private static final String LABEL_CHANNELS = "通道（双击插入）:";
+    private static final String LABEL_EXPRESSION = "表达式:";
+    private static final String LABEL_MIN_DURATION = "最短持续(秒):";
+    private static final String DEFAULT_MIN_DURATION = "0";
+    private static final String HINT = "<html>例：SpO2 &lt; 90 &amp;&amp; HR &gt; 100<br>"
+            + "支持 &amp;&amp; || ! 与括号；名称含空格或符号时加双引号；"
+            + "EEG* &gt; 100 表示任一 EEG 通道</html>";
+    private static final String BUTTON_OK = "检测";
+    private static final String BUTTON_CANCEL = "取消";
+    private static final String JOB_PREFIX = "事件检测：";
+    private static final String MSG_ERROR_TITLE = "表达式错误";
+    private static final String MSG_BAD_DURATION = "请输入合法的最短持续时间。";
+
+    private final DataModel model;
+    private final ProcessingJobManager jobManager;
+    private final JList<ChannelData> channelList;
+    private final JTextField expressionField = new JTextField(FIELD_COLUMNS);
+    private final JTextField durationField = new JTextField(DEFAULT_MIN_DURATION);
+
+    public EventDetectionDialog(Frame owner, DataModel model, ProcessingJobManager jobManager) {
+        super(owner, DIALOG_TITLE, true);
+        this.model = model;
+        this.jobManager = jobManager;
+        this.channelList = new JList<>(model.getChannels().toArray(new ChannelData[0]));
+        channelList.setVisibleRowCount(CHANNEL_VISIBLE_ROWS);
+        channelList.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2 && channelList.getSelectedValue() != null) {
+                    insertName(channelList.getSelectedValue().getName());
+                }
+            }
+        });
+
+        setSize(DIALOG_WIDTH, DIALOG_HEIGHT);
+        setLayout(new GridBagLayout());
+        setLocationRelativeTo(owner);
+        layoutComponents();
+    }
+
+    private void layoutComponents() {
+        GridBagConstraints c = new GridBagConstraints();
+        c.insets = new Insets(GRID_GAP, GRID_GAP, GRID_GAP, GRID_GAP);
+        c.fill = GridBagConstraints.HORIZONTAL;
+
+        c.gridx = 0; c.gridy = 0;
+        add(new JLabel(LABEL_CHANNELS), c);
+        c.gridx = 1;
+        add(new JScrollPane(channelList), c);
+
+        c.gridx = 0; c.gridy = 1;
+        add(new JLabel(LABEL_EXPRESSION), c);
+        c.gridx = 1;
+        add(expressionField, c);
+
+        c.gridx = 0; c.gridy = 2;
+        add(new JLabel(LABEL_MIN_DURATION), c);
+        c.gridx = 1;
+        add(durationField, c);
+
+        c.gridx = 0; c.gridy = 3; c.gridwidth = 2;
+        add(new JLabel(HINT), c);
+
+        c.gridy = 4;
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.CENTER, GRID_GAP, 0));
+        JButton okBtn = new JButton(BUTTON_OK);
+        JButton cancelBtn = new JButton(BUTTON_CANCEL);
+        okBtn.addActionListener(this::onDetect);
+        cancelBtn.addActionListener(e -> dispose());
+        buttons.add(okBtn);
+        buttons.add(cancelBtn);
+        add(buttons, c);
+    }
+
+    /** 在光标处插入通道名；含空格或运算符号时加引号 */
+    private void insertName(String name) {
+        boolean plain = !name.isEmpty() && name.chars().noneMatch(
+                ch -> Character.isWhitespace(ch) || "()<>=!&|\"*".indexOf(ch) >= 0);
+        expressionField.replaceSelection(plain ? name : "\"" + name + "\"");
+        expressionField.requestFocusInWindow();
+    }
+
+    /** 解析表达式并提交后台检测任务 */
+    private void onDetect(ActionEvent e) {
+        double minDuration;
+        try {
+            minDuration = Double.parseDouble(durationField.getText().trim());
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, MSG_BAD_DURATION, MSG_ERROR_TITLE, JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        EventDetector detector;
+        try {
+            detector = EventDetector.compile(expressionField.getText(), model.getChannels());
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), MSG_ERROR_TITLE, JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        ChartFrame frame = (ChartFrame) getOwner();
+        jobManager.submit(JOB_PREFIX + detector.getExpression(),
+                monitor -> detector.run(minDuration, monitor),
+                result -> {
+                    model.getChannels().add(result);
+                    frame.loadData(model);
+                });
+        dispose();
+    }
+}
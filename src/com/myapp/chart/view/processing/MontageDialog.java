@@ -0,0 +1,138 @@
+package com.myapp.chart.view.processing;
+
+import com.myapp.chart.controller.ChartController;
+import com.myapp.chart.model.ChannelData;
+import com.myapp.chart.model.DataModel;
+import com.myapp.chart.model.Montage;
+import com.myapp.chart.model.MontageChannel;
+import com.myapp.chart.view.ChartFrame;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 导联对话框：以双极导联或平均参考生成虚拟通道。
+ * 虚拟通道按需计算、不复制样本，切换导联几乎不占额外内存
+ */
+public class MontageDialog extends JDialog {
+
+    // 常量配置
+    private static final String DIALOG_TITLE = "导联";
+    private static final int DIALOG_WIDTH = 420;
+    private static final int DIALOG_HEIGHT = 460;
+    private static final int GRID_GAP = 5;
+    private static final int SPEC_ROWS = 10;
+    private static final int SPEC_COLUMNS = 16;
+    private static final int CHANNEL_VISIBLE_ROWS = 10;
+    private static final String LABEL_BIPOLAR = "双极导联（每行 A-B）";
+    private static final String LABEL_AVERAGE = "平均参考（所选通道）";
+    private static final String LABEL_REPLACE = "替换已有导联通道";
+    private static final String BUTTON_OK = "确定";
+    private static final String BUTTON_CANCEL = "取消";
+    private static final String MSG_ERROR_TITLE = "导联错误";
+    private static final String MSG_SELECT_CHANNEL = "请至少选择两个通道。";
+
+    private final DataModel model;
+    private final ChartController controller;
+    private final JRadioButton bipolarRb = new JRadioButton(LABEL_BIPOLAR, true);
+    private final JRadioButton averageRb = new JRadioButton(LABEL_AVERAGE);
+    private final JTextArea specArea = new JTextArea(SPEC_ROWS, SPEC_COLUMNS);
+    private final JList<ChannelData> channelList;
+    private final JCheckBox replaceBox = new JCheckBox(LABEL_REPLACE, true);
+
+    public MontageDialog(Frame owner, DataModel model, ChartController controller) {
+        super(owner, DIALOG_TITLE, true);
+        this.model = model;
+        this.controller = controller;
+
+        List<ChannelData> recorded = recordedChannels();
+        specArea.setText(Montage.defaultBipolarSpec(recorded));
+        channelList = new JList<>(recorded.toArray(new ChannelData[0]));
+        channelList.setVisibleRowCount(CHANNEL_VISIBLE_ROWS);
+        channelList.setSelectionInterval(0, recorded.size() - 1);
+
+        ButtonGroup group = new ButtonGroup();
+        group.add(bipolarRb);
+        group.add(averageRb);
+
+        setSize(DIALOG_WIDTH, DIALOG_HEIGHT);
+        setLayout(new BorderLayout(GRID_GAP, GRID_GAP));
+        setLocationRelativeTo(owner);
+        layoutComponents();
+    }
+
+    private void layoutComponents() {
+        JPanel center = new JPanel(new GridLayout(1, 2, GRID_GAP, GRID_GAP));
+        JPanel left = new JPanel(new BorderLayout());
+        left.add(bipolarRb, BorderLayout.NORTH);
+        left.add(new JScrollPane(specArea), BorderLayout.CENTER);
+        JPanel right = new JPanel(new BorderLayout());
+        right.add(averageRb, BorderLayout.NORTH);
+        right.add(new JScrollPane(channelList), BorderLayout.CENTER);
+        center.add(left);
+        center.add(right);
+        add(center, BorderLayout.CENTER);
+
+        JPanel south = new JPanel(new FlowLayout(FlowLayout.CENTER, GRID_GAP, 0));
+        JButton okBtn = new JButton(BUTTON_OK);
+        JButton cancelBtn = new JButton(BUTTON_CANCEL);
+        okBtn.addActionListener(this::onApply);
+        cancelBtn.addActionListener(e -> dispose());
+        south.add(replaceBox);
+        south.add(okBtn);
+        south.add(cancelBtn);
+        add(south, BorderLayout.SOUTH);
+    }
+
+    /** 记录通道（不含已有的导联通道） */
+    private List<ChannelData> recordedChannels() {
+        List<ChannelData> out = new ArrayList<>();
+        for (ChannelData ch : model.getChannels()) {
+            if (!(ch instanceof MontageChannel)) {
+                out.add(ch);
+            }
+        }
+        return out;
+    }
+
+    /** 生成导联通道并加入模型 */
+    private void onApply(ActionEvent e) {
+        List<ChannelData> montage;
+        try {
+            if (bipolarRb.isSelected()) {
+                montage = Montage.bipolar(specArea.getText(), recordedChannels());
+            } else {
+                List<ChannelData> selected = channelList.getSelectedValuesList();
+                if (selected.size() < 2) {
+                    JOptionPane.showMessageDialog(this, MSG_SELECT_CHANNEL,
+                            MSG_ERROR_TITLE, JOptionPane.WARNING_MESSAGE);
+                    return;
+                }
+                montage = Montage.averageReference(selected);
+            }
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), MSG_ERROR_TITLE, JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        List<ChannelData> replaced = new ArrayList<>();
+        if (replaceBox.isSelected()) {
+            for (ChannelData ch : model.getChannels()) {
+                if (ch instanceof MontageChannel) {
+                    replaced.add(ch);
+                }
+            }
+        }
+        model.getChannels().addAll(montage);
+        if (replaced.isEmpty()) {
+            ((ChartFrame) getOwner()).loadData(model);
+        } else {
+            // 经关闭流程移除旧导联：清除其缓存结果与频谱图，放弃共享存储，并刷新界面
+            controller.closeChannels(replaced);
+        }
+        dispose();
+    }
+}
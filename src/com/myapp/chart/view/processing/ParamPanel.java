@@ -5,31 +5,64 @@ import com.myapp.chart.view.processing.operation.ProcessingOperation;
 import javax.swing.*;
 import java.awt.*;
 
+/**
+ * 参数面板：按当前操作显示所需的参数输入框（参数、第二参数、第三参数、窗口大小）
+ */
 public class ParamPanel extends JPanel {
+    private static final int FIELD_COLUMNS = 10;
+
     private final JLabel label;
     private final JTextField field;
+    private final JLabel label2;
+    private final JTextField field2;
+    private final JLabel label3;
+    private final JTextField field3;
+    private final JLabel windowLabel;
+    private final JTextField windowField;
 
     public ParamPanel() {
-        setLayout(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        setLayout(new GridLayout(0, 2, 5, 2));
         label = new JLabel("参数：");
-        field = new JTextField(10);
+        field = new JTextField(FIELD_COLUMNS);
+        label2 = new JLabel("参数2：");
+        field2 = new JTextField(FIELD_COLUMNS);
+        label3 = new JLabel("参数3：");
+        field3 = new JTextField(FIELD_COLUMNS);
+        windowLabel = new JLabel("窗口大小：");
+        windowField = new JTextField(FIELD_COLUMNS);
         add(label);
         add(field);
+        add(label2);
+        add(field2);
+        add(label3);
+        add(field3);
+        add(windowLabel);
+        add(windowField);
     }
 
-    /** 根据当前操作调整 label 文案及可见性 */
+    /** 根据当前操作调整各输入框的文案、缺省值及可见性 */
     public void updateFor(ProcessingOperation op) {
-        if (op.needsWindowSize()) {
-            label.setText("窗口大小：");
-            field.setText("3");
-            setVisible(true);
-        } else if (op.needsParam()) {
-            label.setText("参数：");
-            field.setText("1.0");
-            setVisible(true);
-        } else {
-            setVisible(false);
-        }
+        label.setText(op.getParamLabel());
+        field.setText(Double.toString(op.getDefaultParam()));
+        label.setVisible(op.needsParam());
+        field.setVisible(op.needsParam());
+
+        label2.setText(op.getSecondParamLabel());
+        field2.setText(Double.toString(op.getDefaultSecondParam()));
+        label2.setVisible(op.needsSecondParam());
+        field2.setVisible(op.needsSecondParam());
+
+        label3.setText(op.getThirdParamLabel());
+        field3.setText(Double.toString(op.getDefaultThirdParam()));
+        label3.setVisible(op.needsThirdParam());
+        field3.setVisible(op.needsThirdParam());
+
+        windowLabel.setText(op.getWindowSizeLabel());
+        windowField.setText(Integer.toString(op.getDefaultWindowSize()));
+        windowLabel.setVisible(op.needsWindowSize());
+        windowField.setVisible(op.needsWindowSize());
+
+        setVisible(op.needsParam() || op.needsSecondParam() || op.needsThirdParam() || op.needsWindowSize());
     }
 
     /** 供需要“参数”的操作调用 */
@@ -37,8 +70,18 @@ public class ParamPanel extends JPanel {
         return Double.parseDouble(field.getText().trim());
     }
 
+    /** 供需要“第二参数”的操作调用 */
+    public double getSecondParam() throws NumberFormatException {
+        return Double.parseDouble(field2.getText().trim());
+    }
+
+    /** 供需要“第三参数”的操作调用 */
+    public double getThirdParam() throws NumberFormatException {
+        return Double.parseDouble(field3.getText().trim());
+    }
+
     /** 供需要“窗口大小”的操作调用 */
     public int getWindowSize() throws NumberFormatException {
-        return (int) Math.round(getParam());
+        return (int) Math.round(Double.parseDouble(windowField.getText().trim()));
     }
 }
@@ -4,50 +4,79 @@ import com.myapp.chart.controller.ChartController;
 import com.myapp.chart.model.ChannelData;
 import com.myapp.chart.model.DataModel;
 import com.myapp.chart.view.ChartFrame;
+import com.myapp.chart.view.processing.job.ProcessingJobManager;
+import com.myapp.chart.view.processing.operation.DerivedChannelData;
 import com.myapp.chart.view.processing.operation.OperationFactory;
+import com.myapp.chart.view.processing.operation.OperationParams;
+import com.myapp.chart.view.processing.operation.OperationPipeline;
 import com.myapp.chart.view.processing.operation.ProcessingOperation;
+import com.myapp.chart.view.processing.operation.ProgressMonitor;
+import com.myapp.chart.view.processing.operation.RangeOperation;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ItemEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
 
 /**
- * 通道处理对话框：选择通道和操作，设置参数后应用处理并刷新主界面
+ * 通道处理对话框：选择一个或多个通道和操作，设置参数后在后台并发处理，
+ * 全部完成后一次性加入模型并刷新主界面
  */
 public class ProcessingDialog extends JDialog {
 
     // 常量配置
     private static final String DIALOG_TITLE = "通道处理";
     private static final int DIALOG_WIDTH = 400;
-    private static final int DIALOG_HEIGHT = 260;
+    private static final int DIALOG_HEIGHT = 420;
+    private static final int CHANNEL_VISIBLE_ROWS = 6;
     private static final int GRID_GAP = 5;
     private static final int LABEL_COLUMN = 0;
     private static final int FIELD_COLUMN = 1;
-    private static final String LABEL_CHANNEL = "通道:";
+    private static final String LABEL_CHANNEL = "通道（可多选）:";
     private static final String LABEL_OPERATION = "操作:";
     private static final String BUTTON_OK = "确定";
     private static final String BUTTON_CANCEL = "取消";
+    private static final String LABEL_LAZY = "按需计算（不保存完整结果，节省内存）";
+    private static final String BUTTON_CHAIN = "加入流水线";
+    private static final String BUTTON_CHAIN_CLEAR = "清空";
+    private static final String LABEL_CHAIN_EMPTY = "流水线：（空）";
+    private static final String LABEL_CHAIN_PREFIX = "流水线：";
+    private static final String CHAIN_ARROW = " → ";
+    private static final String MSG_SELECT_CHANNEL = "请至少选择一个通道。";
+    private static final String MSG_WARNING_TITLE = "提示";
     private static final int BTN_PANE_GAP = 5;
 
-    private final JComboBox<ChannelData> channelCombo;
+    private final JList<ChannelData> channelList;
     private final JComboBox<String> opCombo;
     private final ParamPanel paramPanel;
     private final MarkTypePanel markPanel;
+    private final JCheckBox lazyBox;
+    private final JLabel chainLabel;
+
+    // 已加入流水线的运算及参数（按顺序）
+    private final List<ProcessingOperation> chainOps = new ArrayList<>();
+    private final List<OperationParams> chainParams = new ArrayList<>();
     private final DataModel model;
+    private final ProcessingJobManager jobManager;
 
     /**
      * 构造函数：初始化对话框组件和事件
      */
-    public ProcessingDialog(Frame owner, DataModel model) {
+    public ProcessingDialog(Frame owner, DataModel model, ProcessingJobManager jobManager) {
         super(owner, DIALOG_TITLE, true);
         this.model = model;
+        this.jobManager = jobManager;
 
         initDialog();
-        channelCombo = createChannelCombo();
+        channelList = createChannelList();
         opCombo = createOperationCombo();
         paramPanel = new ParamPanel();
         markPanel = new MarkTypePanel();
+        lazyBox = new JCheckBox(LABEL_LAZY, true);
+        chainLabel = new JLabel(LABEL_CHAIN_EMPTY);
 
         layoutComponents();
         addEventListeners();
@@ -64,13 +93,16 @@ public class ProcessingDialog extends JDialog {
     }
 
     /**
-     * 创建通道下拉框
+     * 创建通道列表（多选，默认选中第一个）
      */
-    private JComboBox<ChannelData> createChannelCombo() {
-        JComboBox<ChannelData> combo = new JComboBox<>(
+    private JList<ChannelData> createChannelList() {
+        JList<ChannelData> list = new JList<>(
                 model.getChannels().toArray(new ChannelData[0])
         );
-        return combo;
+        list.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        list.setVisibleRowCount(CHANNEL_VISIBLE_ROWS);
+        list.setSelectedIndex(0);
+        return list;
     }
 
     /**
@@ -95,7 +127,7 @@ public class ProcessingDialog extends JDialog {
         c.gridx = LABEL_COLUMN; c.gridy = 0;
         add(new JLabel(LABEL_CHANNEL), c);
         c.gridx = FIELD_COLUMN;
-        add(channelCombo, c);
+        add(new JScrollPane(channelList), c);
 
         // 第2行：操作选择
         c.gridx = LABEL_COLUMN; c.gridy = 1;
@@ -111,8 +143,16 @@ public class ProcessingDialog extends JDialog {
         c.gridy = 3;
         add(markPanel, c);
 
-        // 第5行：按钮面板
+        // 第5行：按需计算开关
         c.gridy = 4;
+        add(lazyBox, c);
+
+        // 第6行：流水线
+        c.gridy = 5;
+        add(createChainPane(), c);
+
+        // 第7行：按钮面板
+        c.gridy = 6;
         add(createButtonPane(), c);
 
         // 初始时根据操作刷新UI
@@ -133,6 +173,25 @@ public class ProcessingDialog extends JDialog {
         return panel;
     }
 
+    /**
+     * 创建流水线面板：把当前操作加入链，确定时整条链一次遍历完成
+     */
+    private JPanel createChainPane() {
+        JPanel panel = new JPanel(new FlowLayout(FlowLayout.LEFT, BTN_PANE_GAP, 0));
+        JButton addBtn = new JButton(BUTTON_CHAIN);
+        JButton clearBtn = new JButton(BUTTON_CHAIN_CLEAR);
+        addBtn.addActionListener(this::onAddToChain);
+        clearBtn.addActionListener(e -> {
+            chainOps.clear();
+            chainParams.clear();
+            updateChainLabel();
+        });
+        panel.add(addBtn);
+        panel.add(clearBtn);
+        panel.add(chainLabel);
+        return panel;
+    }
+
     /**
      * 添加操作选择监听，切换时更新参数区和标记类型区
      */
@@ -151,35 +210,117 @@ public class ProcessingDialog extends JDialog {
         ProcessingOperation op = OperationFactory.create(opName);
         paramPanel.updateFor(op);
         markPanel.updateFor(op);
+        lazyBox.setVisible(op instanceof RangeOperation);
     }
 
     /**
-     * 处理按钮事件：执行选中操作并刷新图表
+     * 将当前选中的操作及参数加入流水线
      */
-    private void onProcess(ActionEvent e) {
-        ChannelData source = (ChannelData) channelCombo.getSelectedItem();
-        String opName = (String) opCombo.getSelectedItem();
-        ProcessingOperation op = OperationFactory.create(opName);
+    private void onAddToChain(ActionEvent e) {
+        ProcessingOperation op = OperationFactory.create((String) opCombo.getSelectedItem());
+        OperationParams params = readParams(op);
+        if (params == null) {
+            return;
+        }
+        chainOps.add(op);
+        chainParams.add(params);
+        updateChainLabel();
+    }
+
+    /**
+     * 刷新流水线文字
+     */
+    private void updateChainLabel() {
+        if (chainOps.isEmpty()) {
+            chainLabel.setText(LABEL_CHAIN_EMPTY);
+            return;
+        }
+        StringBuilder sb = new StringBuilder(LABEL_CHAIN_PREFIX);
+        for (int i = 0; i < chainOps.size(); i++) {
+            if (i > 0) sb.append(CHAIN_ARROW);
+            sb.append(chainOps.get(i).getName());
+        }
+        chainLabel.setText(sb.toString());
+    }
 
+    /**
+     * 读取当前参数，输入非法时提示并返回 null
+     */
+    private OperationParams readParams(ProcessingOperation op) {
         double paramValue = 0;
+        double secondValue = 0;
+        double thirdValue = 0;
         int windowSize = 0;
-        boolean ge = markPanel.isGreaterOrEqual();
         try {
             if (op.needsParam()) {
                 paramValue = paramPanel.getParam();
             }
+            if (op.needsSecondParam()) {
+                secondValue = paramPanel.getSecondParam();
+            }
+            if (op.needsThirdParam()) {
+                thirdValue = paramPanel.getThirdParam();
+            }
             if (op.needsWindowSize()) {
                 windowSize = paramPanel.getWindowSize();
             }
         } catch (NumberFormatException ex) {
             JOptionPane.showMessageDialog(this,
                     "请输入合法的数字参数。", "参数错误", JOptionPane.ERROR_MESSAGE);
+            return null;
+        }
+        return new OperationParams(paramValue, secondValue, thirdValue, windowSize, markPanel.isGreaterOrEqual());
+    }
+
+    /**
+     * 处理按钮事件：按需计算的通道直接加入；其余运算（或整条流水线）
+     * 对每个选中通道各提交一个后台任务并发执行，全部完成后一次性加入模型
+     */
+    private void onProcess(ActionEvent e) {
+        List<ChannelData> sources = channelList.getSelectedValuesList();
+        if (sources.isEmpty()) {
+            JOptionPane.showMessageDialog(this, MSG_SELECT_CHANNEL,
+                    MSG_WARNING_TITLE, JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        String opName = (String) opCombo.getSelectedItem();
+        ProcessingOperation op = OperationFactory.create(opName);
+        OperationParams params = readParams(op);
+        if (params == null) {
+            return;
+        }
+
+        ChartFrame frame = (ChartFrame) getOwner();
+        if (chainOps.isEmpty() && op instanceof RangeOperation && lazyBox.isSelected()) {
+            List<ChannelData> derived = new ArrayList<>(sources.size());
+            for (ChannelData source : sources) {
+                derived.add(new DerivedChannelData(source, (RangeOperation) op, params));
+            }
+            addResults(frame, derived);
+            dispose();
             return;
         }
 
-        ChannelData result = op.process(source, paramValue, windowSize, ge);
-        model.getChannels().add(result);
-        ((ChartFrame) getOwner()).loadData(model);
+        List<String> names = new ArrayList<>(sources.size());
+        List<Function<ProgressMonitor, ChannelData>> tasks = new ArrayList<>(sources.size());
+        for (ChannelData source : sources) {
+            OperationPipeline pipeline = new OperationPipeline(source);
+            for (int i = 0; i < chainOps.size(); i++) {
+                pipeline.then(chainOps.get(i), chainParams.get(i));
+            }
+            pipeline.then(op, params);
+            names.add(pipeline.resultName());
+            tasks.add(pipeline::run);
+        }
+        jobManager.submitBatch(names, tasks, results -> addResults(frame, results));
         dispose();
     }
-}
\ No newline at end of file
+
+    /**
+     * 将结果通道一次性加入模型并刷新主界面（须在 EDT 上调用）
+     */
+    private void addResults(ChartFrame frame, List<ChannelData> results) {
+        model.getChannels().addAll(results);
+        frame.loadData(model);
+    }
+}
@@ -0,0 +1,207 @@
+package com.myapp.chart.view.processing;
+
+import com.myapp.chart.model.ChannelData;
+import com.myapp.chart.model.DataModel;
+import com.myapp.chart.model.HighlightIndex;
+import com.myapp.chart.view.ChartFrame;
+import com.myapp.chart.view.processing.job.ProcessingJobManager;
+import com.myapp.chart.view.processing.operation.CorrelationSearch;
+
+import javax.swing.*;
+import java.awt.*;
+import java.text.DecimalFormat;
+
+/**
+ * 互相关搜索对话框：
+ * 以某个高亮区段为模板在整段通道上做归一化互相关匹配，前 K 处匹配以高亮视图通道加入模型；
+ * 或估计两个通道之间的时延
+ */
+public class TemplateSearchDialog extends JDialog {
+
+    // 常量配置
+    private static final String DIALOG_TITLE = "模板匹配与时延";
+    private static final int DIALOG_WIDTH = 460;
+    private static final int DIALOG_HEIGHT = 380;
+    private static final int GRID_GAP = 5;
+    private static final String TITLE_TEMPLATE = "模板匹配（模板取通道上的高亮区段）";
+    private static final String TITLE_LAG = "时延估计（B 相对 A）";
+    private static final String LABEL_CHANNEL = "通道:";
+    private static final String LABEL_TEMPLATE = "模板:";
+    private static final String LABEL_TOP_K = "最多匹配数:";
+    private static final String LABEL_MIN_SCORE = "最低相关系数:";
+    private static final String LABEL_CHANNEL_A = "通道 A:";
+    private static final String LABEL_CHANNEL_B = "通道 B:";
+    private static final String LABEL_MAX_LAG = "最大时延(秒):";
+    private static final String DEFAULT_TOP_K = "20";
+    private static final String DEFAULT_MIN_SCORE = "0.7";
+    private static final String DEFAULT_MAX_LAG = "1";
+    private static final String TEMPLATE_ITEM = "#%d  %.2f – %.2f 秒";
+    private static final String BUTTON_SEARCH = "搜索";
+    private static final String BUTTON_LAG = "估计时延";
+    private static final String BUTTON_CLOSE = "关闭";
+    private static final String JOB_PREFIX = "模板匹配：";
+    private static final String JOB_LAG_PREFIX = "时延估计：";
+    private static final String MSG_ERROR_TITLE = "参数错误";
+    private static final String MSG_RESULT_TITLE = "时延估计";
+    private static final String MSG_NO_TEMPLATE = "所选通道没有高亮区段，请先标记一段作为模板。";
+    private static final String MSG_BAD_NUMBER = "请输入合法的数值。";
+    private static final String MSG_LAG_RESULT = "%s 相对 %s 的时延: %s 毫秒（%s 个样本）\n"
+            + "该时延处相关系数: %s%s\n参与的段数: %d（每段 %s 秒）";
+    private static final String MSG_INVERTED = "（反相）";
+
+    private final DataModel model;
+    private final ProcessingJobManager jobManager;
+    private final JComboBox<ChannelData> channelBox;
+    private final JComboBox<String> templateBox = new JComboBox<>();
+    private final JTextField topKField = new JTextField(DEFAULT_TOP_K);
+    private final JTextField minScoreField = new JTextField(DEFAULT_MIN_SCORE);
+    private final JComboBox<ChannelData> channelABox;
+    private final JComboBox<ChannelData> channelBBox;
+    private final JTextField maxLagField = new JTextField(DEFAULT_MAX_LAG);
+    private final DecimalFormat df = new DecimalFormat("0.000");
+
+    public TemplateSearchDialog(Frame owner, DataModel model, ProcessingJobManager jobManager) {
+        super(owner, DIALOG_TITLE, true);
+        this.model = model;
+        this.jobManager = jobManager;
+        ChannelData[] channels = model.getChannels().toArray(new ChannelData[0]);
+        channelBox = new JComboBox<>(channels);
+        channelABox = new JComboBox<>(channels);
+        channelBBox = new JComboBox<>(channels);
+        if (channels.length > 1) {
+            channelBBox.setSelectedIndex(1);
+        }
+        channelBox.addActionListener(e -> refreshTemplates());
+        refreshTemplates();
+
+        setSize(DIALOG_WIDTH, DIALOG_HEIGHT);
+        setLayout(new BorderLayout(GRID_GAP, GRID_GAP));
+        setLocationRelativeTo(owner);
+        layoutComponents();
+    }
+
+    private void layoutComponents() {
+        JPanel template = form(TITLE_TEMPLATE,
+                new String[]{LABEL_CHANNEL, LABEL_TEMPLATE, LABEL_TOP_K, LABEL_MIN_SCORE},
+                new JComponent[]{channelBox, templateBox, topKField, minScoreField},
+                BUTTON_SEARCH, this::onSearch);
+        JPanel lag = form(TITLE_LAG,
+                new String[]{LABEL_CHANNEL_A, LABEL_CHANNEL_B, LABEL_MAX_LAG},
+                new JComponent[]{channelABox, channelBBox, maxLagField},
+                BUTTON_LAG, this::onEstimateLag);
+        JPanel center = new JPanel(new GridLayout(2, 1, GRID_GAP, GRID_GAP));
+        center.add(template);
+        center.add(lag);
+        add(center, BorderLayout.CENTER);
+
+        JPanel south = new JPanel(new FlowLayout(FlowLayout.CENTER, GRID_GAP, 0));
+        JButton closeBtn = new JButton(BUTTON_CLOSE);
+        closeBtn.addActionListener(e -> dispose());
+        south.add(closeBtn);
+        add(south, BorderLayout.SOUTH);
+    }
+
+    /** 带标题边框的表单：标签与控件成对排列，末行为操作按钮 */
+    private static JPanel form(String title, String[] labels, JComponent[] fields, String button, Runnable action) {
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBorder(BorderFactory.createTitledBorder(title));
+        GridBagConstraints c = new GridBagConstraints();
+        c.insets = new Insets(2, GRID_GAP, 2, GRID_GAP);
+        c.fill = GridBagConstraints.HORIZONTAL;
+        for (int i = 0; i < labels.length; i++) {
+            c.gridx = 0; c.gridy = i; c.weightx = 0;
+            panel.add(new JLabel(labels[i]), c);
+            c.gridx = 1; c.weightx = 1;
+            panel.add(fields[i], c);
+        }
+        c.gridx = 1; c.gridy = labels.length; c.fill = GridBagConstraints.NONE; c.anchor = GridBagConstraints.EAST;
+        JButton btn = new JButton(button);
+        btn.addActionListener(e -> action.run());
+        panel.add(btn, c);
+        return panel;
+    }
+
+    /** 列出所选通道的高亮区段供选作模板 */
+    private void refreshTemplates() {
+        templateBox.removeAllItems();
+        ChannelData ch = (ChannelData) channelBox.getSelectedItem();
+        if (ch == null) {
+            return;
+        }
+        HighlightIndex.Snapshot h = ch.getHighlights().snapshot();
+        for (int i = 0; i < h.size(); i++) {
+            templateBox.addItem(String.format(TEMPLATE_ITEM, i + 1, h.start(i), h.end(i)));
+        }
+    }
+
+    /** 校验参数并提交后台匹配任务 */
+    private void onSearch() {
+        ChannelData ch = (ChannelData) channelBox.getSelectedItem();
+        int index = templateBox.getSelectedIndex();
+        if (ch == null || index < 0) {
+            JOptionPane.showMessageDialog(this, MSG_NO_TEMPLATE, MSG_ERROR_TITLE, JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        int topK;
+        double minScore;
+        try {
+            topK = Integer.parseInt(topKField.getText().trim());
+            minScore = Double.parseDouble(minScoreField.getText().trim());
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, MSG_BAD_NUMBER, MSG_ERROR_TITLE, JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        if (topK <= 0 || minScore > 1) {
+            JOptionPane.showMessageDialog(this, MSG_BAD_NUMBER, MSG_ERROR_TITLE, JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        float fs = ch.getSampleRate();
+        HighlightIndex.Snapshot h = ch.getHighlights().snapshot();
+        int from = (int) Math.floor(h.start(index) * fs);
+        int to = Math.min(ch.length(), (int) Math.floor(h.end(index) * fs) + 1);
+
+        // 模板由 findTemplate 校验，无效时任务失败并在任务列表中显示原因
+        ChartFrame frame = (ChartFrame) getOwner();
+        jobManager.submit(JOB_PREFIX + ch.getName(),
+                monitor -> CorrelationSearch.markTemplate(ch, from, to, topK, minScore, monitor),
+                result -> {
+                    model.getChannels().add(result);
+                    frame.loadData(model);
+                });
+        dispose();
+    }
+
+    /** 提交后台时延估计任务，完成后弹出结果 */
+    private void onEstimateLag() {
+        ChannelData a = (ChannelData) channelABox.getSelectedItem();
+        ChannelData b = (ChannelData) channelBBox.getSelectedItem();
+        double maxLagSec;
+        try {
+            maxLagSec = Double.parseDouble(maxLagField.getText().trim());
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, MSG_BAD_NUMBER, MSG_ERROR_TITLE, JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        if (a == null || b == null || !(maxLagSec > 0)) {
+            JOptionPane.showMessageDialog(this, MSG_BAD_NUMBER, MSG_ERROR_TITLE, JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        float fs = a.getSampleRate();
+        int maxLag = Math.max(1, (int) Math.round(maxLagSec * fs));
+        Window owner = getOwner();
+        jobManager.submitTask(JOB_LAG_PREFIX + b.getName() + " / " + a.getName(),
+                monitor -> CorrelationSearch.estimateLag(a, b, maxLag, monitor),
+                lag -> {
+                    double samples = lag.peakLag();
+                    double r = Double.NaN;
+                    if (!Double.isNaN(samples)) {
+                        r = lag.correlation()[maxLag + (int) Math.round(samples)];
+                    }
+                    String text = String.format(MSG_LAG_RESULT, b.getName(), a.getName(),
+                            df.format(1000 * samples / fs), df.format(samples), df.format(r),
+                            r < 0 ? MSG_INVERTED : "", lag.segments(), df.format(lag.segmentLength() / fs));
+                    JOptionPane.showMessageDialog(owner, text, MSG_RESULT_TITLE, JOptionPane.INFORMATION_MESSAGE);
+                });
+        dispose();
+    }
+}
@@ -0,0 +1,41 @@
+package com.myapp.chart.view.processing.job;
+
+import com.myapp.chart.model.ChannelData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 一组并发执行的任务（如同一运算作用于多个通道）。
+ * 所有任务结束后，成功结果按提交顺序一次性交付。
+ * 仅在 EDT 上访问，无需同步。
+ */
+final class JobBatch {
+
+    private final ChannelData[] results;
+    private final Consumer<List<ChannelData>> onAllFinished;
+    private int remaining;
+
+    JobBatch(int size, Consumer<List<ChannelData>> onAllFinished) {
+        this.results       = new ChannelData[size];
+        this.onAllFinished = onAllFinished;
+        this.remaining     = size;
+    }
+
+    /** 第 index 个任务结束；result 为 null 表示失败或取消 */
+    void completed(int index, ChannelData result) {
+        results[index] = result;
+        if (--remaining == 0) {
+            List<ChannelData> done = new ArrayList<>();
+            for (ChannelData r : results) {
+                if (r != null) {
+                    done.add(r);
+                }
+            }
+            if (!done.isEmpty()) {
+                onAllFinished.accept(done);
+            }
+        }
+    }
+}
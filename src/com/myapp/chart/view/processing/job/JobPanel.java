@@ -0,0 +1,120 @@
+package com.myapp.chart.view.processing.job;
+
+import com.myapp.chart.view.processing.operation.ResultCache;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * 任务面板：列出后台处理任务的名称、状态、进度，可取消运行中的任务、移除已结束的任务；
+ * 底部显示结果缓存的命中率与占用。无任务时自动隐藏。
+ */
+public class JobPanel extends JPanel {
+
+    // 常量配置
+    private static final int    REFRESH_INTERVAL_MS = 200;   // 进度刷新间隔
+    private static final int    ROW_GAP        = 4;
+    private static final int    NAME_WIDTH     = 260;
+    private static final int    BAR_WIDTH      = 220;
+    private static final int    ROW_HEIGHT     = 22;
+    private static final String BUTTON_CANCEL  = "取消";
+    private static final String BUTTON_REMOVE  = "移除";
+    private static final String TITLE          = "后台任务";
+    private static final String CACHE_FORMAT   = "结果缓存：命中 %d/%d（%.0f%%），%d 项，占用 %.1f / %.0f MB";
+    private static final double MB             = 1 << 20;
+
+    private final ProcessingJobManager manager;
+    private final JPanel rows = new JPanel();
+    private final JLabel cacheLabel = new JLabel();
+    private final Timer refreshTimer;
+
+    public JobPanel(ProcessingJobManager manager) {
+        this.manager = manager;
+        setLayout(new BorderLayout());
+        setBorder(BorderFactory.createTitledBorder(TITLE));
+        rows.setLayout(new BoxLayout(rows, BoxLayout.Y_AXIS));
+        add(rows, BorderLayout.CENTER);
+        add(cacheLabel, BorderLayout.SOUTH);
+
+        refreshTimer = new Timer(REFRESH_INTERVAL_MS, e -> refreshProgress());
+        manager.addChangeListener(this::rebuild);
+        rebuild();
+    }
+
+    /** 任务列表变化：重建各行 */
+    private void rebuild() {
+        rows.removeAll();
+        for (ProcessingJob job : manager.getJobs()) {
+            rows.add(new JobRow(job));
+        }
+        refreshCacheStats();
+        boolean any = !manager.getJobs().isEmpty();
+        setVisible(any);
+        if (any) {
+            refreshTimer.start();
+        } else {
+            refreshTimer.stop();
+        }
+        revalidate();
+        repaint();
+    }
+
+    /** 定时刷新各行进度 */
+    private void refreshProgress() {
+        for (Component c : rows.getComponents()) {
+            ((JobRow) c).refresh();
+        }
+        refreshCacheStats();
+    }
+
+    /** 刷新结果缓存统计 */
+    private void refreshCacheStats() {
+        ResultCache cache = ResultCache.shared();
+        long hits = cache.getHits();
+        long total = hits + cache.getMisses();
+        cacheLabel.setText(String.format(CACHE_FORMAT, hits, total, cache.getHitRate() * 100,
+                cache.size(), cache.getBytes() / MB, cache.getBudget() / MB));
+    }
+
+    /** 单个任务的一行 */
+    private final class JobRow extends JPanel {
+        private final ProcessingJob job;
+        private final JLabel nameLabel;
+        private final JProgressBar bar = new JProgressBar(0, 100);
+        private final JButton button = new JButton(BUTTON_CANCEL);
+
+        JobRow(ProcessingJob job) {
+            this.job = job;
+            setLayout(new FlowLayout(FlowLayout.LEFT, ROW_GAP, 0));
+            nameLabel = new JLabel(job.getName());
+            nameLabel.setPreferredSize(new Dimension(NAME_WIDTH, ROW_HEIGHT));
+            bar.setPreferredSize(new Dimension(BAR_WIDTH, ROW_HEIGHT - 4));
+            bar.setStringPainted(true);
+            button.addActionListener(e -> {
+                if (job.getState().isFinished()) {
+                    manager.remove(job);
+                } else {
+                    job.cancel();
+                }
+            });
+            add(nameLabel);
+            add(bar);
+            add(button);
+            setMaximumSize(new Dimension(Integer.MAX_VALUE, ROW_HEIGHT + 2));
+            refresh();
+        }
+
+        void refresh() {
+            ProcessingJob.State state = job.getState();
+            bar.setValue((int) Math.round(job.getProgress() * 100));
+            if (state == ProcessingJob.State.FAILED) {
+                bar.setString(state.getLabel() + ": " + job.getError());
+            } else if (state == ProcessingJob.State.RUNNING) {
+                bar.setString(bar.getValue() + "%");
+            } else {
+                bar.setString(state.getLabel());
+            }
+            button.setText(state.isFinished() ? BUTTON_REMOVE : BUTTON_CANCEL);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.myapp.chart.view.processing.job;
+
+import com.myapp.chart.model.ChannelData;
+import com.myapp.chart.view.processing.operation.ProgressMonitor;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 一个后台处理任务：保存任务内容、完成回调以及进度 / 状态 / 取消标志。
+ * 进度与状态由工作线程写、界面线程读，均为 volatile。
+ */
+public class ProcessingJob implements ProgressMonitor {
+
+    /** 任务状态 */
+    public enum State {
+        QUEUED("排队中"),
+        RUNNING("运行中"),
+        DONE("完成"),
+        FAILED("失败"),
+        CANCELLED("已取消");
+
+        private final String label;
+
+        State(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        /** 是否已结束（不再变化） */
+        public boolean isFinished() {
+            return this == DONE || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    private final String name;
+    private final Function<ProgressMonitor, ChannelData> task;
+    private final Consumer<ChannelData> onFinished;
+
+    private volatile State state = State.QUEUED;
+    private volatile double progress;
+    private volatile boolean cancelled;
+    private volatile String error;
+
+    // 所属批次（单独提交时为 null）及在批次中的序号
+    private JobBatch batch;
+    private int batchIndex;
+
+    ProcessingJob(String name,
+                  Function<ProgressMonitor, ChannelData> task,
+                  Consumer<ChannelData> onFinished) {
+        this.name       = name;
+        this.task       = task;
+        this.onFinished = onFinished;
+    }
+
+    // —— Getter —— //
+    public String getName()     { return name; }
+    public State  getState()    { return state; }
+    public double getProgress() { return progress; }
+    public String getError()    { return error; }
+
+    /** 请求取消：排队中的任务不会再执行，运行中的任务在下一个块边界停止 */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    // —— ProgressMonitor —— //
+    @Override
+    public void setProgress(double fraction) {
+        progress = Math.max(0, Math.min(1, fraction));
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    // —— 供 ProcessingJobManager 调用 —— //
+    Function<ProgressMonitor, ChannelData> getTask()  { return task; }
+    Consumer<ChannelData> getOnFinished()              { return onFinished; }
+    void setState(State s)                             { this.state = s; }
+    void setError(String message)                      { this.error = message; }
+    JobBatch getBatch()                                { return batch; }
+    int getBatchIndex()                                { return batchIndex; }
+
+    void joinBatch(JobBatch batch, int index) {
+        this.batch = batch;
+        this.batchIndex = index;
+    }
+}
@@ -0,0 +1,176 @@
+package com.myapp.chart.view.processing.job;
+
+import com.myapp.chart.model.ChannelData;
+import com.myapp.chart.view.processing.operation.ProgressMonitor;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 后台处理任务管理器：任务进入队列，由固定大小的工作线程池执行。
+ * 完成回调与状态变化通知都在 EDT 上触发，可直接修改 DataModel 和界面。
+ */
+public class ProcessingJobManager {
+
+    // 常量配置
+    private static final int    MIN_WORKERS   = 2;
+    private static final String THREAD_PREFIX = "processing-worker-";
+
+    private final ExecutorService pool;
+    private final List<ProcessingJob> jobs = new CopyOnWriteArrayList<>();
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    public ProcessingJobManager() {
+        int workers = Math.max(MIN_WORKERS, Runtime.getRuntime().availableProcessors());
+        AtomicInteger seq = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, THREAD_PREFIX + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * 提交任务。
+     *
+     * @param name       显示名称
+     * @param task       在工作线程执行的计算，通过 ProgressMonitor 回报进度
+     * @param onFinished 成功后在 EDT 上调用，参数为计算结果
+     */
+    public ProcessingJob submit(String name,
+                                Function<ProgressMonitor, ChannelData> task,
+                                Consumer<ChannelData> onFinished) {
+        ProcessingJob job = new ProcessingJob(name, task, onFinished);
+        jobs.add(job);
+        fireChanged();
+        pool.execute(() -> execute(job));
+        return job;
+    }
+
+    /**
+     * 提交结果不是通道的任务（如时延估计）：同样排队、显示进度、可取消，失败原因显示在任务列表中。
+     *
+     * @param name       显示名称
+     * @param task       在工作线程执行的计算，通过 ProgressMonitor 回报进度
+     * @param onFinished 成功后在 EDT 上调用，参数为计算结果
+     */
+    public <T> ProcessingJob submitTask(String name,
+                                        Function<ProgressMonitor, T> task,
+                                        Consumer<T> onFinished) {
+        AtomicReference<T> result = new AtomicReference<>();
+        return submit(name, monitor -> {
+            result.set(task.apply(monitor));
+            return null;
+        }, ignored -> onFinished.accept(result.get()));
+    }
+
+    /**
+     * 批量提交：每个任务独立排队、并发执行并各自显示进度；
+     * 全部结束后，所有成功结果在 EDT 上一次性交付（一次模型更新）。
+     *
+     * @param names         各任务显示名称
+     * @param tasks         各任务计算，与 names 一一对应
+     * @param onAllFinished 全部结束后调用，参数为成功的结果（按提交顺序）
+     */
+    public List<ProcessingJob> submitBatch(List<String> names,
+                                           List<Function<ProgressMonitor, ChannelData>> tasks,
+                                           Consumer<List<ChannelData>> onAllFinished) {
+        JobBatch batch = new JobBatch(tasks.size(), onAllFinished);
+        List<ProcessingJob> created = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            ProcessingJob job = new ProcessingJob(names.get(i), tasks.get(i), null);
+            job.joinBatch(batch, i);
+            created.add(job);
+        }
+        jobs.addAll(created);
+        fireChanged();
+        for (ProcessingJob job : created) {
+            pool.execute(() -> execute(job));
+        }
+        return created;
+    }
+
+    /** 当前所有任务（含已结束但未移除的） */
+    public List<ProcessingJob> getJobs() {
+        return jobs;
+    }
+
+    /** 移除一个已结束的任务 */
+    public void remove(ProcessingJob job) {
+        if (job.getState().isFinished()) {
+            jobs.remove(job);
+            fireChanged();
+        }
+    }
+
+    /** 注册任务列表 / 状态变化监听（在 EDT 上回调） */
+    public void addChangeListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    /** 注销监听（如关闭的对话框） */
+    public void removeChangeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    /** 停止接收新任务，并取消所有未完成任务 */
+    public void shutdown() {
+        jobs.forEach(ProcessingJob::cancel);
+        pool.shutdownNow();
+    }
+
+    /**
+     * 工作线程中执行单个任务。任何异常或错误（包括 StackOverflowError、LinkageError）都使任务失败，
+     * 收尾放在 finally 中，因此任务总会离开运行状态，所在批次总会计数。
+     */
+    private void execute(ProcessingJob job) {
+        ProcessingJob.State state = ProcessingJob.State.FAILED;
+        ChannelData result = null;
+        try {
+            if (job.isCancelled()) {
+                state = ProcessingJob.State.CANCELLED;
+                return;
+            }
+            job.setState(ProcessingJob.State.RUNNING);
+            fireChanged();
+            result = job.getTask().apply(job);
+            job.setProgress(1);
+            state = ProcessingJob.State.DONE;
+        } catch (CancellationException ex) {
+            state = ProcessingJob.State.CANCELLED;
+        } catch (Throwable ex) {
+            job.setError(ex.getMessage() != null ? ex.getMessage() : ex.toString());
+        } finally {
+            finish(job, state, result);
+        }
+    }
+
+    /** 在 EDT 上收尾：成功的任务交付结果并移出列表 */
+    private void finish(ProcessingJob job, ProcessingJob.State state, ChannelData result) {
+        SwingUtilities.invokeLater(() -> {
+            job.setState(state);
+            if (state == ProcessingJob.State.DONE) {
+                jobs.remove(job);
+            }
+            if (job.getBatch() != null) {
+                job.getBatch().completed(job.getBatchIndex(), result);
+            } else if (state == ProcessingJob.State.DONE) {
+                job.getOnFinished().accept(result);
+            }
+            listeners.forEach(Runnable::run);
+        });
+    }
+
+    private void fireChanged() {
+        SwingUtilities.invokeLater(() -> listeners.forEach(Runnable::run));
+    }
+}
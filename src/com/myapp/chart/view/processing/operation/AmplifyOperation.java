@@ -1,8 +1,9 @@
 package com.myapp.chart.view.processing.operation;
 
+import com.myapp.chart.dsp.Kernels;
 import com.myapp.chart.model.ChannelData;
 
-public class AmplifyOperation implements ProcessingOperation {
+public class AmplifyOperation implements RangeOperation, StreamableOperation {
     @Override public String getName() { return "增幅"; }
     @Override public boolean needsParam()      { return true; }
     @Override public boolean needsWindowSize() { return false; }
@@ -10,11 +11,23 @@ public class AmplifyOperation implements ProcessingOperation {
 
     @Override
     public ChannelData process(ChannelData src, double param, int windowSize, boolean greaterOrEqual) {
-        double[] d = src.getData();
-        double[] out = new double[d.length];
-        for (int i = 0; i < d.length; i++) {
-            out[i] = d[i] * param;
-        }
+        double[] out = new double[src.length()];
+        computeRange(src, new OperationParams(param, windowSize, greaterOrEqual), 0, out, 0, out.length);
         return new ChannelData(src.getName() + "_增幅", out, src.getSampleRate());
     }
+
+    @Override
+    public void computeRange(ChannelData src, OperationParams p, int from, double[] dst, int dstOff, int len) {
+        src.read(from, dst, dstOff, len);
+        Kernels.get().scale(dst, dstOff, dst, dstOff, len, p.getParam());
+    }
+
+    @Override
+    public StreamStage newStage(float sampleRate, OperationParams p) {
+        double k = p.getParam();
+        return (in, inOff, len, out, outOff) -> {
+            Kernels.get().scale(in, inOff, out, outOff, len, k);
+            return len;
+        };
+    }
 }
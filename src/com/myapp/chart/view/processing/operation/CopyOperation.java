@@ -2,7 +2,7 @@ package com.myapp.chart.view.processing.operation;
 
 import com.myapp.chart.model.ChannelData;
 
-public class CopyOperation implements ProcessingOperation {
+public class CopyOperation implements RangeOperation, StreamableOperation {
     @Override public String getName() { return "复制"; }
     @Override public boolean needsParam()      { return false; }
     @Override public boolean needsWindowSize() { return false; }
@@ -10,7 +10,25 @@ public class CopyOperation implements ProcessingOperation {
 
     @Override
     public ChannelData process(ChannelData src, double param, int windowSize, boolean greaterOrEqual) {
-        double[] out = src.getData().clone();
-        return new ChannelData(src.getName() + "_复制", out, src.getSampleRate());
+        return src.share(src.getName() + "_复制");
+    }
+
+    /** 单独执行时共享源存储（写时复制），O(1) */
+    @Override
+    public boolean prefersOfflineWhenAlone() {
+        return true;
+    }
+
+    @Override
+    public void computeRange(ChannelData src, OperationParams p, int from, double[] dst, int dstOff, int len) {
+        src.read(from, dst, dstOff, len);
+    }
+
+    @Override
+    public StreamStage newStage(float sampleRate, OperationParams p) {
+        return (in, inOff, len, out, outOff) -> {
+            System.arraycopy(in, inOff, out, outOff, len);
+            return len;
+        };
     }
 }
@@ -0,0 +1,190 @@
+package com.myapp.chart.view.processing.operation;
+
+import com.myapp.chart.dsp.LagEstimator;
+import com.myapp.chart.dsp.TemplateMatcher;
+import com.myapp.chart.model.ChannelData;
+import com.myapp.chart.model.ChannelView;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 基于互相关的搜索：整段通道上的模板匹配（{@link TemplateMatcher}）与两通道时延估计（{@link LagEstimator}）。
+ * <p>
+ * 通道切成固定长度的任务并行计算，相邻任务重叠 K−1 个样本，使每个起点恰好算一次。
+ * 模板匹配在每个任务内以“相距不足 K 只保留更高者”选出局部峰，任务间再按得分从高到低
+ * 贪心选取互不重叠的前 K 个，因此结果与整段一次计算相同。
+ */
+public final class CorrelationSearch {
+
+    // 常量配置
+    private static final int TASK_SAMPLES = 1 << 20;    // 每个并行任务的起点数（时延估计为样本数）
+    private static final int CANDIDATE_FACTOR = 2;      // 每个任务保留的候选数 = topK × 该倍数
+    private static final String RESULT_SUFFIX = "_模板匹配";
+
+    private CorrelationSearch() {}
+
+    /** 一处匹配：起点样本、长度与 NCC 得分 */
+    public static final class Match {
+        public final int start;
+        public final int length;
+        public final double score;
+
+        Match(int start, int length, double score) {
+            this.start = start;
+            this.length = length;
+            this.score = score;
+        }
+
+        boolean overlaps(int from, int to) {
+            return start < to && from < start + length;
+        }
+    }
+
+    /**
+     * 以通道 [from, to) 为模板在整段通道上搜索，返回得分不低于 minScore、互不重叠、
+     * 且不与模板本身重叠的前 topK 处，按起点排序。
+     *
+     * @throws IllegalArgumentException 模板区间无效或为常数，消息可直接展示给用户
+     */
+    public static List<Match> findTemplate(ChannelData ch, int from, int to, int topK, double minScore,
+                                           ProgressMonitor monitor) {
+        int length = ch.length();
+        from = Math.max(0, from);
+        to = Math.min(length, to);
+        if (to - from < 2) {
+            throw new IllegalArgumentException("模板区间过短");
+        }
+        double[] template = new double[to - from];
+        ch.read(from, template, 0, template.length);
+        TemplateMatcher probe = new TemplateMatcher(template);   // 提前校验模板
+        int k = probe.length();
+        int positions = length - k + 1;
+        int tasks = (positions + TASK_SAMPLES - 1) / TASK_SAMPLES;
+        int templateFrom = from, templateTo = to;
+        AtomicInteger done = new AtomicInteger();
+
+        List<Match> candidates = IntStream.range(0, Math.max(0, tasks)).parallel()
+                .mapToObj(t -> {
+                    if (monitor.isCancelled()) {
+                        throw new CancellationException();
+                    }
+                    int p0 = t * TASK_SAMPLES;
+                    int count = Math.min(TASK_SAMPLES, positions - p0);
+                    double[] x = new double[count + k - 1];
+                    ch.read(p0, x, 0, x.length);
+                    double[] scores = new double[count];
+                    new TemplateMatcher(template).correlate(x, 0, x.length, scores, 0);
+                    List<Match> peaks = peaks(scores, p0, k, minScore, templateFrom, templateTo);
+                    monitor.setProgress(done.incrementAndGet() / (double) tasks);
+                    return peaks.stream()
+                            .sorted(Comparator.comparingDouble((Match m) -> -m.score))
+                            .limit((long) topK * CANDIDATE_FACTOR)
+                            .collect(Collectors.toList());
+                })
+                .flatMap(List::stream)
+                .sorted(Comparator.comparingDouble((Match m) -> -m.score))
+                .collect(Collectors.toList());
+
+        List<Match> accepted = new ArrayList<>();
+        for (Match m : candidates) {
+            if (accepted.size() >= topK) break;
+            boolean free = true;
+            for (Match a : accepted) {
+                if (a.overlaps(m.start, m.start + m.length)) {
+                    free = false;
+                    break;
+                }
+            }
+            if (free) accepted.add(m);
+        }
+        accepted.sort(Comparator.comparingInt(m -> m.start));
+        return accepted;
+    }
+
+    /** 得分序列中的局部峰：相距不足 k 的只留更高者 */
+    private static List<Match> peaks(double[] scores, int base, int k, double minScore,
+                                     int excludeFrom, int excludeTo) {
+        List<Match> out = new ArrayList<>();
+        int pending = -1;
+        double pendingScore = 0;
+        for (int i = 0; i < scores.length; i++) {
+            double s = scores[i];
+            int p = base + i;
+            if (!(s >= minScore) || (p < excludeTo && excludeFrom < p + k)) {
+                continue;
+            }
+            if (pending >= 0 && p - pending < k) {
+                if (s > pendingScore) {
+                    pending = p;
+                    pendingScore = s;
+                }
+                continue;
+            }
+            if (pending >= 0) {
+                out.add(new Match(pending, k, pendingScore));
+            }
+            pending = p;
+            pendingScore = s;
+        }
+        if (pending >= 0) {
+            out.add(new Match(pending, k, pendingScore));
+        }
+        return out;
+    }
+
+    /**
+     * 模板匹配并生成结果通道：共享源通道的样本，每处匹配为一个高亮区段。
+     */
+    public static ChannelData markTemplate(ChannelData ch, int from, int to, int topK, double minScore,
+                                           ProgressMonitor monitor) {
+        List<Match> matches = findTemplate(ch, from, to, topK, minScore, monitor);
+        ChannelData result = new ChannelView(ch.getName() + RESULT_SUFFIX, ch);
+        float fs = ch.getSampleRate();
+        for (Match m : matches) {
+            result.addHighlightTimeRange(m.start / fs, (m.start + m.length - 1) / fs);
+        }
+        return result;
+    }
+
+    /**
+     * 估计 y 相对 x 的时延（样本），搜索范围 ±maxLag；两通道采样率须相同，长度取较短者。
+     *
+     * @throws IllegalArgumentException 采样率不同
+     */
+    public static LagEstimator estimateLag(ChannelData x, ChannelData y, int maxLag, ProgressMonitor monitor) {
+        if (x.getSampleRate() != y.getSampleRate()) {
+            throw new IllegalArgumentException("两通道采样率须相同：" + x.getSampleRate() + " / " + y.getSampleRate());
+        }
+        int length = Math.min(x.length(), y.length());
+        int segment = new LagEstimator(maxLag).segmentLength();
+        int task = Math.max(segment, TASK_SAMPLES / segment * segment);   // 任务边界对齐到段
+        int tasks = (length + task - 1) / task;
+        AtomicInteger done = new AtomicInteger();
+        LagEstimator total = new LagEstimator(maxLag);
+        IntStream.range(0, tasks).parallel()
+                .mapToObj(t -> {
+                    if (monitor.isCancelled()) {
+                        throw new CancellationException();
+                    }
+                    int from = t * task;
+                    int len = Math.min(task, length - from);
+                    double[] a = new double[len];
+                    double[] b = new double[len];
+                    x.read(from, a, 0, len);
+                    y.read(from, b, 0, len);
+                    LagEstimator part = new LagEstimator(maxLag);
+                    part.add(a, b, 0, len);
+                    monitor.setProgress(done.incrementAndGet() / (double) tasks);
+                    return part;
+                })
+                .collect(Collectors.toList())
+                .forEach(total::combine);
+        return total;
+    }
+}
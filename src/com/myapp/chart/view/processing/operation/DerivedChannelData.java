@@ -0,0 +1,36 @@
+package com.myapp.chart.view.processing.operation;
+
+import com.myapp.chart.model.ChannelData;
+import com.myapp.chart.model.LazyChannelData;
+
+/**
+ * 派生通道：只保存“配方”（源通道、运算、参数），样本按需计算。
+ */
+public class DerivedChannelData extends LazyChannelData {
+
+    private final ChannelData source;
+    private final RangeOperation operation;
+    private final OperationParams params;
+
+    public DerivedChannelData(ChannelData source, RangeOperation operation, OperationParams params) {
+        super(source.getName() + "_" + operation.getName(), source.length(), source.getSampleRate());
+        this.source    = source;
+        this.operation = operation;
+        this.params    = params;
+    }
+
+    public ChannelData     getSource()    { return source; }
+    public RangeOperation  getOperation() { return operation; }
+    public OperationParams getParams()    { return params; }
+
+    /** 样本由源通道按需计算，版本随源通道 */
+    @Override
+    public int getVersion() {
+        return source.getVersion();
+    }
+
+    @Override
+    protected void computeRange(int from, double[] dst, int dstOff, int len) {
+        operation.computeRange(source, params, from, dst, dstOff, len);
+    }
+}
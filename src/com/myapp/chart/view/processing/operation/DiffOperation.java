@@ -1,8 +1,9 @@
 package com.myapp.chart.view.processing.operation;
 
+import com.myapp.chart.dsp.Kernels;
 import com.myapp.chart.model.ChannelData;
 
-public class DiffOperation implements ProcessingOperation {
+public class DiffOperation implements RangeOperation, StreamableOperation {
     @Override public String getName() { return "差分"; }
     @Override public boolean needsParam()      { return false; }
     @Override public boolean needsWindowSize() { return false; }
@@ -10,12 +11,42 @@ public class DiffOperation implements ProcessingOperation {
 
     @Override
     public ChannelData process(ChannelData src, double param, int windowSize, boolean greaterOrEqual) {
-        double[] data = src.getData();
-        double[] out  = new double[data.length];
-        out[0] = 0;
-        for (int i = 1; i < data.length; i++) {
-            out[i] = data[i] - data[i - 1];
-        }
+        double[] out = new double[src.length()];
+        computeRange(src, new OperationParams(param, windowSize, greaterOrEqual), 0, out, 0, out.length);
         return new ChannelData(src.getName() + "_差分", out, src.getSampleRate());
     }
+
+    @Override
+    public void computeRange(ChannelData src, OperationParams p, int from, double[] dst, int dstOff, int len) {
+        if (len <= 0) return;
+        double prev = from > 0 ? src.sampleAt(from - 1) : Double.NaN;
+        src.read(from, dst, dstOff, len);
+        Kernels.get().diff(dst, dstOff, dst, dstOff, len, prev);
+        if (from == 0) {
+            dst[dstOff] = 0;   // 首个样本无前驱，差分记 0
+        }
+    }
+
+    @Override
+    public StreamStage newStage(float sampleRate, OperationParams p) {
+        return new StreamStage() {
+            private boolean first = true;
+            private double prev;
+
+            @Override
+            public int process(double[] in, int inOff, int len, double[] out, int outOff) {
+                if (len <= 0) {
+                    return 0;
+                }
+                double last = in[inOff + len - 1];
+                Kernels.get().diff(in, inOff, out, outOff, len, prev);
+                if (first) {
+                    out[outOff] = 0;
+                    first = false;
+                }
+                prev = last;
+                return len;
+            }
+        };
+    }
 }
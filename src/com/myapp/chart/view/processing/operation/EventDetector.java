@@ -0,0 +1,161 @@
+package com.myapp.chart.view.processing.operation;
+
+import com.myapp.chart.model.ChannelData;
+import com.myapp.chart.model.ChannelView;
+import com.myapp.chart.model.HighlightIndex;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * 多通道事件检测：在时间对齐的多个通道上，按块单次遍历求值布尔表达式
+ * （语法见 {@link EventExpression}），把表达式为真的时间段写入高亮索引。
+ * <p>
+ * 各通道采样率可以不同：以其中最高采样率为求值时钟，
+ * 每个时钟时刻取各通道在该时刻之前最近的样本（采样保持）；
+ * 超出通道末尾的时刻视为 NaN，相关谓词为假。
+ * 每个通道只被顺序读取一次，内存占用与记录长度无关。
+ */
+public final class EventDetector {
+
+    // 常量配置
+    private static final int BLOCK = 8192;     // 每块求值的时钟时刻数
+    private static final String RESULT_SUFFIX = "_事件";
+
+    private final String text;
+    private final EventExpression expression;
+    private final double clock;                // 求值时钟（Hz）
+
+    private EventDetector(String text, EventExpression expression) {
+        this.text = text;
+        this.expression = expression;
+        double max = 0;
+        for (ChannelData ch : expression.channels()) {
+            max = Math.max(max, ch.getSampleRate());
+        }
+        this.clock = max;
+    }
+
+    /**
+     * 解析表达式并绑定到通道。
+     *
+     * @param available 可引用的通道
+     * @throws IllegalArgumentException 表达式有误，消息可直接展示给用户
+     */
+    public static EventDetector compile(String expression, List<ChannelData> available) {
+        EventExpression expr = EventExpression.parse(expression, available);
+        for (ChannelData ch : expr.channels()) {
+            if (!(ch.getSampleRate() > 0)) {
+                throw new IllegalArgumentException("通道 “" + ch.getName() + "” 采样率无效");
+            }
+        }
+        return new EventDetector(expression, expr);
+    }
+
+    /** 原始表达式文本 */
+    public String getExpression() {
+        return text;
+    }
+
+    /** 表达式引用到的通道（去重） */
+    public List<ChannelData> getChannels() {
+        return expression.channels();
+    }
+
+    /** 求值时钟：引用通道中的最高采样率 */
+    public double getClockRate() {
+        return clock;
+    }
+
+    /**
+     * 单次遍历求值，返回表达式为真的时间段。
+     *
+     * @param minDurationSec 最短持续时间（秒），更短的事件被丢弃
+     */
+    public HighlightIndex detect(double minDurationSec, ProgressMonitor monitor) {
+        List<ChannelData> chans = expression.channels();
+        int m = chans.size();
+        long ticks = 0;
+        for (ChannelData ch : chans) {
+            ticks = Math.max(ticks, (long) Math.ceil(ch.length() * clock / ch.getSampleRate()));
+        }
+        long minTicks = Math.max(1, Math.round(Math.max(0, minDurationSec) * clock));
+
+        double[][] values = new double[m][BLOCK];
+        double[] raw = new double[BLOCK + 1];
+        boolean[] truth = new boolean[BLOCK];
+        HighlightIndex events = new HighlightIndex();
+        boolean open = false;
+        long openStart = 0;
+
+        for (long k0 = 0; k0 < ticks; k0 += BLOCK) {
+            if (monitor.isCancelled()) {
+                throw new CancellationException();
+            }
+            int n = (int) Math.min(BLOCK, ticks - k0);
+            for (int c = 0; c < m; c++) {
+                fill(chans.get(c), k0, n, values[c], raw);
+            }
+            expression.root().eval(values, n, truth);
+
+            for (int k = 0; k < n; k++) {
+                if (truth[k] != open) {
+                    if (open) {
+                        addIfLong(events, openStart, k0 + k - 1, minTicks);
+                    } else {
+                        openStart = k0 + k;
+                    }
+                    open = truth[k];
+                }
+            }
+            monitor.setProgress((k0 + n) / (double) ticks);
+        }
+        if (open) {
+            addIfLong(events, openStart, ticks - 1, minTicks);
+        }
+        return events;
+    }
+
+    /**
+     * 检测并生成结果通道：共享第一个引用通道的样本，只附带事件高亮。
+     */
+    public ChannelData run(double minDurationSec, ProgressMonitor monitor) {
+        HighlightIndex events = detect(minDurationSec, monitor);
+        ChannelData first = expression.channels().get(0);
+        ChannelData result = new ChannelView(first.getName() + RESULT_SUFFIX, first);
+        for (int i = 0; i < events.size(); i++) {
+            result.addHighlightTimeRange(events.start(i), events.end(i));
+        }
+        return result;
+    }
+
+    /** 取通道在时钟时刻 [k0, k0+n) 上的采样保持值 */
+    private void fill(ChannelData ch, long k0, int n, double[] dst, double[] raw) {
+        int len = ch.length();
+        double ratio = ch.getSampleRate() / clock;
+        if (ratio == 1) {
+            int avail = (int) Math.max(0, Math.min(n, len - k0));
+            if (avail > 0) {                     // 较短的通道在末尾之后不再读取
+                ch.read((int) k0, dst, 0, avail);
+            }
+            Arrays.fill(dst, avail, n, Double.NaN);
+            return;
+        }
+        long first = (long) (k0 * ratio);
+        long last = Math.min(len - 1, (long) ((k0 + n - 1) * ratio));
+        if (last >= first) {
+            ch.read((int) first, raw, 0, (int) (last - first + 1));
+        }
+        for (int k = 0; k < n; k++) {
+            long idx = (long) ((k0 + k) * ratio);
+            dst[k] = idx <= last ? raw[(int) (idx - first)] : Double.NaN;
+        }
+    }
+
+    private void addIfLong(HighlightIndex events, long start, long end, long minTicks) {
+        if (end - start + 1 >= minTicks) {
+            events.add(start / clock, end / clock);
+        }
+    }
+}
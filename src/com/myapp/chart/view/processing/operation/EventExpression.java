@@ -0,0 +1,289 @@
+package com.myapp.chart.view.processing.operation;
+
+import com.myapp.chart.model.ChannelData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 多通道事件表达式：由各通道阈值谓词组成的布尔表达式。
+ * <pre>
+ *   expr      := or
+ *   or        := and ( "||" and )*
+ *   and       := unary ( "&&" unary )*
+ *   unary     := "!" unary | "(" expr ")" | predicate
+ *   predicate := channel ( "<" | "<=" | ">" | ">=" ) number
+ *   channel   := 裸名称 | "带空格或符号的名称"
+ * </pre>
+ * 通道名中的 * 为通配符，表示“任一匹配通道满足”，例如 {@code EEG* > 100}。
+ * 谓词对 NaN 样本恒为假。
+ */
+final class EventExpression {
+
+    // 常量配置
+    private static final String NAME_STOP_CHARS = "()<>=!&|\"";
+
+    private final Node root;
+    private final List<ChannelData> channels;   // 引用到的通道（去重，按首次出现顺序）
+
+    private EventExpression(Node root, List<ChannelData> channels) {
+        this.root = root;
+        this.channels = channels;
+    }
+
+    Node root() {
+        return root;
+    }
+
+    List<ChannelData> channels() {
+        return channels;
+    }
+
+    /**
+     * 解析表达式。
+     *
+     * @throws IllegalArgumentException 语法错误或找不到通道，消息可直接展示给用户
+     */
+    static EventExpression parse(String text, List<ChannelData> available) {
+        Parser p = new Parser(text, available);
+        Node root = p.parseOr();
+        p.skipSpace();
+        if (p.pos < text.length()) {
+            throw p.error("多余的内容");
+        }
+        return new EventExpression(root, p.used);
+    }
+
+    // —— 表达式树：按块求值，out[k] 为第 k 个时刻的真值 —— //
+
+    abstract static class Node {
+        abstract void eval(double[][] values, int len, boolean[] out);
+    }
+
+    /** 单通道阈值谓词 */
+    static final class Predicate extends Node {
+        final int slot;
+        final String op;
+        final double value;
+
+        Predicate(int slot, String op, double value) {
+            this.slot = slot;
+            this.op = op;
+            this.value = value;
+        }
+
+        @Override
+        void eval(double[][] values, int len, boolean[] out) {
+            double[] v = values[slot];
+            double t = value;
+            switch (op) {   // NaN 参与任何比较都为假
+                case "<":  for (int k = 0; k < len; k++) out[k] = v[k] < t;  break;
+                case "<=": for (int k = 0; k < len; k++) out[k] = v[k] <= t; break;
+                case ">":  for (int k = 0; k < len; k++) out[k] = v[k] > t;  break;
+                default:   for (int k = 0; k < len; k++) out[k] = v[k] >= t; break;
+            }
+        }
+    }
+
+    /** 与 / 或 */
+    static final class Binary extends Node {
+        final Node left, right;
+        final boolean and;
+        private boolean[] scratch = new boolean[0];
+
+        Binary(Node left, Node right, boolean and) {
+            this.left = left;
+            this.right = right;
+            this.and = and;
+        }
+
+        @Override
+        void eval(double[][] values, int len, boolean[] out) {
+            if (scratch.length < len) {
+                scratch = new boolean[len];
+            }
+            left.eval(values, len, out);
+            right.eval(values, len, scratch);
+            if (and) {
+                for (int k = 0; k < len; k++) out[k] &= scratch[k];
+            } else {
+                for (int k = 0; k < len; k++) out[k] |= scratch[k];
+            }
+        }
+    }
+
+    /** 非 */
+    static final class Not extends Node {
+        final Node inner;
+
+        Not(Node inner) {
+            this.inner = inner;
+        }
+
+        @Override
+        void eval(double[][] values, int len, boolean[] out) {
+            inner.eval(values, len, out);
+            for (int k = 0; k < len; k++) out[k] = !out[k];
+        }
+    }
+
+    // —— 递归下降解析 —— //
+
+    private static final class Parser {
+        final String text;
+        final List<ChannelData> available;
+        final List<ChannelData> used = new ArrayList<>();
+        int pos;
+
+        Parser(String text, List<ChannelData> available) {
+            this.text = text;
+            this.available = available;
+        }
+
+        Node parseOr() {
+            Node n = parseAnd();
+            while (accept("||")) {
+                n = new Binary(n, parseAnd(), false);
+            }
+            return n;
+        }
+
+        Node parseAnd() {
+            Node n = parseUnary();
+            while (accept("&&")) {
+                n = new Binary(n, parseUnary(), true);
+            }
+            return n;
+        }
+
+        Node parseUnary() {
+            if (accept("!")) {
+                return new Not(parseUnary());
+            }
+            if (accept("(")) {
+                Node n = parseOr();
+                if (!accept(")")) {
+                    throw error("缺少右括号");
+                }
+                return n;
+            }
+            return parsePredicate();
+        }
+
+        Node parsePredicate() {
+            int nameAt = skipSpace();
+            String name = parseName();
+            String op = accept("<=") ? "<=" : accept(">=") ? ">=" : accept("<") ? "<" : accept(">") ? ">" : null;
+            if (op == null) {
+                throw error("应为比较运算符 < <= > >=");
+            }
+            double value = parseNumber();
+
+            List<ChannelData> matched = resolve(name);
+            if (matched.isEmpty()) {
+                pos = nameAt;
+                throw error("找不到通道 “" + name + "”");
+            }
+            Node n = null;
+            for (ChannelData ch : matched) {
+                Node pred = new Predicate(slot(ch), op, value);
+                n = n == null ? pred : new Binary(n, pred, false);
+            }
+            return n;
+        }
+
+        String parseName() {
+            skipSpace();
+            if (pos < text.length() && text.charAt(pos) == '"') {
+                int close = text.indexOf('"', pos + 1);
+                if (close < 0) {
+                    throw error("缺少右引号");
+                }
+                String name = text.substring(pos + 1, close);
+                pos = close + 1;
+                return name;
+            }
+            int from = pos;
+            while (pos < text.length()) {
+                char c = text.charAt(pos);
+                if (Character.isWhitespace(c) || NAME_STOP_CHARS.indexOf(c) >= 0) {
+                    break;
+                }
+                pos++;
+            }
+            if (pos == from) {
+                throw error("应为通道名");
+            }
+            return text.substring(from, pos);
+        }
+
+        double parseNumber() {
+            skipSpace();
+            int from = pos;
+            while (pos < text.length() && "0123456789.eE+-".indexOf(text.charAt(pos)) >= 0) {
+                pos++;
+            }
+            try {
+                return Double.parseDouble(text.substring(from, pos));
+            } catch (NumberFormatException e) {
+                pos = from;
+                throw error("应为数值");
+            }
+        }
+
+        /** 精确匹配通道名；含 * 时按通配符匹配全部通道 */
+        List<ChannelData> resolve(String name) {
+            List<ChannelData> out = new ArrayList<>();
+            if (name.indexOf('*') < 0) {
+                for (ChannelData ch : available) {
+                    if (ch.getName().equals(name)) {
+                        out.add(ch);
+                        break;
+                    }
+                }
+                return out;
+            }
+            StringBuilder regex = new StringBuilder();
+            for (String part : name.split("\\*", -1)) {
+                if (regex.length() > 0) regex.append(".*");
+                regex.append(Pattern.quote(part));
+            }
+            Pattern pattern = Pattern.compile(regex.toString());
+            for (ChannelData ch : available) {
+                if (pattern.matcher(ch.getName()).matches()) {
+                    out.add(ch);
+                }
+            }
+            return out;
+        }
+
+        int slot(ChannelData ch) {
+            for (int i = 0; i < used.size(); i++) {
+                if (used.get(i) == ch) return i;
+            }
+            used.add(ch);
+            return used.size() - 1;
+        }
+
+        boolean accept(String token) {
+            skipSpace();
+            if (text.startsWith(token, pos)) {
+                pos += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        int skipSpace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+            return pos;
+        }
+
+        IllegalArgumentException error(String what) {
+            return new IllegalArgumentException(String.format("第 %d 个字符处：%s", pos + 1, what));
+        }
+    }
+}
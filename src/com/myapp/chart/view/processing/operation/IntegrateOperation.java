@@ -1,8 +1,9 @@
 package com.myapp.chart.view.processing.operation;
 
+import com.myapp.chart.dsp.PrefixSum;
 import com.myapp.chart.model.ChannelData;
 
-public class IntegrateOperation implements ProcessingOperation {
+public class IntegrateOperation implements StreamableOperation {
     @Override
     public String getName() {
         return "积分";
@@ -29,16 +30,46 @@ public class IntegrateOperation implements ProcessingOperation {
         float sr = src.getSampleRate();
         // 如果它返回 double，则改为： float sr = (float) src.getSampleRate();
 
-        double[] d   = src.getData();
-        double[] out = new double[d.length];
+        // 按区间读入输出数组再原地扫描：不物化源通道（按需计算的通道也只逐块计算）
+        int n = src.length();
+        double[] out = new double[n];
+        src.read(0, out, 0, n);
 
-        // 积分运算：累加 data[i] / sr
-        out[0] = d[0] / sr;
-        for (int i = 1; i < d.length; i++) {
-            out[i] = out[i - 1] + d[i] / sr;
-        }
+        // 积分运算：累加 data[i] / sr（分块并行扫描 + 补偿求和）
+        PrefixSum.inclusiveScan(out, out, 1.0 / sr);
 
         // 传入的第三个参数已是 float，就不会再有 lossy conversion
         return new ChannelData(src.getName() + "_积分", out, sr);
     }
+
+    /** 单独执行时用分块并行前缀和 */
+    @Override
+    public boolean prefersOfflineWhenAlone() {
+        return true;
+    }
+
+    /** 流式积分：状态为带 Neumaier 补偿的累加和 */
+    @Override
+    public StreamStage newStage(float sampleRate, OperationParams p) {
+        double scale = 1.0 / sampleRate;
+        return new StreamStage() {
+            private double sum;
+            private double comp;
+
+            @Override
+            public int process(double[] in, int inOff, int len, double[] out, int outOff) {
+                double s = sum, c = comp;
+                for (int i = 0; i < len; i++) {
+                    double x = in[inOff + i] * scale;
+                    double t = s + x;
+                    c += Math.abs(s) >= Math.abs(x) ? (s - t) + x : (x - t) + s;
+                    s = t;
+                    out[outOff + i] = s + c;
+                }
+                sum = s;
+                comp = c;
+                return len;
+            }
+        };
+    }
 }
@@ -1,32 +1,116 @@
 package com.myapp.chart.view.processing.operation;
 
 import com.myapp.chart.model.ChannelData;
+import com.myapp.chart.model.ChannelView;
 
-public class MarkOperation implements ProcessingOperation {
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 阈值标记：带迟滞与最短持续时间的分段，结果为与源通道共享样本的视图通道，只附带高亮区段。
+ * 最短持续时间（第三参数）以秒计，可为小数，按采样率换算为样本数。
+ */
+public class MarkOperation implements StreamableOperation {
     @Override public String getName() { return "标记"; }
-    @Override public boolean needsParam()      { return true; }
-    @Override public boolean needsWindowSize() { return false; }
-    @Override public boolean needsMarkType()   { return true; }
+    @Override public boolean needsParam()       { return true; }
+    @Override public boolean needsSecondParam() { return true; }
+    @Override public boolean needsThirdParam()  { return true; }
+    @Override public boolean needsWindowSize()  { return false; }
+    @Override public boolean needsMarkType()    { return true; }
+
+    @Override public String getParamLabel()        { return "阈值："; }
+    @Override public String getSecondParamLabel()  { return "迟滞量："; }
+    @Override public String getThirdParamLabel()   { return "最短持续(秒)："; }
 
+    /** 旧接口：windowSize 为整数秒的最短持续时间，无迟滞 */
     @Override
     public ChannelData process(ChannelData src, double param, int windowSize, boolean greaterOrEqual) {
-        double[] d = src.getData();
-        ChannelData marked = new ChannelData(src.getName() + "_标记", d.clone(), src.getSampleRate());
-        boolean inSeg = false;
-        int segStart = 0;
-        for (int i = 0; i < d.length; i++) {
-            boolean cond = greaterOrEqual ? (d[i] >= param) : (d[i] <= param);
-            if (!inSeg && cond) {
-                inSeg = true;
-                segStart = i;
-            } else if (inSeg && !cond) {
+        return process(src, new OperationParams(param, 0, windowSize, 0, greaterOrEqual));
+    }
+
+    @Override
+    public ChannelData process(ChannelData src, OperationParams p) {
+        return process(src, p, ProgressMonitor.NONE);
+    }
+
+    @Override
+    public ChannelData process(ChannelData src, OperationParams p, ProgressMonitor monitor) {
+        float sr = src.getSampleRate();
+        ChannelData marked = new ChannelView(src.getName() + "_标记", src);
+        for (int[] seg : segmenter(sr, p).segment(src, monitor)) {
+            marked.addHighlightTimeRange(seg[0] / sr, seg[1] / sr);
+        }
+        return marked;
+    }
+
+    /** 单独执行时用并行分段，结果共享源样本，不复制数据 */
+    @Override
+    public boolean prefersOfflineWhenAlone() {
+        return true;
+    }
+
+    @Override
+    public StreamStage newStage(float sampleRate, OperationParams p) {
+        return new ThresholdStage(segmenter(sampleRate, p), sampleRate);
+    }
+
+    private static ThresholdSegmenter segmenter(float sampleRate, OperationParams p) {
+        int minSamples = (int) Math.round(Math.max(0, p.getParam3()) * sampleRate);
+        return new ThresholdSegmenter(p.getParam(), p.getParam2(), p.isGreaterOrEqual(), minSamples);
+    }
+
+    /** 流式阈值标记：样本原样输出，跨块保持“区段是否打开”的状态 */
+    private static final class ThresholdStage implements MarkingStage {
+        private final ThresholdSegmenter segmenter;
+        private final float sampleRate;
+        private final List<int[]> segments = new ArrayList<>();
+        private int attached;                // 已附加到目标通道的区段数
+        private boolean inSeg;
+        private int segStart;
+        private int index;
+
+        ThresholdStage(ThresholdSegmenter segmenter, float sampleRate) {
+            this.segmenter = segmenter;
+            this.sampleRate = sampleRate;
+        }
+
+        @Override
+        public int process(double[] in, int inOff, int len, double[] out, int outOff) {
+            System.arraycopy(in, inOff, out, outOff, len);
+            for (int k = 0; k < len; k++, index++) {
+                double v = in[inOff + k];
+                if (!inSeg && segmenter.opens(v)) {
+                    inSeg = true;
+                    segStart = index;
+                } else if (inSeg && segmenter.closes(v)) {
+                    inSeg = false;
+                    close(index - 1);
+                }
+            }
+            return len;
+        }
+
+        @Override
+        public int flush(double[] out, int outOff) {
+            if (inSeg) {
                 inSeg = false;
-                marked.addHighlightRange(segStart, i - 1);
+                close(index - 1);
+            }
+            return 0;
+        }
+
+        private void close(int end) {
+            if (segmenter.longEnough(segStart, end)) {
+                segments.add(new int[]{segStart, end});
             }
         }
-        if (inSeg) {
-            marked.addHighlightRange(segStart, d.length - 1);
+
+        @Override
+        public void attachHighlights(ChannelData target) {
+            for (; attached < segments.size(); attached++) {
+                int[] seg = segments.get(attached);
+                target.addHighlightTimeRange(seg[0] / sampleRate, seg[1] / sampleRate);
+            }
         }
-        return marked;
     }
 }
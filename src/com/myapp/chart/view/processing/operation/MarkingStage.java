@@ -0,0 +1,13 @@
+package com.myapp.chart.view.processing.operation;
+
+import com.myapp.chart.model.ChannelData;
+
+/**
+ * 产生高亮区段的处理级：遍历结束后把区段写到结果通道上。
+ * 实时数据可在每块之后调用，逐步附加已闭合的区段。
+ */
+public interface MarkingStage extends StreamStage {
+
+    /** 将上次调用以来新闭合的区段添加到 target 的高亮列表 */
+    void attachHighlights(ChannelData target);
+}
@@ -2,7 +2,7 @@ package com.myapp.chart.view.processing.operation;
 
 import com.myapp.chart.model.ChannelData;
 
-public class MovingAvgOperation implements ProcessingOperation {
+public class MovingAvgOperation implements RangeOperation, StreamableOperation {
     @Override public String getName() { return "滑动平均滤波"; }
     @Override public boolean needsParam()      { return false; }
     @Override public boolean needsWindowSize() { return true; }
@@ -10,16 +10,131 @@ public class MovingAvgOperation implements ProcessingOperation {
 
     @Override
     public ChannelData process(ChannelData src, double param, int windowSize, boolean greaterOrEqual) {
-        double[] d = src.getData();
-        double[] out = new double[d.length];
-        int half = windowSize / 2;
-        for (int i = 0; i < d.length; i++) {
+        double[] out = new double[src.length()];
+        computeRange(src, new OperationParams(param, windowSize, greaterOrEqual), 0, out, 0, out.length);
+        return new ChannelData(src.getName() + "_滑动平均滤波", out, src.getSampleRate());
+    }
+
+    /**
+     * 居中滑动平均，边缘处窗口自动收缩；窗口内含 NaN 时结果为 NaN。
+     * 用滑动和代替逐窗口重算，复杂度与窗口大小无关。
+     */
+    @Override
+    public void computeRange(ChannelData src, OperationParams p, int from, double[] dst, int dstOff, int len) {
+        if (len <= 0) return;
+        int n    = src.length();
+        int half = Math.max(0, p.getWindowSize() / 2);
+        int lo   = Math.max(0, from - half);
+        int hi   = Math.min(n - 1, from + len - 1 + half);
+        double[] buf = new double[hi - lo + 1];
+        src.read(lo, buf, 0, buf.length);
+
+        double sum = 0;
+        int nanCount = 0;
+        int winStart = Math.max(0, from - half);
+        int winEnd   = winStart - 1;            // 当前窗口 [winStart, winEnd]
+        for (int i = from; i < from + len; i++) {
             int start = Math.max(0, i - half);
-            int end   = Math.min(d.length - 1, i + half);
-            double sum = 0;
-            for (int j = start; j <= end; j++) sum += d[j];
-            out[i] = sum / (end - start + 1);
+            int end   = Math.min(n - 1, i + half);
+            while (winEnd < end) {
+                double v = buf[++winEnd - lo];
+                if (Double.isNaN(v)) nanCount++; else sum += v;
+            }
+            while (winStart < start) {
+                double v = buf[winStart++ - lo];
+                if (Double.isNaN(v)) nanCount--; else sum -= v;
+            }
+            dst[dstOff + i - from] = nanCount > 0 ? Double.NaN : sum / (end - start + 1);
+        }
+    }
+
+    @Override
+    public StreamStage newStage(float sampleRate, OperationParams p) {
+        return new CenteredAverageStage(Math.max(0, p.getWindowSize() / 2));
+    }
+
+    /**
+     * 流式居中滑动平均：环形缓冲保存最近 2·half+1 个输入，输出延迟 half 个样本；
+     * 边缘窗口收缩、NaN 语义与 {@link #computeRange} 一致。
+     */
+    private static final class CenteredAverageStage implements StreamStage {
+        private static final int RESYNC_INTERVAL = 4096;   // 定期重算窗口和，抑制累积误差
+
+        private final int half;
+        private final double[] ring;
+        private long received;    // 已接收样本数
+        private long emitted;     // 已输出样本数
+        private double sum;       // 当前窗口内非 NaN 样本之和
+        private int nanCount;     // 当前窗口内 NaN 个数
+        private long winStart;    // 当前窗口起点（绝对索引）
+
+        CenteredAverageStage(int half) {
+            this.half = half;
+            this.ring = new double[2 * half + 1];
+        }
+
+        @Override
+        public int delay() {
+            return half;
+        }
+
+        @Override
+        public int process(double[] in, int inOff, int len, double[] out, int outOff) {
+            int produced = 0;
+            for (int k = 0; k < len; k++) {
+                double v = in[inOff + k];
+                // 窗口已满时先移出最旧样本，再放入新样本
+                if (received - winStart == ring.length) {
+                    remove(ring[(int) (winStart % ring.length)]);
+                    winStart++;
+                }
+                ring[(int) (received % ring.length)] = v;
+                if (Double.isNaN(v)) nanCount++; else sum += v;
+                received++;
+
+                // 输出 emitted 所需的样本已全部到达
+                if (received - 1 >= emitted + half) {
+                    if (emitted % RESYNC_INTERVAL == 0) {
+                        resync();
+                    }
+                    out[outOff + produced++] = average(emitted - half, received - 1);
+                    emitted++;
+                }
+            }
+            return produced;
+        }
+
+        @Override
+        public int flush(double[] out, int outOff) {
+            int produced = 0;
+            while (emitted < received) {
+                long start = Math.max(0, emitted - half);
+                while (winStart < start) {
+                    remove(ring[(int) (winStart % ring.length)]);
+                    winStart++;
+                }
+                out[outOff + produced++] = average(start, received - 1);
+                emitted++;
+            }
+            return produced;
+        }
+
+        private void remove(double v) {
+            if (Double.isNaN(v)) nanCount--; else sum -= v;
+        }
+
+        private double average(long start, long end) {
+            long s = Math.max(0, start);
+            return nanCount > 0 ? Double.NaN : sum / (end - s + 1);
+        }
+
+        private void resync() {
+            sum = 0;
+            nanCount = 0;
+            for (long j = winStart; j < received; j++) {
+                double v = ring[(int) (j % ring.length)];
+                if (Double.isNaN(v)) nanCount++; else sum += v;
+            }
         }
-        return new ChannelData(src.getName() + "_滑动平均滤波", out, src.getSampleRate());
     }
 }
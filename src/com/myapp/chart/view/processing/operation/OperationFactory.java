@@ -13,6 +13,11 @@ public class OperationFactory {
         register(new AmplifyOperation());
         register(new MovingAvgOperation());
         register(new MarkOperation());
+        register(new ResampleOperation());
+        register(new QrsOperation());
+        for (FilterOperation.Type type : FilterOperation.Type.values()) {
+            register(new FilterOperation(type));
+        }
     }
 
     private static void register(ProcessingOperation op) {
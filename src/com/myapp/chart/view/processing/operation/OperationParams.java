@@ -0,0 +1,54 @@
+package com.myapp.chart.view.processing.operation;
+
+import java.util.Objects;
+
+/**
+ * 一次运算的参数组合（不可变），用于保存派生通道的“配方”。
+ */
+public final class OperationParams {
+
+    private final double  param;
+    private final double  param2;
+    private final double  param3;
+    private final int     windowSize;
+    private final boolean greaterOrEqual;
+
+    public OperationParams(double param, int windowSize, boolean greaterOrEqual) {
+        this(param, 0, windowSize, greaterOrEqual);
+    }
+
+    public OperationParams(double param, double param2, int windowSize, boolean greaterOrEqual) {
+        this(param, param2, 0, windowSize, greaterOrEqual);
+    }
+
+    public OperationParams(double param, double param2, double param3, int windowSize, boolean greaterOrEqual) {
+        this.param          = param;
+        this.param2         = param2;
+        this.param3         = param3;
+        this.windowSize     = windowSize;
+        this.greaterOrEqual = greaterOrEqual;
+    }
+
+    public double  getParam()          { return param; }
+    public double  getParam2()         { return param2; }
+    public double  getParam3()         { return param3; }
+    public int     getWindowSize()     { return windowSize; }
+    public boolean isGreaterOrEqual()  { return greaterOrEqual; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof OperationParams)) return false;
+        OperationParams p = (OperationParams) o;
+        return Double.compare(param, p.param) == 0
+                && Double.compare(param2, p.param2) == 0
+                && Double.compare(param3, p.param3) == 0
+                && windowSize == p.windowSize
+                && greaterOrEqual == p.greaterOrEqual;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(param, param2, param3, windowSize, greaterOrEqual);
+    }
+}
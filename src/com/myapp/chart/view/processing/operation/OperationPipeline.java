@@ -0,0 +1,210 @@
+package com.myapp.chart.view.processing.operation;
+
+import com.myapp.chart.model.ChannelData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * 运算流水线：把多个运算串成一条链，连续的可流式运算融合为一次遍历。
+ * <p>
+ * 融合段内每级只保留一块临时缓冲与自身的有限状态，
+ * 只有最终结果分配完整数组；不可流式的运算在其位置处物化一次中间结果。
+ *
+ * <pre>
+ * ChannelData r = new OperationPipeline(src)
+ *         .then(diff, params)
+ *         .then(movingAvg, params)
+ *         .then(mark, params)
+ *         .run();
+ * </pre>
+ */
+public class OperationPipeline {
+
+    // 常量配置
+    private static final int BLOCK_SIZE = 8192;   // 每次送入流水线的样本数
+
+    private final ChannelData source;
+    private final List<Step> steps = new ArrayList<>();
+
+    public OperationPipeline(ChannelData source) {
+        this.source = source;
+    }
+
+    /** 追加一级运算 */
+    public OperationPipeline then(ProcessingOperation op, OperationParams params) {
+        steps.add(new Step(op, params));
+        return this;
+    }
+
+    /** 当前级数 */
+    public int size() {
+        return steps.size();
+    }
+
+    /** 结果通道名：源名 + 各级运算名 */
+    public String resultName() {
+        StringBuilder sb = new StringBuilder(source.getName());
+        for (Step s : steps) {
+            sb.append('_').append(s.op.getName());
+        }
+        return sb.toString();
+    }
+
+    /** 执行整条流水线，返回最终结果 */
+    public ChannelData run() {
+        return run(ProgressMonitor.NONE);
+    }
+
+    /**
+     * 执行整条流水线，按块回报进度并检查取消。
+     * 相同源（同一版本）与相同配方的结果由 {@link ResultCache} 记住，重复执行直接返回。
+     * 无论是否命中，返回的都是共享缓存结果样本的视图，调用方可以自由标注而不影响缓存。
+     *
+     * @throws CancellationException monitor 已请求取消
+     */
+    public ChannelData run(ProgressMonitor monitor) {
+        if (steps.isEmpty()) {
+            return compute(monitor);
+        }
+        ResultCache cache = ResultCache.shared();
+        List<Object> recipe = recipe();
+        ChannelData cached = cache.get(source, recipe);
+        if (cached != null) {
+            monitor.setProgress(1);
+            return cached;
+        }
+        int version = source.getVersion();
+        return cache.put(source, version, recipe, compute(monitor));
+    }
+
+    /** 运算配方：各级运算的类型、名称与参数 */
+    private List<Object> recipe() {
+        List<Object> recipe = new ArrayList<>(steps.size() * 2);
+        for (Step s : steps) {
+            recipe.add(s.op.getClass().getName() + '/' + s.op.getName());
+            recipe.add(s.params);
+        }
+        return recipe;
+    }
+
+    private ChannelData compute(ProgressMonitor monitor) {
+        ChannelData current = source;
+        int total = Math.max(1, steps.size());
+        int i = 0;
+        while (i < steps.size()) {
+            checkCancelled(monitor);
+            Step step = steps.get(i);
+            boolean alone = i + 1 >= steps.size() || !isFusable(steps.get(i + 1).op);
+            if (!isFusable(step.op)
+                    || (alone && ((StreamableOperation) step.op).prefersOfflineWhenAlone())) {
+                current = step.op.process(current, step.params, monitor.range(i / (double) total, 1.0 / total));
+                i++;
+                monitor.setProgress(i / (double) total);
+                continue;
+            }
+            // 收集连续的可流式运算，融合为一次遍历
+            int j = i;
+            while (j < steps.size() && isFusable(steps.get(j).op)) {
+                j++;
+            }
+            current = runFused(current, steps.subList(i, j), monitor,
+                    i / (double) total, (j - i) / (double) total);
+            i = j;
+        }
+        String name = resultName();
+        if (current != source && name.equals(current.getName())) {
+            return current;   // 运算结果已按源名 + 运算名命名（单级流水线），原样返回
+        }
+        ChannelData result = current.share(name);
+        for (double[] r : current.getHighlightTimeRanges()) {
+            result.addHighlightTimeRange(r[0], r[1]);
+        }
+        return result;
+    }
+
+    /** 单次遍历执行一段可流式运算；进度映射到 [base, base+span] */
+    private ChannelData runFused(ChannelData src, List<Step> fused,
+                                 ProgressMonitor monitor, double base, double span) {
+        int n = src.length();
+        float sr = src.getSampleRate();
+
+        StreamStage[] stages = new StreamStage[fused.size()];
+        int totalDelay = 0;
+        for (int k = 0; k < stages.length; k++) {
+            Step s = fused.get(k);
+            stages[k] = ((StreamableOperation) s.op).newStage(sr, s.params);
+            totalDelay += stages[k].delay();
+        }
+
+        // 每级一块有界缓冲：容量需容纳一次 flush 连同上游延迟的输出
+        int cap = BLOCK_SIZE + totalDelay;
+        double[][] bufs = new double[stages.length][cap];
+        double[] input = new double[BLOCK_SIZE];
+        double[] result = new double[n];
+        int[] written = {0};
+
+        for (int pos = 0; pos < n; pos += BLOCK_SIZE) {
+            int len = Math.min(BLOCK_SIZE, n - pos);
+            src.read(pos, input, 0, len);
+            push(stages, bufs, 0, input, len, result, written);
+            checkCancelled(monitor);
+            monitor.setProgress(base + span * (pos + len) / n);
+        }
+        for (int k = 0; k < stages.length; k++) {
+            int produced = stages[k].flush(bufs[k], 0);
+            if (k == stages.length - 1) {
+                System.arraycopy(bufs[k], 0, result, written[0], produced);
+                written[0] += produced;
+            } else if (produced > 0) {
+                push(stages, bufs, k + 1, bufs[k], produced, result, written);
+            }
+        }
+
+        ChannelData out = new ChannelData(src.getName(), result, sr);
+        for (StreamStage stage : stages) {
+            if (stage instanceof MarkingStage) {
+                ((MarkingStage) stage).attachHighlights(out);
+            }
+        }
+        return out;
+    }
+
+    /** 能否参与融合：可流式，且流式结果与离线结果一致 */
+    private static boolean isFusable(ProcessingOperation op) {
+        return op instanceof StreamableOperation && ((StreamableOperation) op).sameAsOffline();
+    }
+
+    private static void checkCancelled(ProgressMonitor monitor) {
+        if (monitor.isCancelled()) {
+            throw new CancellationException();
+        }
+    }
+
+    /** 将一块数据从第 first 级推到末级，末级输出追加到 result */
+    private static void push(StreamStage[] stages, double[][] bufs, int first,
+                             double[] in, int len, double[] result, int[] written) {
+        double[] cur = in;
+        int curLen = len;
+        for (int k = first; k < stages.length && curLen > 0; k++) {
+            curLen = stages[k].process(cur, 0, curLen, bufs[k], 0);
+            cur = bufs[k];
+        }
+        if (curLen > 0) {
+            System.arraycopy(cur, 0, result, written[0], curLen);
+            written[0] += curLen;
+        }
+    }
+
+    /** 流水线中的一级：运算 + 参数 */
+    private static final class Step {
+        final ProcessingOperation op;
+        final OperationParams params;
+
+        Step(ProcessingOperation op, OperationParams params) {
+            this.op = op;
+            this.params = params;
+        }
+    }
+}
@@ -6,6 +6,21 @@ public interface ProcessingOperation {
     /** 执行运算，返回新的 ChannelData（可能带高亮） */
     ChannelData process(ChannelData src, double param, int windowSize, boolean greaterOrEqual);
 
+    /** 以参数对象执行运算；需要第二个参数的运算应覆盖此方法 */
+    default ChannelData process(ChannelData src, OperationParams p) {
+        return process(src, p.getParam(), p.getWindowSize(), p.isGreaterOrEqual());
+    }
+
+    /**
+     * 以参数对象执行运算，在块边界回报进度并检查取消。
+     * 耗时的运算（重采样、R 波检测、零相位滤波等）应覆盖此方法；缺省直接执行，不回报进度。
+     *
+     * @throws java.util.concurrent.CancellationException monitor 已请求取消
+     */
+    default ChannelData process(ChannelData src, OperationParams p, ProgressMonitor monitor) {
+        return process(src, p);
+    }
+
     /** 用于 UI 下拉列表显示 */
     String getName();
 
@@ -17,4 +32,20 @@ public interface ProcessingOperation {
 
     /** 是否需要标记类型选择（>=/<=） */
     boolean needsMarkType();
+
+    /** 是否需要第二个数字参数（如带通上限频率） */
+    default boolean needsSecondParam() { return false; }
+
+    /** 是否需要第三个数字参数（如以秒计的最短持续时间） */
+    default boolean needsThirdParam() { return false; }
+
+    /** 参数输入框标签与缺省值，供 ParamPanel 使用 */
+    default String getParamLabel()          { return "参数："; }
+    default String getSecondParamLabel()    { return "参数2："; }
+    default String getThirdParamLabel()     { return "参数3："; }
+    default String getWindowSizeLabel()     { return "窗口大小："; }
+    default double getDefaultParam()        { return 1.0; }
+    default double getDefaultSecondParam()  { return 0; }
+    default double getDefaultThirdParam()   { return 0; }
+    default int    getDefaultWindowSize()   { return 3; }
 }
@@ -0,0 +1,38 @@
+package com.myapp.chart.view.processing.operation;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * 长时间运算的进度回报与取消检查。运算在块边界调用，
+ * 发现已取消时抛出 {@link java.util.concurrent.CancellationException}。
+ */
+public interface ProgressMonitor {
+
+    /** 不关心进度、也不会取消的空实现 */
+    ProgressMonitor NONE = new ProgressMonitor() {
+        @Override public void setProgress(double fraction) {}
+        @Override public boolean isCancelled() { return false; }
+    };
+
+    /** 报告进度，取值 0 ~ 1 */
+    void setProgress(double fraction);
+
+    /** 是否已请求取消 */
+    boolean isCancelled();
+
+    /** 已请求取消时抛出 {@link CancellationException}，供运算在块边界调用 */
+    default void checkCancelled() {
+        if (isCancelled()) {
+            throw new CancellationException();
+        }
+    }
+
+    /** 子任务的监视器：其进度 0 ~ 1 映射到本任务的 [base, base+span]，取消状态与本任务相同 */
+    default ProgressMonitor range(double base, double span) {
+        ProgressMonitor parent = this;
+        return new ProgressMonitor() {
+            @Override public void setProgress(double fraction) { parent.setProgress(base + span * fraction); }
+            @Override public boolean isCancelled() { return parent.isCancelled(); }
+        };
+    }
+}
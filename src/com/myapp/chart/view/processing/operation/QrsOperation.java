@@ -0,0 +1,82 @@
+package com.myapp.chart.view.processing.operation;
+
+import com.myapp.chart.dsp.QrsDetector;
+import com.myapp.chart.model.ChannelData;
+
+/**
+ * R 波检测（Pan-Tompkins，见 {@link QrsDetector}）：结果为逐样本的瞬时心率通道
+ * （次/分，保持到下一次心搏），各 R 峰以零宽高亮区段记录，可经高亮索引按时间查找。
+ * 流式执行，也可用于监护仪的实时派生通道。输入结束时（flush）确认最后一个待定的峰，
+ * 它只出现在高亮中：其心率对应的样本已经输出。
+ */
+public class QrsOperation implements StreamableOperation {
+
+    // 常量配置
+    private static final int BLOCK = 1 << 16;   // 离线处理时每次读取的样本数
+
+    @Override public String getName() { return "R波检测"; }
+    @Override public boolean needsParam()      { return false; }
+    @Override public boolean needsWindowSize() { return false; }
+    @Override public boolean needsMarkType()   { return false; }
+
+    @Override
+    public ChannelData process(ChannelData src, double param, int windowSize, boolean greaterOrEqual) {
+        return process(src, new OperationParams(param, windowSize, greaterOrEqual), ProgressMonitor.NONE);
+    }
+
+    @Override
+    public ChannelData process(ChannelData src, OperationParams p, ProgressMonitor monitor) {
+        int n = src.length();
+        double[] out = new double[n];
+        QrsStage stage = new QrsStage(src.getSampleRate());
+        for (int pos = 0; pos < n; pos += BLOCK) {
+            monitor.checkCancelled();
+            int len = Math.min(BLOCK, n - pos);
+            src.read(pos, out, pos, len);
+            stage.process(out, pos, len, out, pos);
+            monitor.setProgress((pos + len) / (double) n);
+        }
+        stage.flush(out, n);
+        ChannelData hr = new ChannelData(src.getName() + "_心率", out, src.getSampleRate());
+        stage.attachHighlights(hr);
+        return hr;
+    }
+
+    @Override
+    public StreamStage newStage(float sampleRate, OperationParams p) {
+        return new QrsStage(sampleRate);
+    }
+
+    /** 输出瞬时心率，确认的 R 峰逐步附加为高亮 */
+    private static final class QrsStage implements MarkingStage {
+        private final QrsDetector detector;
+        private final float sampleRate;
+        private int attached;                // 已附加到目标通道的心搏数
+
+        QrsStage(float sampleRate) {
+            this.detector = new QrsDetector(sampleRate);
+            this.sampleRate = sampleRate;
+        }
+
+        @Override
+        public int process(double[] in, int inOff, int len, double[] out, int outOff) {
+            detector.process(in, inOff, len, out, outOff);
+            return len;
+        }
+
+        /** 无延迟样本；只确认最后一个待定的峰 */
+        @Override
+        public int flush(double[] out, int outOff) {
+            detector.flush();
+            return 0;
+        }
+
+        @Override
+        public void attachHighlights(ChannelData target) {
+            for (; attached < detector.beatCount(); attached++) {
+                double t = detector.beat(attached) / sampleRate;
+                target.addHighlightTimeRange(t, t);
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.myapp.chart.view.processing.operation;
+
+import com.myapp.chart.model.ChannelData;
+
+/**
+ * 可按区间计算的运算：输出的任一区间只依赖源数据的局部区间，
+ * 因而可以生成按需计算的派生通道（见 {@link DerivedChannelData}）。
+ */
+public interface RangeOperation extends ProcessingOperation {
+
+    /** 计算结果的 [from, from+len) 区间，写入 dst[dstOff…] */
+    void computeRange(ChannelData src, OperationParams p, int from, double[] dst, int dstOff, int len);
+}
@@ -0,0 +1,66 @@
+package com.myapp.chart.view.processing.operation;
+
+import com.myapp.chart.dsp.PolyphaseResampler;
+import com.myapp.chart.model.ChannelData;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * 重采样：多相 FIR 抗混叠，支持任意有理倍率（见 {@link PolyphaseResampler}）。
+ * 输出按块并行计算，每块只读取所需的一段输入，源通道无需整体载入内存；
+ * 结果通道带新的采样率，降采样时内存按倍率缩小。
+ * <p>
+ * 采样率改变后块长度不再一一对应，因此不参与流水线融合，按离线方式执行。
+ */
+public class ResampleOperation implements ProcessingOperation {
+
+    // 常量配置
+    private static final int    OUTPUT_CHUNK   = 1 << 15;   // 每个并行块的输出样本数
+    private static final double DEFAULT_RATE   = 100;
+    private static final String ERR_TOO_LONG   = "重采样结果过长（%d 个样本）";
+
+    @Override public String getName() { return "重采样"; }
+    @Override public boolean needsParam()      { return true; }
+    @Override public boolean needsWindowSize() { return false; }
+    @Override public boolean needsMarkType()   { return false; }
+
+    @Override public String getParamLabel()    { return "目标采样率(Hz)："; }
+    @Override public double getDefaultParam()  { return DEFAULT_RATE; }
+
+    @Override
+    public ChannelData process(ChannelData src, double param, int windowSize, boolean greaterOrEqual) {
+        return process(src, new OperationParams(param, windowSize, greaterOrEqual), ProgressMonitor.NONE);
+    }
+
+    /** 每个并行块开始前检查取消，完成后回报进度 */
+    @Override
+    public ChannelData process(ChannelData src, OperationParams p, ProgressMonitor monitor) {
+        float fs = src.getSampleRate();
+        PolyphaseResampler rs = PolyphaseResampler.forRates(fs, p.getParam());
+        int n = src.length();
+        long total = rs.outputLength(n);
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(String.format(ERR_TOO_LONG, total));
+        }
+        double[] out = new double[(int) total];
+
+        int chunks = (int) ((total + OUTPUT_CHUNK - 1) / OUTPUT_CHUNK);
+        AtomicInteger done = new AtomicInteger();
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            monitor.checkCancelled();
+            int m0 = c * OUTPUT_CHUNK;
+            int count = Math.min(OUTPUT_CHUNK, out.length - m0);
+            long from = Math.max(0, rs.firstInput(m0));
+            long to = Math.min(n - 1L, rs.lastInput(m0 + count - 1L));
+            int len = (int) Math.max(0, to - from + 1);
+            double[] in = new double[len];
+            src.read((int) from, in, 0, len);
+            rs.resample(in, from, len, m0, out, m0, count);
+            monitor.setProgress(done.incrementAndGet() / (double) chunks);
+        });
+
+        float outRate = (float) ((double) fs * rs.up() / rs.down());
+        return new ChannelData(src.getName() + "_" + getName(), out, outRate);
+    }
+}
@@ -0,0 +1,241 @@
+package com.myapp.chart.view.processing.operation;
+
+import com.myapp.chart.model.ChannelData;
+import com.myapp.chart.model.ChannelView;
+import com.myapp.chart.model.SampleBuffer;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * 运算结果缓存：以（源通道身份、源通道版本、运算配方）为键记住流水线结果，
+ * 相同源与参数的重复运算直接返回共享样本的视图通道，不再重新计算。
+ * <p>
+ * 源通道以弱引用持有，不会因缓存而无法回收；结果以软引用持有，
+ * 内存紧张时由 GC 清除。另有字节预算，超出时按最近最少使用淘汰；多个结果写时复制地共享同一存储时
+ * 该存储只计一次，与源通道共享的存储不计。
+ * 源通道样本被原地修改（{@link ChannelData#markModified()}）后版本变化，旧结果自然失效。
+ */
+public final class ResultCache {
+
+    // 常量配置
+    private static final long MAX_BUDGET       = 512L << 20;   // 字节预算上限
+    private static final int  BUDGET_HEAP_DIV  = 4;            // 预算不超过最大堆的 1/4
+    private static final long RANGE_BYTES      = 16;           // 每个高亮区段的估计字节数
+
+    private static final ResultCache SHARED =
+            new ResultCache(Math.min(MAX_BUDGET, Runtime.getRuntime().maxMemory() / BUDGET_HEAP_DIV));
+
+    private final long budget;
+    private final LinkedHashMap<Key, Entry> map = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReferenceQueue<ChannelData> cleared = new ReferenceQueue<>();
+    private final Map<SampleBuffer, Share> shares = new WeakHashMap<>();   // 存储 → 引用它的缓存项
+    private long bytes;
+    private long hits;
+    private long misses;
+
+    ResultCache(long budget) {
+        this.budget = budget;
+    }
+
+    /** 全局共享实例 */
+    public static ResultCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * 查找缓存结果。命中时返回共享结果样本的新视图通道（高亮一并复制），未命中返回 null。
+     *
+     * @param recipe 运算配方：各级运算标识与参数，需实现 equals/hashCode
+     */
+    synchronized ChannelData get(ChannelData source, List<Object> recipe) {
+        purge();
+        Entry e = map.get(new Key(source, source.getVersion(), recipe));
+        ChannelData result = e == null ? null : e.get();
+        if (result == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return viewOf(result);
+    }
+
+    /**
+     * 保存结果，返回交给调用方的通道：已缓存时为共享样本的新视图，
+     * 调用方之后对它的标注或写入不会影响缓存中的结果；超出预算未缓存时为结果本身。
+     *
+     * @param version 计算开始前读取的源通道版本；计算期间源被修改时，该结果不会再被命中
+     */
+    synchronized ChannelData put(ChannelData source, int version, List<Object> recipe, ChannelData result) {
+        purge();
+        SampleBuffer storage = result.getStorage();
+        boolean ownStorage = !(result instanceof ChannelView) && storage != source.getStorage();
+        long own = result.getHighlightTimeRanges().size() * RANGE_BYTES;
+        long samples = (long) result.length() * Double.BYTES;
+        if (ownStorage && storage == null) {
+            own += samples;                    // 按需计算的通道没有可共享的存储，按长度估计
+        }
+        if (own + (ownStorage ? samples : 0) > budget) {
+            return result;
+        }
+        Share share = null;
+        if (ownStorage && storage != null) {
+            share = shares.get(storage);
+            if (share == null) {
+                share = new Share((long) storage.capacity() * Double.BYTES);
+                shares.put(storage, share);
+                bytes += share.bytes;
+            }
+            share.users++;
+        }
+        Key key = new Key(source, version, recipe);
+        Entry old = map.put(key, new Entry(key, result, own, share, cleared));
+        if (old != null) {
+            release(old);
+        }
+        bytes += own;
+        Iterator<Entry> it = map.values().iterator();
+        while (bytes > budget && it.hasNext()) {
+            Entry e = it.next();
+            it.remove();
+            release(e);
+        }
+        return map.containsKey(key) ? viewOf(result) : result;
+    }
+
+    /** 共享结果样本的新视图通道（高亮一并复制） */
+    private static ChannelData viewOf(ChannelData result) {
+        ChannelData view = new ChannelView(result.getName(), result);
+        for (double[] r : result.getHighlightTimeRanges()) {
+            view.addHighlightTimeRange(r[0], r[1]);
+        }
+        return view;
+    }
+
+    /** 缓存项移出后归还其占用：自身字节，以及最后一个使用者离开时的共享存储 */
+    private void release(Entry e) {
+        bytes -= e.bytes;
+        Share share = e.share;
+        if (share != null && --share.users == 0) {
+            bytes -= share.bytes;
+            shares.values().remove(share);
+        }
+    }
+
+    /** 移除以该通道为源的所有结果（如通道被关闭） */
+    public synchronized void invalidate(ChannelData source) {
+        Iterator<Entry> it = map.values().iterator();
+        while (it.hasNext()) {
+            Entry e = it.next();
+            ChannelData s = e.key.source.get();
+            if (s == null || s == source) {
+                it.remove();
+                release(e);
+            }
+        }
+    }
+
+    /** 清空缓存（统计保留） */
+    public synchronized void clear() {
+        map.clear();
+        shares.clear();
+        bytes = 0;
+    }
+
+    public synchronized long getHits()   { return hits; }
+    public synchronized long getMisses() { return misses; }
+
+    /** 命中率 0 ~ 1；尚无查询时为 0 */
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : hits / (double) total;
+    }
+
+    /** 缓存中结果占用的估计字节数 */
+    public synchronized long getBytes() {
+        purge();
+        return bytes;
+    }
+
+    public long getBudget() {
+        return budget;
+    }
+
+    public synchronized int size() {
+        purge();
+        return map.size();
+    }
+
+    /** 移除已被 GC 清除的结果 */
+    private void purge() {
+        Reference<? extends ChannelData> ref;
+        while ((ref = cleared.poll()) != null) {
+            Entry e = (Entry) ref;
+            if (map.get(e.key) == e) {
+                map.remove(e.key);
+                release(e);
+            }
+        }
+    }
+
+    /** 一份被缓存结果引用的存储：字节数与引用它的缓存项数 */
+    private static final class Share {
+        final long bytes;
+        int users;
+
+        Share(long bytes) {
+            this.bytes = bytes;
+        }
+    }
+
+    /** 缓存键：源通道按身份比较 */
+    private static final class Key {
+        final WeakReference<ChannelData> source;
+        final int version;
+        final List<Object> recipe;
+        final int hash;
+
+        Key(ChannelData source, int version, List<Object> recipe) {
+            this.source = new WeakReference<>(source);
+            this.version = version;
+            this.recipe = recipe;
+            this.hash = (System.identityHashCode(source) * 31 + version) * 31 + recipe.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            ChannelData s = source.get();
+            return s != null && s == k.source.get()
+                    && version == k.version && recipe.equals(k.recipe);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /** 缓存项：软引用结果；bytes 为自身占用（不含共享存储） */
+    private static final class Entry extends SoftReference<ChannelData> {
+        final Key key;
+        final long bytes;
+        final Share share;
+
+        Entry(Key key, ChannelData result, long bytes, Share share, ReferenceQueue<ChannelData> queue) {
+            super(result, queue);
+            this.key = key;
+            this.bytes = bytes;
+            this.share = share;
+        }
+    }
+}
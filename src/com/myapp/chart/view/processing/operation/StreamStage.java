@@ -0,0 +1,32 @@
+package com.myapp.chart.view.processing.operation;
+
+/**
+ * 流式处理级：逐块接收样本，内部保留有限状态（上一个样本、滑动窗口等）。
+ * <p>
+ * 各级输出与输入按样本一一对齐；有前瞻需求的级（如居中滑动平均）
+ * 会延迟输出，最后由 {@link #flush} 补齐；分块计算的级（如 FFT 卷积）
+ * 可能攒够一块才一次产出。
+ */
+public interface StreamStage {
+
+    /**
+     * 处理一块输入，结果写入 out[outOff…]。
+     *
+     * @return 本次产出的样本数（不超过 len + {@link #delay()}，累计产出不超过累计输入）
+     */
+    int process(double[] in, int inOff, int len, double[] out, int outOff);
+
+    /**
+     * 输入结束：输出被延迟的剩余样本。
+     *
+     * @return 产出的样本数（不超过 {@link #delay()}）
+     */
+    default int flush(double[] out, int outOff) {
+        return 0;
+    }
+
+    /** 输出相对输入的最大延迟（样本数） */
+    default int delay() {
+        return 0;
+    }
+}
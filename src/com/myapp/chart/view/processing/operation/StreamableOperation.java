@@ -0,0 +1,36 @@
+package com.myapp.chart.view.processing.operation;
+
+/**
+ * 可流式执行的运算：能以有限状态逐块处理，
+ * 因而可以与其他运算融合为一次遍历（见 {@link OperationPipeline}）。
+ */
+public interface StreamableOperation extends ProcessingOperation {
+
+    /** 为一次遍历创建新的处理级（每级状态独立，不可复用于多条流） */
+    StreamStage newStage(float sampleRate, OperationParams p);
+
+    /**
+     * 为实时数据创建处理级：每次只送入少量样本，优先减小 {@link StreamStage#delay()}，
+     * 可牺牲吞吐（如 FIR 不用分块 FFT 卷积）。默认与 {@link #newStage} 相同。
+     */
+    default StreamStage newLowLatencyStage(float sampleRate, OperationParams p) {
+        return newStage(sampleRate, p);
+    }
+
+    /**
+     * 流式结果是否与离线 {@link #process} 结果一致。
+     * 不一致的运算（如零相位滤波）在流水线中按离线方式物化执行。
+     */
+    default boolean sameAsOffline() {
+        return true;
+    }
+
+    /**
+     * 单独执行（前后都没有可融合的运算）时是否改用离线 {@link #process}。
+     * 离线实现明显更优的运算（并行扫描、共享源样本等）应返回 true；
+     * 否则流水线仍按块执行，以便回报进度与响应取消。
+     */
+    default boolean prefersOfflineWhenAlone() {
+        return false;
+    }
+}
@@ -0,0 +1,154 @@
+package com.myapp.chart.view.processing.operation;
+
+import com.myapp.chart.model.ChannelData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * 带迟滞的阈值分段。
+ * <p>
+ * 以“大于等于”为例：样本 ≥ 阈值时打开区段，低于 阈值 − 迟滞量（或为 NaN）时关闭，
+ * 介于两者之间保持原状态，从而避免噪声在阈值附近反复穿越产生大量一两个样本的区段。
+ * “小于等于”方向对称。
+ * <p>
+ * 并行分段：任一“决定性”样本（满足打开或关闭条件）之后的状态与进入该块时的状态无关，
+ * 因此各块可独立扫描，只把首个决定性样本之前的部分留给串行拼接。
+ */
+final class ThresholdSegmenter {
+
+    // 常量配置
+    private static final int CHUNK_SIZE   = 1 << 16;   // 并行扫描的块大小
+    private static final int PARALLEL_MIN = 1 << 18;   // 低于此长度直接串行
+
+    private final double threshold;
+    private final double hysteresis;
+    private final boolean greaterOrEqual;
+    private final int minSamples;
+
+    /**
+     * @param hysteresis 迟滞量（≥ 0）
+     * @param minSamples 最短区段长度（样本数），更短的区段被丢弃
+     */
+    ThresholdSegmenter(double threshold, double hysteresis, boolean greaterOrEqual, int minSamples) {
+        this.threshold = threshold;
+        this.hysteresis = Math.max(0, hysteresis);
+        this.greaterOrEqual = greaterOrEqual;
+        this.minSamples = Math.max(1, minSamples);
+    }
+
+    /** 是否满足打开条件 */
+    boolean opens(double v) {
+        return greaterOrEqual ? v >= threshold : v <= threshold;
+    }
+
+    /** 是否满足关闭条件（NaN 视为关闭） */
+    boolean closes(double v) {
+        return Double.isNaN(v) || (greaterOrEqual ? v < threshold - hysteresis : v > threshold + hysteresis);
+    }
+
+    /** 区段 [start, end]（含端点）是否达到最短长度 */
+    boolean longEnough(int start, int end) {
+        return end - start + 1 >= minSamples;
+    }
+
+    /** 对整个通道分段，返回 [start, end] 样本区间（含端点）；每块前检查取消，完成后回报进度 */
+    List<int[]> segment(ChannelData src, ProgressMonitor monitor) {
+        int n = src.length();
+        int chunks = n < PARALLEL_MIN ? 1 : (n + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int size = chunks == 1 ? n : CHUNK_SIZE;
+        ChunkResult[] results = new ChunkResult[chunks];
+        AtomicInteger done = new AtomicInteger();
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            monitor.checkCancelled();
+            int from = c * size;
+            int len = Math.min(size, n - from);
+            double[] buf = new double[len];
+            src.read(from, buf, 0, len);
+            results[c] = scan(buf, from);
+            monitor.setProgress(done.incrementAndGet() / (double) chunks);
+        });
+        return stitch(results, n);
+    }
+
+    /** 独立扫描一块：从首个决定性样本起，状态已确定 */
+    private ChunkResult scan(double[] buf, int base) {
+        ChunkResult r = new ChunkResult();
+        int i = 0;
+        while (i < buf.length && !opens(buf[i]) && !closes(buf[i])) {
+            i++;
+        }
+        if (i == buf.length) {
+            return r;   // 全块处于迟滞带内，状态沿用上一块
+        }
+        r.firstDecisive = base + i;
+        r.firstOpens = opens(buf[i]);
+        boolean in = r.firstOpens;
+        int start = base + i;
+        for (i++; i < buf.length; i++) {
+            double v = buf[i];
+            if (in && closes(v)) {
+                r.segments.add(new int[]{start, base + i - 1});
+                in = false;
+            } else if (!in && opens(v)) {
+                in = true;
+                start = base + i;
+            }
+        }
+        r.endsOpen = in;
+        r.openStart = start;
+        return r;
+    }
+
+    /** 串行拼接：把跨块边界的区段接上，并按最短长度过滤 */
+    private List<int[]> stitch(ChunkResult[] results, int n) {
+        List<int[]> out = new ArrayList<>();
+        boolean open = false;
+        int start = 0;
+        for (ChunkResult r : results) {
+            if (r.firstDecisive < 0) {
+                continue;
+            }
+            int first = 0;
+            int openStart = r.openStart;
+            if (open) {
+                if (!r.firstOpens) {
+                    add(out, start, r.firstDecisive - 1);
+                } else if (!r.segments.isEmpty()) {
+                    // 上一块延续过来的区段与本块首段相连
+                    add(out, start, r.segments.get(0)[1]);
+                    first = 1;
+                } else {
+                    openStart = start;
+                }
+            }
+            for (int k = first; k < r.segments.size(); k++) {
+                int[] s = r.segments.get(k);
+                add(out, s[0], s[1]);
+            }
+            open = r.endsOpen;
+            start = openStart;
+        }
+        if (open) {
+            add(out, start, n - 1);
+        }
+        return out;
+    }
+
+    private void add(List<int[]> out, int start, int end) {
+        if (longEnough(start, end)) {
+            out.add(new int[]{start, end});
+        }
+    }
+
+    /** 单块扫描结果 */
+    private static final class ChunkResult {
+        int firstDecisive = -1;             // 首个决定性样本（全局索引），-1 表示没有
+        boolean firstOpens;                 // 该样本是打开还是关闭
+        final List<int[]> segments = new ArrayList<>();   // 块内完整区段
+        boolean endsOpen;                   // 块尾是否处于打开状态
+        int openStart;                      // 块尾打开区段的起点
+    }
+}
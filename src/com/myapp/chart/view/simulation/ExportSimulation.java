@@ -7,7 +7,6 @@ import javax.swing.*;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import java.io.File;
 import java.util.List;
-import java.util.Arrays;
 
 public class ExportSimulation {
 
@@ -103,14 +102,14 @@ public class ExportSimulation {
                 endIndex = (int) written;
             }
 
-            double[] slice = Arrays.copyOfRange(
-                    source.getData(), startIndex, endIndex);
-            ChannelData exportData = new ChannelData(
-                    source.getName() + "_export",
-                    slice,
-                    source.getSampleRate());
-
-            FileWriter.exportTxt(exportData, file);
+            // 与源通道共享存储，导出期间监护仪继续写入时由源通道复制
+            ChannelData exportData = source.slice(
+                    source.getName() + "_export", startIndex, endIndex);
+            try {
+                FileWriter.exportTxt(exportData, file);
+            } finally {
+                exportData.release();
+            }
 
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(
@@ -0,0 +1,96 @@
+package com.myapp.chart.view.simulation;
+
+import com.myapp.chart.model.ChannelData;
+import com.myapp.chart.view.processing.operation.MarkingStage;
+import com.myapp.chart.view.processing.operation.OperationParams;
+import com.myapp.chart.view.processing.operation.StreamStage;
+import com.myapp.chart.view.processing.operation.StreamableOperation;
+
+import java.util.Arrays;
+
+/**
+ * 实时派生通道：监护仪每写入一批样本，就把新样本送入运算的流式处理级，
+ * 滤波器记忆、累加和、未闭合区段等状态保存在处理级内，跨批延续。
+ * <p>
+ * 输出与源样本按下标对齐；有群延迟的处理级（如 FIR）最近 {@link StreamStage#delay()}
+ * 个样本暂为 NaN。只由模拟线程调用 {@link #advance}。
+ */
+final class LiveDerivedChannel {
+
+    // 常量配置
+    private static final int BLOCK = 1024;   // 追赶积压样本时每批的最大长度
+
+    private final ChannelData source;
+    private final StreamStage stage;
+    private final ChannelData output;
+    private final double[] in = new double[BLOCK];
+    private double[] out = new double[BLOCK];
+    private long consumed;       // 已送入处理级的源样本数
+    private long produced;       // 已写入输出的样本数
+    private volatile long lastBlockNanos;
+    private volatile long maxBlockNanos;
+
+    LiveDerivedChannel(ChannelData source, StreamableOperation op, OperationParams params) {
+        this.source = source;
+        this.stage = op.newLowLatencyStage(source.getSampleRate(), params);
+        double[] data = new double[source.length()];
+        Arrays.fill(data, Double.NaN);
+        this.output = new ChannelData(source.getName() + "_" + op.getName(), data, source.getSampleRate());
+    }
+
+    /** 显示用的输出通道 */
+    ChannelData getOutput() {
+        return output;
+    }
+
+    /** 最近一批的处理耗时（纳秒） */
+    long getLastBlockNanos() {
+        return lastBlockNanos;
+    }
+
+    /** 各批中最长的处理耗时（纳秒） */
+    long getMaxBlockNanos() {
+        return maxBlockNanos;
+    }
+
+    /** 处理源通道中 [consumed, written) 的新样本 */
+    void advance(long written) {
+        if (written <= consumed) {
+            return;
+        }
+        long t0 = System.nanoTime();
+        ensureCapacity(source.length());
+        double[] dst = output.getWritableData();
+        while (consumed < written) {
+            int n = (int) Math.min(BLOCK, written - consumed);
+            source.read((int) consumed, in, 0, n);
+            if (out.length < n + stage.delay()) {
+                out = new double[n + stage.delay()];
+            }
+            int m = stage.process(in, 0, n, out, 0);
+            System.arraycopy(out, 0, dst, (int) produced, m);
+            consumed += n;
+            produced += m;
+        }
+        if (stage instanceof MarkingStage) {
+            // 高亮索引以不可变快照发布，EDT 绘制时可同时读取
+            ((MarkingStage) stage).attachHighlights(output);
+        }
+        output.markModified();
+        long dt = System.nanoTime() - t0;
+        lastBlockNanos = dt;
+        if (dt > maxBlockNanos) {
+            maxBlockNanos = dt;
+        }
+    }
+
+    /** 源通道扩容后同步扩大输出 */
+    private void ensureCapacity(int capacity) {
+        int old = output.length();
+        if (capacity > old) {
+            double[] grown = Arrays.copyOf(output.getData(), capacity);
+            Arrays.fill(grown, old, capacity, Double.NaN);
+            output.setData(grown);
+        }
+    }
+}
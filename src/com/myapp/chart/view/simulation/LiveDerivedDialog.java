@@ -0,0 +1,91 @@
+package com.myapp.chart.view.simulation;
+
+import com.myapp.chart.model.ChannelData;
+import com.myapp.chart.view.processing.MarkTypePanel;
+import com.myapp.chart.view.processing.ParamPanel;
+import com.myapp.chart.view.processing.operation.OperationFactory;
+import com.myapp.chart.view.processing.operation.OperationParams;
+import com.myapp.chart.view.processing.operation.ProcessingOperation;
+import com.myapp.chart.view.processing.operation.StreamableOperation;
+
+import javax.swing.*;
+import java.awt.Window;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 监护仪“添加派生通道”对话框：选择源通道与可流式执行的运算及参数
+ */
+final class LiveDerivedDialog {
+
+    // 常量定义
+    private static final String DIALOG_TITLE = "添加派生通道";
+    private static final String LABEL_CHANNEL = "源通道：";
+    private static final String LABEL_OPERATION = "运算：";
+    private static final String ERROR_TITLE = "参数错误";
+    private static final String MSG_BAD_NUMBER = "请输入合法的数字参数。";
+
+    private LiveDerivedDialog() {}
+
+    /**
+     * 弹出对话框
+     *
+     * @return 新建的派生通道；取消或参数非法时返回 null
+     */
+    static LiveDerivedChannel show(JFrame parent, List<ChannelData> chs) {
+        JComboBox<ChannelData> cbChan = new JComboBox<>(chs.toArray(new ChannelData[0]));
+        JComboBox<String> cbOp = new JComboBox<>(streamableNames());
+        ParamPanel paramPanel = new ParamPanel();
+        MarkTypePanel markPanel = new MarkTypePanel();
+        Runnable update = () -> {
+            ProcessingOperation op = OperationFactory.create((String) cbOp.getSelectedItem());
+            paramPanel.updateFor(op);
+            markPanel.updateFor(op);
+        };
+        cbOp.addActionListener(e -> {
+            update.run();
+            Window w = SwingUtilities.getWindowAncestor(paramPanel);
+            if (w != null) {
+                w.pack();
+            }
+        });
+        update.run();
+
+        Object[] message = {
+                LABEL_CHANNEL, cbChan,
+                LABEL_OPERATION, cbOp,
+                paramPanel, markPanel
+        };
+        int option = JOptionPane.showConfirmDialog(
+                parent, message, DIALOG_TITLE, JOptionPane.OK_CANCEL_OPTION);
+        if (option != JOptionPane.OK_OPTION) {
+            return null;
+        }
+
+        StreamableOperation op = (StreamableOperation) OperationFactory.create((String) cbOp.getSelectedItem());
+        try {
+            double param = op.needsParam() ? paramPanel.getParam() : 0;
+            double param2 = op.needsSecondParam() ? paramPanel.getSecondParam() : 0;
+            double param3 = op.needsThirdParam() ? paramPanel.getThirdParam() : 0;
+            int window = op.needsWindowSize() ? paramPanel.getWindowSize() : 0;
+            OperationParams params = new OperationParams(param, param2, param3, window, markPanel.isGreaterOrEqual());
+            return new LiveDerivedChannel((ChannelData) cbChan.getSelectedItem(), op, params);
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(parent, MSG_BAD_NUMBER, ERROR_TITLE, JOptionPane.ERROR_MESSAGE);
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(parent, ex.getMessage(), ERROR_TITLE, JOptionPane.ERROR_MESSAGE);
+        }
+        return null;
+    }
+
+    /** 可流式执行的运算名称 */
+    private static String[] streamableNames() {
+        List<String> names = new ArrayList<>();
+        for (String name : OperationFactory.getOperationNames()) {
+            if (OperationFactory.create(name) instanceof StreamableOperation) {
+                names.add(name);
+            }
+        }
+        return names.toArray(new String[0]);
+    }
+}
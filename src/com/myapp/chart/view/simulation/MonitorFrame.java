@@ -10,11 +10,11 @@ import javax.swing.WindowConstants;
 import java.awt.BorderLayout;
 import java.awt.FlowLayout;
 import java.awt.GridLayout;
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * ECG 监护仪窗口：无限记录 + 统计 + 导出（统一时间轴，按全局采样率 FS 对齐）
@@ -87,6 +87,8 @@ public class MonitorFrame extends JFrame implements WindowProvider {
     private static final String LABEL_TIME_ZOOM = "Time Zoom";
     private static final String BTN_EXPORT_TXT  = "导出 TXT";
     private static final String FRAME_TITLE     = "Vital Signs Monitor";
+    private static final String BTN_ADD_DERIVED = "派生通道...";
+    private static final String LATENCY_FORMAT  = "派生处理：最近 %.0f µs，最大 %.0f µs / 批";
 
     // —— 成员变量 —— //
 
@@ -96,11 +98,14 @@ public class MonitorFrame extends JFrame implements WindowProvider {
 
     private final List<ChannelData> channels = new ArrayList<>();
     private final List<ChannelPanel> panels  = new ArrayList<>();
+    private final List<LiveDerivedChannel> derived = new CopyOnWriteArrayList<>();
 
     private final JScrollBar hScroll;
     private final JSlider    zoom;
     private final JToggleButton btnPlay;
     private final SimulationStatsPanel stats;
+    private final JPanel waveCol;
+    private final JLabel latencyLabel = new JLabel();
 
     private VitalSim simThread;
     private final Timer statsTimer;
@@ -112,7 +117,7 @@ public class MonitorFrame extends JFrame implements WindowProvider {
         this.stats = new SimulationStatsPanel(ctrl);
 
         initChannels();
-        JPanel waveCol = createWaveformColumn();
+        this.waveCol = createWaveformColumn();
 
         this.btnPlay = createPlayToggle();
         this.zoom    = createZoomSlider();
@@ -131,7 +136,10 @@ public class MonitorFrame extends JFrame implements WindowProvider {
         // 启动后台模拟与统计刷新
         simThread = new VitalSim();
         simThread.start();
-        statsTimer = new Timer(STATS_REFRESH_INTERVAL_MS, e -> stats.refresh(channels));
+        statsTimer = new Timer(STATS_REFRESH_INTERVAL_MS, e -> {
+            stats.refresh(channels);
+            refreshLatency();
+        });
         statsTimer.start();
     }
 
@@ -158,7 +166,7 @@ public class MonitorFrame extends JFrame implements WindowProvider {
 
     /** 创建存放波形的纵列面板 */
     private JPanel createWaveformColumn() {
-        JPanel panel = new JPanel(new GridLayout(channels.size(), 1));
+        JPanel panel = new JPanel(new GridLayout(0, 1));
         for (ChannelData ch : channels) {
             ChannelPanel p = new ChannelPanel(null, ch, null, this);
             panels.add(p);
@@ -195,9 +203,39 @@ public class MonitorFrame extends JFrame implements WindowProvider {
         top.add(btnPlay);
         top.add(new JLabel(LABEL_TIME_ZOOM));
         top.add(zoom);
+        JButton btnDerived = new JButton(BTN_ADD_DERIVED);
+        btnDerived.addActionListener(e -> addDerivedChannel());
+        top.add(btnDerived);
+        top.add(latencyLabel);
         return top;
     }
 
+    /** 添加实时派生通道：由模拟线程在每批新样本后推进 */
+    private void addDerivedChannel() {
+        LiveDerivedChannel d = LiveDerivedDialog.show(this, channels);
+        if (d == null) {
+            return;
+        }
+        ChannelPanel p = new ChannelPanel(null, d.getOutput(), null, this);
+        panels.add(p);
+        waveCol.add(p);
+        waveCol.revalidate();
+        derived.add(d);
+    }
+
+    /** 刷新派生通道的单批处理耗时 */
+    private void refreshLatency() {
+        if (derived.isEmpty()) {
+            return;
+        }
+        long last = 0, max = 0;
+        for (LiveDerivedChannel d : derived) {
+            last = Math.max(last, d.getLastBlockNanos());
+            max = Math.max(max, d.getMaxBlockNanos());
+        }
+        latencyLabel.setText(String.format(LATENCY_FORMAT, last / 1e3, max / 1e3));
+    }
+
     /** 底部水平滚动条 */
     private JScrollBar createScrollBar() {
         JScrollBar bar = new JScrollBar(
@@ -301,17 +339,17 @@ public class MonitorFrame extends JFrame implements WindowProvider {
                     ecg += amp[i] * Math.exp(-0.5 * d * d / (sigma[i] * sigma[i]));
                 }
                 ecg += rnd.nextGaussian() * ECG_NOISE_STD;
-                channels.get(0).getData()[idx] = ecg;
+                channels.get(0).getWritableData()[idx] = ecg;
 
                 // BP
-                double[] bpArr = channels.get(1).getData();
+                double[] bpArr = channels.get(1).getWritableData();
                 bpArr[idx] = (sampleIdx % 2 == 0)
                         ? bpBeat[bpPtr++] + rnd.nextGaussian() * BP_NOISE_STD
                         : bpArr[idx - 1];
                 bpPtr %= bpBeat.length;
 
                 // RESP
-                double[] rsp = channels.get(3).getData();
+                double[] rsp = channels.get(3).getWritableData();
                 rsp[idx] = (sampleIdx % RESP_SAMPLE_PERIOD == 0)
                         ? RESP_AMPLITUDE * Math.sin(2 * Math.PI * respPtr++ / BP_BEAT_LENGTH)
                         + rnd.nextGaussian() * RESP_NOISE_STD
@@ -325,12 +363,18 @@ public class MonitorFrame extends JFrame implements WindowProvider {
                     spo2LowCnt = SPO2_LOW_DURATION;
                 }
                 double base = (spo2LowCnt > 0) ? SPO2_LOW_BASE : SPO2_NORMAL_BASE;
-                double[] spo = channels.get(2).getData();
+                double[] spo = channels.get(2).getWritableData();
                 spo[idx] = (sampleIdx % SPO2_SAMPLE_PERIOD == 0)
                         ? base + rnd.nextGaussian() * SPO2_NOISE_STD
                         : spo[idx - 1];
 
                 sampleIdx++;
+                for (ChannelData ch : channels) {
+                    ch.markModified();
+                }
+                for (LiveDerivedChannel d : derived) {
+                    d.advance(sampleIdx);
+                }
                 ctrl.onWrite(1);
                 syncScroll();
                 repaintWaves();
@@ -360,13 +404,7 @@ public class MonitorFrame extends JFrame implements WindowProvider {
             for (ChannelData ch : channels) {
                 double[] neo = Arrays.copyOf(ch.getData(), newCap);
                 Arrays.fill(neo, ch.getData().length, newCap, Double.NaN);
-                try {
-                    Field f = ChannelData.class.getDeclaredField("data");
-                    f.setAccessible(true);
-                    f.set(ch, neo);
-                } catch (Exception ex) {
-                    throw new RuntimeException(ex);
-                }
+                ch.setData(neo);
             }
             ctrl.expandCapacity(newCap);
             hScroll.setMaximum(newCap);
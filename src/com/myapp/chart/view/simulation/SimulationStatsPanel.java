@@ -1,6 +1,7 @@
 package com.myapp.chart.view.simulation;
 
 import com.myapp.chart.controller.ViewController;
+import com.myapp.chart.dsp.QrsDetector;
 import com.myapp.chart.model.ChannelData;
 
 import javax.swing.JLabel;
@@ -8,12 +9,11 @@ import javax.swing.JPanel;
 import javax.swing.SwingConstants;
 import java.awt.Font;
 import java.awt.GridLayout;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * HR / BP / SpO₂ / RR 实时统计
- *   ─ HR：R-峰 > HR_PEAK_THRESHOLD mV，峰间 ≥ HR_MIN_PEAK_INTERVAL_SEC 秒
+ *   ─ HR：流式 QRS 检测（Pan-Tompkins），取最近 HR_LOOKBACK_SEC 秒内心搏的平均心率
  *   ─ RR：呼吸信号过零 & 幅度 > RR_PEAK_THRESHOLD，峰间 ≥ RR_MIN_PEAK_INTERVAL_SEC 秒
  */
 public class SimulationStatsPanel extends JPanel {
@@ -21,9 +21,8 @@ public class SimulationStatsPanel extends JPanel {
     // —— 常量区 —— //
 
     // 心率（HR）参数
-    private static final double HR_PEAK_THRESHOLD       = 0.7;    // mV
-    private static final double HR_MIN_PEAK_INTERVAL_SEC= 0.2;    // 秒
     private static final int    HR_LOOKBACK_SEC         = 8;      // 最近 N 秒
+    private static final int    HR_BLOCK                = 4096;   // 每次送入检测器的样本数
 
     // 血压（BP）参数
     private static final int    BP_LOOKBACK_SEC         = 1;      // 最近 N 秒
@@ -52,6 +51,11 @@ public class SimulationStatsPanel extends JPanel {
     // 播放/写入控制器
     private final ViewController.PlaybackController ctrl;
 
+    // 心率检测状态：只处理上次刷新以来新写入的样本
+    private QrsDetector hrDetector;
+    private int hrConsumed;
+    private final double[] hrBlock = new double[HR_BLOCK];
+
     public SimulationStatsPanel(ViewController.PlaybackController ctrl) {
         this.ctrl = ctrl;
         setLayout(new GridLayout(4, 1));
@@ -85,32 +89,27 @@ public class SimulationStatsPanel extends JPanel {
 
     private void updateHeartRate(ChannelData ecgChannel, int endIndex) {
         double fs = ecgChannel.getSampleRate();
-        int span = (int) Math.min(endIndex + 1, HR_LOOKBACK_SEC * fs);
-        double[] data = ecgChannel.getData();
-
-        List<Integer> peaks = new ArrayList<>();
-        int minInterval = (int) (HR_MIN_PEAK_INTERVAL_SEC * fs);
-        int lastPeak = -minInterval;
+        if (hrDetector == null || endIndex + 1 < hrConsumed) {
+            hrDetector = new QrsDetector(fs);   // 首次或重新开始写入
+            hrConsumed = 0;
+        }
+        while (hrConsumed <= endIndex) {
+            int n = Math.min(HR_BLOCK, endIndex + 1 - hrConsumed);
+            ecgChannel.read(hrConsumed, hrBlock, 0, n);
+            hrDetector.process(hrBlock, 0, n, null, 0);
+            hrConsumed += n;
+        }
 
-        int start = endIndex + 1 - span;
-        for (int i = start + 1; i < endIndex; i++) {
-            if (data[i] > HR_PEAK_THRESHOLD
-                    && data[i] > data[i - 1]
-                    && data[i] > data[i + 1]
-                    && i - lastPeak >= minInterval)
-            {
-                peaks.add(i);
-                lastPeak = i;
-            }
+        int from = endIndex + 1 - (int) (HR_LOOKBACK_SEC * fs);
+        int count = hrDetector.beatCount();
+        int first = count;
+        while (first > 0 && hrDetector.beat(first - 1) >= from) {
+            first--;
         }
 
         double hrValue = 0;
-        if (peaks.size() > 1) {
-            double totalInterval = 0;
-            for (int i = 1; i < peaks.size(); i++) {
-                totalInterval += (peaks.get(i) - peaks.get(i - 1));
-            }
-            double avgSamplesPerBeat = totalInterval / (peaks.size() - 1);
+        if (count - first > 1) {
+            double avgSamplesPerBeat = (hrDetector.beat(count - 1) - hrDetector.beat(first)) / (double) (count - first - 1);
             hrValue = 60.0 * fs / avgSamplesPerBeat;
         }
 
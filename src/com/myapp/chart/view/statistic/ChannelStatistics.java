@@ -0,0 +1,90 @@
+package com.myapp.chart.view.statistic;
+
+import com.myapp.chart.dsp.Moments;
+import com.myapp.chart.model.BlockSummary;
+import com.myapp.chart.model.ChannelData;
+import com.myapp.chart.model.DataModel;
+import com.myapp.chart.model.HighlightIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基本统计：按所选范围从各通道的分块摘要索引（{@link BlockSummary}）合并得到。
+ * 索引未建或已过期的通道先并行构建（一次遍历源样本），之后任意范围只需合并块摘要，
+ * 外加首尾两个不完整块的原始样本。
+ */
+final class ChannelStatistics {
+
+    /** 统计范围 */
+    enum Scope {
+        ALL("整个通道"),
+        VIEW("当前视图"),
+        HIGHLIGHTS("高亮区段");
+
+        private final String label;
+
+        Scope(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private ChannelStatistics() {}
+
+    /** 各通道在给定范围内的统计，顺序与输入一致 */
+    static List<Moments> compute(List<ChannelData> channels, Scope scope, DataModel model) {
+        channels.parallelStream().forEach(ChannelData::getBlockSummary);
+        List<Moments> out = new ArrayList<>(channels.size());
+        for (ChannelData ch : channels) {
+            BlockSummary summary = ch.getBlockSummary();
+            Moments m = new Moments();
+            for (int[] r : ranges(ch, scope, model)) {
+                summary.accumulate(ch, r[0], r[1], m);
+            }
+            out.add(m);
+        }
+        return out;
+    }
+
+    /** 范围在该通道中对应的样本区间 [from, to)，按起点有序且互不重叠 */
+    static List<int[]> ranges(ChannelData ch, Scope scope, DataModel model) {
+        switch (scope) {
+            case VIEW:
+                return List.of(viewRange(ch, model));
+            case HIGHLIGHTS:
+                return highlightRanges(ch);
+            default:
+                return List.of(new int[]{0, ch.length()});
+        }
+    }
+
+    /** 当前视窗在该通道中的样本区间 [from, to)（视窗以首通道采样率计） */
+    private static int[] viewRange(ChannelData ch, DataModel model) {
+        double ratio = ch.getSampleRate() / (double) model.getChannels().get(0).getSampleRate();
+        int from = (int) Math.floor(model.getCurrentOffset() * ratio);
+        int to = (int) Math.ceil(((long) model.getCurrentOffset() + model.getWindowLength()) * ratio);
+        return new int[]{Math.max(0, from), Math.min(ch.length(), to)};
+    }
+
+    /** 各高亮区段（含端点，重叠部分只计一次） */
+    private static List<int[]> highlightRanges(ChannelData ch) {
+        HighlightIndex.Snapshot h = ch.getHighlights().snapshot();
+        float fs = ch.getSampleRate();
+        List<int[]> out = new ArrayList<>();
+        int covered = 0;
+        for (int i = 0; i < h.size(); i++) {
+            int from = Math.max(covered, (int) Math.floor(h.start(i) * fs));
+            int to = Math.min(ch.length(), (int) Math.floor(h.end(i) * fs) + 1);
+            if (from < to) {
+                out.add(new int[]{from, to});
+                covered = to;
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,130 @@
+package com.myapp.chart.view.statistic;
+
+import com.myapp.chart.dsp.CrossMoments;
+import com.myapp.chart.dsp.Moments;
+import com.myapp.chart.model.ChannelData;
+import com.myapp.chart.model.DataModel;
+import com.myapp.chart.view.processing.operation.ProgressMonitor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 跨通道相关：所选通道两两之间的协方差与相关系数（{@link CrossMoments}）。
+ * <p>
+ * 所选范围按时间切成任务并行，每个任务逐块读入全部通道的同一区间，一遍得到所有通道对的乘积和，
+ * 最后合并各任务的部分结果；因此无论通道多少，样本都只读一遍。
+ * 平移量取分块摘要索引给出的整段均值，避免大直流偏置下的相消误差。
+ * 只有与第一个所选通道采样率相同的通道参与，范围也按第一个通道计算。
+ */
+final class CorrelationAnalysis {
+
+    // 常量配置
+    private static final int TASK_SAMPLES = 1 << 16;   // 每个并行任务的时间点数
+    private static final int BLOCK = 512;              // 每块时间点数（64 通道约 256 KB）
+
+    private CorrelationAnalysis() {}
+
+    /** 按时间段并行累加；每段前检查取消，完成后回报进度 */
+    static Result analyze(List<ChannelData> channels, ChannelStatistics.Scope scope, DataModel model,
+                          ProgressMonitor monitor) {
+        List<ChannelData> included = new ArrayList<>();
+        List<String> skipped = new ArrayList<>();
+        float fs = channels.get(0).getSampleRate();
+        int length = Integer.MAX_VALUE;
+        for (ChannelData ch : channels) {
+            if (ch.getSampleRate() == fs) {
+                included.add(ch);
+                length = Math.min(length, ch.length());
+            } else {
+                skipped.add(ch.getName());
+            }
+        }
+
+        List<Moments> whole = ChannelStatistics.compute(included, ChannelStatistics.Scope.ALL, model);
+        double[] shift = new double[included.size()];
+        for (int c = 0; c < shift.length; c++) {
+            double mean = whole.get(c).mean();
+            shift[c] = Double.isNaN(mean) ? 0 : mean;
+        }
+
+        List<int[]> tasks = new ArrayList<>();
+        for (int[] r : ChannelStatistics.ranges(included.get(0), scope, model)) {
+            int to = Math.min(r[1], length);
+            for (int from = r[0]; from < to; from += TASK_SAMPLES) {
+                tasks.add(new int[]{from, Math.min(to, from + TASK_SAMPLES)});
+            }
+        }
+        AtomicInteger done = new AtomicInteger();
+        List<CrossMoments> parts = IntStream.range(0, tasks.size()).parallel()
+                .mapToObj(t -> {
+                    monitor.checkCancelled();
+                    CrossMoments part = accumulate(included, shift, tasks.get(t)[0], tasks.get(t)[1]);
+                    monitor.setProgress(done.incrementAndGet() / (double) tasks.size());
+                    return part;
+                })
+                .collect(Collectors.toList());
+        CrossMoments total = new CrossMoments(shift);
+        for (CrossMoments part : parts) {
+            total.combine(part);
+        }
+        return new Result(included, skipped, total);
+    }
+
+    /** 一个时间段 [from, to)：逐块读入全部通道并累加 */
+    private static CrossMoments accumulate(List<ChannelData> channels, double[] shift, int from, int to) {
+        CrossMoments m = new CrossMoments(shift);
+        double[][] block = new double[channels.size()][Math.min(BLOCK, to - from)];
+        for (int pos = from; pos < to; pos += BLOCK) {
+            int len = Math.min(BLOCK, to - pos);
+            for (int c = 0; c < block.length; c++) {
+                channels.get(c).read(pos, block[c], 0, len);
+            }
+            m.add(block, 0, len);
+        }
+        return m;
+    }
+
+    /** 结果：参与的通道、因采样率不同而跳过的通道名与累加结果 */
+    static final class Result {
+        final List<ChannelData> channels;
+        final List<String> skipped;
+        final CrossMoments moments;
+        final double[][] correlation;
+
+        Result(List<ChannelData> channels, List<String> skipped, CrossMoments moments) {
+            this.channels = channels;
+            this.skipped = skipped;
+            this.moments = moments;
+            this.correlation = moments.correlationMatrix();
+        }
+
+        /** 通道 i 与其余通道相关系数绝对值的平均（忽略 NaN） */
+        double meanAbsCorrelation(int i) {
+            double s = 0;
+            int n = 0;
+            for (int j = 0; j < correlation.length; j++) {
+                if (j != i && !Double.isNaN(correlation[i][j])) {
+                    s += Math.abs(correlation[i][j]);
+                    n++;
+                }
+            }
+            return n > 0 ? s / n : Double.NaN;
+        }
+
+        /** 与通道 i 相关系数绝对值最大的其他通道，没有时为 −1 */
+        int mostCorrelated(int i) {
+            int best = -1;
+            for (int j = 0; j < correlation.length; j++) {
+                if (j != i && !Double.isNaN(correlation[i][j])
+                        && (best < 0 || Math.abs(correlation[i][j]) > Math.abs(correlation[i][best]))) {
+                    best = j;
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.myapp.chart.view.statistic;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseEvent;
+import java.text.DecimalFormat;
+
+/**
+ * 相关矩阵热图：r = −1 蓝、0 白、+1 红，无法计算（方差为 0）为灰色；
+ * 通道多时只标序号，鼠标悬停显示通道名、相关系数与协方差
+ */
+class CorrelationHeatmapPanel extends JPanel {
+
+    // 常量配置
+    private static final Dimension PREF_SIZE = new Dimension(560, 420);
+    private static final int MARGIN = 15;
+    private static final int LABEL_SPACE = 70;          // 左侧与上方的标签区
+    private static final int NAME_LABEL_MIN_CELL = 14;  // 单元格不小于该值时才写通道名，否则写序号
+    private static final int LEGEND_WIDTH = 12;
+    private static final int LEGEND_GAP = 10;
+    private static final Color NAN_COLOR = new Color(200, 200, 200);
+    private static final DecimalFormat LABEL_FORMAT = new DecimalFormat("0.000");
+    private static final DecimalFormat SCI_FORMAT = new DecimalFormat("0.000E0");
+
+    private final CorrelationAnalysis.Result result;
+
+    CorrelationHeatmapPanel(CorrelationAnalysis.Result result) {
+        this.result = result;
+        setPreferredSize(PREF_SIZE);
+        setBackground(Color.WHITE);
+        ToolTipManager.sharedInstance().registerComponent(this);
+    }
+
+    /** 单元格边长与左上角，使矩阵为正方形并放在标签区之后 */
+    private int cellSize() {
+        int n = result.correlation.length;
+        int side = Math.min(getWidth() - LABEL_SPACE - MARGIN - LEGEND_GAP * 2 - LEGEND_WIDTH - LABEL_SPACE / 2,
+                getHeight() - LABEL_SPACE - MARGIN);
+        return n == 0 ? 0 : Math.max(1, side / n);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        int n = result.correlation.length;
+        int cell = cellSize();
+        if (n == 0 || cell <= 0) {
+            return;
+        }
+        Graphics2D g2 = (Graphics2D) g.create();
+        int x0 = LABEL_SPACE, y0 = LABEL_SPACE;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                g2.setColor(color(result.correlation[i][j]));
+                g2.fillRect(x0 + j * cell, y0 + i * cell, cell, cell);
+            }
+        }
+        g2.setColor(Color.GRAY);
+        g2.drawRect(x0, y0, n * cell, n * cell);
+
+        // 行列标签
+        g2.setColor(Color.BLACK);
+        FontMetrics fm = g2.getFontMetrics();
+        boolean names = cell >= NAME_LABEL_MIN_CELL;
+        int labelStep = Math.max(1, (fm.getHeight() + cell - 1) / cell);
+        for (int i = 0; i < n; i += names ? 1 : labelStep) {
+            String txt = names ? clip(result.channels.get(i).getName(), fm, LABEL_SPACE - 6) : String.valueOf(i + 1);
+            int cy = y0 + i * cell + cell / 2 + fm.getAscent() / 2 - 1;
+            g2.drawString(txt, x0 - 4 - fm.stringWidth(txt), cy);
+            Graphics2D rot = (Graphics2D) g2.create();
+            rot.translate(x0 + i * cell + cell / 2 + fm.getAscent() / 2 - 1, y0 - 4);
+            rot.rotate(-Math.PI / 2);
+            rot.drawString(txt, 0, 0);
+            rot.dispose();
+        }
+
+        // 色标
+        int lx = x0 + n * cell + LEGEND_GAP;
+        int lh = n * cell;
+        for (int y = 0; y < lh; y++) {
+            g2.setColor(color(1 - 2.0 * y / Math.max(1, lh - 1)));
+            g2.drawLine(lx, y0 + y, lx + LEGEND_WIDTH, y0 + y);
+        }
+        g2.setColor(Color.BLACK);
+        g2.drawRect(lx, y0, LEGEND_WIDTH, lh);
+        g2.drawString("+1", lx + LEGEND_WIDTH + 3, y0 + fm.getAscent());
+        g2.drawString("0", lx + LEGEND_WIDTH + 3, y0 + lh / 2 + fm.getAscent() / 2);
+        g2.drawString("−1", lx + LEGEND_WIDTH + 3, y0 + lh);
+        g2.dispose();
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent e) {
+        int n = result.correlation.length;
+        int cell = cellSize();
+        if (cell <= 0) {
+            return null;
+        }
+        int j = (e.getX() - LABEL_SPACE) / cell;
+        int i = (e.getY() - LABEL_SPACE) / cell;
+        if (e.getX() < LABEL_SPACE || e.getY() < LABEL_SPACE || i >= n || j >= n) {
+            return null;
+        }
+        double r = result.correlation[i][j];
+        return String.format("%s × %s：r = %s，协方差 = %s",
+                result.channels.get(i).getName(), result.channels.get(j).getName(),
+                Double.isNaN(r) ? "—" : LABEL_FORMAT.format(r),
+                SCI_FORMAT.format(result.moments.covariance(i, j)));
+    }
+
+    /** 发散色阶：−1 蓝、0 白、+1 红 */
+    private static Color color(double r) {
+        if (Double.isNaN(r)) {
+            return NAN_COLOR;
+        }
+        int fade = (int) Math.round(255 * (1 - Math.min(1, Math.abs(r))));
+        return r >= 0 ? new Color(255, fade, fade) : new Color(fade, fade, 255);
+    }
+
+    private static String clip(String s, FontMetrics fm, int width) {
+        if (fm.stringWidth(s) <= width) {
+            return s;
+        }
+        while (s.length() > 1 && fm.stringWidth(s + "…") > width) {
+            s = s.substring(0, s.length() - 1);
+        }
+        return s + "…";
+    }
+}
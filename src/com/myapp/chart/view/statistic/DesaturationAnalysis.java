@@ -0,0 +1,244 @@
+package com.myapp.chart.view.statistic;
+
+import com.myapp.chart.model.ChannelData;
+import com.myapp.chart.view.processing.operation.ProgressMonitor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 血氧饱和度下降分析：一次遍历 SpO2 通道，给出下降事件、ODI 与 T90。
+ * <p>
+ * 样本先按 1 秒取均值（有效样本不足一半的秒视为无效），基线为此前 {@link #BASELINE_SEC} 秒内
+ * 秒均值的最大值，用单调队列维护滑动最大值，每秒摊还 O(1)，无需回扫窗口。
+ * 秒均值低于基线 {@link #DROP_PERCENT}% 即开始一次事件，事件期间基线冻结，
+ * 回升到冻结基线 {@link #RECOVER_PERCENT}% 以内时结束；事件起点前推到下降开始处。
+ * 持续不足 {@link #MIN_EVENT_SEC} 秒的事件丢弃。T90 按原始样本计。
+ * <p>
+ * 基线需要连续的历史，因此总是分析整个通道。有效 SpO2 样本（{@link #VALID_MIN}–{@link #VALID_MAX}）
+ * 不足 {@link #MIN_VALID_FRACTION} 的通道不视为血氧通道，不给出事件。
+ */
+final class DesaturationAnalysis {
+
+    // 常量配置
+    static final double DROP_PERCENT = 3;             // 相对基线的下降幅度
+    private static final double RECOVER_PERCENT = 1;  // 回升到基线该范围内视为恢复
+    private static final double BASELINE_SEC = 120;
+    private static final double MIN_EVENT_SEC = 10;
+    private static final double MAX_FALL_SEC = 60;    // 起点最多前推的时长
+    private static final double T90_LIMIT = 90;
+    private static final double VALID_MIN = 50;       // 有效 SpO2 范围
+    private static final double VALID_MAX = 100;
+    private static final double MIN_VALID_FRACTION = 0.5;   // 有效样本至少占此比例才视为血氧通道
+    private static final int READ_CHUNK = 1 << 16;    // 每次从通道读取的样本数
+
+    private final float fs;
+    private final int epochSamples;
+    private final int baselineEpochs;
+    private final int minEventEpochs;
+    private final int maxFallEpochs;
+
+    // 当前秒的累加
+    private int inEpoch;
+    private int epochValid;
+    private double epochSum;
+    private int epoch;
+
+    // 基线：秒均值的滑动最大值（单调递减队列，环形数组）
+    private final int[] dequeIdx;
+    private final double[] dequeVal;
+    private int head;
+    private int size;
+
+    // 事件状态
+    private boolean inEvent;
+    private int eventStart;
+    private double eventBaseline;
+    private double eventNadir;
+    private int lastHigh = -1;
+    private final List<Event> events = new ArrayList<>();
+
+    // 全程统计
+    private long validSamples;
+    private long below90;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+
+    private DesaturationAnalysis(float fs) {
+        this.fs = fs;
+        this.epochSamples = Math.max(1, Math.round(fs));
+        double epochSec = epochSamples / (double) fs;
+        this.baselineEpochs = Math.max(1, (int) Math.round(BASELINE_SEC / epochSec));
+        this.minEventEpochs = Math.max(1, (int) Math.round(MIN_EVENT_SEC / epochSec));
+        this.maxFallEpochs = (int) Math.round(MAX_FALL_SEC / epochSec);
+        this.dequeIdx = new int[baselineEpochs + 1];
+        this.dequeVal = new double[baselineEpochs + 1];
+    }
+
+    /** 并行分析多个通道，结果顺序与输入一致；按通道回报进度 */
+    static List<Result> analyze(List<ChannelData> channels, ProgressMonitor monitor) {
+        AtomicInteger done = new AtomicInteger();
+        return channels.parallelStream()
+                .map(ch -> {
+                    monitor.checkCancelled();
+                    Result r = analyze(ch);
+                    monitor.setProgress(done.incrementAndGet() / (double) channels.size());
+                    return r;
+                })
+                .collect(Collectors.toList());
+    }
+
+    /** 单通道：分块读取，一次遍历 */
+    static Result analyze(ChannelData ch) {
+        DesaturationAnalysis a = new DesaturationAnalysis(ch.getSampleRate());
+        int length = ch.length();
+        double[] buf = new double[Math.min(READ_CHUNK, Math.max(1, length))];
+        for (int pos = 0; pos < length; pos += buf.length) {
+            int len = Math.min(buf.length, length - pos);
+            ch.read(pos, buf, 0, len);
+            a.add(buf, 0, len);
+        }
+        return a.finish(ch, length);
+    }
+
+    private void add(double[] buf, int off, int len) {
+        for (int i = off; i < off + len; i++) {
+            double v = buf[i];
+            if (v >= VALID_MIN && v <= VALID_MAX) {
+                validSamples++;
+                sum += v;
+                if (v < min) min = v;
+                if (v < T90_LIMIT) below90++;
+                epochValid++;
+                epochSum += v;
+            }
+            if (++inEpoch == epochSamples) {
+                endEpoch();
+            }
+        }
+    }
+
+    /** 一秒结束：与基线比较，推进事件状态，再把本秒加入基线队列 */
+    private void endEpoch() {
+        int e = epoch++;
+        boolean valid = epochValid * 2 >= inEpoch;
+        double v = valid ? epochSum / epochValid : Double.NaN;
+        inEpoch = 0;
+        epochValid = 0;
+        epochSum = 0;
+        if (!valid) {
+            return;
+        }
+
+        while (size > 0 && dequeIdx[head] < e - baselineEpochs) {
+            head = (head + 1) % dequeIdx.length;
+            size--;
+        }
+        double baseline = size > 0 ? dequeVal[head] : Double.NaN;
+
+        if (!inEvent) {
+            if (!Double.isNaN(baseline) && v <= baseline - DROP_PERCENT) {
+                inEvent = true;
+                eventBaseline = baseline;
+                eventNadir = v;
+                eventStart = lastHigh >= 0 && e - lastHigh <= maxFallEpochs ? lastHigh + 1 : e;
+            } else if (Double.isNaN(baseline) || v >= baseline - RECOVER_PERCENT) {
+                lastHigh = e;
+            }
+        } else {
+            eventNadir = Math.min(eventNadir, v);
+            if (v >= eventBaseline - RECOVER_PERCENT) {
+                closeEvent(e - 1);
+                lastHigh = e;
+            }
+        }
+
+        while (size > 0 && dequeVal[(head + size - 1) % dequeVal.length] <= v) {
+            size--;
+        }
+        int tail = (head + size) % dequeVal.length;
+        dequeIdx[tail] = e;
+        dequeVal[tail] = v;
+        size++;
+    }
+
+    private void closeEvent(int endEpoch) {
+        inEvent = false;
+        if (endEpoch - eventStart + 1 >= minEventEpochs) {
+            events.add(new Event(eventStart * epochSamples, (endEpoch + 1) * epochSamples - 1,
+                    eventBaseline, eventNadir));
+        }
+    }
+
+    private Result finish(ChannelData ch, int length) {
+        if (inEpoch > 0) {
+            endEpoch();
+        }
+        if (inEvent) {
+            closeEvent(epoch - 1);
+        }
+        for (int k = 0; k < events.size(); k++) {
+            Event ev = events.get(k);
+            if (ev.end >= length) {
+                events.set(k, new Event(ev.start, length - 1, ev.baseline, ev.nadir));
+            }
+        }
+        boolean spo2 = length > 0 && validSamples >= MIN_VALID_FRACTION * length;
+        if (!spo2) {
+            events.clear();
+        }
+        double validSec = validSamples / (double) fs;
+        return new Result(ch, spo2, events, validSec, below90 / (double) fs,
+                validSamples > 0 ? sum / validSamples : Double.NaN,
+                validSamples > 0 ? min : Double.NaN);
+    }
+
+    /** 一次下降事件：样本区间 [start, end]，冻结的基线与最低值 */
+    static final class Event {
+        final int start;
+        final int end;
+        final double baseline;
+        final double nadir;
+
+        Event(int start, int end, double baseline, double nadir) {
+            this.start = start;
+            this.end = end;
+            this.baseline = baseline;
+            this.nadir = nadir;
+        }
+    }
+
+    /** 单通道结果 */
+    static final class Result {
+        final ChannelData channel;
+        final boolean spo2;                // 是否视为血氧通道；否则无事件
+        final List<Event> events;
+        final double validSeconds;
+        final double t90Seconds;
+        final double mean;
+        final double min;
+
+        Result(ChannelData channel, boolean spo2, List<Event> events, double validSeconds, double t90Seconds,
+               double mean, double min) {
+            this.channel = channel;
+            this.spo2 = spo2;
+            this.events = events;
+            this.validSeconds = validSeconds;
+            this.t90Seconds = t90Seconds;
+            this.mean = mean;
+            this.min = min;
+        }
+
+        /** 每小时下降次数 */
+        double odi() {
+            return validSeconds > 0 ? events.size() / (validSeconds / 3600) : Double.NaN;
+        }
+
+        /** T90 占有效时长的百分比 */
+        double t90Percent() {
+            return validSeconds > 0 ? 100 * t90Seconds / validSeconds : Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.myapp.chart.view.statistic;
+
+import com.myapp.chart.dsp.Histogram;
+import com.myapp.chart.dsp.Moments;
+import com.myapp.chart.dsp.QuantileSketch;
+import com.myapp.chart.model.ChannelData;
+import com.myapp.chart.model.DataModel;
+import com.myapp.chart.view.processing.operation.ProgressMonitor;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * 分布统计：分位数（{@link QuantileSketch}）与等宽直方图（{@link Histogram}）。
+ * <p>
+ * 所选范围切成固定长度的任务，所有通道的任务一起并行，各任务累加自己的草图与直方图，
+ * 最后按通道合并。直方图的上下限取自分块摘要索引给出的最值，因此只需一遍读取样本。
+ */
+final class DistributionAnalysis {
+
+    // 常量配置
+    static final double[] QUANTILES = {0.05, 0.25, 0.5, 0.75, 0.95};
+    static final String[] QUANTILE_LABELS = {"P5", "P25", "中位数", "P75", "P95"};
+    private static final int BINS = 50;
+    private static final int TASK_SAMPLES = 1 << 20;   // 每个并行任务的样本数
+    private static final int READ_CHUNK = 1 << 13;     // 每次读取的样本数
+
+    private DistributionAnalysis() {}
+
+    /** 各通道在所选范围内的分布，顺序与输入一致；按分段任务回报进度 */
+    static List<ChannelDistribution> analyze(List<ChannelData> channels, ChannelStatistics.Scope scope,
+                                             DataModel model, ProgressMonitor monitor) {
+        List<Moments> moments = ChannelStatistics.compute(channels, scope, model);
+        List<Task> tasks = new ArrayList<>();
+        for (int c = 0; c < channels.size(); c++) {
+            for (int[] r : ChannelStatistics.ranges(channels.get(c), scope, model)) {
+                for (int from = r[0]; from < r[1]; from += TASK_SAMPLES) {
+                    tasks.add(new Task(c, from, Math.min(r[1], from + TASK_SAMPLES)));
+                }
+            }
+        }
+        AtomicInteger done = new AtomicInteger();
+        IntStream.range(0, tasks.size()).parallel().forEach(t -> {
+            monitor.checkCancelled();
+            Task task = tasks.get(t);
+            Moments m = moments.get(task.channel);
+            task.run(channels.get(task.channel), new Histogram(m.min(), m.max(), BINS));
+            monitor.setProgress(done.incrementAndGet() / (double) tasks.size());
+        });
+
+        List<ChannelDistribution> out = new ArrayList<>(channels.size());
+        for (int c = 0; c < channels.size(); c++) {
+            Moments m = moments.get(c);
+            QuantileSketch sketch = new QuantileSketch();
+            Histogram hist = new Histogram(m.min(), m.max(), BINS);
+            for (Task task : tasks) {
+                if (task.channel == c) {
+                    sketch.merge(task.sketch);
+                    hist.merge(task.histogram);
+                }
+            }
+            ChannelData ch = channels.get(c);
+            out.add(new ChannelDistribution(ch.getName(), ch.getColor(), sketch, hist));
+        }
+        return out;
+    }
+
+    /** 一个通道的一段 [from, to) */
+    private static final class Task {
+        final int channel;
+        final int from;
+        final int to;
+        QuantileSketch sketch;
+        Histogram histogram;
+
+        Task(int channel, int from, int to) {
+            this.channel = channel;
+            this.from = from;
+            this.to = to;
+        }
+
+        void run(ChannelData ch, Histogram hist) {
+            QuantileSketch s = new QuantileSketch();
+            double[] buf = new double[Math.min(READ_CHUNK, to - from)];
+            for (int pos = from; pos < to; pos += buf.length) {
+                int len = Math.min(buf.length, to - pos);
+                ch.read(pos, buf, 0, len);
+                s.add(buf, 0, len);
+                hist.add(buf, 0, len);
+            }
+            sketch = s;
+            histogram = hist;
+        }
+    }
+
+    /** 单通道结果 */
+    static final class ChannelDistribution {
+        final String name;
+        final Color color;
+        final QuantileSketch sketch;
+        final Histogram histogram;
+
+        ChannelDistribution(String name, Color color, QuantileSketch sketch, Histogram histogram) {
+            this.name = name;
+            this.color = color;
+            this.sketch = sketch;
+            this.histogram = histogram;
+        }
+    }
+}
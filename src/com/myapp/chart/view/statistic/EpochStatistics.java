@@ -0,0 +1,192 @@
+package com.myapp.chart.view.statistic;
+
+import com.myapp.chart.dsp.Moments;
+import com.myapp.chart.dsp.WelchPsd;
+import com.myapp.chart.model.ChannelData;
+import com.myapp.chart.view.processing.operation.ProgressMonitor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * 分帧统计：按 {@link #EPOCH_SEC} 秒一帧（睡眠分期的标准帧长），逐帧计算各通道的
+ * 均值、最小、最大、方差，以及脑电通道的 δ/θ/α/β 频带功率（帧内 Welch 估计）。
+ * <p>
+ * 每个通道按 {@link #EPOCHS_PER_TASK} 帧切成任务，所有通道的任务一起并行；
+ * 每个任务复用一块读缓冲与一个 Welch 估计器，结果直接写入表中各自的位置，无需合并。
+ * 各通道按自身采样率分帧，第 e 帧都对应时间 [30e, 30(e+1)) 秒；最后不满一帧的部分单独成帧。
+ */
+final class EpochStatistics {
+
+    // 常量配置
+    static final double EPOCH_SEC = 30;
+    private static final int EPOCHS_PER_TASK = 32;
+    private static final String[] BASIC = {"均值", "最小", "最大", "方差"};
+    private static final char CSV_SEPARATOR = ',';
+
+    private EpochStatistics() {}
+
+    /** 并行计算各通道的分帧统计表；每个任务前检查取消，完成后回报进度 */
+    static Table compute(List<ChannelData> channels, ProgressMonitor monitor) {
+        int epochs = 0;
+        for (ChannelData ch : channels) {
+            epochs = Math.max(epochs, (int) Math.ceil(ch.length() / (EPOCH_SEC * ch.getSampleRate())));
+        }
+        Table table = new Table(channels, epochs);
+
+        List<int[]> tasks = new ArrayList<>();
+        for (int c = 0; c < channels.size(); c++) {
+            for (int e = 0; e < epochs; e += EPOCHS_PER_TASK) {
+                tasks.add(new int[]{c, e, Math.min(epochs, e + EPOCHS_PER_TASK)});
+            }
+        }
+        AtomicInteger done = new AtomicInteger();
+        IntStream.range(0, tasks.size()).parallel().forEach(t -> {
+            monitor.checkCancelled();
+            int[] task = tasks.get(t);
+            computeEpochs(channels.get(task[0]), table.values[task[0]], task[1], task[2]);
+            monitor.setProgress(done.incrementAndGet() / (double) tasks.size());
+        });
+        return table;
+    }
+
+    /** 计算一个通道的第 [from, to) 帧，写入 values[指标][帧] */
+    private static void computeEpochs(ChannelData ch, double[][] values, int from, int to) {
+        float fs = ch.getSampleRate();
+        int length = ch.length();
+        boolean bands = values.length > BASIC.length;
+        double[] buf = new double[(int) Math.ceil(EPOCH_SEC * fs)];
+        WelchPsd welch = bands
+                ? new WelchPsd(SpectralAnalysis.segmentLength(fs, buf.length, SpectralAnalysis.EEG_SEGMENT_SECONDS), fs)
+                : null;
+        Moments m = new Moments();
+        for (int e = from; e < to; e++) {
+            int start = Math.min(length, (int) Math.round(e * EPOCH_SEC * fs));
+            int end = Math.min(length, (int) Math.round((e + 1) * EPOCH_SEC * fs));
+            int len = end - start;
+            ch.read(start, buf, 0, len);
+            m.reset();
+            m.add(buf, 0, len);
+            boolean empty = m.count() == 0;
+            values[0][e] = empty ? Double.NaN : m.mean();
+            values[1][e] = empty ? Double.NaN : m.min();
+            values[2][e] = empty ? Double.NaN : m.max();
+            values[3][e] = empty ? Double.NaN : m.variance();
+            if (bands) {
+                welch.reset();
+                welch.add(buf, 0, len);
+                double[] psd = welch.segments() > 0 ? welch.psd() : null;
+                for (int b = 0; b < SpectralAnalysis.EEG_BANDS.length; b++) {
+                    double[] limits = SpectralAnalysis.EEG_LIMITS[b];
+                    values[BASIC.length + b][e] = psd != null
+                            ? WelchPsd.bandPower(psd, welch.resolution(), limits[0], limits[1])
+                            : Double.NaN;
+                }
+            }
+        }
+    }
+
+    /** 奈奎斯特频率覆盖 β 上限的通道才给出频带功率 */
+    private static boolean hasBands(ChannelData ch) {
+        double[][] limits = SpectralAnalysis.EEG_LIMITS;
+        return ch.getSampleRate() / 2.0 >= limits[limits.length - 1][1];
+    }
+
+    /**
+     * 分帧统计表：行为帧，列为“帧号、起始时间”之后各通道的各项指标。
+     * 不适用的值（无有效样本、通道已结束）为 NaN。
+     */
+    static final class Table {
+        final List<ChannelData> channels;
+        final int epochs;
+        final double[][][] values;        // [通道][指标][帧]
+        final String[][] metrics;         // [通道][指标] 指标名
+        private final int[] firstColumn;  // 各通道第一个指标所在的列
+
+        Table(List<ChannelData> channels, int epochs) {
+            this.channels = channels;
+            this.epochs = epochs;
+            this.values = new double[channels.size()][][];
+            this.metrics = new String[channels.size()][];
+            this.firstColumn = new int[channels.size()];
+            int column = 2;
+            for (int c = 0; c < channels.size(); c++) {
+                String[] names = BASIC;
+                if (hasBands(channels.get(c))) {
+                    names = new String[BASIC.length + SpectralAnalysis.EEG_BANDS.length];
+                    System.arraycopy(BASIC, 0, names, 0, BASIC.length);
+                    for (int b = 0; b < SpectralAnalysis.EEG_BANDS.length; b++) {
+                        names[BASIC.length + b] = SpectralAnalysis.EEG_BANDS[b] + "功率";
+                    }
+                }
+                metrics[c] = names;
+                values[c] = new double[names.length][epochs];
+                firstColumn[c] = column;
+                column += names.length;
+            }
+        }
+
+        int columnCount() {
+            int last = channels.size() - 1;
+            return last < 0 ? 2 : firstColumn[last] + metrics[last].length;
+        }
+
+        String columnName(int column) {
+            if (column == 0) return "帧";
+            if (column == 1) return "起始(秒)";
+            int c = channelOf(column);
+            return channels.get(c).getName() + " " + metrics[c][column - firstColumn[c]];
+        }
+
+        /** 单元格的值：帧号从 1 起，起始时间为秒 */
+        double value(int epoch, int column) {
+            if (column == 0) return epoch + 1;
+            if (column == 1) return epoch * EPOCH_SEC;
+            int c = channelOf(column);
+            return values[c][column - firstColumn[c]][epoch];
+        }
+
+        private int channelOf(int column) {
+            int c = channels.size() - 1;
+            while (c > 0 && firstColumn[c] > column) c--;
+            return c;
+        }
+
+        /** 逐行写出 CSV（表头一行，之后每帧一行；NaN 写为空），不在内存中拼出整个文件 */
+        void writeCsv(Writer out) throws IOException {
+            int columns = columnCount();
+            StringBuilder line = new StringBuilder();
+            for (int col = 0; col < columns; col++) {
+                if (col > 0) line.append(CSV_SEPARATOR);
+                appendQuoted(line, columnName(col));
+            }
+            out.write(line.append('\n').toString());
+            for (int e = 0; e < epochs; e++) {
+                line.setLength(0);
+                line.append(e + 1).append(CSV_SEPARATOR).append(e * EPOCH_SEC);
+                for (int c = 0; c < values.length; c++) {
+                    for (double[] metric : values[c]) {
+                        line.append(CSV_SEPARATOR);
+                        if (!Double.isNaN(metric[e])) {
+                            line.append(metric[e]);
+                        }
+                    }
+                }
+                out.write(line.append('\n').toString());
+            }
+        }
+
+        /** 含分隔符、引号或换行的字段加引号，内部引号双写 */
+        private static void appendQuoted(StringBuilder sb, String field) {
+            if (field.indexOf(CSV_SEPARATOR) < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0) {
+                sb.append(field);
+                return;
+            }
+            sb.append('"').append(field.replace("\"", "\"\"")).append('"');
+        }
+    }
+}
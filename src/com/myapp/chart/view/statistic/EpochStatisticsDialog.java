@@ -0,0 +1,241 @@
+package com.myapp.chart.view.statistic;
+
+import com.myapp.chart.model.ChannelData;
+import com.myapp.chart.model.DataModel;
+import com.myapp.chart.view.ChartFrame;
+import com.myapp.chart.view.processing.job.ProcessingJob;
+import com.myapp.chart.view.processing.job.ProcessingJobManager;
+
+import javax.swing.*;
+import javax.swing.event.ListSelectionEvent;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.DefaultTableCellRenderer;
+import java.awt.*;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.util.List;
+
+/**
+ * 分帧统计窗口：作为后台任务并行计算全部通道的 30 秒分帧统计（{@link EpochStatistics}），以表格显示。
+ * 计算进度与取消见任务列表，关闭窗口时取消未完成的计算。
+ * 选中某行时主窗口跳到该帧；可按列排序，可导出为 CSV。窗口不阻塞主窗口。
+ */
+public class EpochStatisticsDialog extends JDialog {
+
+    // 常量配置
+    private static final String DIALOG_TITLE = "分帧统计（30 秒）";
+    private static final int DIALOG_WIDTH = 900;
+    private static final int DIALOG_HEIGHT = 500;
+    private static final int FLOW_GAP = 5;
+    private static final int COLUMN_WIDTH = 110;
+    private static final String BUTTON_EXPORT = "导出 CSV...";
+    private static final String BUTTON_CLOSE = "关闭";
+    private static final String MSG_COMPUTING = "正在计算...（进度与取消见任务列表）";
+    private static final String MSG_CANCELLED = "计算已取消";
+    private static final String JOB_NAME = "分帧统计";
+    private static final String MSG_SUMMARY = "%d 个通道, %d 帧, 用时 %d ms；选中一行跳到该帧";
+    private static final String MSG_ERROR_TITLE = "错误";
+    private static final String MSG_COMPUTE_FAILED = "计算失败：";
+    private static final String MSG_EXPORT_OK = "CSV 导出成功：";
+    private static final String MSG_EXPORT_FAILED = "CSV 导出失败：";
+    private static final String CSV_DESCRIPTION = "CSV 文件 (*.csv)";
+    private static final String CSV_EXTENSION = "csv";
+    private static final String CSV_FILE_SUFFIX = "_epochs.csv";
+    private static final int WRITE_BUFFER = 1 << 16;   // 写出缓冲（字符）
+    private static final char UTF8_BOM = '\uFEFF';  // 便于表格软件识别 UTF-8 表头
+    private static final String DECIMAL_PATTERN = "0.000";
+    private static final String SCI_PATTERN = "0.000E0";
+
+    private final ChartFrame frame;
+    private final DataModel model;
+    private final EpochTableModel tableModel = new EpochTableModel();
+    private final JTable table = new JTable(tableModel);
+    private final JLabel statusLabel = new JLabel(MSG_COMPUTING);
+    private final JButton exportBtn = new JButton(BUTTON_EXPORT);
+    private final ProcessingJobManager jobManager;
+    private final Runnable jobListener = this::onJobChanged;
+    private ProcessingJob job;
+
+    public EpochStatisticsDialog(ChartFrame owner, DataModel model, ProcessingJobManager jobManager) {
+        super(owner, DIALOG_TITLE, false);
+        this.frame = owner;
+        this.model = model;
+        this.jobManager = jobManager;
+        setSize(DIALOG_WIDTH, DIALOG_HEIGHT);
+        setLayout(new BorderLayout(FLOW_GAP, FLOW_GAP));
+        setLocationRelativeTo(owner);
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        layoutComponents();
+        compute(List.copyOf(model.getChannels()));
+    }
+
+    private void layoutComponents() {
+        table.setAutoResizeMode(JTable.AUTO_RESIZE_OFF);
+        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        table.setAutoCreateRowSorter(true);
+        table.setDefaultRenderer(Double.class, new NumberRenderer());
+        table.getSelectionModel().addListSelectionListener(this::onRowSelected);
+        add(new JScrollPane(table), BorderLayout.CENTER);
+
+        JPanel south = new JPanel(new BorderLayout());
+        south.add(statusLabel, BorderLayout.CENTER);
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT, FLOW_GAP, FLOW_GAP));
+        JButton closeBtn = new JButton(BUTTON_CLOSE);
+        exportBtn.setEnabled(false);
+        exportBtn.addActionListener(e -> onExport());
+        closeBtn.addActionListener(e -> dispose());
+        buttons.add(exportBtn);
+        buttons.add(closeBtn);
+        south.add(buttons, BorderLayout.EAST);
+        add(south, BorderLayout.SOUTH);
+    }
+
+    /** 提交为后台任务，完成后在 EDT 上填充表格 */
+    private void compute(List<ChannelData> channels) {
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        long start = System.nanoTime();
+        jobManager.addChangeListener(jobListener);
+        job = jobManager.submitTask(JOB_NAME, monitor -> EpochStatistics.compute(channels, monitor), result -> {
+            tableModel.setTable(result);
+            for (int c = 0; c < table.getColumnCount(); c++) {
+                table.getColumnModel().getColumn(c).setPreferredWidth(COLUMN_WIDTH);
+            }
+            exportBtn.setEnabled(true);
+            statusLabel.setText(String.format(MSG_SUMMARY, channels.size(), result.epochs,
+                    (System.nanoTime() - start) / 1_000_000));
+        });
+    }
+
+    /** 任务结束：恢复光标；失败或取消时在状态栏说明 */
+    private void onJobChanged() {
+        if (job == null || !job.getState().isFinished()) {
+            return;
+        }
+        jobManager.removeChangeListener(jobListener);
+        setCursor(Cursor.getDefaultCursor());
+        if (job.getState() == ProcessingJob.State.FAILED) {
+            statusLabel.setText(MSG_COMPUTE_FAILED + job.getError());
+            JOptionPane.showMessageDialog(this, MSG_COMPUTE_FAILED + job.getError(),
+                    MSG_ERROR_TITLE, JOptionPane.ERROR_MESSAGE);
+        } else if (job.getState() == ProcessingJob.State.CANCELLED) {
+            statusLabel.setText(MSG_CANCELLED);
+        }
+    }
+
+    /** 关闭窗口时取消未完成的计算 */
+    @Override
+    public void dispose() {
+        jobManager.removeChangeListener(jobListener);
+        if (job != null && !job.getState().isFinished()) {
+            job.cancel();
+        }
+        super.dispose();
+    }
+
+    /** 选中一行：主窗口显示该帧（窗口长度设为一帧，以首通道采样率计） */
+    private void onRowSelected(ListSelectionEvent e) {
+        int row = table.getSelectedRow();
+        if (e.getValueIsAdjusting() || row < 0 || model.getChannels().isEmpty()) {
+            return;
+        }
+        int epoch = table.convertRowIndexToModel(row);
+        double fs = model.getChannels().get(0).getSampleRate();
+        model.setWindowLength((int) Math.round(EpochStatistics.EPOCH_SEC * fs));
+        model.setCurrentOffset((int) Math.round(epoch * EpochStatistics.EPOCH_SEC * fs));
+        frame.updateView();
+    }
+
+    /** 选择文件并逐行写出 CSV */
+    private void onExport() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter(CSV_DESCRIPTION, CSV_EXTENSION));
+        chooser.setSelectedFile(new File(baseName(model.getFileName()) + CSV_FILE_SUFFIX));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = chooser.getSelectedFile();
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(file), StandardCharsets.UTF_8), WRITE_BUFFER)) {
+            out.write(UTF8_BOM);
+            tableModel.table.writeCsv(out);
+            JOptionPane.showMessageDialog(this, MSG_EXPORT_OK + file.getAbsolutePath(),
+                    null, JOptionPane.INFORMATION_MESSAGE);
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(this, MSG_EXPORT_FAILED + ex.getMessage(),
+                    MSG_ERROR_TITLE, JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private static String baseName(String fileName) {
+        if (fileName == null) return "";
+        String name = new File(fileName).getName();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    /** 表格模型：直接读取结果数组，不复制成对象表 */
+    private static final class EpochTableModel extends AbstractTableModel {
+        private EpochStatistics.Table table;
+
+        void setTable(EpochStatistics.Table table) {
+            this.table = table;
+            fireTableStructureChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return table == null ? 0 : table.epochs;
+        }
+
+        @Override
+        public int getColumnCount() {
+            return table == null ? 0 : table.columnCount();
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return table.columnName(column);
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            return column == 0 ? Integer.class : Double.class;
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            double v = table.value(row, column);
+            return column == 0 ? Integer.valueOf((int) v) : Double.valueOf(v);
+        }
+    }
+
+    /** 数值显示：常规量级用定点，过大或过小（如频带功率）用科学计数，NaN 留空 */
+    private static final class NumberRenderer extends DefaultTableCellRenderer {
+        private final DecimalFormat df = new DecimalFormat(DECIMAL_PATTERN);
+        private final DecimalFormat sci = new DecimalFormat(SCI_PATTERN);
+
+        NumberRenderer() {
+            setHorizontalAlignment(RIGHT);
+        }
+
+        @Override
+        protected void setValue(Object value) {
+            double v = (Double) value;
+            double a = Math.abs(v);
+            if (Double.isNaN(v)) {
+                setText("");
+            } else if (a != 0 && (a < 1e-2 || a >= 1e6)) {
+                setText(sci.format(v));
+            } else {
+                setText(df.format(v));
+            }
+        }
+    }
+}
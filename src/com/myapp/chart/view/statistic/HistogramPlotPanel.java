@@ -0,0 +1,115 @@
+package com.myapp.chart.view.statistic;
+
+import com.myapp.chart.dsp.Histogram;
+import com.myapp.chart.view.channel.AxisUtil;
+
+import javax.swing.*;
+import java.awt.*;
+import java.text.DecimalFormat;
+import java.util.List;
+
+/**
+ * 直方图面板：横轴为样本值，纵轴为各箱占该通道有效样本的百分比，各通道按通道颜色绘制阶梯线
+ */
+class HistogramPlotPanel extends JPanel {
+
+    // 常量配置
+    private static final Dimension PREF_SIZE = new Dimension(560, 240);
+    private static final int AXIS_LEFT = 60;
+    private static final int AXIS_BOTTOM = 30;
+    private static final int MARGIN = 15;
+    private static final int GRID_X_COUNT = 10;
+    private static final int GRID_Y_COUNT = 5;
+    private static final Color GRID_COLOR = new Color(235, 235, 235);
+    private static final DecimalFormat LABEL_FORMAT = new DecimalFormat("0.###");
+
+    private final List<DistributionAnalysis.ChannelDistribution> distributions;
+
+    HistogramPlotPanel(List<DistributionAnalysis.ChannelDistribution> distributions) {
+        this.distributions = distributions;
+        setPreferredSize(PREF_SIZE);
+        setBackground(Color.WHITE);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            int plotX = AXIS_LEFT;
+            int plotW = getWidth() - AXIS_LEFT - MARGIN;
+            int plotH = getHeight() - AXIS_BOTTOM - MARGIN;
+            if (plotW <= 0 || plotH <= 0) {
+                return;
+            }
+
+            // 坐标范围：各通道箱边界的并集，纵轴到最大百分比
+            double lo = Double.POSITIVE_INFINITY, hi = Double.NEGATIVE_INFINITY, pMax = 0;
+            for (DistributionAnalysis.ChannelDistribution d : distributions) {
+                Histogram h = d.histogram;
+                long total = h.inRange();
+                if (total == 0) {
+                    continue;
+                }
+                lo = Math.min(lo, h.lo());
+                hi = Math.max(hi, h.hi());
+                for (int b = 0; b < h.bins(); b++) {
+                    pMax = Math.max(pMax, 100.0 * h.count(b) / total);
+                }
+            }
+            if (!(hi > lo) || pMax <= 0) {
+                return;
+            }
+            double yStep = AxisUtil.niceStep(pMax, GRID_Y_COUNT);
+            double yRange = Math.ceil(pMax / yStep) * yStep;
+            double xStep = AxisUtil.niceStep(hi - lo, GRID_X_COUNT);
+            double xStart = Math.ceil(lo / xStep) * xStep;
+
+            // 网格与刻度
+            g2.translate(0, MARGIN);
+            for (double v = xStart; v <= hi + 1e-9 * xStep; v += xStep) {
+                int x = plotX + (int) ((v - lo) / (hi - lo) * plotW);
+                g2.setColor(GRID_COLOR);
+                g2.drawLine(x, 0, x, plotH);
+                g2.setColor(Color.BLACK);
+                String txt = LABEL_FORMAT.format(v);
+                g2.drawString(txt, x - g2.getFontMetrics().stringWidth(txt) / 2, plotH + 15);
+            }
+            for (double p = 0; p <= yRange + 1e-9; p += yStep) {
+                int y = AxisUtil.mapY(p, 0, yRange, plotH);
+                g2.setColor(GRID_COLOR);
+                g2.drawLine(plotX, y, plotX + plotW, y);
+                g2.setColor(Color.BLACK);
+                String txt = LABEL_FORMAT.format(p);
+                g2.drawString(txt, plotX - 5 - g2.getFontMetrics().stringWidth(txt), y + 4);
+            }
+            g2.drawLine(plotX, 0, plotX, plotH);
+            g2.drawLine(plotX, plotH, plotX + plotW, plotH);
+            g2.drawString("%", 5, -2);
+
+            // 阶梯线
+            g2.setClip(plotX, 0, plotW + 1, plotH + 1);
+            for (DistributionAnalysis.ChannelDistribution d : distributions) {
+                Histogram h = d.histogram;
+                long total = h.inRange();
+                if (total == 0) {
+                    continue;
+                }
+                g2.setColor(d.color);
+                int yPrev = plotH;
+                for (int b = 0; b < h.bins(); b++) {
+                    int x1 = plotX + (int) ((h.binStart(b) - lo) / (hi - lo) * plotW);
+                    int x2 = plotX + (int) ((h.binStart(b) + h.binWidth() - lo) / (hi - lo) * plotW);
+                    int y = AxisUtil.mapY(100.0 * h.count(b) / total, 0, yRange, plotH);
+                    g2.drawLine(x1, yPrev, x1, y);
+                    g2.drawLine(x1, y, x2, y);
+                    yPrev = y;
+                }
+                int xEnd = plotX + (int) ((h.hi() - lo) / (hi - lo) * plotW);
+                g2.drawLine(xEnd, yPrev, xEnd, plotH);
+            }
+        } finally {
+            g2.dispose();
+        }
+    }
+}
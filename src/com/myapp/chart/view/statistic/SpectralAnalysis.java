@@ -0,0 +1,126 @@
+package com.myapp.chart.view.statistic;
+
+import com.myapp.chart.dsp.RealFft;
+import com.myapp.chart.dsp.WelchPsd;
+import com.myapp.chart.model.ChannelData;
+import com.myapp.chart.model.DataModel;
+import com.myapp.chart.view.processing.operation.ProgressMonitor;
+
+import java.awt.*;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 频谱统计：各通道并行做 Welch 功率谱估计并计算经典频带功率。
+ * 只使用统计范围内的样本，范围由多个不相连的区间组成时各段不跨越区间边界。
+ * <p>
+ * 脑电频带（δ/θ/α/β）在奈奎斯特频率覆盖 β 上限时给出；
+ * 低采样率（≤ {@link #HRV_MAX_RATE} Hz）的通道视为等间隔的心率/RR 序列，给出 LF/HF。
+ */
+final class SpectralAnalysis {
+
+    // 常量配置
+    static final double HRV_MAX_RATE = 10;                  // 视为心率变异序列的采样率上限
+    static final double EEG_SEGMENT_SECONDS = 4;            // 脑电段长（0.25 Hz 分辨率）
+    private static final double HRV_SEGMENT_SECONDS = 256;  // HRV 段长（LF 下限 0.04 Hz 需要长段）
+    private static final int MIN_SEGMENT = 8;
+    private static final int READ_CHUNK = 1 << 16;          // 每次从通道读取的样本数
+
+    static final String[] EEG_BANDS = {"δ", "θ", "α", "β"};
+    static final double[][] EEG_LIMITS = {{0.5, 4}, {4, 8}, {8, 13}, {13, 30}};
+    private static final double[] LF = {0.04, 0.15};
+    private static final double[] HF = {0.15, 0.4};
+
+    private SpectralAnalysis() {}
+
+    /** 并行分析多个通道在给定范围内的功率谱，结果顺序与输入一致；按通道回报进度 */
+    static List<ChannelSpectrum> analyze(List<ChannelData> channels, ChannelStatistics.Scope scope,
+                                         DataModel model, ProgressMonitor monitor) {
+        AtomicInteger done = new AtomicInteger();
+        return channels.parallelStream()
+                .map(ch -> {
+                    monitor.checkCancelled();
+                    ChannelSpectrum s = analyze(ch, ChannelStatistics.ranges(ch, scope, model));
+                    monitor.setProgress(done.incrementAndGet() / (double) channels.size());
+                    return s;
+                })
+                .collect(Collectors.toList());
+    }
+
+    /** 单通道：各区间分块读取送入 Welch 估计，计算频带功率；段长不超过最长的区间 */
+    static ChannelSpectrum analyze(ChannelData ch, List<int[]> ranges) {
+        float fs = ch.getSampleRate();
+        int longest = 0;
+        for (int[] r : ranges) {
+            longest = Math.max(longest, r[1] - r[0]);
+        }
+        boolean hrv = fs <= HRV_MAX_RATE;
+        int segment = segmentLength(fs, longest, hrv ? HRV_SEGMENT_SECONDS : EEG_SEGMENT_SECONDS);
+
+        WelchPsd welch = new WelchPsd(segment, fs);
+        double[] buf = new double[Math.min(READ_CHUNK, Math.max(1, longest))];
+        for (int[] r : ranges) {
+            welch.restart();
+            for (int pos = r[0]; pos < r[1]; pos += buf.length) {
+                int len = Math.min(buf.length, r[1] - pos);
+                ch.read(pos, buf, 0, len);
+                welch.add(buf, 0, len);
+            }
+        }
+
+        double[] psd = welch.psd();
+        double res = welch.resolution();
+        Map<String, Double> bands = new LinkedHashMap<>();
+        double nyquist = fs / 2.0;
+        if (welch.segments() > 0) {
+            if (nyquist >= EEG_LIMITS[EEG_LIMITS.length - 1][1]) {
+                double total = WelchPsd.bandPower(psd, res, EEG_LIMITS[0][0], EEG_LIMITS[EEG_LIMITS.length - 1][1]);
+                for (int i = 0; i < EEG_BANDS.length; i++) {
+                    double p = WelchPsd.bandPower(psd, res, EEG_LIMITS[i][0], EEG_LIMITS[i][1]);
+                    bands.put(EEG_BANDS[i], p);
+                    bands.put(EEG_BANDS[i] + "%", total > 0 ? 100 * p / total : Double.NaN);
+                }
+            }
+            if (hrv && nyquist >= HF[1]) {
+                double lf = WelchPsd.bandPower(psd, res, LF[0], LF[1]);
+                double hf = WelchPsd.bandPower(psd, res, HF[0], HF[1]);
+                bands.put("LF", lf);
+                bands.put("HF", hf);
+                bands.put("LF/HF", hf > 0 ? lf / hf : Double.NaN);
+            }
+        }
+        return new ChannelSpectrum(ch.getName(), ch.getColor(), res, psd, welch.segments(), bands);
+    }
+
+    /** 段长：约 seconds 秒取 2 的幂，不超过数据长度 */
+    static int segmentLength(float fs, int length, double seconds) {
+        int n = RealFft.nextPowerOfTwo((int) Math.round(fs * seconds));
+        while (n > MIN_SEGMENT && n > length) {
+            n >>= 1;
+        }
+        return Math.max(MIN_SEGMENT, n);
+    }
+
+    /** 单通道的谱估计结果 */
+    static final class ChannelSpectrum {
+        final String name;
+        final Color color;
+        final double resolution;
+        final double[] psd;
+        final int segments;
+        final Map<String, Double> bands;   // 频带名 → 功率（带 % 的为相对功率）
+
+        ChannelSpectrum(String name, Color color, double resolution, double[] psd,
+                        int segments, Map<String, Double> bands) {
+            this.name = name;
+            this.color = color;
+            this.resolution = resolution;
+            this.psd = psd;
+            this.segments = segments;
+            this.bands = bands;
+        }
+    }
+}
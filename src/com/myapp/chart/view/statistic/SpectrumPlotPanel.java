@@ -0,0 +1,112 @@
+package com.myapp.chart.view.statistic;
+
+import com.myapp.chart.view.channel.AxisUtil;
+
+import javax.swing.*;
+import java.awt.*;
+import java.text.DecimalFormat;
+import java.util.List;
+
+/**
+ * 功率谱曲线面板：横轴频率（Hz），纵轴 10·log10(PSD)（dB），各通道按通道颜色绘制
+ */
+class SpectrumPlotPanel extends JPanel {
+
+    // 常量配置
+    private static final Dimension PREF_SIZE = new Dimension(560, 300);
+    private static final int AXIS_LEFT = 60;
+    private static final int AXIS_BOTTOM = 30;
+    private static final int MARGIN = 15;
+    private static final int GRID_X_COUNT = 10;
+    private static final int GRID_Y_COUNT = 5;
+    private static final double DYNAMIC_RANGE_DB = 80;      // 纵轴最多显示的动态范围
+    private static final double POWER_FLOOR = 1e-30;
+    private static final Color GRID_COLOR = new Color(235, 235, 235);
+    private static final DecimalFormat LABEL_FORMAT = new DecimalFormat("0.##");
+
+    private final List<SpectralAnalysis.ChannelSpectrum> spectra;
+
+    SpectrumPlotPanel(List<SpectralAnalysis.ChannelSpectrum> spectra) {
+        this.spectra = spectra;
+        setPreferredSize(PREF_SIZE);
+        setBackground(Color.WHITE);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            int plotX = AXIS_LEFT;
+            int plotW = getWidth() - AXIS_LEFT - MARGIN;
+            int plotH = getHeight() - AXIS_BOTTOM - MARGIN;
+            if (plotW <= 0 || plotH <= 0) {
+                return;
+            }
+
+            // 坐标范围：频率到最大奈奎斯特，dB 取最大值往下 DYNAMIC_RANGE_DB
+            double fMax = 0, dbMax = Double.NEGATIVE_INFINITY, dbMin = Double.POSITIVE_INFINITY;
+            for (SpectralAnalysis.ChannelSpectrum s : spectra) {
+                fMax = Math.max(fMax, (s.psd.length - 1) * s.resolution);
+                for (int k = 1; k < s.psd.length; k++) {
+                    double db = toDb(s.psd[k]);
+                    dbMax = Math.max(dbMax, db);
+                    dbMin = Math.min(dbMin, db);
+                }
+            }
+            if (fMax <= 0 || !Double.isFinite(dbMax)) {
+                return;
+            }
+            dbMin = Math.max(dbMin, dbMax - DYNAMIC_RANGE_DB);
+            double yStep = AxisUtil.niceStep(Math.max(1, dbMax - dbMin), GRID_Y_COUNT);
+            double yBase = Math.floor(dbMin / yStep) * yStep;
+            double yRange = Math.ceil((dbMax - yBase) / yStep) * yStep;
+            double xStep = AxisUtil.niceStep(fMax, GRID_X_COUNT);
+
+            // 网格与刻度
+            g2.translate(0, MARGIN);
+            for (double f = 0; f <= fMax + 1e-9; f += xStep) {
+                int x = plotX + (int) (f / fMax * plotW);
+                g2.setColor(GRID_COLOR);
+                g2.drawLine(x, 0, x, plotH);
+                g2.setColor(Color.BLACK);
+                String txt = LABEL_FORMAT.format(f);
+                g2.drawString(txt, x - g2.getFontMetrics().stringWidth(txt) / 2, plotH + 15);
+            }
+            for (double v = yBase; v <= yBase + yRange + 1e-9; v += yStep) {
+                int y = AxisUtil.mapY(v, yBase, yRange, plotH);
+                g2.setColor(GRID_COLOR);
+                g2.drawLine(plotX, y, plotX + plotW, y);
+                g2.setColor(Color.BLACK);
+                String txt = LABEL_FORMAT.format(v);
+                g2.drawString(txt, plotX - 5 - g2.getFontMetrics().stringWidth(txt), y + 4);
+            }
+            g2.drawLine(plotX, 0, plotX, plotH);
+            g2.drawLine(plotX, plotH, plotX + plotW, plotH);
+            g2.drawString("Hz", plotX + plotW - 15, plotH + 28);
+            g2.drawString("dB", 5, -2);
+
+            // 曲线
+            g2.setClip(plotX, 0, plotW + 1, plotH + 1);
+            for (SpectralAnalysis.ChannelSpectrum s : spectra) {
+                g2.setColor(s.color);
+                int xPrev = -1, yPrev = 0;
+                for (int k = 1; k < s.psd.length; k++) {
+                    int x = plotX + (int) (k * s.resolution / fMax * plotW);
+                    int y = AxisUtil.mapY(toDb(s.psd[k]), yBase, yRange, plotH);
+                    if (xPrev >= 0) {
+                        g2.drawLine(xPrev, yPrev, x, y);
+                    }
+                    xPrev = x;
+                    yPrev = y;
+                }
+            }
+        } finally {
+            g2.dispose();
+        }
+    }
+
+    private static double toDb(double p) {
+        return 10 * Math.log10(p + POWER_FLOOR);
+    }
+}
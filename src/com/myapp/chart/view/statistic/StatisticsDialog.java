@@ -1,16 +1,32 @@
 package com.myapp.chart.view.statistic;
 
+import com.myapp.chart.dsp.Moments;
 import com.myapp.chart.model.ChannelData;
+import com.myapp.chart.model.ChannelView;
+import com.myapp.chart.model.DataModel;
+import com.myapp.chart.view.ChartFrame;
+import com.myapp.chart.view.processing.job.ProcessingJobManager;
+import com.myapp.chart.view.processing.operation.ProgressMonitor;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.stream.DoubleStream;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
- * 统计对话框：显示选择通道并计算其最大值、最小值、均值和方差
+ * 统计对话框：对所选通道在整个通道、当前视图或高亮区段范围内计算样本数、最值、均值与方差
+ * （由分块摘要索引即时得到）。
+ * <p>
+ * 另有若干可勾选的附加分析（{@link Analysis}）：功率谱与频带功率、血氧下降事件、
+ * 分位数与直方图、跨通道相关矩阵。勾选的分析作为一个后台任务依次计算（进度与取消见任务列表），
+ * 完成后各自把结果文本与图加入同一个结果窗口。
  */
 public class StatisticsDialog extends JDialog {
 
@@ -25,17 +41,39 @@ public class StatisticsDialog extends JDialog {
     private static final String MSG_WARNING_TITLE = "提示";
     private static final String MSG_RESULTS_TITLE = "统计结果";
     private static final String DECIMAL_PATTERN = "0.000";
+    private static final String SCI_PATTERN = "0.000E0";
+    private static final String LABEL_SPECTRAL = "频谱分析（Welch 功率谱与频带功率）";
+    private static final String LABEL_SCOPE = "统计范围：";
+    private static final String LABEL_DISTRIBUTION = "分布分析（中位数、P5/P95 与直方图）";
+    private static final String LABEL_DESATURATION = "血氧下降分析（ODI / T90，标记事件）";
+    private static final String LABEL_CORRELATION = "相关矩阵（协方差与相关系数热图）";
+    private static final String TIP_WHOLE_CHANNEL = "需要连续的基线，仅在统计范围为整个通道时可用";
+    private static final String DESATURATION_SUFFIX = "_血氧下降";
+    private static final String JOB_NAME = "统计分析";
 
+    private final DataModel model;
+    private final ProcessingJobManager jobManager;
     private final JList<ChannelData> channelList;
+    private final JComboBox<ChannelStatistics.Scope> scopeBox = new JComboBox<>(ChannelStatistics.Scope.values());
+    private final Map<Analysis, JCheckBox> analysisBoxes = new EnumMap<>(Analysis.class);
     private final DecimalFormat df = new DecimalFormat(DECIMAL_PATTERN);
+    private final DecimalFormat sci = new DecimalFormat(SCI_PATTERN);
 
     /**
      * 构造函数：初始化对话框与组件
      */
-    public StatisticsDialog(Frame owner, List<ChannelData> channels) {
+    public StatisticsDialog(Frame owner, DataModel model, ProcessingJobManager jobManager) {
         super(owner, DIALOG_TITLE, true);
-        channelList = new JList<>(channels.toArray(new ChannelData[0]));
+        this.model = model;
+        this.jobManager = jobManager;
+        channelList = new JList<>(model.getChannels().toArray(new ChannelData[0]));
+        for (Analysis a : Analysis.values()) {
+            analysisBoxes.put(a, new JCheckBox(a.label));
+        }
+        scopeBox.addActionListener(e -> updateAnalysisBoxes());
+        updateAnalysisBoxes();
         initializeDialog(owner);
+        add(createScopePane(), BorderLayout.NORTH);
         add(createListScrollPane(), BorderLayout.CENTER);
         add(createButtonPane(), BorderLayout.SOUTH);
     }
@@ -50,6 +88,29 @@ public class StatisticsDialog extends JDialog {
         channelList.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
     }
 
+    /**
+     * 创建统计范围选择面板
+     */
+    private JPanel createScopePane() {
+        JPanel panel = new JPanel(new FlowLayout(FlowLayout.LEFT, FLOW_GAP, 0));
+        panel.add(new JLabel(LABEL_SCOPE));
+        panel.add(scopeBox);
+        return panel;
+    }
+
+    /**
+     * 只适用于整个通道的分析在其他范围下不可选
+     */
+    private void updateAnalysisBoxes() {
+        boolean whole = scopeBox.getSelectedItem() == ChannelStatistics.Scope.ALL;
+        analysisBoxes.forEach((a, box) -> {
+            if (a.wholeChannelOnly) {
+                box.setEnabled(whole);
+                box.setToolTipText(TIP_WHOLE_CHANNEL);
+            }
+        });
+    }
+
     /**
      * 创建通道列表滚动面板
      */
@@ -60,9 +121,15 @@ public class StatisticsDialog extends JDialog {
     }
 
     /**
-     * 创建底部按钮面板
+     * 创建底部面板：分析开关 + 按钮
      */
     private JPanel createButtonPane() {
+        JPanel south = new JPanel(new BorderLayout());
+        JPanel options = new JPanel(new GridLayout(0, 1));
+        for (JCheckBox box : analysisBoxes.values()) {
+            options.add(box);
+        }
+        south.add(options, BorderLayout.NORTH);
         JPanel panel = new JPanel(new FlowLayout(FlowLayout.CENTER, FLOW_GAP, FLOW_GAP));
         JButton statBtn = new JButton(BUTTON_STAT);
         JButton cancelBtn = new JButton(BUTTON_CANCEL);
@@ -70,7 +137,8 @@ public class StatisticsDialog extends JDialog {
         cancelBtn.addActionListener(e -> dispose());
         panel.add(statBtn);
         panel.add(cancelBtn);
-        return panel;
+        south.add(panel, BorderLayout.SOUTH);
+        return south;
     }
 
     /**
@@ -84,39 +152,250 @@ public class StatisticsDialog extends JDialog {
             return;
         }
         String resultText = buildStatisticsText(selected);
+        Set<Analysis> analyses = EnumSet.noneOf(Analysis.class);
+        analysisBoxes.forEach((a, box) -> {
+            if (box.isEnabled() && box.isSelected()) {
+                analyses.add(a);
+            }
+        });
+        if (!analyses.isEmpty()) {
+            runBackgroundAnalysis(selected, resultText, analyses);
+            return;
+        }
         showResults(resultText);
         dispose();
     }
 
     /**
-     * 构建统计结果文本：最大、最小、均值、方差
+     * 作为一个后台任务依次计算所选分析（各占一段进度），完成后在 EDT 上由各分析写入结果文本与图。
+     * 失败或取消显示在任务列表中。
      */
-    private String buildStatisticsText(List<ChannelData> channels) {
-        StringBuilder sb = new StringBuilder();
-        for (ChannelData ch : channels) {
-            double[] data = ch.getData();
-            double[] clean = DoubleStream.of(data)
-                    .filter(d -> !Double.isNaN(d))
-                    .toArray();
-            double min = DoubleStream.of(clean).min().orElse(Double.NaN);
-            double max = DoubleStream.of(clean).max().orElse(Double.NaN);
-            double mean = DoubleStream.of(clean).average().orElse(Double.NaN);
-            double variance = computeVariance(clean, mean);
-
-            sb.append(ch.getName()).append("\n")
-                    .append(String.format("  最大: %s, 最小: %s\n", df.format(max), df.format(min)))
-                    .append(String.format("  均值: %s, 方差: %s\n\n", df.format(mean), df.format(variance)));
+    private void runBackgroundAnalysis(List<ChannelData> channels, String basicText, Set<Analysis> analyses) {
+        ChannelStatistics.Scope scope = (ChannelStatistics.Scope) scopeBox.getSelectedItem();
+        Window owner = getOwner();
+        List<AnalysisTask<?>> tasks = new ArrayList<>(analyses.size());
+        for (Analysis a : analyses) {
+            tasks.add(createTask(a, channels, scope, owner));
+        }
+        dispose();
+        jobManager.submitTask(JOB_NAME, monitor -> {
+            for (int i = 0; i < tasks.size(); i++) {
+                tasks.get(i).compute(monitor.range(i / (double) tasks.size(), 1.0 / tasks.size()));
+            }
+            return tasks;
+        }, done -> {
+            StringBuilder text = new StringBuilder(basicText);
+            JPanel plots = new JPanel(new GridLayout(0, 1, FLOW_GAP, FLOW_GAP));
+            for (AnalysisTask<?> task : done) {
+                task.render(text, plots);
+            }
+            showAnalysisResults(owner, text.toString(), plots);
+        });
+    }
+
+    /**
+     * 为一项分析创建后台任务：计算部分在后台线程执行，结果的文本、图与高亮在 EDT 上生成
+     */
+    private AnalysisTask<?> createTask(Analysis analysis, List<ChannelData> channels,
+                                       ChannelStatistics.Scope scope, Window owner) {
+        switch (analysis) {
+            case SPECTRAL:
+                return new AnalysisTask<>(monitor -> SpectralAnalysis.analyze(channels, scope, model, monitor),
+                        (spectra, text, plots) -> {
+                            text.append(buildSpectralText(spectra, scope));
+                            if (!spectra.isEmpty()) {
+                                plots.add(new SpectrumPlotPanel(spectra));
+                            }
+                        });
+            case DESATURATION:
+                return new AnalysisTask<>(monitor -> DesaturationAnalysis.analyze(channels, monitor),
+                        (results, text, plots) -> {
+                            text.append(buildDesaturationText(results));
+                            markEvents(results, owner);
+                        });
+            case DISTRIBUTION:
+                return new AnalysisTask<>(monitor -> DistributionAnalysis.analyze(channels, scope, model, monitor),
+                        (distributions, text, plots) -> {
+                            text.append(buildDistributionText(distributions, scope));
+                            if (!distributions.isEmpty()) {
+                                plots.add(new HistogramPlotPanel(distributions));
+                            }
+                        });
+            case CORRELATION:
+                return new AnalysisTask<>(monitor -> CorrelationAnalysis.analyze(channels, scope, model, monitor),
+                        (result, text, plots) -> {
+                            text.append(buildCorrelationText(result, scope));
+                            plots.add(new CorrelationHeatmapPanel(result));
+                        });
+            default:
+                throw new IllegalArgumentException("未知分析: " + analysis);
+        }
+    }
+
+    /**
+     * 构建血氧下降结果文本：有效时长、ODI、T90 与事件概况
+     */
+    private String buildDesaturationText(List<DesaturationAnalysis.Result> results) {
+        StringBuilder sb = new StringBuilder("—— 血氧下降分析 ——\n");
+        for (DesaturationAnalysis.Result r : results) {
+            sb.append(r.channel.getName()).append("\n");
+            if (!r.spo2) {
+                sb.append("  （有效 SpO2 样本不足一半，不视为血氧通道，未标记事件）\n\n");
+                continue;
+            }
+            double drop = 0, seconds = 0;
+            float fs = r.channel.getSampleRate();
+            for (DesaturationAnalysis.Event ev : r.events) {
+                drop += ev.baseline - ev.nadir;
+                seconds += (ev.end - ev.start + 1) / fs;
+            }
+            int count = r.events.size();
+            sb.append(String.format("  有效时长: %s 小时, 均值: %s%%, 最低: %s%%\n",
+                            df.format(r.validSeconds / 3600), df.format(r.mean), df.format(r.min)))
+                    .append(String.format("  下降事件(≥%s%%): %d 次, ODI: %s 次/小时\n",
+                            df.format(DesaturationAnalysis.DROP_PERCENT), count, df.format(r.odi())))
+                    .append(String.format("  T90: %s 分钟 (%s%%)\n",
+                            df.format(r.t90Seconds / 60), df.format(r.t90Percent())));
+            if (count > 0) {
+                sb.append(String.format("  平均下降: %s%%, 平均持续: %s 秒\n",
+                        df.format(drop / count), df.format(seconds / count)));
+            }
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 构建分布结果文本：各分位数与直方图范围，附秩误差
+     */
+    private String buildDistributionText(List<DistributionAnalysis.ChannelDistribution> results,
+                                         ChannelStatistics.Scope scope) {
+        StringBuilder sb = new StringBuilder(String.format("—— 分布分析（%s）——\n", scope));
+        for (DistributionAnalysis.ChannelDistribution d : results) {
+            sb.append(d.name).append("\n");
+            if (d.sketch.count() == 0) {
+                sb.append("  （无有效样本）\n\n");
+                continue;
+            }
+            for (int i = 0; i < DistributionAnalysis.QUANTILES.length; i++) {
+                sb.append(i == 0 ? "  " : ", ")
+                        .append(DistributionAnalysis.QUANTILE_LABELS[i]).append(": ")
+                        .append(df.format(d.sketch.quantile(DistributionAnalysis.QUANTILES[i])));
+            }
+            sb.append(String.format("\n  分位数秩误差 ≤ ±%s%%（约 99%% 置信），最小/最大值精确\n",
+                    df.format(100 * d.sketch.rankError())));
+            sb.append(String.format("  直方图: %d 箱, [%s, %s], 箱宽 %s\n\n", d.histogram.bins(),
+                    df.format(d.histogram.lo()), df.format(d.histogram.hi()), sci.format(d.histogram.binWidth())));
         }
         return sb.toString();
     }
 
     /**
-     * 计算方差
+     * 构建相关结果文本：各通道的标准差、与其余通道的平均 |r| 及最相关的通道
      */
-    private double computeVariance(double[] data, double mean) {
-        return DoubleStream.of(data)
-                .map(d -> (d - mean) * (d - mean))
-                .average().orElse(Double.NaN);
+    private String buildCorrelationText(CorrelationAnalysis.Result result, ChannelStatistics.Scope scope) {
+        StringBuilder sb = new StringBuilder(String.format("—— 相关矩阵（%s）——\n", scope));
+        sb.append(String.format("  %d 个通道, %d 个时间点\n", result.channels.size(), result.moments.count()));
+        if (!result.skipped.isEmpty()) {
+            sb.append("  采样率与首个通道不同，未参与: ").append(String.join(", ", result.skipped)).append("\n");
+        }
+        for (int i = 0; i < result.channels.size(); i++) {
+            sb.append(result.channels.get(i).getName())
+                    .append(String.format(": 标准差 %s, 平均 |r| %s", sci.format(Math.sqrt(result.moments.covariance(i, i))),
+                            df.format(result.meanAbsCorrelation(i))));
+            int best = result.mostCorrelated(i);
+            if (best >= 0) {
+                sb.append(String.format(", 最相关 %s (r = %s)", result.channels.get(best).getName(),
+                        df.format(result.correlation[i][best])));
+            }
+            sb.append("\n");
+        }
+        return sb.append("\n").toString();
+    }
+
+    /**
+     * 把下降事件标在各血氧通道的结果视图通道上（共享源通道样本，不改动源通道的高亮）。
+     * 结果通道已存在时替换其高亮，重复分析不会叠加；非血氧通道不标记。
+     */
+    private void markEvents(List<DesaturationAnalysis.Result> results, Window owner) {
+        boolean added = false;
+        for (DesaturationAnalysis.Result r : results) {
+            if (!r.spo2) {
+                continue;
+            }
+            String name = r.channel.getName() + DESATURATION_SUFFIX;
+            ChannelData target = findView(name, r.channel);
+            if (target == null) {
+                target = new ChannelView(name, r.channel);
+                model.getChannels().add(target);
+                added = true;
+            } else {
+                target.clearHighlightTimeRanges();
+            }
+            float fs = r.channel.getSampleRate();
+            for (DesaturationAnalysis.Event ev : r.events) {
+                target.addHighlightTimeRange(ev.start / fs, ev.end / fs);
+            }
+        }
+        if (added && owner instanceof ChartFrame) {
+            ((ChartFrame) owner).loadData(model);
+        } else {
+            owner.repaint();
+        }
+    }
+
+    /** 模型中名为 name、以 source 为源的视图通道；没有则为 null */
+    private ChannelData findView(String name, ChannelData source) {
+        for (ChannelData ch : model.getChannels()) {
+            if (ch instanceof ChannelView && ((ChannelView) ch).getSource() == source && name.equals(ch.getName())) {
+                return ch;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 构建频谱结果文本：分段信息与各频带功率
+     */
+    private String buildSpectralText(List<SpectralAnalysis.ChannelSpectrum> spectra, ChannelStatistics.Scope scope) {
+        StringBuilder sb = new StringBuilder(String.format("—— 频谱分析（%s）——\n", scope));
+        for (SpectralAnalysis.ChannelSpectrum s : spectra) {
+            sb.append(s.name).append("\n")
+                    .append(String.format("  Welch 段数: %d, 分辨率: %s Hz\n", s.segments, df.format(s.resolution)));
+            for (Map.Entry<String, Double> band : s.bands.entrySet()) {
+                if (band.getKey().endsWith("%")) {
+                    continue;
+                }
+                sb.append(String.format("  %s: %s", band.getKey(), sci.format(band.getValue())));
+                Double percent = s.bands.get(band.getKey() + "%");
+                if (percent != null) {
+                    sb.append(String.format(" (%s%%)", df.format(percent)));
+                }
+                sb.append("\n");
+            }
+            if (s.bands.isEmpty()) {
+                sb.append("  （采样率或数据长度不足以计算频带功率）\n");
+            }
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 构建统计结果文本：所选范围内的样本数、最大、最小、均值、方差
+     */
+    private String buildStatisticsText(List<ChannelData> channels) {
+        ChannelStatistics.Scope scope = (ChannelStatistics.Scope) scopeBox.getSelectedItem();
+        List<Moments> stats = ChannelStatistics.compute(channels, scope, model);
+        StringBuilder sb = new StringBuilder(String.format("范围：%s\n\n", scope));
+        for (int i = 0; i < channels.size(); i++) {
+            Moments m = stats.get(i);
+            sb.append(channels.get(i).getName()).append("\n")
+                    .append(String.format("  样本数: %d, NaN: %d\n", m.count(), m.nanCount()))
+                    .append(String.format("  最大: %s, 最小: %s\n", df.format(m.max()), df.format(m.min())))
+                    .append(String.format("  均值: %s, 方差: %s\n\n", df.format(m.mean()), df.format(m.variance())));
+        }
+        return sb.toString();
     }
 
     /**
@@ -131,4 +410,63 @@ public class StatisticsDialog extends JDialog {
         JOptionPane.showMessageDialog(this, scroll,
                 MSG_RESULTS_TITLE, JOptionPane.INFORMATION_MESSAGE);
     }
+
+    /**
+     * 弹出分析结果：上方为统计文本，下方为各分析添加的图（没有则省略）
+     */
+    private static void showAnalysisResults(Window owner, String text, JPanel plots) {
+        JTextArea ta = new JTextArea(text, 12, 40);
+        ta.setEditable(false);
+        JPanel panel = new JPanel(new BorderLayout(FLOW_GAP, FLOW_GAP));
+        panel.add(new JScrollPane(ta,
+                ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED,
+                ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER), BorderLayout.CENTER);
+        if (plots.getComponentCount() > 0) {
+            panel.add(plots, BorderLayout.SOUTH);
+        }
+        JOptionPane.showMessageDialog(owner, panel,
+                MSG_RESULTS_TITLE, JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    /** 可勾选的附加分析，按声明顺序计算与显示；除血氧下降外都只使用统计范围内的样本 */
+    enum Analysis {
+        SPECTRAL(LABEL_SPECTRAL, false),
+        DESATURATION(LABEL_DESATURATION, true),
+        DISTRIBUTION(LABEL_DISTRIBUTION, false),
+        CORRELATION(LABEL_CORRELATION, false);
+
+        private final String label;
+        private final boolean wholeChannelOnly;   // 只能分析整个通道
+
+        Analysis(String label, boolean wholeChannelOnly) {
+            this.label = label;
+            this.wholeChannelOnly = wholeChannelOnly;
+        }
+    }
+
+    /** 结果的显示方式：把结果追加到文本，需要时向图面板添加图 */
+    @FunctionalInterface
+    private interface Renderer<R> {
+        void render(R result, StringBuilder text, JPanel plots);
+    }
+
+    /** 一项后台分析：{@link #compute} 在后台线程调用，{@link #render} 随后在 EDT 上调用 */
+    private static final class AnalysisTask<R> {
+        private final Function<ProgressMonitor, R> computation;
+        private final Renderer<R> renderer;
+        private R result;
+
+        AnalysisTask(Function<ProgressMonitor, R> computation, Renderer<R> renderer) {
+            this.computation = computation;
+            this.renderer = renderer;
+        }
+
+        void compute(ProgressMonitor monitor) {
+            result = computation.apply(monitor);
+        }
+
+        void render(StringBuilder text, JPanel plots) {
+            renderer.render(result, text, plots);
+        }
+    }
 }
@@ -0,0 +1,111 @@
+package com.myapp.chart.dsp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 级联二阶节：巴特沃斯低通/高通的幅频响应（截止处 −3 dB）、分块与整段一致；
+ * NaN 原样输出并清零状态，之后的输出与从零状态重新开始的滤波器一致。
+ */
+class BiquadCascadeTest {
+
+    private static final double FS = 1000;
+
+    private static double[] sine(int n, double f) {
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = Math.sin(2 * Math.PI * f * i / FS);
+        }
+        return x;
+    }
+
+    /** 稳态增益：滤波后跳过前半段瞬态，由后半段（整数个周期）的均方根换算幅度 */
+    private static double gain(BiquadCascade f, double freq) {
+        double[] x = sine((int) (4 * FS), freq);
+        f.copy().process(x, 0, x.length);
+        double sq = 0;
+        for (int i = x.length / 2; i < x.length; i++) {
+            sq += x[i] * x[i];
+        }
+        return Math.sqrt(2 * sq / (x.length / 2));
+    }
+
+    @Test
+    void butterworthLowpassResponse() {
+        BiquadCascade lp = BiquadCascade.butterworthLowpass(4, FS, 50);
+        assertEquals(1, gain(lp, 5), 1e-3);
+        assertEquals(Math.sqrt(0.5), gain(lp, 50), 1e-2);
+        assertTrue(gain(lp, 200) < 1e-2);
+    }
+
+    @Test
+    void butterworthHighpassResponse() {
+        BiquadCascade hp = BiquadCascade.butterworthHighpass(3, FS, 10);
+        assertEquals(1, gain(hp, 200), 1e-3);
+        assertEquals(Math.sqrt(0.5), gain(hp, 10), 1e-2);
+        double[] dc = new double[(int) (4 * FS)];
+        Arrays.fill(dc, 5);
+        hp.copy().process(dc, 0, dc.length);
+        assertEquals(0, dc[dc.length - 1], 1e-6);
+    }
+
+    @Test
+    void chunkedMatchesWhole() {
+        BiquadCascade bp = BiquadCascade.butterworthBandpass(2, FS, 5, 15);
+        double[] whole = sine(5000, 9);
+        double[] chunked = whole.clone();
+        bp.copy().process(whole, 0, whole.length);
+        BiquadCascade f = bp.copy();
+        for (int pos = 0, len = 1; pos < chunked.length; pos += len, len = len * 7 % 613 + 1) {
+            len = Math.min(len, chunked.length - pos);
+            f.process(chunked, pos, len);
+        }
+        assertArrayEquals(whole, chunked, 0.0);
+    }
+
+    @Test
+    void nonFiniteInputPassesThroughAndResetsState() {
+        BiquadCascade lp = BiquadCascade.butterworthLowpass(4, FS, 40);
+        int gap = 1000;
+        double[] x = sine(3000, 7);
+        x[gap] = Double.NaN;
+        x[gap + 500] = Double.POSITIVE_INFINITY;
+        double[] y = x.clone();
+        lp.copy().process(y, 0, y.length);
+
+        assertTrue(Double.isNaN(y[gap]));
+        assertEquals(Double.POSITIVE_INFINITY, y[gap + 500]);
+        for (int i = 0; i < y.length; i++) {
+            if (i != gap && i != gap + 500) {
+                assertTrue(Double.isFinite(y[i]), "样本 " + i);
+            }
+        }
+
+        // NaN 之后：与从零状态处理其后样本的结果相同
+        double[] fresh = Arrays.copyOfRange(x, gap + 1, gap + 500);
+        lp.copy().process(fresh, 0, fresh.length);
+        assertArrayEquals(fresh, Arrays.copyOfRange(y, gap + 1, gap + 500), 0.0);
+    }
+
+    @Test
+    void filtfiltSurvivesNaN() {
+        BiquadCascade lp = BiquadCascade.butterworthLowpass(2, FS, 40);
+        double[] x = sine(4000, 7);
+        x[2000] = Double.NaN;
+        lp.filtfilt(x, 100);
+        assertTrue(Double.isNaN(x[2000]));
+        double peak = 0;
+        for (int i = 0; i < x.length; i++) {
+            if (i != 2000) {
+                assertTrue(Double.isFinite(x[i]), "样本 " + i);
+            }
+            if (i >= 3000 && i < 3500) {
+                peak = Math.max(peak, Math.abs(x[i]));
+            }
+        }
+        assertEquals(1, peak, 0.02);   // 远离 NaN 处通带增益不变
+    }
+}
@@ -0,0 +1,118 @@
+package com.myapp.chart.dsp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 重叠保留 FFT 卷积与直接因果卷积等价：覆盖多种核长（含块长边界附近）与输入分块方式，
+ * 包括每次 1 个样本、恰好一块、跨块以及 flush 冲出末块。
+ */
+class FftConvolverTest {
+
+    private static final int[] TAPS = {1, 2, 3, 17, 63, 64, 65, 127, 255, 256, 257, 1000, 2049};
+
+    private static double[] random(Random rnd, int n) {
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = rnd.nextGaussian();
+        }
+        return x;
+    }
+
+    /** 直接因果卷积 y[n] = Σ h[k]·x[n−k] */
+    private static double[] direct(double[] h, double[] x) {
+        double[] y = new double[x.length];
+        for (int n = 0; n < x.length; n++) {
+            double acc = 0;
+            for (int k = 0; k < h.length && k <= n; k++) {
+                acc += h[k] * x[n - k];
+            }
+            y[n] = acc;
+        }
+        return y;
+    }
+
+    /** 按给定块长序列送入并 flush，返回全部输出 */
+    private static double[] convolve(FftConvolver conv, double[] x, int[] chunks) {
+        double[] y = new double[x.length + conv.latency()];
+        int produced = 0;
+        int pos = 0;
+        for (int c = 0; pos < x.length; c++) {
+            int len = Math.min(x.length - pos, chunks[c % chunks.length]);
+            produced += conv.process(x, pos, len, y, produced);
+            pos += len;
+        }
+        produced += conv.flush(y, produced);
+        assertEquals(x.length, produced, "输出样本数");
+        return Arrays.copyOf(y, produced);
+    }
+
+    private static void assertClose(double[] expected, double[] actual, double[] h, String what) {
+        double l1 = 0;
+        for (double v : h) l1 += Math.abs(v);
+        double tol = 1e-12 * l1 * 5;                   // 输入约在 ±5 内
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual[i], tol, what + " i=" + i);
+        }
+    }
+
+    @Test
+    void matchesDirectConvolutionForAllChunkings() {
+        Random rnd = new Random(10);
+        for (int taps : TAPS) {
+            double[] h = random(rnd, taps);
+            FftConvolver conv = new FftConvolver(h);
+            int step = conv.latency() + 1;
+            double[] x = random(rnd, 3 * step + taps + 11);   // 至少三整块加不满的一块
+            double[] expected = direct(h, x);
+            int[][] chunkings = {
+                    {x.length},                        // 一次送完
+                    {1},                               // 逐样本
+                    {step},                            // 恰好一块
+                    {step - 1, step + 1},              // 每次跨过块边界
+                    {7, 1000, 3, step * 2 + 5},
+            };
+            for (int[] chunks : chunkings) {
+                conv.reset();
+                assertClose(expected, convolve(conv, x, chunks), h,
+                        "taps=" + taps + " chunks=" + Arrays.toString(chunks));
+            }
+        }
+    }
+
+    @Test
+    void matchesFirFilter() {
+        Random rnd = new Random(20);
+        double[] h = FirFilter.designLowpass(301, 256, 30);
+        double[] x = random(rnd, 50_000);
+        double[] viaFir = x.clone();
+        new FirFilter(h).process(viaFir, 0, viaFir.length);
+        assertClose(viaFir, convolve(new FftConvolver(h), x, new int[]{4096}), h, "FIR");
+    }
+
+    @Test
+    void flushAfterFullBlocksProducesNothing() {
+        FftConvolver conv = new FftConvolver(random(new Random(3), 100));
+        int step = conv.latency() + 1;
+        double[] x = new double[2 * step];
+        double[] y = new double[x.length];
+        assertEquals(x.length, conv.process(x, 0, x.length, y, 0));
+        assertEquals(0, conv.flush(y, 0));
+    }
+
+    @Test
+    void stateCarriesAcrossFlushOnlyUntilReset() {
+        // flush 之后状态清零：第二段输入的结果与全新实例相同
+        Random rnd = new Random(4);
+        double[] h = random(rnd, 50);
+        double[] a = random(rnd, 700);
+        double[] b = random(rnd, 900);
+        FftConvolver conv = new FftConvolver(h);
+        convolve(conv, a, new int[]{123});
+        assertClose(direct(h, b), convolve(conv, b, new int[]{77}), h, "flush 后");
+    }
+}
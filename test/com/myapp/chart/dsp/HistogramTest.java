@@ -0,0 +1,73 @@
+package com.myapp.chart.dsp;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 等宽直方图：上边界值计入最后一箱，区间外计入下溢/上溢，NaN 单独计数；
+ * 常数通道（min == max）与全 NaN 通道取缺省区间；分块合并与一次累加一致，箱边界不同时拒绝合并。
+ */
+class HistogramTest {
+
+    @Test
+    void edgesAndOutOfRange() {
+        Histogram h = new Histogram(0, 10, 5);
+        h.add(new double[]{0, 1.99, 2, 9.99, 10, -0.01, 10.01, Double.NaN}, 0, 8);
+        assertEquals(2, h.count(0));   // 0, 1.99
+        assertEquals(1, h.count(1));   // 2
+        assertEquals(2, h.count(4));   // 9.99 与上边界 10
+        assertEquals(1, h.underflow());
+        assertEquals(1, h.overflow());
+        assertEquals(1, h.nanCount());
+        assertEquals(5, h.inRange());
+        assertEquals(2, h.binWidth());
+        assertEquals(8, h.binStart(4));
+    }
+
+    @Test
+    void constantChannelUsesUnitRangeAroundValue() {
+        Histogram h = new Histogram(3, 3, 10);
+        assertEquals(2.5, h.lo());
+        assertEquals(3.5, h.hi());
+        h.add(new double[]{3, 3, 3}, 0, 3);
+        assertEquals(3, h.count(5));
+        assertEquals(3, h.inRange());
+    }
+
+    @Test
+    void nanBoundsUseDefaultRange() {
+        // 全 NaN 通道：Moments 的 min/max 为 NaN
+        Histogram h = new Histogram(Double.NaN, Double.NaN, 4);
+        assertEquals(0, h.lo());
+        assertEquals(1, h.hi());
+        h.add(new double[]{Double.NaN, Double.NaN}, 0, 2);
+        assertEquals(2, h.nanCount());
+        assertEquals(0, h.inRange());
+    }
+
+    @Test
+    void mergeMatchesSinglePass() {
+        double[] x = new double[10_000];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = Math.sin(i * 0.37) * 5 + (i % 97 == 0 ? Double.NaN : 0);
+        }
+        Histogram whole = new Histogram(-4, 4, 32);
+        whole.add(x, 0, x.length);
+        Histogram merged = new Histogram(-4, 4, 32);
+        for (int off = 0; off < x.length; off += 1000) {
+            Histogram part = new Histogram(-4, 4, 32);
+            part.add(x, off, 1000);
+            merged.merge(part);
+        }
+        for (int b = 0; b < whole.bins(); b++) {
+            assertEquals(whole.count(b), merged.count(b));
+        }
+        assertEquals(whole.underflow(), merged.underflow());
+        assertEquals(whole.overflow(), merged.overflow());
+        assertEquals(whole.nanCount(), merged.nanCount());
+
+        assertThrows(IllegalArgumentException.class, () -> merged.merge(new Histogram(-4, 4, 16)));
+        assertThrows(IllegalArgumentException.class, () -> merged.merge(new Histogram(-4, 5, 32)));
+    }
+}
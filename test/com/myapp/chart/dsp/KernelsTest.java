@@ -0,0 +1,122 @@
+package com.myapp.chart.dsp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * SIMD 内核与标量内核对照：随机数据，覆盖小于、等于、略大于向量宽度的各种长度与起点偏移，
+ * 逐元素运算（含原地差分）逐位一致，归约在舍入误差内一致。
+ * 运行时没有 jdk.incubator.vector 时 {@link Kernels#get()} 即标量实现，对照退化为自比较。
+ */
+class KernelsTest {
+
+    private static final int[] LENGTHS = {0, 1, 2, 3, 4, 5, 7, 8, 9, 15, 16, 17, 31, 32, 33, 63, 65, 1000, 8191};
+    private static final int MAX_OFFSET = 3;
+
+    private final ArrayKernels vector = Kernels.get();
+    private final ArrayKernels scalar = Kernels.scalar();
+
+    private static double[] random(int n, long seed) {
+        Random rnd = new Random(seed);
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = 100 + rnd.nextGaussian();
+        }
+        return x;
+    }
+
+    @Test
+    void elementwiseMatchExactly() {
+        for (int len : LENGTHS) {
+            for (int off = 0; off <= MAX_OFFSET; off++) {
+                double[] src = random(len + MAX_OFFSET + 1, len * 7L + off);
+                double[] a = new double[src.length];
+                double[] b = new double[src.length];
+                String where = "len=" + len + " off=" + off;
+
+                vector.scale(src, off, a, MAX_OFFSET - off, len, 0.37);
+                scalar.scale(src, off, b, MAX_OFFSET - off, len, 0.37);
+                assertArrayEquals(b, a, "scale " + where);
+
+                vector.offset(src, off, a, off, len, -5.5);
+                scalar.offset(src, off, b, off, len, -5.5);
+                assertArrayEquals(b, a, "offset " + where);
+
+                vector.diff(src, off, a, MAX_OFFSET - off, len, 42);
+                scalar.diff(src, off, b, MAX_OFFSET - off, len, 42);
+                assertArrayEquals(b, a, "diff " + where);
+            }
+        }
+    }
+
+    @Test
+    void inPlaceDiffMatchesOutOfPlace() {
+        for (int len : LENGTHS) {
+            for (int off = 0; off <= MAX_OFFSET; off++) {
+                double[] src = random(len + MAX_OFFSET, len * 13L + off);
+                double[] expected = new double[src.length];
+                scalar.diff(src, off, expected, off, len, -1);
+                System.arraycopy(src, 0, expected, 0, off);
+                System.arraycopy(src, off + len, expected, off + len, src.length - off - len);
+                double[] inPlace = src.clone();
+                vector.diff(inPlace, off, inPlace, off, len, -1);
+                assertArrayEquals(expected, inPlace, "len=" + len + " off=" + off);
+            }
+        }
+    }
+
+    @Test
+    void reductionsAgreeWithinRounding() {
+        double[] a = new double[16];
+        double[] b = new double[16];
+        for (int len : LENGTHS) {
+            for (int off = 0; off <= MAX_OFFSET; off++) {
+                double[] src = random(len + MAX_OFFSET, len * 31L + off);
+                if (len > 2) {
+                    src[off + len / 2] = Double.NaN;   // NaN 落在向量主体或尾部
+                }
+                String where = "len=" + len + " off=" + off;
+
+                vector.minMax(src, off, len, a);
+                scalar.minMax(src, off, len, b);
+                assertEquals(b[0], a[0], where);
+                assertEquals(b[1], a[1], where);
+
+                vector.sums(src, off, len, 100, a);
+                scalar.sums(src, off, len, 100, b);
+                assertEquals(b[0], a[0], where);
+                assertEquals(b[1], a[1], 1e-12 * Math.max(1, b[0]), where);
+                assertEquals(b[2], a[2], 1e-12 * Math.max(1, b[2]), where);
+
+                double[] finite = random(len + MAX_OFFSET, len * 37L + off);   // 补偿求和不跳过 NaN
+                vector.compensatedSum(finite, off, len, 1.0 / 256, a);
+                scalar.compensatedSum(finite, off, len, 1.0 / 256, b);
+                assertEquals(b[0] + b[1], a[0] + a[1], 1e-15 * Math.max(1, Math.abs(b[0])), where);
+            }
+        }
+    }
+
+    @Test
+    void crossProductsAgreeWithinRounding() {
+        for (int len : LENGTHS) {
+            int stride = len + MAX_OFFSET;
+            double[] x = random(8 * stride, len);
+            double[] a = new double[16];
+            double[] b = new double[16];
+            for (int off = 0; off <= MAX_OFFSET; off++) {
+                Arrays.fill(a, 1);
+                Arrays.fill(b, 1);
+                vector.crossProducts4x4(x, off, 4 * stride + off, stride, len, a);
+                scalar.crossProducts4x4(x, off, 4 * stride + off, stride, len, b);
+                for (int k = 0; k < 16; k++) {
+                    assertEquals(b[k], a[k], 1e-12 * Math.abs(b[k]), "len=" + len + " off=" + off + " k=" + k);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.myapp.chart.dsp;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 可合并统计量：逐块累加、逐点累加与任意顺序合并的结果一致，
+ * 大偏置下方差与 BigDecimal 精确值对照。分块摘要（BlockSummary）与并行统计都依赖这些性质。
+ */
+class MomentsTest {
+
+    private static final MathContext MC = MathContext.DECIMAL128;
+
+    /** 精确的总体方差 */
+    private static double exactVariance(double[] x) {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (double v : x) {
+            sum = sum.add(new BigDecimal(v));
+        }
+        BigDecimal mean = sum.divide(BigDecimal.valueOf(x.length), MC);
+        BigDecimal m2 = BigDecimal.ZERO;
+        for (double v : x) {
+            BigDecimal d = new BigDecimal(v).subtract(mean);
+            m2 = m2.add(d.multiply(d));
+        }
+        return m2.divide(BigDecimal.valueOf(x.length), MC).doubleValue();
+    }
+
+    private static double[] signal(int n, double offset, long seed) {
+        Random rnd = new Random(seed);
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = offset + rnd.nextGaussian();
+        }
+        return x;
+    }
+
+    @Test
+    void varianceAtLargeOffsetMatchesExact() {
+        // 偏置 1e9、方差 1：和与平方和公式会抵消掉全部有效位
+        double[] x = signal(100_000, 1e9, 1);
+        Moments m = new Moments();
+        for (int off = 0; off < x.length; off += 1024) {
+            m.add(x, off, Math.min(1024, x.length - off));
+        }
+        double exact = exactVariance(x);
+        assertEquals(exact, m.variance(), 1e-9 * exact);
+        assertEquals(x.length, m.count());
+    }
+
+    @Test
+    void blockAndPointwiseAgree() {
+        double[] x = signal(5000, -42, 2);
+        Moments block = new Moments();
+        block.add(x, 0, x.length);
+        Moments point = new Moments();
+        for (double v : x) {
+            point.add(v);
+        }
+        assertEquals(point.count(), block.count());
+        assertEquals(point.mean(), block.mean(), 1e-12 * Math.abs(point.mean()));
+        assertEquals(point.m2(), block.m2(), 1e-9 * point.m2());
+        assertEquals(point.min(), block.min());
+        assertEquals(point.max(), block.max());
+    }
+
+    @Test
+    void combineIsOrderIndependent() {
+        double[] x = signal(8 * 1000, 1e6, 3);
+        Moments[] parts = new Moments[8];
+        for (int p = 0; p < parts.length; p++) {
+            parts[p] = new Moments();
+            parts[p].add(x, p * 1000, 1000);
+        }
+        Moments forward = new Moments();
+        for (Moments p : parts) {
+            forward.combine(p);
+        }
+        Moments backward = new Moments();
+        for (int p = parts.length - 1; p >= 0; p--) {
+            // 以各分量给出，与分块摘要中的合并方式相同
+            Moments q = parts[p];
+            backward.combine(q.count(), q.nanCount(), q.mean(), q.m2(), q.min(), q.max());
+        }
+        double exact = exactVariance(x);
+        assertEquals(exact, forward.variance(), 1e-9 * exact);
+        assertEquals(exact, backward.variance(), 1e-9 * exact);
+        assertEquals(forward.mean(), backward.mean(), 1e-15 * Math.abs(forward.mean()));
+        assertEquals(forward.min(), backward.min());
+        assertEquals(forward.max(), backward.max());
+    }
+
+    @Test
+    void nanIsCountedSeparately() {
+        double[] x = {1, Double.NaN, 3, Double.NaN};
+        Moments m = new Moments();
+        m.add(x, 0, x.length);
+        assertEquals(2, m.count());
+        assertEquals(2, m.nanCount());
+        assertEquals(2, m.mean());
+        assertEquals(1, m.variance());
+
+        Moments allNan = new Moments();
+        allNan.add(new double[]{Double.NaN, Double.NaN}, 0, 2);
+        assertEquals(0, allNan.count());
+        assertEquals(2, allNan.nanCount());
+        assertTrue(Double.isNaN(allNan.mean()));
+
+        m.combine(allNan);
+        assertEquals(4, m.nanCount());
+        assertEquals(2, m.mean());
+    }
+
+    @Test
+    void resetClearsState() {
+        Moments m = new Moments();
+        m.add(signal(100, 5, 4), 0, 100);
+        m.reset();
+        m.add(7);
+        assertEquals(1, m.count());
+        assertEquals(0, m.nanCount());
+        assertEquals(7, m.mean());
+        assertEquals(0, m.m2());
+        assertEquals(7, m.min());
+        assertEquals(7, m.max());
+    }
+}
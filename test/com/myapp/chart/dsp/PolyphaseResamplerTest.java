@@ -0,0 +1,109 @@
+package com.myapp.chart.dsp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 多相重采样：各种升降倍率下输出长度为 ⌈n·L/M⌉、直流增益为 1、
+ * 通带内正弦与理想重采样一致（零相位，群延迟已补偿），新奈奎斯特频率以上的正弦被抑制；
+ * 分段计算与整段一致。
+ */
+class PolyphaseResamplerTest {
+
+    private static final int[][] RATIOS = {{2, 1}, {1, 2}, {3, 2}, {2, 3}, {5, 1}, {1, 4}, {160, 147}, {147, 160}};
+    private static final int N = 4000;
+
+    private static double[] resampleAll(PolyphaseResampler rs, double[] x) {
+        double[] out = new double[(int) rs.outputLength(x.length)];
+        rs.resample(x, 0, x.length, 0, out, 0, out.length);
+        return out;
+    }
+
+    /** 离两端足够远、不受零延拓影响的输出区间 [from, to) */
+    private static int[] interior(PolyphaseResampler rs, int outLen) {
+        int from = 0;
+        while (rs.firstInput(from) < 0) from++;
+        int to = outLen;
+        while (rs.lastInput(to - 1) >= N) to--;
+        return new int[]{from, to};
+    }
+
+    @Test
+    void outputLengthIsCeiling() {
+        for (int[] r : RATIOS) {
+            PolyphaseResampler rs = new PolyphaseResampler(r[0], r[1]);
+            for (long n : new long[]{0, 1, 2, 7, 1000, 1001, 123_457}) {
+                long expected = (n * r[0] + r[1] - 1) / r[1];
+                assertEquals(expected, rs.outputLength(n), r[0] + "/" + r[1] + " n=" + n);
+            }
+        }
+        PolyphaseResampler reduced = new PolyphaseResampler(4, 2);   // 倍率约分
+        assertEquals(2, reduced.up());
+        assertEquals(1, reduced.down());
+    }
+
+    @Test
+    void dcGainIsOne() {
+        double[] x = new double[N];
+        Arrays.fill(x, 3);
+        for (int[] r : RATIOS) {
+            PolyphaseResampler rs = new PolyphaseResampler(r[0], r[1]);
+            double[] y = resampleAll(rs, x);
+            int[] in = interior(rs, y.length);
+            assertTrue(in[1] - in[0] > y.length / 2, "内部区间过短");
+            for (int m = in[0]; m < in[1]; m++) {
+                assertEquals(3, y[m], 3e-3, r[0] + "/" + r[1] + " m=" + m);
+            }
+        }
+    }
+
+    @Test
+    void passbandSineIsPreservedInPhase() {
+        for (int[] r : RATIOS) {
+            PolyphaseResampler rs = new PolyphaseResampler(r[0], r[1]);
+            // 频率取输入与输出中较低奈奎斯特频率的 30%（归一到输入采样率）
+            double f = 0.3 * 0.5 * Math.min(1.0, (double) r[0] / r[1]);
+            double[] x = new double[N];
+            for (int i = 0; i < N; i++) x[i] = Math.sin(2 * Math.PI * f * i);
+            double[] y = resampleAll(rs, x);
+            int[] in = interior(rs, y.length);
+            for (int m = in[0]; m < in[1]; m++) {
+                double t = m * (double) r[1] / r[0];   // 输出样本对应的输入时刻
+                assertEquals(Math.sin(2 * Math.PI * f * t), y[m], 2e-3, r[0] + "/" + r[1] + " m=" + m);
+            }
+        }
+    }
+
+    @Test
+    void aliasesAreSuppressedWhenDownsampling() {
+        PolyphaseResampler rs = new PolyphaseResampler(1, 2);
+        double[] x = new double[N];
+        for (int i = 0; i < N; i++) x[i] = Math.sin(2 * Math.PI * 0.4 * i);   // 高于新奈奎斯特 0.25
+        double[] y = resampleAll(rs, x);
+        int[] in = interior(rs, y.length);
+        for (int m = in[0]; m < in[1]; m++) {
+            assertEquals(0, y[m], 1e-3);
+        }
+    }
+
+    @Test
+    void segmentedMatchesWhole() {
+        PolyphaseResampler rs = PolyphaseResampler.forRates(256, 100);
+        double[] x = new double[N];
+        for (int i = 0; i < N; i++) x[i] = Math.sin(i * 0.05) + 0.1 * Math.cos(i * 0.7);
+        double[] whole = resampleAll(rs, x);
+        double[] parts = new double[whole.length];
+        for (int m0 = 0; m0 < parts.length; m0 += 97) {
+            int count = Math.min(97, parts.length - m0);
+            long from = Math.max(0, rs.firstInput(m0));
+            long to = Math.min(N - 1L, rs.lastInput(m0 + count - 1L));
+            int len = (int) (to - from + 1);
+            double[] seg = Arrays.copyOfRange(x, (int) from, (int) from + len);
+            rs.resample(seg, from, len, m0, parts, m0, count);
+        }
+        assertArrayEquals(whole, parts, 0.0);
+    }
+}
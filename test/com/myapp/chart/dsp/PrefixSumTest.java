@@ -0,0 +1,110 @@
+package com.myapp.chart.dsp;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 前缀和精度：与 BigDecimal 精确累加对照。长度超过并行阈值时走分块两遍扫描，
+ * 每个前缀的误差应为 O(ε)·|前缀| + O(nε²)·Σ|x|，不随样本数线性增长。
+ */
+class PrefixSumTest {
+
+    private static final double EPS = Math.ulp(1.0);
+
+    /** 逐个前缀与精确值比较，返回最大误差与允许误差之比 */
+    private static double worstRatio(double[] in, double[] out, double scale) {
+        BigDecimal exact = BigDecimal.ZERO;
+        double absSum = 0;
+        double worst = 0;
+        for (int i = 0; i < in.length; i++) {
+            double x = in[i] * scale;             // 与实现相同：先缩放再累加
+            exact = exact.add(new BigDecimal(x));
+            absSum += Math.abs(x);
+            double ref = exact.doubleValue();
+            double bound = 2 * Math.ulp(ref) + (i + 1) * EPS * EPS * absSum + Double.MIN_VALUE;
+            worst = Math.max(worst, Math.abs(out[i] - ref) / bound);
+        }
+        return worst;
+    }
+
+    private static double[] scan(double[] in, double scale) {
+        double[] out = new double[in.length];
+        PrefixSum.inclusiveScan(in, out, scale);
+        return out;
+    }
+
+    @Test
+    void randomSignalMatchesExactSumAcrossBlocks() {
+        Random rnd = new Random(42);
+        double[] in = new double[(1 << 19) + 12345];   // 超过并行阈值，末块不满
+        for (int i = 0; i < in.length; i++) {
+            in[i] = 1000 + rnd.nextGaussian() * 50;
+        }
+        double scale = 1.0 / 250;                      // 非 2 的幂，缩放本身有舍入
+        assertTrue(worstRatio(in, scan(in, scale), scale) <= 1);
+    }
+
+    @Test
+    void catastrophicCancellationKeepsSmallTerms() {
+        // 1e16 与 −1e16 交替，中间的 1 在朴素累加中全部丢失
+        double[] in = new double[(1 << 18) + 7];
+        for (int i = 0; i < in.length; i++) {
+            switch (i % 4) {
+                case 0: in[i] = 1e16; break;
+                case 2: in[i] = -1e16; break;
+                default: in[i] = 1;
+            }
+        }
+        double[] out = scan(in, 1);
+        assertTrue(worstRatio(in, out, 1) <= 1);
+        int last = in.length - 1;                      // 末项下标 ≡ 2 (mod 4)，大数已抵消
+        assertEquals((last + 1) / 2, out[last], 0);
+    }
+
+    @Test
+    void cancellationAcrossBlockBoundaries() {
+        // 大数恰好在块边界两侧抵消，检验块起点的补偿量是否传递
+        double[] in = new double[1 << 19];
+        Random rnd = new Random(7);
+        for (int i = 0; i < in.length; i++) {
+            in[i] = rnd.nextDouble() * 1e-3;
+        }
+        int block = 1 << 16;
+        for (int b = block; b < in.length; b += block) {
+            in[b - 1] = 1e100;
+            in[b] = -1e100;
+        }
+        assertTrue(worstRatio(in, scan(in, 1), 1) <= 1);
+    }
+
+    @Test
+    void classicFourTermSum() {
+        double[] out = scan(new double[]{1, 1e100, 1, -1e100}, 1);
+        assertEquals(2, out[3], 0);
+    }
+
+    @Test
+    void inPlaceEqualsOutOfPlace() {
+        Random rnd = new Random(3);
+        double[] in = new double[(1 << 18) + 99];
+        for (int i = 0; i < in.length; i++) {
+            in[i] = rnd.nextGaussian();
+        }
+        double[] expected = scan(in, 0.5);
+        double[] inPlace = in.clone();
+        PrefixSum.inclusiveScan(inPlace, inPlace, 0.5);
+        for (int i = 0; i < in.length; i++) {
+            assertEquals(expected[i], inPlace[i], 0);
+        }
+    }
+
+    @Test
+    void emptyInputIsNoOp() {
+        PrefixSum.inclusiveScan(new double[0], new double[0], 1);
+    }
+}
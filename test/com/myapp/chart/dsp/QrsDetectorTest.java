@@ -0,0 +1,124 @@
+package com.myapp.chart.dsp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * QRS 检测：合成心电（P、QRS、T 波叠加噪声，R 峰位置已知）上检出全部心搏且位置准确；
+ * 结尾不足不应期的最后一个峰由 flush 确认；分块处理与整段一致；短于初始化时长的记录也能检出。
+ */
+class QrsDetectorTest {
+
+    private static final double FS = 250;
+    private static final int TOLERANCE = 5;   // 样本（20 ms）
+
+    /** 合成心电：R 峰在 rPeaks 处 */
+    private static double[] ecg(int n, int[] rPeaks, long seed) {
+        Random rnd = new Random(seed);
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = 0.01 * rnd.nextGaussian();
+        }
+        for (int r : rPeaks) {
+            wave(x, r - 0.20 * FS, 0.025 * FS, 0.15);    // P
+            wave(x, r - 0.025 * FS, 0.008 * FS, -0.1);   // Q
+            wave(x, r, 0.010 * FS, 1.0);                 // R
+            wave(x, r + 0.03 * FS, 0.008 * FS, -0.25);   // S
+            wave(x, r + 0.30 * FS, 0.050 * FS, 0.3);     // T
+        }
+        return x;
+    }
+
+    private static void wave(double[] x, double center, double sigma, double amp) {
+        int from = Math.max(0, (int) (center - 5 * sigma));
+        int to = Math.min(x.length, (int) (center + 5 * sigma) + 1);
+        for (int i = from; i < to; i++) {
+            double d = (i - center) / sigma;
+            x[i] += amp * Math.exp(-0.5 * d * d);
+        }
+    }
+
+    /** 约 75 次/分、RR 略有变化的 R 峰，最后一个距结尾 lastGapSec */
+    private static int[] peaks(double durationSec, double lastGapSec) {
+        List<Integer> list = new ArrayList<>();
+        double t = 0.5;
+        for (int k = 0; t < durationSec - lastGapSec; k++) {
+            list.add((int) Math.round(t * FS));
+            t += 0.8 + 0.04 * Math.sin(k);
+        }
+        int last = (int) Math.round((durationSec - lastGapSec) * FS);
+        if (last - list.get(list.size() - 1) < 0.5 * FS) {
+            list.remove(list.size() - 1);
+        }
+        list.add(last);
+        return list.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static void assertBeats(int[] expected, QrsDetector d) {
+        assertEquals(expected.length, d.beatCount());
+        for (int k = 0; k < expected.length; k++) {
+            assertTrue(Math.abs(d.beat(k) - expected[k]) <= TOLERANCE,
+                    "心搏 " + k + "：期望 " + expected[k] + "，检出 " + d.beat(k));
+        }
+    }
+
+    @Test
+    void detectsAllBeatsIncludingTheLastPendingOne() {
+        int n = (int) (20 * FS);
+        int[] r = peaks(20, 0.1);
+        double[] x = ecg(n, r, 1);
+        QrsDetector d = new QrsDetector(FS);
+        d.process(x, 0, n, null, 0);
+        assertEquals(r.length - 1, d.beatCount(), "最后一个峰在不应期内，flush 前尚未确认");
+        d.flush();
+        assertBeats(r, d);
+        int k = d.beatCount() - 1;
+        assertEquals(60 * FS / (d.beat(k) - d.beat(k - 1)), d.heartRate(), 1e-9);
+    }
+
+    @Test
+    void chunkedMatchesWhole() {
+        int n = (int) (15 * FS);
+        int[] r = peaks(15, 0.12);
+        double[] x = ecg(n, r, 2);
+        QrsDetector whole = new QrsDetector(FS);
+        double[] hrWhole = new double[n];
+        whole.process(x, 0, n, hrWhole, 0);
+        whole.flush();
+
+        QrsDetector chunked = new QrsDetector(FS);
+        double[] hrChunked = new double[n];
+        for (int pos = 0, len = 1; pos < n; pos += len, len = len * 3 % 997 + 1) {
+            len = Math.min(len, n - pos);
+            chunked.process(x, pos, len, hrChunked, pos);
+        }
+        chunked.flush();
+
+        assertEquals(whole.beatCount(), chunked.beatCount());
+        for (int k = 0; k < whole.beatCount(); k++) {
+            assertEquals(whole.beat(k), chunked.beat(k));
+        }
+        for (int i = 0; i < n; i++) {
+            assertEquals(hrWhole[i], hrChunked[i], 0.0);
+        }
+        assertBeats(r, whole);
+    }
+
+    @Test
+    void shortRecordIsClassifiedOnFlush() {
+        int n = (int) (1.8 * FS);
+        int[] r = {(int) (0.4 * FS), (int) (1.2 * FS)};
+        double[] x = ecg(n, r, 3);
+        QrsDetector d = new QrsDetector(FS);
+        d.process(x, 0, n, null, 0);
+        assertEquals(0, d.beatCount(), "不足初始化时长，flush 前不判别");
+        d.flush();
+        assertBeats(r, d);
+    }
+}
@@ -0,0 +1,90 @@
+package com.myapp.chart.dsp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * KLL 分位数草图：乱序、有序输入与分块合并后，各分位数的真实秩都在 {@link QuantileSketch#rankError()} 以内；
+ * 最小、最大值精确，NaN 忽略，样本少于容量时分位数精确。
+ */
+class QuantileSketchTest {
+
+    private static final double[] QS = {0.01, 0.05, 0.1, 0.25, 0.5, 0.75, 0.9, 0.95, 0.99};
+
+    /** 0 … n−1 的随机排列：值 v 的真实归一化秩即 v / n */
+    private static double[] permutation(int n, long seed) {
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) x[i] = i;
+        Random rnd = new Random(seed);
+        for (int i = n - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            double t = x[i];
+            x[i] = x[j];
+            x[j] = t;
+        }
+        return x;
+    }
+
+    private static void assertRanks(QuantileSketch s, int n) {
+        assertEquals(n, s.count());
+        for (double q : QS) {
+            double rank = s.quantile(q) / n;
+            assertEquals(q, rank, s.rankError(), "q=" + q);
+        }
+        assertEquals(0, s.quantile(0));
+        assertEquals(n - 1, s.quantile(1));
+    }
+
+    @Test
+    void rankErrorWithinBoundOnShuffledInput() {
+        int n = 1_000_000;
+        QuantileSketch s = new QuantileSketch();
+        double[] x = permutation(n, 1);
+        s.add(x, 0, n);
+        assertRanks(s, n);
+        assertTrue(s.retained() < 10 * QuantileSketch.DEFAULT_K, "保存量应与样本数无关");
+    }
+
+    @Test
+    void rankErrorWithinBoundOnSortedInput() {
+        int n = 500_000;
+        QuantileSketch s = new QuantileSketch();
+        for (int i = 0; i < n; i++) s.add(i);
+        assertRanks(s, n);
+    }
+
+    @Test
+    void mergedPartsWithinBound() {
+        int n = 800_000;
+        int parts = 16;
+        double[] x = permutation(n, 2);
+        QuantileSketch total = new QuantileSketch();
+        for (int p = 0; p < parts; p++) {
+            QuantileSketch part = new QuantileSketch();
+            part.add(x, p * (n / parts), n / parts);
+            total.merge(part);
+        }
+        assertRanks(total, n);
+    }
+
+    @Test
+    void smallInputIsExactAndNaNIgnored() {
+        QuantileSketch s = new QuantileSketch();
+        assertTrue(Double.isNaN(s.quantile(0.5)));
+        s.add(new double[]{5, Double.NaN, 1, 4, 2, 3}, 0, 6);
+        assertEquals(5, s.count());
+        assertEquals(1, s.quantile(0));
+        assertEquals(1, s.quantile(0.2));
+        assertEquals(3, s.quantile(0.5));
+        assertEquals(5, s.quantile(1));
+
+        QuantileSketch empty = new QuantileSketch();
+        s.merge(empty);
+        assertEquals(5, s.count());
+        empty.merge(s);
+        assertEquals(3, empty.quantile(0.5));
+    }
+}
@@ -0,0 +1,65 @@
+package com.myapp.chart.dsp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 实数 FFT：各长度的正变换与直接 DFT 对照，逆变换还原输入。
+ */
+class RealFftTest {
+
+    @Test
+    void forwardMatchesDirectDft() {
+        Random rnd = new Random(1);
+        for (int n = 2; n <= 2048; n *= 2) {
+            double[] x = new double[n + 3];
+            for (int i = 0; i < x.length; i++) {
+                x[i] = rnd.nextGaussian();
+            }
+            int off = 3;                               // 检验偏移量
+            double[] re = new double[n / 2 + 1];
+            double[] im = new double[n / 2 + 1];
+            RealFft.of(n).forward(x, off, re, im);
+            double tol = 1e-12 * n;
+            for (int k = 0; k <= n / 2; k++) {
+                double sr = 0, si = 0;
+                for (int t = 0; t < n; t++) {
+                    double a = -2 * Math.PI * ((long) k * t % n) / n;
+                    sr += x[off + t] * Math.cos(a);
+                    si += x[off + t] * Math.sin(a);
+                }
+                assertEquals(sr, re[k], tol, "n=" + n + " k=" + k);
+                assertEquals(si, im[k], tol, "n=" + n + " k=" + k);
+            }
+        }
+    }
+
+    @Test
+    void inverseRestoresInput() {
+        Random rnd = new Random(2);
+        for (int n = 2; n <= 1 << 14; n *= 2) {
+            double[] x = new double[n];
+            for (int i = 0; i < n; i++) {
+                x[i] = rnd.nextGaussian();
+            }
+            double[] re = new double[n / 2 + 1];
+            double[] im = new double[n / 2 + 1];
+            double[] back = new double[n];
+            RealFft fft = RealFft.of(n);
+            fft.forward(x, 0, re, im);
+            fft.inverse(re, im, back, 0);
+            for (int i = 0; i < n; i++) {
+                assertEquals(x[i], back[i], 1e-13 * Math.log(n) + 1e-15, "n=" + n + " i=" + i);
+            }
+        }
+    }
+
+    @Test
+    void rejectsNonPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> RealFft.of(12));
+    }
+}
@@ -0,0 +1,128 @@
+package com.myapp.chart.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 写时复制存储：共享、截取后写入互不影响；视图写入不改源通道；
+ * 写入线程换用存储时读取线程看到一致的数组、起点与长度。
+ */
+class ChannelDataTest {
+
+    @Test
+    void sliceSharesUntilWrite() {
+        ChannelData a = new ChannelData("a", new double[]{1, 2, 3, 4}, 1);
+        ChannelData b = a.slice("b", 1, 3);
+        assertSame(a.getStorage(), b.getStorage());
+        assertTrue(a.sharesStorage());
+
+        a.getWritableData()[1] = 20;
+        assertNotSame(a.getStorage(), b.getStorage());
+        assertEquals(2, b.sampleAt(0));
+        assertEquals(20, a.sampleAt(1));
+    }
+
+    @Test
+    void viewWriteDetachesFromSource() {
+        ChannelData src = new ChannelData("s", new double[]{1, 2, 3}, 1);
+        src.markModified();
+        ChannelView view = new ChannelView("v", src);
+        int before = view.getVersion();
+
+        view.getWritableData()[0] = 100;
+        view.markModified();
+
+        assertEquals(1, src.sampleAt(0));
+        assertEquals(100, view.sampleAt(0));
+        assertTrue(view.getVersion() > before);
+        assertNotSame(src.getStorage(), view.getStorage());
+    }
+
+    @Test
+    void viewWriteAfterSourceReleaseLeavesSourceAndSiblings() {
+        ChannelData src = new ChannelData("s", new double[]{1, 2, 3}, 1);
+        ChannelView a = new ChannelView("a", src);
+        ChannelView b = new ChannelView("b", src);
+        src.release();                       // 如通道已关闭，引用计数归零
+
+        a.getWritableData()[0] = 100;
+        assertEquals(1, src.sampleAt(0));
+        assertEquals(1, b.sampleAt(0));
+        assertEquals(100, a.sampleAt(0));
+
+        b.getWritableData()[1] = 200;
+        assertEquals(2, src.sampleAt(1));
+        assertEquals(2, a.sampleAt(1));
+    }
+
+    @Test
+    void viewWriteWhileSourceIsSoleOwnerCopies() {
+        ChannelData src = new ChannelData("s", new double[]{1, 2, 3}, 1);
+        ChannelData other = src.share("o");
+        other.release();                     // 计数回到 1
+        ChannelView v = new ChannelView("v", src);
+        v.getWritableData()[2] = 30;
+        assertEquals(3, src.sampleAt(2));
+        assertEquals(30, v.sampleAt(2));
+    }
+
+    @Test
+    void viewSetDataKeepsVersionIncreasing() {
+        ChannelData src = new ChannelData("s", new double[]{1, 2, 3}, 1);
+        for (int i = 0; i < 5; i++) {
+            src.markModified();
+        }
+        ChannelView view = new ChannelView("v", src);
+        int before = view.getVersion();
+        view.setData(new double[]{7, 8});
+        assertTrue(view.getVersion() > before);
+        assertEquals(2, view.length());
+        assertEquals(3, src.length());
+    }
+
+    @Test
+    void readersSeeConsistentStorageWhileWriterGrowsAndWrites() throws Exception {
+        // 每一代数组全部填同一个值：读到的截取段若混合了新旧存储，值或长度就会不一致
+        ChannelData ch = new ChannelData("live", filled(64, 0), 1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            for (int gen = 1; gen <= 4000; gen++) {
+                if (gen % 3 == 0) {
+                    ch.setData(filled(64 + gen % 200, gen));
+                } else {
+                    double[] d = ch.getWritableData();
+                    Arrays.fill(d, gen);
+                }
+                ch.markModified();
+            }
+        });
+        Thread reader = new Thread(() -> {
+            try {
+                while (writer.isAlive()) {
+                    ChannelData snap = ch.slice("snap", 0, Math.min(64, ch.length()));
+                    double[] copy = new double[snap.length()];
+                    snap.read(0, copy, 0, copy.length);
+                    snap.release();
+                    assertEquals(64, copy.length);
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        writer.start();
+        reader.start();
+        writer.join();
+        reader.join();
+        assertNull(failure.get());
+    }
+
+    private static double[] filled(int n, double v) {
+        double[] d = new double[n];
+        Arrays.fill(d, v);
+        return d;
+    }
+}
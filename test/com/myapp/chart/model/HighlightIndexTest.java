@@ -0,0 +1,96 @@
+package com.myapp.chart.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 高亮索引：有序性与区间查询与逐个比较一致；快照不受之后修改影响；
+ * 一个线程追加、另一线程查询时不出现越界或半更新的内容。
+ */
+class HighlightIndexTest {
+
+    @Test
+    void outOfOrderInsertKeepsOrderAndQueriesMatchBruteForce() {
+        HighlightIndex index = new HighlightIndex();
+        Random rnd = new Random(1);
+        for (int i = 0; i < 500; i++) {
+            double s = rnd.nextDouble() * 1000;
+            index.add(s, s + rnd.nextDouble() * 20);
+        }
+        HighlightIndex.Snapshot snap = index.snapshot();
+        for (int i = 1; i < snap.size(); i++) {
+            assertTrue(snap.start(i - 1) <= snap.start(i));
+        }
+        for (int q = 0; q < 200; q++) {
+            double from = rnd.nextDouble() * 1000, to = from + rnd.nextDouble() * 50;
+            int expected = 0;
+            for (int i = 0; i < snap.size(); i++) {
+                if (snap.end(i) >= from && snap.start(i) <= to) expected++;
+            }
+            int found = 0;
+            int last = snap.countStartingAtOrBefore(to);
+            for (int i = snap.firstEndingAtOrAfter(from); i < last; i++) {
+                if (snap.end(i) >= from) found++;
+            }
+            assertEquals(expected, found);
+        }
+    }
+
+    @Test
+    void snapshotIsUnaffectedByLaterChanges() {
+        HighlightIndex index = new HighlightIndex();
+        index.add(10, 11);
+        index.add(20, 21);
+        HighlightIndex.Snapshot snap = index.snapshot();
+        index.add(5, 6);          // 乱序插入
+        index.add(30, 31);
+        index.clear();
+        assertEquals(2, snap.size());
+        assertEquals(10, snap.start(0));
+        assertEquals(21, snap.end(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> snap.start(2));
+        assertTrue(index.isEmpty());
+    }
+
+    @Test
+    void concurrentAppendAndQuery() throws Exception {
+        HighlightIndex index = new HighlightIndex();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 200_000; i++) {
+                index.add(i, i + 0.5);
+                if (i % 1000 == 999) {
+                    index.add(i - 500.25, i - 500);   // 偶尔乱序
+                }
+            }
+        });
+        Thread reader = new Thread(() -> {
+            try {
+                while (writer.isAlive()) {
+                    HighlightIndex.Snapshot s = index.snapshot();
+                    int n = s.size();
+                    if (n == 0) continue;
+                    double to = s.start(n - 1);
+                    int last = s.countStartingAtOrBefore(to);
+                    assertEquals(n, last);
+                    for (int i = Math.max(0, n - 50); i < n; i++) {
+                        assertTrue(s.end(i) >= s.start(i));
+                        if (i > 0) assertTrue(s.start(i - 1) <= s.start(i));
+                    }
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        writer.start();
+        reader.start();
+        writer.join();
+        reader.join();
+        assertNull(failure.get());
+        assertEquals(200_200, index.size());
+    }
+}
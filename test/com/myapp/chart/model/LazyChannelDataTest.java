@@ -0,0 +1,82 @@
+package com.myapp.chart.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 按需计算的通道：块缓存按版本区分，源数据原地修改后读到新值；
+ * getData() 在版本不变时不重复计算整通道。
+ */
+class LazyChannelDataTest {
+
+    /** 源通道乘 2，版本随源通道 */
+    private static final class Doubled extends LazyChannelData {
+        final ChannelData source;
+        final AtomicInteger computed = new AtomicInteger();
+
+        Doubled(ChannelData source) {
+            super("d", source.length(), source.getSampleRate());
+            this.source = source;
+        }
+
+        @Override
+        public int getVersion() {
+            return source.getVersion();
+        }
+
+        @Override
+        protected void computeRange(int from, double[] dst, int dstOff, int len) {
+            computed.addAndGet(len);
+            source.read(from, dst, dstOff, len);
+            for (int i = 0; i < len; i++) {
+                dst[dstOff + i] *= 2;
+            }
+        }
+    }
+
+    private static ChannelData ramp(int n) {
+        double[] d = new double[n];
+        for (int i = 0; i < n; i++) {
+            d[i] = i;
+        }
+        return new ChannelData("s", d, 100);
+    }
+
+    @Test
+    void sourceModificationIsSeenByReadAndSampleAt() {
+        ChannelData src = ramp(ChunkCache.CHUNK_SIZE * 2 + 10);
+        Doubled lazy = new Doubled(src);
+        double[] buf = new double[4];
+        lazy.read(5, buf, 0, 4);
+        assertEquals(10, buf[0]);
+        assertEquals(14, lazy.sampleAt(7));
+
+        src.getWritableData()[7] = -1;
+        src.markModified();
+
+        lazy.read(5, buf, 0, 4);
+        assertEquals(-2, buf[2]);
+        assertEquals(-2, lazy.sampleAt(7));
+        assertEquals(12, lazy.sampleAt(6));
+    }
+
+    @Test
+    void getDataIsReusedUntilSourceChanges() {
+        ChannelData src = ramp(1000);
+        Doubled lazy = new Doubled(src);
+        double[] first = lazy.getData();
+        int after = lazy.computed.get();
+        assertSame(first, lazy.getData());
+        assertEquals(after, lazy.computed.get());
+
+        src.getWritableData()[0] = 5;
+        src.markModified();
+        double[] second = lazy.getData();
+        assertNotSame(first, second);
+        assertEquals(10, second[0]);
+        assertEquals(0, first[0]);
+    }
+}
@@ -0,0 +1,61 @@
+package com.myapp.chart.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 虚拟导联：逐点读取的块缓存随源通道版本作废；通道只读，写入须经视图。
+ */
+class MontageChannelTest {
+
+    private static ChannelData constant(String name, int n, double v) {
+        double[] d = new double[n];
+        Arrays.fill(d, v);
+        return new ChannelData(name, d, 100);
+    }
+
+    @Test
+    void sampleAtSeesSourceModification() {
+        ChannelData a = constant("a", 5000, 3);
+        ChannelData b = constant("b", 5000, 1);
+        MontageChannel m = MontageChannel.difference("a-b", a, b);
+        assertEquals(2, m.sampleAt(10));
+
+        b.getWritableData()[10] = 5;
+        b.markModified();
+        assertEquals(-2, m.sampleAt(10));
+        assertEquals(2, m.sampleAt(11));
+    }
+
+    @Test
+    void nestedMontageSeesSourceModification() {
+        ChannelData a = constant("a", 100, 2);
+        ChannelData b = constant("b", 100, 4);
+        MontageChannel avg = new MontageChannel("avg", List.of(a, b), new double[]{0.5, 0.5});
+        MontageChannel m = MontageChannel.difference("a-avg", a, avg);
+        assertEquals(-1, m.sampleAt(0));
+
+        a.getWritableData()[0] = 6;
+        a.markModified();
+        assertEquals(1, m.sampleAt(0));
+    }
+
+    @Test
+    void writesMustGoThroughView() {
+        ChannelData a = constant("a", 100, 3);
+        ChannelData b = constant("b", 100, 1);
+        MontageChannel m = MontageChannel.difference("a-b", a, b);
+        assertThrows(UnsupportedOperationException.class, m::getWritableData);
+
+        ChannelView v = new ChannelView("v", m);
+        v.getWritableData()[0] = 100;
+        v.markModified();
+        assertEquals(100, v.sampleAt(0));
+        assertEquals(2, m.sampleAt(0));
+        assertEquals(3, a.sampleAt(0));
+    }
+}
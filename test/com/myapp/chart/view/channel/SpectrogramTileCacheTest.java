@@ -0,0 +1,44 @@
+package com.myapp.chart.view.channel;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 频谱图分片缓存：键含通道版本，样本修改后旧分片不再命中；
+ * 同一分片在算完前只登记一次，失败释放后可重新登记，关闭通道时一并清除。
+ */
+class SpectrogramTileCacheTest {
+
+    private final SpectrogramTileCache cache = SpectrogramTileCache.shared();
+
+    @Test
+    void versionIsPartOfKey() {
+        Object ch = new Object();
+        float[] v0 = {1, 2};
+        cache.put(ch, 0, 256, 32, 5, v0);
+        assertSame(v0, cache.get(ch, 0, 256, 32, 5));
+        assertNull(cache.get(ch, 1, 256, 32, 5));
+        cache.invalidate(ch);
+        assertNull(cache.get(ch, 0, 256, 32, 5));
+    }
+
+    @Test
+    void claimOncePerPendingTile() {
+        Object ch = new Object();
+        assertTrue(cache.claim(ch, 0, 256, 32, 0));
+        assertFalse(cache.claim(ch, 0, 256, 32, 0));
+        assertTrue(cache.claim(ch, 1, 256, 32, 0));   // 新版本另行计算
+
+        cache.put(ch, 0, 256, 32, 0, new float[4]);
+        assertFalse(cache.claim(ch, 0, 256, 32, 0));  // 已缓存
+
+        cache.release(ch, 1, 256, 32, 0);
+        assertTrue(cache.claim(ch, 1, 256, 32, 0));
+
+        cache.invalidate(ch);
+        assertTrue(cache.claim(ch, 0, 256, 32, 0));
+        assertTrue(cache.claim(ch, 1, 256, 32, 0));
+        cache.invalidate(ch);
+    }
+}
@@ -0,0 +1,60 @@
+package com.myapp.chart.view.processing.job;
+
+import com.myapp.chart.model.ChannelData;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * 任务失败（包括 Error）时任务进入失败状态，批次仍然交付其余结果。
+ */
+class ProcessingJobManagerTest {
+
+    private static ChannelData channel(String name) {
+        return new ChannelData(name, new double[]{1, 2, 3}, 1);
+    }
+
+    /** 等 EDT 处理完此前排队的收尾 */
+    private static void drainEdt() throws Exception {
+        SwingUtilities.invokeAndWait(() -> { });
+    }
+
+    @Test
+    void batchCompletesWhenATaskThrowsAnError() throws Exception {
+        ProcessingJobManager manager = new ProcessingJobManager();
+        CompletableFuture<List<ChannelData>> delivered = new CompletableFuture<>();
+        ChannelData ok = channel("ok");
+        List<ProcessingJob> jobs = manager.submitBatch(List.of("ok", "overflow", "linkage"),
+                List.of(m -> ok,
+                        m -> { throw new StackOverflowError(); },
+                        m -> { throw new NoClassDefFoundError("jdk/incubator/vector/DoubleVector"); }),
+                delivered::complete);
+
+        List<ChannelData> results = delivered.get(10, TimeUnit.SECONDS);
+        assertEquals(1, results.size());
+        assertSame(ok, results.get(0));
+        drainEdt();
+        assertEquals(ProcessingJob.State.FAILED, jobs.get(1).getState());
+        assertEquals(ProcessingJob.State.FAILED, jobs.get(2).getState());
+        manager.shutdown();
+    }
+
+    @Test
+    void singleJobErrorIsReportedAsFailure() throws Exception {
+        ProcessingJobManager manager = new ProcessingJobManager();
+        ProcessingJob job = manager.submit("assert", m -> { throw new AssertionError("boom"); }, r -> { });
+        for (int i = 0; i < 200 && !job.getState().isFinished(); i++) {
+            Thread.sleep(10);
+            drainEdt();
+        }
+        assertEquals(ProcessingJob.State.FAILED, job.getState());
+        assertEquals("boom", job.getError());
+        manager.shutdown();
+    }
+}
@@ -0,0 +1,67 @@
+package com.myapp.chart.view.processing.operation;
+
+import com.myapp.chart.model.ChannelData;
+import com.myapp.chart.model.HighlightIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 事件检测：长度、采样率不同的通道对齐到同一时钟，超出通道末尾的时刻视为 NaN。
+ */
+class EventDetectorTest {
+
+    private static ChannelData constant(String name, int n, double value, float fs) {
+        double[] d = new double[n];
+        Arrays.fill(d, value);
+        return new ChannelData(name, d, fs);
+    }
+
+    @Test
+    void shorterSameRateChannelEndsEvent() {
+        // 短通道比长通道少若干整块，末尾之后谓词为假
+        ChannelData lng = constant("long", 50_000, 1, 100);
+        ChannelData shrt = constant("short", 10_000, 1, 100);
+        EventDetector d = EventDetector.compile("long > 0 && short > 0", List.of(lng, shrt));
+        HighlightIndex events = d.detect(0, ProgressMonitor.NONE);
+        assertEquals(1, events.size());
+        assertEquals(0, events.start(0));
+        assertEquals(9_999 / 100.0, events.end(0), 1e-9);
+    }
+
+    @Test
+    void orKeepsLongerChannelAfterShorterEnds() {
+        ChannelData lng = constant("long", 50_000, 1, 100);
+        ChannelData shrt = constant("short", 100, 1, 100);
+        EventDetector d = EventDetector.compile("long > 0 || short > 0", List.of(lng, shrt));
+        HighlightIndex events = d.detect(0, ProgressMonitor.NONE);
+        assertEquals(1, events.size());
+        assertEquals(49_999 / 100.0, events.end(0), 1e-9);
+    }
+
+    @Test
+    void shorterLowerRateChannelIsHeldThenNaN() {
+        ChannelData fast = constant("fast", 40_000, 1, 200);
+        ChannelData slow = constant("slow", 1_000, 1, 50);     // 20 秒，fast 为 200 秒
+        EventDetector d = EventDetector.compile("fast > 0 && slow > 0", List.of(fast, slow));
+        HighlightIndex events = d.detect(0, ProgressMonitor.NONE);
+        assertEquals(1, events.size());
+        assertEquals(0, events.start(0));
+        assertEquals(3_999 / 200.0, events.end(0), 1e-9);
+    }
+
+    @Test
+    void minimumDurationDropsShortEvents() {
+        double[] d = new double[1_000];
+        for (int i = 100; i < 110; i++) d[i] = 1;   // 0.1 秒
+        for (int i = 500; i < 700; i++) d[i] = 1;   // 2 秒
+        ChannelData ch = new ChannelData("x", d, 100);
+        HighlightIndex events = EventDetector.compile("x > 0.5", List.of(ch)).detect(0.5, ProgressMonitor.NONE);
+        assertEquals(1, events.size());
+        assertEquals(5.0, events.start(0), 1e-9);
+        assertEquals(6.99, events.end(0), 1e-9);
+    }
+}
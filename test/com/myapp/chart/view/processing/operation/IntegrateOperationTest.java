@@ -0,0 +1,87 @@
+package com.myapp.chart.view.processing.operation;
+
+import com.myapp.chart.model.ChannelData;
+import com.myapp.chart.model.LazyChannelData;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 积分：整段并行扫描与按任意块长的流式积分都应与 BigDecimal 精确积分一致到舍入误差；
+ * 按需计算的源通道只按区间读取，不物化完整数组。
+ */
+class IntegrateOperationTest {
+
+    private static final float SAMPLE_RATE = 256;
+
+    private static double[] signal(int n) {
+        Random rnd = new Random(11);
+        double[] d = new double[n];
+        for (int i = 0; i < n; i++) {
+            d[i] = 5000 + Math.sin(i * 0.01) * 100 + rnd.nextGaussian();
+        }
+        return d;
+    }
+
+    private static double[] exact(double[] d) {
+        double scale = 1.0 / SAMPLE_RATE;
+        double[] ref = new double[d.length];
+        BigDecimal sum = BigDecimal.ZERO;
+        for (int i = 0; i < d.length; i++) {
+            sum = sum.add(new BigDecimal(d[i] * scale));
+            ref[i] = sum.doubleValue();
+        }
+        return ref;
+    }
+
+    @Test
+    void offlineMatchesExactIntegral() {
+        double[] d = signal((1 << 19) + 3);
+        double[] ref = exact(d);
+        ChannelData out = new IntegrateOperation().process(new ChannelData("x", d, SAMPLE_RATE), 0, 0, false);
+        double[] got = out.getData();
+        for (int i = 0; i < d.length; i++) {
+            assertEquals(ref[i], got[i], 2 * Math.ulp(ref[i]));
+        }
+    }
+
+    @Test
+    void offlineReadsLazySourceByRange() {
+        double[] d = signal(100_003);
+        double[] ref = exact(d);
+        LazyChannelData lazy = new LazyChannelData("lazy", d.length, SAMPLE_RATE) {
+            @Override
+            protected void computeRange(int from, double[] dst, int dstOff, int len) {
+                System.arraycopy(d, from, dst, dstOff, len);
+            }
+
+            @Override
+            public double[] getData() {
+                throw new AssertionError("不应物化源通道");
+            }
+        };
+        double[] got = new IntegrateOperation().process(lazy, 0, 0, false).getData();
+        for (int i = 0; i < d.length; i++) {
+            assertEquals(ref[i], got[i], 2 * Math.ulp(ref[i]));
+        }
+    }
+
+    @Test
+    void streamingMatchesExactIntegralAcrossChunks() {
+        double[] d = signal(200_000);
+        double[] ref = exact(d);
+        StreamStage stage = new IntegrateOperation().newStage(SAMPLE_RATE, new OperationParams(0, 0, false));
+        double[] got = new double[d.length];
+        Random rnd = new Random(5);
+        for (int pos = 0; pos < d.length; ) {
+            int len = Math.min(d.length - pos, 1 + rnd.nextInt(5000));
+            pos += stage.process(d, pos, len, got, pos);
+        }
+        for (int i = 0; i < d.length; i++) {
+            assertEquals(ref[i], got[i], 2 * Math.ulp(ref[i]));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.myapp.chart.view.processing.operation;
+
+import com.myapp.chart.model.ChannelData;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 阈值标记的最短持续时间以秒计、可为小数：离线分段与流式分段保留同样的区段。
+ */
+class MarkOperationTest {
+
+    private static final float FS = 100;
+
+    /** 0.25 秒与 0.6 秒两段高电平 */
+    private static ChannelData pulses() {
+        double[] d = new double[500];
+        for (int i = 100; i < 125; i++) d[i] = 1;
+        for (int i = 300; i < 360; i++) d[i] = 1;
+        return new ChannelData("x", d, FS);
+    }
+
+    private static OperationParams params(double minSeconds) {
+        return new OperationParams(0.5, 0, minSeconds, 0, true);
+    }
+
+    @Test
+    void fractionalMinimumDurationOffline() {
+        ChannelData src = pulses();
+        List<double[]> kept = new MarkOperation().process(src, params(0.5), ProgressMonitor.NONE)
+                .getHighlightTimeRanges();
+        assertEquals(1, kept.size());
+        assertEquals(3.0, kept.get(0)[0], 1e-9);
+        assertEquals(3.59, kept.get(0)[1], 1e-6);
+
+        assertEquals(2, new MarkOperation().process(src, params(0.25), ProgressMonitor.NONE)
+                .getHighlightTimeRanges().size());
+        assertEquals(1, new MarkOperation().process(src, params(0.26), ProgressMonitor.NONE)
+                .getHighlightTimeRanges().size());
+    }
+
+    @Test
+    void streamingKeepsSameSegments() {
+        ChannelData src = pulses();
+        MarkingStage stage = (MarkingStage) new MarkOperation().newStage(FS, params(0.5));
+        double[] d = src.getData();
+        double[] out = new double[d.length];
+        stage.process(d, 0, d.length, out, 0);
+        stage.flush(out, d.length);
+        ChannelData target = new ChannelData("y", out, FS);
+        stage.attachHighlights(target);
+        assertEquals(1, target.getHighlightTimeRanges().size());
+        assertEquals(3.0, target.getHighlightTimeRanges().get(0)[0], 1e-9);
+    }
+}
@@ -0,0 +1,76 @@
+package com.myapp.chart.view.processing.operation;
+
+import com.myapp.chart.model.ChannelData;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 不参与融合的运算也经流水线回报进度、响应取消。
+ */
+class OperationPipelineTest {
+
+    /** 记录进度，回报若干次后请求取消 */
+    private static final class Recorder implements ProgressMonitor {
+        final List<Double> progress = new ArrayList<>();
+        final int cancelAfter;
+
+        Recorder(int cancelAfter) {
+            this.cancelAfter = cancelAfter;
+        }
+
+        @Override
+        public synchronized void setProgress(double fraction) {
+            progress.add(fraction);
+        }
+
+        @Override
+        public synchronized boolean isCancelled() {
+            return progress.size() >= cancelAfter;
+        }
+    }
+
+    private static ChannelData source(int n) {
+        double[] d = new double[n];
+        for (int i = 0; i < n; i++) {
+            d[i] = Math.sin(i * 0.01);
+        }
+        return new ChannelData("s", d, 1000);
+    }
+
+    private static OperationParams params(double param, double param2, int window) {
+        return new OperationParams(param, param2, window, true);
+    }
+
+    @Test
+    void offlineStepsReportIntermediateProgress() {
+        List<OperationPipeline> pipelines = List.of(
+                new OperationPipeline(source(1 << 20)).then(new ResampleOperation(), params(250, 0, 0)),
+                new OperationPipeline(source(1 << 20)).then(new QrsOperation(), params(0, 0, 0)),
+                new OperationPipeline(source(1 << 20))
+                        .then(new FilterOperation(FilterOperation.Type.LOWPASS), params(40, 0, 4)));
+        for (OperationPipeline p : pipelines) {
+            Recorder r = new Recorder(Integer.MAX_VALUE);
+            p.run(r);
+            assertTrue(r.progress.stream().anyMatch(f -> f > 0 && f < 1), p.resultName());
+        }
+    }
+
+    @Test
+    void offlineStepsStopWhenCancelled() {
+        List<OperationPipeline> pipelines = List.of(
+                new OperationPipeline(source(1 << 21)).then(new ResampleOperation(), params(250, 0, 0)),
+                new OperationPipeline(source(1 << 21)).then(new QrsOperation(), params(0, 0, 0)),
+                new OperationPipeline(source(1 << 21))
+                        .then(new FilterOperation(FilterOperation.Type.HIGHPASS), params(1, 0, 4)),
+                new OperationPipeline(source(1 << 21)).then(new MarkOperation(), params(0.5, 0.1, 0)));
+        for (OperationPipeline p : pipelines) {
+            assertThrows(CancellationException.class, () -> p.run(new Recorder(2)), p.resultName());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.myapp.chart.view.processing.operation;
+
+import com.myapp.chart.dsp.PolyphaseResampler;
+import com.myapp.chart.model.ChannelData;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 重采样运算：结果的采样率与长度正确，多个并行块拼接的结果与整段重采样逐位一致。
+ * 进度与取消见 {@link OperationPipelineTest}。
+ */
+class ResampleOperationTest {
+
+    private static ChannelData source(int n, float fs) {
+        double[] d = new double[n];
+        for (int i = 0; i < n; i++) {
+            d[i] = Math.sin(i * 0.01) + 0.2 * Math.sin(i * 0.3);
+        }
+        return new ChannelData("x", d, fs);
+    }
+
+    @Test
+    void rateLengthAndChunksMatchWholeResample() {
+        for (double[] rates : new double[][]{{256, 100}, {100, 256}, {500, 250}, {250, 1000}}) {
+            ChannelData src = source(200_003, (float) rates[0]);
+            ChannelData out = new ResampleOperation().process(src,
+                    new OperationParams(rates[1], 0, false), ProgressMonitor.NONE);
+
+            PolyphaseResampler rs = PolyphaseResampler.forRates(rates[0], rates[1]);
+            assertEquals(rates[1], out.getSampleRate(), 1e-3);
+            assertEquals(rs.outputLength(src.length()), out.length());
+
+            double[] expected = new double[out.length()];
+            rs.resample(src.getData(), 0, src.length(), 0, expected, 0, expected.length);
+            assertArrayEquals(expected, out.getData(), 0.0, rates[0] + " -> " + rates[1]);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.myapp.chart.view.processing.operation;
+
+import com.myapp.chart.model.ChannelData;
+import com.myapp.chart.model.ChannelView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 结果缓存：交给调用方的总是视图，调用方的标注不进入缓存；写时复制共享的存储只计一次。
+ */
+class ResultCacheTest {
+
+    private static final int N = 1000;
+    private static final long SAMPLE_BYTES = N * Double.BYTES;
+
+    private ChannelData source;
+
+    @BeforeEach
+    void setUp() {
+        source = new ChannelData("src", new double[N], 100);
+    }
+
+    @Test
+    void missReturnsViewSoLaterHighlightsStayOutOfCache() {
+        ResultCache cache = new ResultCache(1 << 20);
+        List<Object> recipe = List.of("amp", 2.0);
+        ChannelData result = new ChannelData("r", new double[N], 100);
+
+        ChannelData first = cache.put(source, source.getVersion(), recipe, result);
+        assertInstanceOf(ChannelView.class, first);
+        first.addHighlightTimeRange(1, 2);
+
+        ChannelData again = cache.get(source, recipe);
+        assertNotNull(again);
+        assertTrue(again.getHighlightTimeRanges().isEmpty());
+        assertTrue(result.getHighlightTimeRanges().isEmpty());
+    }
+
+    @Test
+    void writesThroughViewDoNotReachCachedSamples() {
+        ResultCache cache = new ResultCache(1 << 20);
+        List<Object> recipe = List.of("amp", 3.0);
+        ChannelData result = new ChannelData("r", new double[N], 100);
+
+        cache.put(source, source.getVersion(), recipe, result).getWritableData()[0] = 42;
+        assertEquals(0, cache.get(source, recipe).sampleAt(0));
+    }
+
+    @Test
+    void sharedStorageIsChargedOnce() {
+        ResultCache cache = new ResultCache(1 << 20);
+        ChannelData base = new ChannelData("r", new double[N], 100);
+        cache.put(source, source.getVersion(), List.of("a"), base.share("r1"));
+        cache.put(source, source.getVersion(), List.of("b"), base.share("r2"));
+        assertEquals(SAMPLE_BYTES, cache.getBytes());
+
+        cache.invalidate(source);
+        assertEquals(0, cache.getBytes());
+    }
+
+    @Test
+    void storageSharedWithSourceIsNotCharged() {
+        ResultCache cache = new ResultCache(1 << 20);
+        cache.put(source, source.getVersion(), List.of("copy"), source.share("copy"));
+        assertEquals(0, cache.getBytes());
+    }
+
+    @Test
+    void sharedStorageDoesNotCauseEarlyEviction() {
+        // 预算只够一份样本：共享同一存储的多个结果应全部保留
+        ResultCache cache = new ResultCache(SAMPLE_BYTES + 64);
+        ChannelData base = new ChannelData("r", new double[N], 100);
+        for (int i = 0; i < 5; i++) {
+            cache.put(source, source.getVersion(), List.of("k" + i), base.share("r" + i));
+        }
+        assertEquals(5, cache.size());
+
+        // 另一份独立存储超出预算，按最近最少使用淘汰，共享存储在最后一个使用者离开时才归还
+        cache.put(source, source.getVersion(), List.of("other"), new ChannelData("o", new double[N], 100));
+        assertEquals(1, cache.size());
+        assertEquals(SAMPLE_BYTES, cache.getBytes());
+    }
+}
@@ -0,0 +1,58 @@
+package com.myapp.chart.view.statistic;
+
+import com.myapp.chart.model.ChannelData;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 血氧下降：合成的 SpO2 曲线给出已知事件；取值不在 SpO2 范围的通道不产生事件。
+ */
+class DesaturationAnalysisTest {
+
+    private static final float FS = 1;
+
+    /** 97% 基线，[dipStart, dipEnd) 秒降到 92% */
+    private static double[] spo2(int seconds, int dipStart, int dipEnd) {
+        double[] d = new double[seconds];
+        Arrays.fill(d, 97);
+        Arrays.fill(d, dipStart, dipEnd, 92);
+        return d;
+    }
+
+    @Test
+    void detectsKnownDip() {
+        ChannelData ch = new ChannelData("SpO2", spo2(3600, 600, 630), FS);
+        DesaturationAnalysis.Result r = DesaturationAnalysis.analyze(ch);
+        assertTrue(r.spo2);
+        assertEquals(1, r.events.size());
+        DesaturationAnalysis.Event ev = r.events.get(0);
+        assertEquals(600, ev.start);
+        assertEquals(629, ev.end);
+        assertEquals(97, ev.baseline, 1e-9);
+        assertEquals(92, ev.nadir, 1e-9);
+        assertEquals(1.0, r.odi(), 1e-9);
+    }
+
+    @Test
+    void nonSpO2ChannelHasNoEvents() {
+        // 脑电一类的信号：零附近波动，偶尔落入 50–100
+        double[] d = new double[3600];
+        for (int i = 0; i < d.length; i++) {
+            d[i] = 80 * Math.sin(i * 0.05);
+        }
+        DesaturationAnalysis.Result r = DesaturationAnalysis.analyze(new ChannelData("EEG", d, FS));
+        assertFalse(r.spo2);
+        assertTrue(r.events.isEmpty());
+    }
+
+    @Test
+    void emptyChannelIsNotSpO2() {
+        DesaturationAnalysis.Result r = DesaturationAnalysis.analyze(new ChannelData("e", new double[0], FS));
+        assertFalse(r.spo2);
+    }
+}
@@ -0,0 +1,54 @@
+package com.myapp.chart.view.statistic;
+
+import com.myapp.chart.model.ChannelData;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 频谱按统计范围计算：只用区间内的样本，段不跨越区间边界。
+ */
+class SpectralAnalysisTest {
+
+    private static final float FS = 256;
+
+    private static int peakBin(double[] psd) {
+        int best = 1;
+        for (int k = 2; k < psd.length; k++) {
+            if (psd[k] > psd[best]) best = k;
+        }
+        return best;
+    }
+
+    @Test
+    void usesOnlySamplesInRanges() {
+        // 前一半 10 Hz，后一半 20 Hz
+        int n = 64 * (int) FS;
+        double[] d = new double[n];
+        for (int i = 0; i < n; i++) {
+            double f = i < n / 2 ? 10 : 20;
+            d[i] = Math.sin(2 * Math.PI * f * i / FS);
+        }
+        ChannelData ch = new ChannelData("x", d, FS);
+
+        SpectralAnalysis.ChannelSpectrum first = SpectralAnalysis.analyze(ch, List.of(new int[]{0, n / 2}));
+        assertEquals(10, peakBin(first.psd) * first.resolution, first.resolution);
+        SpectralAnalysis.ChannelSpectrum second = SpectralAnalysis.analyze(ch, List.of(new int[]{n / 2, n}));
+        assertEquals(20, peakBin(second.psd) * second.resolution, second.resolution);
+    }
+
+    @Test
+    void segmentsDoNotStraddleRanges() {
+        // 两个 1.5 段长的区间：每个区间只容纳 2 个半重叠段，跨边界则会多出一段
+        int segment = SpectralAnalysis.segmentLength(FS, Integer.MAX_VALUE, SpectralAnalysis.EEG_SEGMENT_SECONDS);
+        int len = segment * 3 / 2;
+        ChannelData ch = new ChannelData("x", new double[10 * segment], FS);
+        SpectralAnalysis.ChannelSpectrum s = SpectralAnalysis.analyze(ch,
+                List.of(new int[]{0, len}, new int[]{4 * segment, 4 * segment + len}));
+        assertEquals(4, s.segments);
+        assertTrue(s.bands.containsKey("α"));
+    }
+}
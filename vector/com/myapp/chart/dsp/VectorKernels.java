@@ -0,0 +1,165 @@
+package com.myapp.chart.dsp;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD 内核（jdk.incubator.vector）。位于单独的源码目录 vector/，以
+ * {@code --add-modules jdk.incubator.vector} 在主程序之后编译；主程序不直接引用本类，
+ * 只经 {@link Kernels} 反射加载，因此 src/ 可以不带该参数编译。
+ * 主体按首选向量宽度处理，尾部交给标量实现。
+ */
+final class VectorKernels implements ArrayKernels {
+
+    private static final VectorSpecies<Double> S = DoubleVector.SPECIES_PREFERRED;
+    private static final ScalarKernels TAIL = ScalarKernels.INSTANCE;
+
+    VectorKernels() {}
+
+    /**
+     * 缩放与平移：C2 对标量循环已自动向量化，显式 SIMD 在 8192 样本块上反而慢约 10%，
+     * 因此直接交给标量实现。
+     */
+    @Override
+    public void scale(double[] src, int srcOff, double[] dst, int dstOff, int len, double k) {
+        TAIL.scale(src, srcOff, dst, dstOff, len, k);
+    }
+
+    @Override
+    public void offset(double[] src, int srcOff, double[] dst, int dstOff, int len, double c) {
+        TAIL.offset(src, srcOff, dst, dstOff, len, c);
+    }
+
+    @Override
+    public void diff(double[] src, int srcOff, double[] dst, int dstOff, int len, double prev) {
+        int lanes = S.length();
+        if (src != dst) {
+            // 不同数组：顺序向前，利于硬件预取
+            int i = 1;
+            for (int upper = 1 + S.loopBound(Math.max(0, len - 1)); i < upper; i += lanes) {
+                DoubleVector cur = DoubleVector.fromArray(S, src, srcOff + i);
+                DoubleVector before = DoubleVector.fromArray(S, src, srcOff + i - 1);
+                cur.sub(before).intoArray(dst, dstOff + i);
+            }
+            for (; i < len; i++) {
+                dst[dstOff + i] = src[srcOff + i] - src[srcOff + i - 1];
+            }
+            if (len > 0) {
+                dst[dstOff] = src[srcOff] - prev;
+            }
+            return;
+        }
+        // 原地：自后向前，每块先读入 [i−1, i+L)，再写 [i, i+L)，不会覆盖未读的前驱
+        int i = len;
+        while (i - lanes >= 1) {
+            i -= lanes;
+            DoubleVector cur = DoubleVector.fromArray(S, src, srcOff + i);
+            DoubleVector before = DoubleVector.fromArray(S, src, srcOff + i - 1);
+            cur.sub(before).intoArray(dst, dstOff + i);
+        }
+        TAIL.diff(src, srcOff, dst, dstOff, i, prev);
+    }
+
+    @Override
+    public void minMax(double[] src, int off, int len, double[] out) {
+        DoubleVector vmin = DoubleVector.broadcast(S, Double.POSITIVE_INFINITY);
+        DoubleVector vmax = DoubleVector.broadcast(S, Double.NEGATIVE_INFINITY);
+        int i = 0;
+        for (int upper = S.loopBound(len); i < upper; i += S.length()) {
+            // 与 NaN 的比较恒为假，NaN 通道自然保持原值
+            DoubleVector v = DoubleVector.fromArray(S, src, off + i);
+            vmin = vmin.blend(v, v.compare(VectorOperators.LT, vmin));
+            vmax = vmax.blend(v, v.compare(VectorOperators.GT, vmax));
+        }
+        TAIL.minMax(src, off + i, len - i, out);
+        out[0] = Math.min(out[0], vmin.reduceLanes(VectorOperators.MIN));
+        out[1] = Math.max(out[1], vmax.reduceLanes(VectorOperators.MAX));
+    }
+
+    @Override
+    public void sums(double[] src, int off, int len, double shift, double[] out) {
+        DoubleVector s = DoubleVector.zero(S);
+        DoubleVector q = DoubleVector.zero(S);
+        long n = 0;
+        int i = 0;
+        for (int upper = S.loopBound(len); i < upper; i += S.length()) {
+            DoubleVector v = DoubleVector.fromArray(S, src, off + i);
+            VectorMask<Double> nan = v.test(VectorOperators.IS_NAN);
+            DoubleVector d = v.sub(shift).blend(0, nan);
+            n += S.length() - nan.trueCount();
+            s = s.add(d);
+            q = d.fma(d, q);
+        }
+        TAIL.sums(src, off + i, len - i, shift, out);
+        out[0] += n;
+        out[1] += s.reduceLanes(VectorOperators.ADD);
+        out[2] += q.reduceLanes(VectorOperators.ADD);
+    }
+
+    @Override
+    public void compensatedSum(double[] src, int off, int len, double scale, double[] out) {
+        // 各通道独立做 Neumaier 补偿，最后按通道再补偿合并
+        DoubleVector s = DoubleVector.zero(S);
+        DoubleVector c = DoubleVector.zero(S);
+        int i = 0;
+        for (int upper = S.loopBound(len); i < upper; i += S.length()) {
+            DoubleVector x = DoubleVector.fromArray(S, src, off + i).mul(scale);
+            DoubleVector t = s.add(x);
+            VectorMask<Double> sBigger = s.abs().compare(VectorOperators.GE, x.abs());
+            DoubleVector corr = x.sub(t).add(s).blend(s.sub(t).add(x), sBigger);
+            c = c.add(corr);
+            s = t;
+        }
+        double[] lanesS = s.toArray();
+        double[] lanesC = c.toArray();
+        double sum = 0, comp = 0;
+        for (int k = 0; k < lanesS.length; k++) {
+            double x = lanesS[k];
+            double t = sum + x;
+            comp += (Math.abs(sum) >= Math.abs(x) ? (sum - t) + x : (x - t) + sum) + lanesC[k];
+            sum = t;
+        }
+        // 尾部接着标量补偿求和
+        for (; i < len; i++) {
+            double x = src[off + i] * scale;
+            double t = sum + x;
+            comp += Math.abs(sum) >= Math.abs(x) ? (sum - t) + x : (x - t) + sum;
+            sum = t;
+        }
+        out[0] = sum;
+        out[1] = comp;
+    }
+
+    /** 16 个向量累加器加 8 个输入向量，AVX-512 下都在寄存器内；归约逐个写出，放进数组会使累加器逃逸而装箱 */
+    @Override
+    public void crossProducts4x4(double[] x, int a, int b, int stride, int len, double[] out) {
+        int a0 = a, a1 = a0 + stride, a2 = a1 + stride, a3 = a2 + stride;
+        int b0 = b, b1 = b0 + stride, b2 = b1 + stride, b3 = b2 + stride;
+        DoubleVector s00 = DoubleVector.zero(S), s01 = s00, s02 = s00, s03 = s00;
+        DoubleVector s10 = s00, s11 = s00, s12 = s00, s13 = s00;
+        DoubleVector s20 = s00, s21 = s00, s22 = s00, s23 = s00;
+        DoubleVector s30 = s00, s31 = s00, s32 = s00, s33 = s00;
+        int t = 0;
+        for (int upper = S.loopBound(len); t < upper; t += S.length()) {
+            DoubleVector x0 = DoubleVector.fromArray(S, x, a0 + t), x1 = DoubleVector.fromArray(S, x, a1 + t);
+            DoubleVector x2 = DoubleVector.fromArray(S, x, a2 + t), x3 = DoubleVector.fromArray(S, x, a3 + t);
+            DoubleVector y0 = DoubleVector.fromArray(S, x, b0 + t), y1 = DoubleVector.fromArray(S, x, b1 + t);
+            DoubleVector y2 = DoubleVector.fromArray(S, x, b2 + t), y3 = DoubleVector.fromArray(S, x, b3 + t);
+            s00 = x0.fma(y0, s00); s01 = x0.fma(y1, s01); s02 = x0.fma(y2, s02); s03 = x0.fma(y3, s03);
+            s10 = x1.fma(y0, s10); s11 = x1.fma(y1, s11); s12 = x1.fma(y2, s12); s13 = x1.fma(y3, s13);
+            s20 = x2.fma(y0, s20); s21 = x2.fma(y1, s21); s22 = x2.fma(y2, s22); s23 = x2.fma(y3, s23);
+            s30 = x3.fma(y0, s30); s31 = x3.fma(y1, s31); s32 = x3.fma(y2, s32); s33 = x3.fma(y3, s33);
+        }
+        TAIL.crossProducts4x4(x, a + t, b + t, stride, len - t, out);
+        out[0] += s00.reduceLanes(VectorOperators.ADD);  out[1] += s01.reduceLanes(VectorOperators.ADD);
+        out[2] += s02.reduceLanes(VectorOperators.ADD);  out[3] += s03.reduceLanes(VectorOperators.ADD);
+        out[4] += s10.reduceLanes(VectorOperators.ADD);  out[5] += s11.reduceLanes(VectorOperators.ADD);
+        out[6] += s12.reduceLanes(VectorOperators.ADD);  out[7] += s13.reduceLanes(VectorOperators.ADD);
+        out[8] += s20.reduceLanes(VectorOperators.ADD);  out[9] += s21.reduceLanes(VectorOperators.ADD);
+        out[10] += s22.reduceLanes(VectorOperators.ADD); out[11] += s23.reduceLanes(VectorOperators.ADD);
+        out[12] += s30.reduceLanes(VectorOperators.ADD); out[13] += s31.reduceLanes(VectorOperators.ADD);
+        out[14] += s32.reduceLanes(VectorOperators.ADD); out[15] += s33.reduceLanes(VectorOperators.ADD);
+    }
+}